@@ -0,0 +1,117 @@
+package com.gearmind.application.appointment;
+
+import com.gearmind.domain.appointment.Appointment;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Agenda de citas de una empresa agrupada por día.
+ *
+ * Sólo mantiene en memoria la ventana consultada más {@link #PREFETCH_DAYS} días a cada lado:
+ * moverse por días o semanas cercanas se resuelve con rangos del mapa. Si la nueva ventana
+ * se solapa con la cargada se piden a la base de datos sólo los tramos que faltan y se
+ * descartan los días que quedan fuera; tras un salto lejano o una invalidación se recarga entera.
+ *
+ * Es segura entre hilos: se puede consultar desde una carga en segundo plano.
+ */
+public class AppointmentAgenda {
+
+    private static final int PREFETCH_DAYS = 14;
+
+    private final ListAppointmentsUseCase listAppointmentsUseCase;
+    private final Long empresaId;
+    private final NavigableMap<LocalDate, List<Appointment>> byDay = new TreeMap<>();
+    private LocalDate loadedFrom;
+    private LocalDate loadedTo;
+    private volatile long invalidations;
+    private long loadedGeneration = -1;
+
+    public AppointmentAgenda(ListAppointmentsUseCase listAppointmentsUseCase, Long empresaId) {
+        this.listAppointmentsUseCase = listAppointmentsUseCase;
+        this.empresaId = empresaId;
+    }
+
+    public synchronized List<Appointment> day(LocalDate date) {
+        return flatten(range(date, date.plusDays(1)));
+    }
+
+    /**
+     * Semana de lunes a domingo que contiene {@code date}, día a día.
+     */
+    public synchronized NavigableMap<LocalDate, List<Appointment>> week(LocalDate date) {
+        LocalDate monday = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return range(monday, monday.plusWeeks(1));
+    }
+
+    /**
+     * Mes natural que contiene {@code date}, día a día.
+     */
+    public synchronized NavigableMap<LocalDate, List<Appointment>> month(LocalDate date) {
+        LocalDate first = date.withDayOfMonth(1);
+        return range(first, first.plusMonths(1));
+    }
+
+    /**
+     * Días con citas en [from, toExclusive). Los días sin citas no aparecen.
+     */
+    public synchronized NavigableMap<LocalDate, List<Appointment>> range(LocalDate from, LocalDate toExclusive) {
+        ensureLoaded(from, toExclusive);
+        return Collections.unmodifiableNavigableMap(new TreeMap<>(byDay.subMap(from, true, toExclusive, false)));
+    }
+
+    /**
+     * Descarta lo cargado; la siguiente consulta vuelve a la base de datos.
+     * No espera a una carga en curso: sólo la marca como caducada.
+     */
+    public void invalidate() {
+        invalidations++;
+    }
+
+    private void ensureLoaded(LocalDate from, LocalDate toExclusive) {
+        long generation = invalidations;
+        if (loadedGeneration == generation && !from.isBefore(loadedFrom) && !toExclusive.isAfter(loadedTo)) {
+            return;
+        }
+
+        LocalDate windowFrom = from.minusDays(PREFETCH_DAYS);
+        LocalDate windowTo = toExclusive.plusDays(PREFETCH_DAYS);
+
+        boolean overlaps = loadedGeneration == generation
+                && windowFrom.isBefore(loadedTo) && windowTo.isAfter(loadedFrom);
+        if (overlaps) {
+            if (windowFrom.isBefore(loadedFrom)) {
+                add(listAppointmentsUseCase.executeBetween(empresaId, windowFrom, loadedFrom));
+            }
+            if (windowTo.isAfter(loadedTo)) {
+                add(listAppointmentsUseCase.executeBetween(empresaId, loadedTo, windowTo));
+            }
+            byDay.headMap(windowFrom, false).clear();
+            byDay.tailMap(windowTo, true).clear();
+        } else {
+            byDay.clear();
+            add(listAppointmentsUseCase.executeBetween(empresaId, windowFrom, windowTo));
+        }
+        loadedFrom = windowFrom;
+        loadedTo = windowTo;
+        loadedGeneration = generation;
+    }
+
+    private void add(List<Appointment> appointments) {
+        for (Appointment appointment : appointments) {
+            byDay.computeIfAbsent(appointment.getDateTime().toLocalDate(), d -> new ArrayList<>()).add(appointment);
+        }
+    }
+
+    private static List<Appointment> flatten(NavigableMap<LocalDate, List<Appointment>> days) {
+        List<Appointment> result = new ArrayList<>();
+        days.values().forEach(result::addAll);
+        return result;
+    }
+}
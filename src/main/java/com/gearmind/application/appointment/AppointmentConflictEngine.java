@@ -0,0 +1,97 @@
+package com.gearmind.application.appointment;
+
+import com.gearmind.domain.appointment.Appointment;
+import com.gearmind.domain.appointment.AppointmentIntervalIndex;
+import com.gearmind.domain.appointment.AppointmentIntervalIndex.Conflict;
+import com.gearmind.domain.appointment.AppointmentRepository;
+import com.gearmind.domain.appointment.OverlappingAppointmentException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Guarda citas comprobando antes que no se solapan con otras del mismo vehículo,
+ * empleado o puesto.
+ *
+ * Comprobación y escritura se hacen dentro de {@link AppointmentRepository#withAgendaLock},
+ * así que dos terminales de la misma empresa no pueden colar citas solapadas entre sí.
+ * El índice de intervalos de cada empresa se conserva entre guardados y sólo se recarga
+ * cuando la versión de la agenda indica que alguien más ha escrito.
+ */
+public class AppointmentConflictEngine {
+
+    /** Días hacia atrás que cubre el índice; las citas más antiguas se comprueban contra la base de datos. */
+    private static final int HORIZON_DAYS = 30;
+
+    private static final Map<Long, TenantAgenda> AGENDAS = new ConcurrentHashMap<>();
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final AppointmentRepository appointmentRepository;
+
+    public AppointmentConflictEngine(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    /**
+     * Comprueba y guarda la cita de forma atómica para su empresa.
+     *
+     * @throws OverlappingAppointmentException si ocupa un recurso ya reservado en ese intervalo
+     */
+    public void save(Appointment appointment) {
+        Long empresaId = appointment.getEmpresaId();
+
+        appointmentRepository.withAgendaLock(empresaId, previousVersion -> {
+            AppointmentIntervalIndex index = indexFor(empresaId, previousVersion);
+
+            List<Conflict> conflicts = index.covers(appointment.getDateTime())
+                    ? index.findConflicts(appointment)
+                    : loadIndex(empresaId, appointment.getDateTime()).findConflicts(appointment);
+            if (!conflicts.isEmpty()) {
+                throw new OverlappingAppointmentException(describe(conflicts.get(0)));
+            }
+
+            appointmentRepository.save(appointment);
+
+            // Si el commit fallase, la versión guardada ya no coincidiría y se recargaría en la próxima escritura.
+            index.put(appointment);
+            AGENDAS.put(empresaId, new TenantAgenda(previousVersion + 1, index));
+            return null;
+        });
+    }
+
+    private AppointmentIntervalIndex indexFor(Long empresaId, long version) {
+        TenantAgenda cached = AGENDAS.get(empresaId);
+        if (cached != null && cached.version() == version) {
+            return cached.index();
+        }
+        return loadIndex(empresaId, defaultHorizon());
+    }
+
+    private AppointmentIntervalIndex loadIndex(Long empresaId, LocalDateTime horizon) {
+        // Una cita que empieza antes del horizonte puede seguir en curso dentro de él.
+        LocalDateTime from = horizon.minusMinutes(Appointment.MAX_DURATION_MINUTES);
+        return new AppointmentIntervalIndex(horizon, appointmentRepository.findActiveFrom(empresaId, from));
+    }
+
+    private static LocalDateTime defaultHorizon() {
+        return LocalDate.now().minusDays(HORIZON_DAYS).atStartOfDay();
+    }
+
+    private static String describe(Conflict conflict) {
+        String recurso = switch (conflict.resource()) {
+            case VEHICULO -> "ese vehículo";
+            case EMPLEADO -> "ese empleado";
+            case PUESTO -> "ese puesto";
+        };
+        return "Ya existe otra cita para " + recurso + " entre el " + conflict.start().format(FORMAT)
+                + " y el " + conflict.end().format(FORMAT) + ".";
+    }
+
+    private record TenantAgenda(long version, AppointmentIntervalIndex index) {
+    }
+}
@@ -1,8 +1,10 @@
 package com.gearmind.application.appointment;
 
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.domain.appointment.Appointment;
 import com.gearmind.domain.appointment.AppointmentRepository;
 import com.gearmind.domain.appointment.AppointmentStatus;
+import com.gearmind.domain.event.AppointmentChanged;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -10,9 +12,11 @@ import java.util.Optional;
 public class ChangeAppointmentStatusUseCase {
 
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentConflictEngine conflictEngine;
 
     public ChangeAppointmentStatusUseCase(AppointmentRepository appointmentRepository) {
         this.appointmentRepository = appointmentRepository;
+        this.conflictEngine = new AppointmentConflictEngine(appointmentRepository);
     }
 
     public void execute(Long appointmentId, Long empresaId, AppointmentStatus newStatus) {
@@ -35,6 +39,8 @@ public class ChangeAppointmentStatusUseCase {
 
         appointment.setStatus(newStatus);
         appointment.setUpdatedAt(LocalDateTime.now());
-        appointmentRepository.save(appointment);
+        // Reactivar una cita cancelada vuelve a ocupar agenda: pasa por la misma comprobación.
+        conflictEngine.save(appointment);
+        DomainEventBus.getInstance().publish(new AppointmentChanged(appointment.getEmpresaId(), appointment.getId()));
     }
 }
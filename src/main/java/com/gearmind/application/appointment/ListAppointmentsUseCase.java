@@ -3,7 +3,10 @@ package com.gearmind.application.appointment;
 import com.gearmind.domain.appointment.Appointment;
 import com.gearmind.domain.appointment.AppointmentRepository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 public class ListAppointmentsUseCase {
 
@@ -19,4 +22,37 @@ public class ListAppointmentsUseCase {
         }
         return appointmentRepository.findByEmpresa(empresaId);
     }
+
+    /**
+     * Citas con inicio en {@code from} o después, sin límite hacia el futuro.
+     */
+    public List<Appointment> executeFrom(Long empresaId, LocalDate from) {
+        if (empresaId == null) {
+            throw new IllegalArgumentException("La empresa es obligatoria para listar las citas.");
+        }
+        if (from == null) {
+            throw new IllegalArgumentException("La fecha de inicio del listado es obligatoria.");
+        }
+        return appointmentRepository.findByEmpresaFrom(empresaId, from.atStartOfDay());
+    }
+
+    /**
+     * Citas con inicio entre {@code from} (incluido) y {@code toExclusive} (excluido).
+     */
+    public List<Appointment> executeBetween(Long empresaId, LocalDate from, LocalDate toExclusive) {
+        if (empresaId == null) {
+            throw new IllegalArgumentException("La empresa es obligatoria para listar las citas.");
+        }
+        if (from == null || toExclusive == null || !from.isBefore(toExclusive)) {
+            throw new IllegalArgumentException("El rango de fechas de la agenda no es válido.");
+        }
+        return appointmentRepository.findByEmpresaBetween(empresaId, from.atStartOfDay(), toExclusive.atStartOfDay());
+    }
+
+    /**
+     * La cita si existe y es de la empresa; vacío si no (para actualizar una sola fila tras un cambio).
+     */
+    public Optional<Appointment> findVisible(Long empresaId, long appointmentId) {
+        return appointmentRepository.findById(appointmentId).filter(a -> Objects.equals(a.getEmpresaId(), empresaId));
+    }
 }
@@ -13,6 +13,8 @@ public class SaveAppointmentRequest {
     private Long customerId;
     private Long vehicleId;
     private LocalDateTime dateTime;
+    private Integer durationMinutes;
+    private String bay;
     private String notes;
     private AppointmentOrigin origin;
     private AppointmentStatus status;
@@ -70,6 +72,22 @@ public class SaveAppointmentRequest {
         this.dateTime = dateTime;
     }
 
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public String getBay() {
+        return bay;
+    }
+
+    public void setBay(String bay) {
+        this.bay = bay;
+    }
+
     public String getNotes() {
         return notes;
     }
@@ -1,10 +1,11 @@
 package com.gearmind.application.appointment;
 
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.domain.appointment.Appointment;
 import com.gearmind.domain.appointment.AppointmentOrigin;
 import com.gearmind.domain.appointment.AppointmentRepository;
 import com.gearmind.domain.appointment.AppointmentStatus;
-import com.gearmind.domain.appointment.OverlappingAppointmentException;
+import com.gearmind.domain.event.AppointmentChanged;
 import com.gearmind.domain.user.UserRole;
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -12,9 +13,11 @@ import java.util.Optional;
 public class SaveAppointmentUseCase {
 
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentConflictEngine conflictEngine;
 
     public SaveAppointmentUseCase(AppointmentRepository appointmentRepository) {
         this.appointmentRepository = appointmentRepository;
+        this.conflictEngine = new AppointmentConflictEngine(appointmentRepository);
     }
 
     public void execute(SaveAppointmentRequest request) {
@@ -34,15 +37,21 @@ public class SaveAppointmentUseCase {
             throw new IllegalArgumentException("La fecha y hora de la cita son obligatorias.");
         }
 
+        int durationMinutes = request.getDurationMinutes() != null
+                ? request.getDurationMinutes()
+                : Appointment.DEFAULT_DURATION_MINUTES;
+        if (durationMinutes <= 0 || durationMinutes > Appointment.MAX_DURATION_MINUTES) {
+            throw new IllegalArgumentException("La duración de la cita debe estar entre 1 y "
+                    + Appointment.MAX_DURATION_MINUTES + " minutos.");
+        }
+        String bay = request.getBay() != null && !request.getBay().isBlank() ? request.getBay().trim() : null;
+        if (bay != null && bay.length() > Appointment.MAX_BAY_LENGTH) {
+            throw new IllegalArgumentException("El puesto no puede superar " + Appointment.MAX_BAY_LENGTH + " caracteres.");
+        }
+
         Long empresaId = request.getEmpresaId();
         Long vehicleId = request.getVehicleId();
         LocalDateTime dateTime = request.getDateTime();
-        Long excludeId = request.getId();
-
-        boolean overlaps = appointmentRepository.existsAtDateTime(empresaId, vehicleId, dateTime, excludeId);
-        if (overlaps) {
-            throw new OverlappingAppointmentException("Ya existe otra cita para ese vehículo en la misma fecha y hora.");
-        }
 
         Long resolvedEmployeeId = resolveEmployeeId(request);
 
@@ -53,14 +62,16 @@ public class SaveAppointmentUseCase {
             appointment.setVehicleId(vehicleId);
             appointment.setEmployeeId(resolvedEmployeeId);
             appointment.setDateTime(dateTime);
+            appointment.setDurationMinutes(durationMinutes);
+            appointment.setBay(bay);
             AppointmentOrigin origin = defaultOrigin(request.getOrigin());
             appointment.setOrigin(origin);
             appointment.setStatus(defaultStatus(request.getStatus(), origin));
             appointment.setNotes(request.getNotes());
             appointment.setCreatedAt(LocalDateTime.now());
             appointment.setUpdatedAt(null);
-            appointmentRepository.save(appointment);
-            
+            conflictEngine.save(appointment);
+            DomainEventBus.getInstance().publish(new AppointmentChanged(appointment.getEmpresaId(), appointment.getId()));
         } else {
             Optional<Appointment> maybeExisting = appointmentRepository.findById(request.getId());
             Appointment existing = maybeExisting.orElseThrow(() -> new IllegalArgumentException("La cita indicada no existe."));
@@ -69,6 +80,8 @@ public class SaveAppointmentUseCase {
             existing.setCustomerId(request.getCustomerId());
             existing.setVehicleId(request.getVehicleId());
             existing.setDateTime(dateTime);
+            existing.setDurationMinutes(durationMinutes);
+            existing.setBay(bay);
             existing.setNotes(request.getNotes());
             existing.setEmployeeId(resolvedEmployeeId);
 
@@ -80,7 +93,8 @@ public class SaveAppointmentUseCase {
             }
 
             existing.setUpdatedAt(LocalDateTime.now());
-            appointmentRepository.save(existing);
+            conflictEngine.save(existing);
+            DomainEventBus.getInstance().publish(new AppointmentChanged(existing.getEmpresaId(), existing.getId()));
         }
     }
 
@@ -5,10 +5,15 @@ import com.gearmind.domain.company.EmpresaRepository;
 import com.gearmind.domain.security.PasswordHasher;
 import com.gearmind.domain.user.User;
 import com.gearmind.domain.user.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.Optional;
 
 public class LoginUseCase {
 
+    private static final Logger log = LoggerFactory.getLogger(LoginUseCase.class);
+
     private final UserRepository userRepository;
     private final PasswordHasher passwordHasher;
     private final EmpresaRepository empresaRepository;
@@ -33,6 +38,8 @@ public class LoginUseCase {
             throw new InvalidCredentialsException();
         }
 
+        rehashIfNeeded(user, password);
+
         Long empresaId = user.getEmpresaId();
         String empresaNombre = null;
 
@@ -43,4 +50,19 @@ public class LoginUseCase {
 
         return new LoginResponse(user, empresaId, empresaNombre);
     }
+
+    /**
+     * Con la contraseña recién verificada, regenera el hash si su coste ya no es el que toca.
+     * Si falla se deja como estaba: el acceso no depende de ello.
+     */
+    private void rehashIfNeeded(User user, String password) {
+        if (!passwordHasher.needsRehash(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            userRepository.replacePasswordHash(user.getId(), user.getPasswordHash(), passwordHasher.hash(password));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo regenerar el hash de la contraseña del usuario {}", user.getId(), e);
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package com.gearmind.application.budget;
 
+import com.gearmind.application.common.AuthContext;
 import com.gearmind.domain.budget.Budget;
 import com.gearmind.domain.budget.BudgetRepository;
 import java.util.List;
+import java.util.Optional;
 
 public class ListBudgetsUseCase {
 
@@ -19,4 +21,12 @@ public class ListBudgetsUseCase {
     public List<Budget> listByEmpresa(long empresaId) {
         return budgetRepository.findByEmpresaId(empresaId);
     }
+
+    /**
+     * El presupuesto si existe y entra en este listado para el usuario actual; vacío si no
+     * (para actualizar una sola fila de la pantalla tras un cambio).
+     */
+    public Optional<Budget> findVisible(long budgetId) {
+        return budgetRepository.findById(budgetId).filter(b -> AuthContext.canSeeEmpresa(b.getEmpresaId()));
+    }
 }
@@ -1,9 +1,11 @@
 package com.gearmind.application.budget;
 
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.domain.budget.Budget;
 import com.gearmind.domain.budget.BudgetLine;
 import com.gearmind.domain.budget.BudgetRepository;
 import com.gearmind.domain.budget.BudgetStatus;
+import com.gearmind.domain.event.BudgetSaved;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -76,6 +78,8 @@ public class SaveBudgetUseCase {
             budget.setCreatedAt(LocalDateTime.now());
         }
 
-        return budgetRepository.save(budget, normalizedLines);
+        Budget saved = budgetRepository.save(budget, normalizedLines);
+        DomainEventBus.getInstance().publish(new BudgetSaved(saved.getEmpresaId(), saved.getId()));
+        return saved;
     }
 }
@@ -52,6 +52,14 @@ public final class AuthContext {
         return SessionManager.getInstance().getCurrentEmpresaId();
     }
 
+    /**
+     * Si el usuario actual puede ver datos de la empresa indicada: el SuperAdmin, todas;
+     * el resto, sólo la suya.
+     */
+    public static boolean canSeeEmpresa(Long empresaId) {
+        return isSuperAdmin() || (empresaId != null && empresaId == getEmpresaId());
+    }
+
     public static String getEmpresaNombre() {
         return SessionManager.getInstance().getCurrentEmpresaNombre();
     }
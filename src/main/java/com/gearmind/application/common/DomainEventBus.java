@@ -0,0 +1,85 @@
+package com.gearmind.application.common;
+
+import com.gearmind.domain.event.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Bus de eventos de dominio en proceso. Los casos de uso publican tras guardar y las
+ * pantallas abiertas se suscriben para actualizar sólo las filas afectadas.
+ *
+ * La entrega es síncrona, en el hilo que publica, y el suscriptor se guarda con una
+ * referencia débil: una pantalla que se cierra deja de recibir eventos sin tener que darse
+ * de baja. Por eso el manejador recibe el suscriptor como parámetro y no debe capturarlo
+ * (usar referencias a método como {@code TareasController::onTaskChanged}).
+ */
+public final class DomainEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventBus.class);
+
+    private static final DomainEventBus INSTANCE = new DomainEventBus();
+
+    private final List<Subscription<?, ?>> subscriptions = new CopyOnWriteArrayList<>();
+
+    private DomainEventBus() {
+    }
+
+    public static DomainEventBus getInstance() {
+        return INSTANCE;
+    }
+
+    public <O, E extends DomainEvent> void subscribe(O owner, Class<E> type, BiConsumer<O, E> handler) {
+        if (owner == null || type == null || handler == null) {
+            throw new IllegalArgumentException("Suscriptor, tipo de evento y manejador son obligatorios");
+        }
+        subscriptions.add(new Subscription<>(new WeakReference<>(owner), type, handler));
+    }
+
+    public void unsubscribe(Object owner) {
+        subscriptions.removeIf(s -> {
+            Object current = s.owner().get();
+            return current == null || current == owner;
+        });
+    }
+
+    /**
+     * Entrega el evento a los suscriptores de su tipo. Un manejador que falla no impide
+     * la entrega a los demás ni afecta a quien publica: el cambio ya está guardado.
+     */
+    public void publish(DomainEvent event) {
+        boolean stale = false;
+        for (Subscription<?, ?> subscription : subscriptions) {
+            if (!subscription.type().isInstance(event)) {
+                continue;
+            }
+            try {
+                stale |= !subscription.deliver(event);
+            } catch (RuntimeException e) {
+                log.warn("Error entregando {} a {}", event, subscription.owner().get(), e);
+            }
+        }
+        if (stale) {
+            subscriptions.removeIf(s -> s.owner().get() == null);
+        }
+    }
+
+    private record Subscription<O, E extends DomainEvent>(WeakReference<O> owner, Class<E> type, BiConsumer<O, E> handler) {
+
+        /**
+         * false si el suscriptor ya no existe.
+         */
+        boolean deliver(DomainEvent event) {
+            O current = owner.get();
+            if (current == null) {
+                return false;
+            }
+            handler.accept(current, type.cast(event));
+            return true;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.gearmind.application.customer;
 
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.domain.customer.CustomerRepository;
+import com.gearmind.domain.event.CustomerChanged;
 
 public class ActivateCustomerUseCase {
 
@@ -12,5 +14,6 @@ public class ActivateCustomerUseCase {
 
     public void activate(long customerId, long empresaId) {
         repository.activate(customerId, empresaId);
+        DomainEventBus.getInstance().publish(new CustomerChanged(empresaId, customerId));
     }
 }
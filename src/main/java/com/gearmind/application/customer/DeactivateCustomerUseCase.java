@@ -1,6 +1,8 @@
 package com.gearmind.application.customer;
 
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.domain.customer.CustomerRepository;
+import com.gearmind.domain.event.CustomerChanged;
 
 public class DeactivateCustomerUseCase {
 
@@ -12,6 +14,7 @@ public class DeactivateCustomerUseCase {
 
     public void deactivate(long id, long empresaId) {
         repository.deactivate(id, empresaId);
+        DomainEventBus.getInstance().publish(new CustomerChanged(empresaId, id));
     }
 }
 
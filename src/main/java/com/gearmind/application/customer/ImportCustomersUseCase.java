@@ -0,0 +1,44 @@
+package com.gearmind.application.customer;
+
+import com.gearmind.application.importing.CsvImportPipeline;
+import com.gearmind.application.importing.CsvRow;
+import com.gearmind.application.importing.ImportOptions;
+import com.gearmind.application.importing.ImportProgress;
+import com.gearmind.application.importing.ImportReport;
+import com.gearmind.domain.customer.Customer;
+import com.gearmind.domain.customer.CustomerRepository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Importación masiva de clientes desde CSV con columnas {@code nombre} (obligatoria),
+ * {@code email}, {@code telefono} y {@code notas}. El email no puede repetirse en la empresa.
+ */
+public class ImportCustomersUseCase {
+
+    private final CustomerRepository repository;
+
+    public ImportCustomersUseCase(CustomerRepository repository) {
+        this.repository = repository;
+    }
+
+    public ImportReport execute(long empresaId, Reader csv, ImportOptions options, Consumer<ImportProgress> listener) throws IOException {
+        CsvImportPipeline<Customer> pipeline = new CsvImportPipeline<>(
+                row -> parse(empresaId, row),
+                c -> c.getEmail() == null ? null : c.getEmail().toLowerCase(Locale.ROOT),
+                repository.findIdsByEmail(empresaId).keySet(),
+                "Ya existe un cliente con ese email en la empresa.",
+                batch -> repository.createAll(empresaId, batch));
+
+        return pipeline.requireColumns("nombre").run(csv, options, listener);
+    }
+
+    private Customer parse(long empresaId, CsvRow row) {
+        SaveCustomerRequest request = new SaveCustomerRequest(null, empresaId, row.get("nombre"), row.get("email"), row.get("telefono"), row.get("notas"));
+        SaveCustomerUseCase.validate(request);
+        return new Customer(0L, empresaId, request.nombre(), request.email(), request.telefono(), request.notas(), true);
+    }
+}
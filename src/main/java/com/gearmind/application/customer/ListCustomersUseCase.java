@@ -1,10 +1,13 @@
 package com.gearmind.application.customer;
 
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.common.pagination.Page;
+import com.gearmind.common.pagination.PageRequest;
 import com.gearmind.domain.customer.Customer;
 import com.gearmind.domain.customer.CustomerRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public class ListCustomersUseCase {
 
@@ -32,4 +35,30 @@ public class ListCustomersUseCase {
         return repository.findAllWithEmpresa();
     }
 
+    public Page<Customer> pageByEmpresa(long empresaId, PageRequest<Customer> request) {
+        if (empresaId <= 0) {
+            throw new IllegalArgumentException("empresaId debe ser > 0");
+        }
+        return repository.findPageByEmpresaId(empresaId, request);
+    }
+
+    public Page<Customer> pageAllWithEmpresa(PageRequest<Customer> request) {
+        return repository.findPageAllWithEmpresa(request);
+    }
+
+    public long countByEmpresa(long empresaId) {
+        return repository.countByEmpresaId(empresaId);
+    }
+
+    public long countAll() {
+        return repository.countAll();
+    }
+
+    /**
+     * El cliente si existe y entra en este listado para el usuario actual; vacío si no
+     * (para actualizar una sola fila de la pantalla tras un cambio).
+     */
+    public Optional<Customer> findVisible(long customerId) {
+        return repository.findById(customerId).filter(c -> AuthContext.canSeeEmpresa(c.getEmpresaId()));
+    }
 }
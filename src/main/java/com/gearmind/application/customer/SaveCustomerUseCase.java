@@ -1,7 +1,9 @@
 package com.gearmind.application.customer;
 
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.domain.customer.Customer;
 import com.gearmind.domain.customer.CustomerRepository;
+import com.gearmind.domain.event.CustomerChanged;
 import java.util.regex.Pattern;
 
 public class SaveCustomerUseCase {
@@ -16,18 +18,18 @@ public class SaveCustomerUseCase {
     public Customer save(SaveCustomerRequest request) {
         validate(request);
 
-        if (request.id() == null) {
-            return repository.create(request.empresaId(), request.nombre().trim(), normalize(request.email()), normalize(request.telefono()), normalize(request.notas()));
-        }
-
-        return repository.update(request.id(), request.empresaId(), request.nombre().trim(), normalize(request.email()), normalize(request.telefono()), normalize(request.notas()));
+        Customer saved = request.id() == null
+                ? repository.create(request.empresaId(), request.nombre().trim(), normalize(request.email()), normalize(request.telefono()), normalize(request.notas()))
+                : repository.update(request.id(), request.empresaId(), request.nombre().trim(), normalize(request.email()), normalize(request.telefono()), normalize(request.notas()));
+        DomainEventBus.getInstance().publish(new CustomerChanged(request.empresaId(), saved.getId()));
+        return saved;
     }
 
     private String normalize(String s) {
         return s == null ? null : s.trim();
     }
 
-    private void validate(SaveCustomerRequest r) {
+    static void validate(SaveCustomerRequest r) {
         if (r.empresaId() <= 0) {
             throw new IllegalArgumentException("empresaId debe ser > 0");
         }
@@ -0,0 +1,19 @@
+package com.gearmind.application.dashboard;
+
+import com.gearmind.domain.dashboard.DashboardMetrics;
+import com.gearmind.domain.dashboard.DashboardMetricsRepository;
+
+import java.time.LocalDate;
+
+public class GetDashboardMetricsUseCase {
+
+    private final DashboardMetricsRepository repository;
+
+    public GetDashboardMetricsUseCase(DashboardMetricsRepository repository) {
+        this.repository = repository;
+    }
+
+    public DashboardMetrics execute(long empresaId) {
+        return repository.load(empresaId, LocalDate.now());
+    }
+}
@@ -0,0 +1,84 @@
+package com.gearmind.application.exporting;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escritor CSV en el formato que abre Excel en español: UTF-8 con BOM, separador ';'
+ * y coma decimal. Escribe cada fila directamente en el stream; no guarda nada en memoria.
+ */
+public class CsvWriter implements Flushable {
+
+    private static final char DELIMITER = ';';
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(256);
+
+    public CsvWriter(OutputStream stream) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 64 * 1024);
+        out.write('\uFEFF');
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(DELIMITER);
+            }
+            appendField(format(values[i]));
+        }
+        line.append("\r\n");
+        out.append(line);
+    }
+
+    private String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString().replace('.', ',');
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return DATE_TIME.format(dateTime);
+        }
+        return value.toString();
+    }
+
+    private void appendField(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == DELIMITER || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * Vacía el buffer sin cerrar el stream, que pertenece a quien lo abrió.
+     */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
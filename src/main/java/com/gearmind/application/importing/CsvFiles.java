@@ -0,0 +1,97 @@
+package com.gearmind.application.importing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Apertura de CSV con la codificación que realmente traen. Excel guarda "CSV" en
+ * windows-1252 salvo que se elija "CSV UTF-8", que añade BOM.
+ *
+ * Con BOM se usa la codificación que indica. Sin BOM se prueba UTF-8 sobre el principio del
+ * fichero y, si no lo es, se lee como windows-1252. En ambos casos el decodificador es
+ * tolerante: un byte inválido más adelante se convierte en '�' en lugar de abortar
+ * la importación a mitad, con lotes ya confirmados.
+ */
+public final class CsvFiles {
+
+    private static final int SNIFF_BYTES = 64 * 1024;
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    private CsvFiles() {
+    }
+
+    public static Reader open(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), SNIFF_BYTES);
+        try {
+            in.mark(SNIFF_BYTES);
+            byte[] head = in.readNBytes(SNIFF_BYTES);
+            in.reset();
+
+            Charset charset;
+            int bom;
+            if (startsWith(head, 0xEF, 0xBB, 0xBF)) {
+                charset = StandardCharsets.UTF_8;
+                bom = 3;
+            } else if (startsWith(head, 0xFF, 0xFE)) {
+                charset = StandardCharsets.UTF_16LE;
+                bom = 2;
+            } else if (startsWith(head, 0xFE, 0xFF)) {
+                charset = StandardCharsets.UTF_16BE;
+                bom = 2;
+            } else {
+                charset = isUtf8(head, head.length < SNIFF_BYTES) ? StandardCharsets.UTF_8 : WINDOWS_1252;
+                bom = 0;
+            }
+            in.skipNBytes(bom);
+
+            CharsetDecoder decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            return new BufferedReader(new InputStreamReader(in, decoder));
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * true si los bytes son UTF-8 válido. Si no es el final del fichero, una secuencia
+     * cortada al final de la muestra no cuenta como error.
+     */
+    static boolean isUtf8(byte[] bytes, boolean endOfInput) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CoderResult result = decoder.decode(ByteBuffer.wrap(bytes), CharBuffer.allocate(bytes.length), endOfInput);
+        return !result.isError();
+    }
+
+    private static boolean startsWith(byte[] bytes, int... prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        return Arrays.equals(Arrays.copyOf(bytes, prefix.length), toBytes(prefix));
+    }
+
+    private static byte[] toBytes(int[] values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
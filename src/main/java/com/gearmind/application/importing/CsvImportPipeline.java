@@ -0,0 +1,136 @@
+package com.gearmind.application.importing;
+
+import com.gearmind.common.exception.DuplicateException;
+import com.gearmind.common.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Pipeline de importación CSV compartido por clientes, vehículos y productos.
+ *
+ * Lee el fichero fila a fila, convierte y valida cada fila con el {@link RowParser} y comprueba
+ * la clave única en memoria contra las claves ya existentes (cargadas de una vez) y las del
+ * propio fichero. Las filas válidas se acumulan y se escriben por lotes con el {@link BatchWriter},
+ * una transacción por lote. Tras cada lote se guarda el checkpoint y se notifica el progreso.
+ *
+ * Las filas con errores se registran y se saltan. Un fallo al escribir un lote aborta la
+ * importación; el checkpoint apunta al último lote confirmado, así que basta con relanzarla.
+ */
+public class CsvImportPipeline<T> {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    @FunctionalInterface
+    public interface RowParser<T> {
+
+        /**
+         * Convierte la fila en una entidad. Lanza {@link ValidationException} o
+         * {@link IllegalArgumentException} si la fila no es válida.
+         */
+        T parse(CsvRow row);
+    }
+
+    @FunctionalInterface
+    public interface BatchWriter<T> {
+
+        void write(List<T> batch);
+    }
+
+    private final RowParser<T> parser;
+    private final Function<T, String> uniqueKey;
+    private final Set<String> existingKeys;
+    private final String duplicateMessage;
+    private final BatchWriter<T> writer;
+    private final Set<String> requiredColumns = new LinkedHashSet<>();
+
+    /**
+     * @param uniqueKey        clave normalizada de la entidad, o {@code null} si no aplica a esa fila
+     * @param existingKeys     claves ya presentes en la base de datos para la empresa
+     * @param duplicateMessage mensaje para las filas con clave repetida
+     */
+    public CsvImportPipeline(RowParser<T> parser, Function<T, String> uniqueKey, Set<String> existingKeys, String duplicateMessage, BatchWriter<T> writer) {
+        this.parser = parser;
+        this.uniqueKey = uniqueKey;
+        this.existingKeys = new HashSet<>(existingKeys);
+        this.duplicateMessage = duplicateMessage;
+        this.writer = writer;
+    }
+
+    /**
+     * Columnas que deben figurar en la cabecera; si falta alguna no se importa nada.
+     */
+    public CsvImportPipeline<T> requireColumns(String... columns) {
+        requiredColumns.addAll(List.of(columns));
+        return this;
+    }
+
+    public ImportReport run(Reader source, ImportOptions options, Consumer<ImportProgress> listener) throws IOException {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(options.checkpointFile());
+        long resumeAfter = checkpoint.load();
+        Consumer<ImportProgress> progress = listener != null ? listener : p -> {
+        };
+
+        long rowsRead = 0;
+        long imported = 0;
+        long skipped = 0;
+        long errorCount = 0;
+        List<ImportRowError> errors = new ArrayList<>();
+        List<T> batch = new ArrayList<>(options.chunkSize());
+
+        try (CsvReader reader = new CsvReader(source)) {
+            List<String> missing = requiredColumns.stream().filter(c -> !reader.getHeader().contains(c)).toList();
+            if (!missing.isEmpty()) {
+                throw new ValidationException("Faltan columnas en el CSV: " + String.join(", ", missing));
+            }
+
+            CsvRow row;
+            while ((row = reader.next()) != null) {
+                rowsRead++;
+                if (row.number() <= resumeAfter) {
+                    skipped++;
+                    continue;
+                }
+
+                try {
+                    T item = parser.parse(row);
+                    String key = uniqueKey.apply(item);
+                    if (key != null && !existingKeys.add(key)) {
+                        throw new DuplicateException(duplicateMessage);
+                    }
+                    batch.add(item);
+                } catch (ValidationException | DuplicateException | IllegalArgumentException e) {
+                    errorCount++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new ImportRowError(row.line(), e.getMessage()));
+                    }
+                }
+
+                if (batch.size() >= options.chunkSize()) {
+                    writer.write(batch);
+                    imported += batch.size();
+                    batch.clear();
+                    checkpoint.save(row.number());
+                    progress.accept(new ImportProgress(rowsRead, imported, skipped, errorCount));
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writer.write(batch);
+            imported += batch.size();
+            batch.clear();
+        }
+        checkpoint.clear();
+        progress.accept(new ImportProgress(rowsRead, imported, skipped, errorCount));
+
+        return new ImportReport(rowsRead, imported, skipped, errorCount, errors);
+    }
+}
@@ -0,0 +1,139 @@
+package com.gearmind.application.importing;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lector CSV incremental: devuelve las filas de una en una sin cargar el fichero en memoria.
+ *
+ * La primera línea es la cabecera; sus nombres se normalizan a minúsculas. El separador
+ * (';' o ',') se deduce de la cabecera, ya que Excel en español exporta con ';'.
+ * Admite campos entre comillas con separadores, saltos de línea y comillas dobles escapadas.
+ */
+public class CsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private final char delimiter;
+    private long lineNumber;
+    private long rowNumber;
+
+    public CsvReader(Reader source) throws IOException {
+        this.reader = source instanceof BufferedReader br ? br : new BufferedReader(source);
+        String first = reader.readLine();
+        if (first == null) {
+            throw new IOException("El fichero CSV está vacío.");
+        }
+        if (!first.isEmpty() && first.charAt(0) == '\uFEFF') {
+            first = first.substring(1);
+        }
+        lineNumber = 1;
+        this.delimiter = count(first, ';') > count(first, ',') ? ';' : ',';
+
+        List<String> names = new ArrayList<>();
+        for (String name : parseLine(first)) {
+            names.add(name.trim().toLowerCase(Locale.ROOT));
+        }
+        this.header = Collections.unmodifiableList(names);
+    }
+
+    public List<String> getHeader() {
+        return header;
+    }
+
+    /**
+     * Lee la siguiente fila de datos o devuelve {@code null} al final del fichero. Las líneas vacías se ignoran.
+     */
+    public CsvRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        long startLine = lineNumber;
+        List<String> fields = parseLine(line);
+        rowNumber++;
+
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            values.put(header.get(i), i < fields.size() ? fields.get(i) : null);
+        }
+        return new CsvRow(rowNumber, startLine, values);
+    }
+
+    private List<String> parseLine(String line) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+
+        while (true) {
+            if (i >= line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // Campo entre comillas que continúa en la línea siguiente.
+                String next = reader.readLine();
+                if (next == null) {
+                    throw new IOException("Comillas sin cerrar en la línea " + lineNumber + ".");
+                }
+                lineNumber++;
+                field.append('\n');
+                line = next;
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static int count(String s, char c) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == c) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
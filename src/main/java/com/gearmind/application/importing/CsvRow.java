@@ -0,0 +1,64 @@
+package com.gearmind.application.importing;
+
+import com.gearmind.common.exception.ValidationException;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Fila de datos de un CSV. {@code number} es su posición (1 = primera fila tras la cabecera)
+ * y {@code line} la línea física del fichero, útil para los mensajes de error.
+ */
+public record CsvRow(long number, long line, Map<String, String> values) {
+
+    /**
+     * Valor recortado de la columna, o {@code null} si no existe o está vacío.
+     */
+    public String get(String column) {
+        String value = values.get(column);
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Como {@link #get(String)}, pero rechaza la fila si el valor no cabe en la columna de la
+     * base de datos: un valor demasiado largo haría fallar el lote entero al insertarlo.
+     */
+    public String get(String column, int maxLength) {
+        String value = get(column);
+        if (value != null && value.length() > maxLength) {
+            throw new ValidationException("La columna '" + column + "' admite como máximo " + maxLength + " caracteres: " + value);
+        }
+        return value;
+    }
+
+    public Integer getInteger(String column) {
+        String value = get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("La columna '" + column + "' debe ser un número entero: " + value);
+        }
+    }
+
+    /**
+     * Número decimal admitiendo coma decimal ("12,50").
+     */
+    public BigDecimal getDecimal(String column) {
+        String value = get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("La columna '" + column + "' debe ser un número: " + value);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.gearmind.application.importing;
+
+import com.gearmind.common.exception.InfrastructureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Último número de fila cuyo lote se confirmó en la base de datos. Se guarda en un fichero
+ * (escritura atómica) para que una importación interrumpida se reanude sin duplicar filas.
+ * Con {@code file == null} no se persiste nada.
+ *
+ * Guardar y borrar son best-effort: el lote ya está confirmado cuando se guarda, así que un
+ * fallo de disco sólo se registra en el log en lugar de abortar la importación.
+ */
+class ImportCheckpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportCheckpoint.class);
+
+    private final Path file;
+
+    ImportCheckpoint(Path file) {
+        this.file = file;
+    }
+
+    long load() {
+        if (file == null || !Files.exists(file)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            throw new InfrastructureException("No se pudo leer el checkpoint de importación " + file, e);
+        }
+    }
+
+    void save(long row) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, Long.toString(row), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar el checkpoint de importación {} (fila {})", file, row, e);
+        }
+    }
+
+    void clear() {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el checkpoint de importación {}", file, e);
+        }
+    }
+}
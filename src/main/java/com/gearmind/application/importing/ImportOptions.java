@@ -0,0 +1,51 @@
+package com.gearmind.application.importing;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Configuración de una importación: filas por lote (una transacción por lote) y fichero
+ * de checkpoint opcional para poder reanudar una importación interrumpida.
+ */
+public record ImportOptions(int chunkSize, Path checkpointFile) {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    public ImportOptions {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser > 0");
+        }
+    }
+
+    public static ImportOptions defaults() {
+        return new ImportOptions(DEFAULT_CHUNK_SIZE, null);
+    }
+
+    /**
+     * Opciones por defecto con checkpoint en ~/GearMind/importaciones, no junto al CSV (que puede
+     * estar en una carpeta de sólo lectura). El nombre depende de la empresa, la ruta del CSV y
+     * su tamaño y fecha de modificación: el mismo fichero importado en otra empresa, o el CSV
+     * editado entre intentos, empieza desde el principio.
+     */
+    public static ImportOptions resumable(long empresaId, Path csvFile) throws IOException {
+        Path file = csvFile.toAbsolutePath().normalize();
+        String key = empresaId + "|" + file + "|" + Files.size(file) + "|" + Files.getLastModifiedTime(file).toMillis();
+        Path dir = Paths.get(System.getProperty("user.home"), "GearMind", "importaciones");
+        return new ImportOptions(DEFAULT_CHUNK_SIZE, dir.resolve(sha256(key) + ".checkpoint"));
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.gearmind.application.importing;
+
+/**
+ * Estado de una importación en curso, notificado tras cada lote confirmado.
+ */
+public record ImportProgress(long rowsRead, long imported, long skipped, long errors) {
+}
@@ -0,0 +1,19 @@
+package com.gearmind.application.importing;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación. {@code skipped} son las filas ya importadas en una ejecución
+ * anterior (según el checkpoint). {@code errors} guarda como mucho los primeros
+ * {@link CsvImportPipeline#MAX_REPORTED_ERRORS}; {@code errorCount} los cuenta todos.
+ */
+public record ImportReport(long rowsRead, long imported, long skipped, long errorCount, List<ImportRowError> errors) {
+
+    public ImportReport {
+        errors = List.copyOf(errors);
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+}
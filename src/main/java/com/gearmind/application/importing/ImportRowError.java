@@ -0,0 +1,9 @@
+package com.gearmind.application.importing;
+
+public record ImportRowError(long line, String message) {
+
+    @Override
+    public String toString() {
+        return "Línea " + line + ": " + message;
+    }
+}
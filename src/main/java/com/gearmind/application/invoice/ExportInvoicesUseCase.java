@@ -0,0 +1,54 @@
+package com.gearmind.application.invoice;
+
+import com.gearmind.application.exporting.CsvWriter;
+import com.gearmind.domain.invoice.InvoiceRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+/**
+ * Exporta a CSV las facturas de la empresa con sus líneas (una fila por línea) en el rango [from, to).
+ * Las filas pasan de la consulta al stream una a una, así que la memoria no crece con el volumen.
+ */
+public class ExportInvoicesUseCase {
+
+    private final InvoiceRepository repository;
+
+    public ExportInvoicesUseCase(InvoiceRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @return número de filas de datos escritas
+     */
+    public long execute(long empresaId, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("La fecha inicial debe ser anterior a la final.");
+        }
+
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow("numero", "fecha", "estado", "cliente", "matricula", "subtotal", "iva", "total",
+                "linea_descripcion", "linea_cantidad", "linea_precio", "linea_total");
+
+        long[] rows = {0};
+        try {
+            repository.forEachExportRow(empresaId, from.atStartOfDay(), to.atStartOfDay(), row -> {
+                try {
+                    csv.writeRow(row.numero(), row.fecha(), row.estado(), row.clienteNombre(), row.vehiculoMatricula(),
+                            row.subtotal(), row.iva(), row.total(),
+                            row.lineaDescripcion(), row.cantidad(), row.precio(), row.lineaTotal());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        csv.flush();
+        return rows[0];
+    }
+}
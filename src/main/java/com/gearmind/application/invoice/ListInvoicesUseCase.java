@@ -1,9 +1,13 @@
 package com.gearmind.application.invoice;
 
+import com.gearmind.application.common.AuthContext;
+import com.gearmind.common.pagination.Page;
+import com.gearmind.common.pagination.PageRequest;
 import com.gearmind.domain.invoice.Invoice;
 import com.gearmind.domain.invoice.InvoiceRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public class ListInvoicesUseCase {
 
@@ -20,4 +24,28 @@ public class ListInvoicesUseCase {
     public List<Invoice> listByEmpresa(long empresaId) {
         return invoiceRepository.findByEmpresaId(empresaId);
     }
+
+    public Page<Invoice> pageAllWithEmpresa(PageRequest<Invoice> request) {
+        return invoiceRepository.findPageAllWithEmpresa(request);
+    }
+
+    public Page<Invoice> pageByEmpresa(long empresaId, PageRequest<Invoice> request) {
+        return invoiceRepository.findPageByEmpresaId(empresaId, request);
+    }
+
+    public long countAll() {
+        return invoiceRepository.countAll();
+    }
+
+    public long countByEmpresa(long empresaId) {
+        return invoiceRepository.countByEmpresaId(empresaId);
+    }
+
+    /**
+     * La factura si existe y entra en este listado para el usuario actual; vacío si no
+     * (para actualizar una sola fila de la pantalla tras un cambio).
+     */
+    public Optional<Invoice> findVisible(long invoiceId) {
+        return invoiceRepository.findById(invoiceId).filter(i -> AuthContext.canSeeEmpresa(i.getEmpresaId()));
+    }
 }
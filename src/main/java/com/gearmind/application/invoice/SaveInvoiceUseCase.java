@@ -1,5 +1,7 @@
 package com.gearmind.application.invoice;
 
+import com.gearmind.application.common.DomainEventBus;
+import com.gearmind.domain.event.InvoiceSaved;
 import com.gearmind.domain.invoice.Invoice;
 import com.gearmind.domain.invoice.InvoiceLine;
 import com.gearmind.domain.invoice.InvoiceRepository;
@@ -76,7 +78,8 @@ public class SaveInvoiceUseCase {
         invoice.setClienteId(request.getClienteId());
         invoice.setVehiculoId(request.getVehiculoId());
         invoice.setPresupuestoId(request.getPresupuestoId());
-        invoice.setNumero(request.getNumero() != null ? request.getNumero() : generateNumber());
+        // Sin número explícito, el repositorio asigna el siguiente de la serie al insertar.
+        invoice.setNumero(request.getNumero());
         invoice.setFecha(LocalDateTime.now());
         invoice.setEstado(request.getEstado() != null ? request.getEstado() : InvoiceStatus.PENDIENTE);
         invoice.setObservaciones(request.getObservaciones());
@@ -88,10 +91,8 @@ public class SaveInvoiceUseCase {
             invoice.setCreatedAt(LocalDateTime.now());
         }
 
-        return invoiceRepository.save(invoice, normalizedLines);
-    }
-
-    private String generateNumber() {
-        return "F-" + System.currentTimeMillis();
+        Invoice saved = invoiceRepository.save(invoice, normalizedLines);
+        DomainEventBus.getInstance().publish(new InvoiceSaved(saved.getEmpresaId(), saved.getId()));
+        return saved;
     }
 }
@@ -1,5 +1,7 @@
 package com.gearmind.application.product;
 
+import com.gearmind.application.common.DomainEventBus;
+import com.gearmind.domain.event.ProductChanged;
 import com.gearmind.domain.product.ProductRepository;
 
 public class ActivateProductUseCase {
@@ -12,5 +14,6 @@ public class ActivateProductUseCase {
 
     public void activate(long productId, long empresaId) {
         repository.activate(productId, empresaId);
+        DomainEventBus.getInstance().publish(new ProductChanged(empresaId, productId));
     }
 }
@@ -1,5 +1,7 @@
 package com.gearmind.application.product;
 
+import com.gearmind.application.common.DomainEventBus;
+import com.gearmind.domain.event.ProductChanged;
 import com.gearmind.domain.product.ProductRepository;
 
 public class DeactivateProductUseCase {
@@ -12,5 +14,6 @@ public class DeactivateProductUseCase {
 
     public void deactivate(long productId, long empresaId) {
         repository.deactivate(productId, empresaId);
+        DomainEventBus.getInstance().publish(new ProductChanged(empresaId, productId));
     }
 }
@@ -0,0 +1,53 @@
+package com.gearmind.application.product;
+
+import com.gearmind.application.importing.CsvImportPipeline;
+import com.gearmind.application.importing.CsvRow;
+import com.gearmind.application.importing.ImportOptions;
+import com.gearmind.application.importing.ImportProgress;
+import com.gearmind.application.importing.ImportReport;
+import com.gearmind.domain.product.Product;
+import com.gearmind.domain.product.ProductRepository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Importación masiva de productos desde CSV con columnas {@code nombre} (obligatoria),
+ * {@code descripcion}, {@code referencia}, {@code categoria}, {@code stock}, {@code stock_minimo},
+ * {@code precio_compra} y {@code precio_venta}. La referencia no puede repetirse en la empresa.
+ */
+public class ImportProductsUseCase {
+
+    private final ProductRepository repository;
+
+    public ImportProductsUseCase(ProductRepository repository) {
+        this.repository = repository;
+    }
+
+    public ImportReport execute(long empresaId, Reader csv, ImportOptions options, Consumer<ImportProgress> listener) throws IOException {
+        CsvImportPipeline<Product> pipeline = new CsvImportPipeline<>(
+                row -> parse(empresaId, row),
+                p -> p.getReferencia() == null ? null : p.getReferencia().toUpperCase(Locale.ROOT),
+                repository.findReferenciasByEmpresaId(empresaId),
+                "Ya existe un producto con esa referencia en la empresa.",
+                batch -> repository.createAll(empresaId, batch));
+
+        return pipeline.requireColumns("nombre").run(csv, options, listener);
+    }
+
+    private Product parse(long empresaId, CsvRow row) {
+        SaveProductRequest request = new SaveProductRequest(null, empresaId, row.get("nombre"), row.get("descripcion"), row.get("referencia"), row.get("categoria"),
+                row.getInteger("stock"), row.getInteger("stock_minimo"), row.getDecimal("precio_compra"), row.getDecimal("precio_venta"));
+        SaveProductUseCase.validate(request);
+
+        return new Product(null, empresaId, request.nombre(), request.descripcion(), request.referencia(), request.categoria(),
+                request.stock() == null ? 0 : request.stock(),
+                request.stockMinimo() == null ? 0 : request.stockMinimo(),
+                request.precioCompra() == null ? BigDecimal.ZERO : request.precioCompra(),
+                request.precioVenta() == null ? BigDecimal.ZERO : request.precioVenta(),
+                true);
+    }
+}
@@ -1,9 +1,11 @@
 package com.gearmind.application.product;
 
+import com.gearmind.application.common.AuthContext;
 import com.gearmind.domain.product.Product;
 import com.gearmind.domain.product.ProductRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public class ListProductsUseCase {
 
@@ -23,4 +25,12 @@ public class ListProductsUseCase {
     public List<Product> listAllWithEmpresa() {
         return repository.findAllWithEmpresa();
     }
-}
\ No newline at end of file
+
+    /**
+     * El producto si existe y entra en este listado para el usuario actual; vacío si no
+     * (para actualizar una sola fila de la pantalla tras un cambio).
+     */
+    public Optional<Product> findVisible(long productId) {
+        return repository.findById(productId).filter(p -> AuthContext.canSeeEmpresa(p.getEmpresaId()));
+    }
+}
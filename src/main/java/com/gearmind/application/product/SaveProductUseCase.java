@@ -1,5 +1,7 @@
 package com.gearmind.application.product;
 
+import com.gearmind.application.common.DomainEventBus;
+import com.gearmind.domain.event.ProductChanged;
 import com.gearmind.domain.product.Product;
 import com.gearmind.domain.product.ProductRepository;
 
@@ -21,11 +23,11 @@ public class SaveProductUseCase {
         BigDecimal precioCompra = defaultDecimal(request.precioCompra());
         BigDecimal precioVenta = defaultDecimal(request.precioVenta());
 
-        if (request.id() == null) {
-            return repository.create(request.empresaId(), request.nombre().trim(), normalize(request.descripcion()), normalize(request.referencia()), normalize(request.categoria()), stock, stockMinimo, precioCompra, precioVenta);
-        }
-
-        return repository.update(request.id(), request.empresaId(), request.nombre().trim(), normalize(request.descripcion()), normalize(request.referencia()), normalize(request.categoria()), stock, stockMinimo, precioCompra, precioVenta);
+        Product saved = request.id() == null
+                ? repository.create(request.empresaId(), request.nombre().trim(), normalize(request.descripcion()), normalize(request.referencia()), normalize(request.categoria()), stock, stockMinimo, precioCompra, precioVenta)
+                : repository.update(request.id(), request.empresaId(), request.nombre().trim(), normalize(request.descripcion()), normalize(request.referencia()), normalize(request.categoria()), stock, stockMinimo, precioCompra, precioVenta);
+        DomainEventBus.getInstance().publish(new ProductChanged(request.empresaId(), saved.getId()));
+        return saved;
     }
 
     private String normalize(String s) {
@@ -40,7 +42,7 @@ public class SaveProductUseCase {
         return value == null ? BigDecimal.ZERO : value;
     }
 
-    private void validate(SaveProductRequest r) {
+    static void validate(SaveProductRequest r) {
         if (r.empresaId() <= 0) {
             throw new IllegalArgumentException("empresaId debe ser > 0");
         }
@@ -1,5 +1,7 @@
 package com.gearmind.application.repair;
 
+import com.gearmind.application.common.DomainEventBus;
+import com.gearmind.domain.event.RepairChanged;
 import com.gearmind.domain.repair.Repair;
 import com.gearmind.domain.repair.RepairRepository;
 import com.gearmind.domain.repair.RepairStatus;
@@ -36,5 +38,6 @@ public class ChangeRepairStatusUseCase {
         repair.setEstado(newStatus);
         repair.setUpdatedAt(LocalDateTime.now());
         repairRepository.save(repair);
+        DomainEventBus.getInstance().publish(new RepairChanged(repair.getEmpresaId(), repair.getId()));
     }
 }
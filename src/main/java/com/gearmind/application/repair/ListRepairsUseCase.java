@@ -5,6 +5,7 @@ import com.gearmind.domain.repair.Repair;
 import com.gearmind.domain.repair.RepairRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public class ListRepairsUseCase {
 
@@ -21,4 +22,12 @@ public class ListRepairsUseCase {
         long empresaId = AuthContext.getEmpresaId();
         return repairRepository.findByEmpresa(empresaId);
     }
+
+    /**
+     * La reparación si existe y entra en este listado para el usuario actual; vacío si no
+     * (para actualizar una sola fila de la pantalla tras un cambio).
+     */
+    public Optional<Repair> findVisible(long repairId) {
+        return repairRepository.findById(repairId).filter(r -> AuthContext.canSeeEmpresa(r.getEmpresaId()));
+    }
 }
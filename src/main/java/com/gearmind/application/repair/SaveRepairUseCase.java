@@ -1,5 +1,7 @@
 package com.gearmind.application.repair;
 
+import com.gearmind.application.common.DomainEventBus;
+import com.gearmind.domain.event.RepairChanged;
 import com.gearmind.domain.repair.Repair;
 import com.gearmind.domain.repair.RepairRepository;
 import com.gearmind.domain.repair.RepairStatus;
@@ -50,6 +52,7 @@ public class SaveRepairUseCase {
             repair.setCreatedAt(LocalDateTime.now());
             repair.setUpdatedAt(null);
             repairRepository.save(repair);
+            DomainEventBus.getInstance().publish(new RepairChanged(repair.getEmpresaId(), repair.getId()));
         } else {
             Optional<Repair> maybeRepair = repairRepository.findById(request.getId());
             Repair existing = maybeRepair.orElseThrow(() -> new IllegalArgumentException("La reparación indicada no existe."));
@@ -64,6 +67,7 @@ public class SaveRepairUseCase {
             }
             existing.setUpdatedAt(LocalDateTime.now());
             repairRepository.save(existing);
+            DomainEventBus.getInstance().publish(new RepairChanged(existing.getEmpresaId(), existing.getId()));
         }
     }
 }
@@ -1,5 +1,7 @@
 package com.gearmind.application.task;
 
+import com.gearmind.application.common.DomainEventBus;
+import com.gearmind.domain.event.TaskChanged;
 import com.gearmind.domain.task.Task;
 import com.gearmind.domain.task.TaskRepository;
 
@@ -35,5 +37,6 @@ public class AssignTaskUseCase {
         task.setAsignadoA(empleadoId);
         task.setUpdatedAt(LocalDateTime.now());
         taskRepository.save(task);
+        DomainEventBus.getInstance().publish(new TaskChanged(task.getEmpresaId(), task.getId()));
     }
 }
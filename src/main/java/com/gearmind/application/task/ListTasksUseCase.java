@@ -5,6 +5,8 @@ import com.gearmind.domain.task.Task;
 import com.gearmind.domain.task.TaskRepository;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 public class ListTasksUseCase {
 
@@ -27,4 +29,19 @@ public class ListTasksUseCase {
 
         return taskRepository.findByEmpresa(empresaId);
     }
+
+    /**
+     * La tarea si existe y entra en este listado para el usuario actual; vacío si no
+     * (para actualizar una sola fila de la pantalla tras un cambio).
+     */
+    public Optional<Task> findVisible(long taskId) {
+        return taskRepository.findById(taskId).filter(this::isVisible);
+    }
+
+    private boolean isVisible(Task task) {
+        if (!AuthContext.canSeeEmpresa(task.getEmpresaId())) {
+            return false;
+        }
+        return !AuthContext.isEmpleado() || Objects.equals(task.getAsignadoA(), AuthContext.getCurrentUser().getId());
+    }
 }
@@ -1,5 +1,7 @@
 package com.gearmind.application.task;
 
+import com.gearmind.application.common.DomainEventBus;
+import com.gearmind.domain.event.TaskChanged;
 import com.gearmind.domain.task.Task;
 import com.gearmind.domain.task.TaskPriority;
 import com.gearmind.domain.task.TaskRepository;
@@ -49,6 +51,7 @@ public class SaveTaskUseCase {
             task.setCreatedAt(LocalDateTime.now());
             task.setUpdatedAt(null);
             taskRepository.save(task);
+            DomainEventBus.getInstance().publish(new TaskChanged(task.getEmpresaId(), task.getId()));
         } else {
             Optional<Task> existing = taskRepository.findById(request.getId());
             Task task = existing.orElseThrow(() -> new IllegalArgumentException("La tarea indicada no existe."));
@@ -61,6 +64,7 @@ public class SaveTaskUseCase {
             task.setFechaLimite(request.getFechaLimite());
             task.setUpdatedAt(LocalDateTime.now());
             taskRepository.save(task);
+            DomainEventBus.getInstance().publish(new TaskChanged(task.getEmpresaId(), task.getId()));
         }
     }
 }
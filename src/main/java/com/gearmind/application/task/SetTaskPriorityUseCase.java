@@ -1,5 +1,7 @@
 package com.gearmind.application.task;
 
+import com.gearmind.application.common.DomainEventBus;
+import com.gearmind.domain.event.TaskChanged;
 import com.gearmind.domain.task.Task;
 import com.gearmind.domain.task.TaskPriority;
 import com.gearmind.domain.task.TaskRepository;
@@ -36,5 +38,6 @@ public class SetTaskPriorityUseCase {
         task.setPrioridad(priority);
         task.setUpdatedAt(LocalDateTime.now());
         taskRepository.save(task);
+        DomainEventBus.getInstance().publish(new TaskChanged(task.getEmpresaId(), task.getId()));
     }
 }
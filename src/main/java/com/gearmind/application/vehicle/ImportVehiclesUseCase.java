@@ -0,0 +1,107 @@
+package com.gearmind.application.vehicle;
+
+import com.gearmind.application.importing.CsvImportPipeline;
+import com.gearmind.application.importing.CsvRow;
+import com.gearmind.application.importing.ImportOptions;
+import com.gearmind.application.importing.ImportProgress;
+import com.gearmind.application.importing.ImportReport;
+import com.gearmind.common.exception.ValidationException;
+import com.gearmind.common.lookup.LookupItem;
+import com.gearmind.domain.customer.CustomerRepository;
+import com.gearmind.domain.vehicle.Vehicle;
+import com.gearmind.domain.vehicle.VehicleRepository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de vehículos desde CSV con columnas {@code matricula} (obligatoria),
+ * {@code marca}, {@code modelo}, {@code year}, {@code vin} y el cliente por {@code cliente_id}
+ * o {@code cliente_email}. Las matrículas existentes y los clientes de la empresa se cargan una
+ * sola vez al empezar en lugar de consultarse fila a fila.
+ */
+public class ImportVehiclesUseCase {
+
+    // Tamaños de las columnas de la tabla vehiculo
+    private static final int MATRICULA_MAX = 20;
+    private static final int MARCA_MAX = 60;
+    private static final int MODELO_MAX = 60;
+    private static final int VIN_MAX = 17;
+
+    private final VehicleRepository vehicleRepository;
+    private final CustomerRepository customerRepository;
+
+    public ImportVehiclesUseCase(VehicleRepository vehicleRepository, CustomerRepository customerRepository) {
+        this.vehicleRepository = vehicleRepository;
+        this.customerRepository = customerRepository;
+    }
+
+    public ImportReport execute(long empresaId, Reader csv, ImportOptions options, Consumer<ImportProgress> listener) throws IOException {
+        Set<Long> customerIds = customerRepository.findLookupByEmpresaId(empresaId).stream().map(LookupItem::id).collect(Collectors.toSet());
+        Map<String, Long> customerIdsByEmail = customerRepository.findIdsByEmail(empresaId);
+
+        CsvImportPipeline<Vehicle> pipeline = new CsvImportPipeline<>(
+                row -> parse(empresaId, row, customerIds, customerIdsByEmail),
+                Vehicle::getMatricula,
+                vehicleRepository.findMatriculasByEmpresaId(empresaId),
+                "Ya existe un vehículo con esa matrícula en la empresa.",
+                vehicleRepository::createAll);
+
+        return pipeline.requireColumns("matricula").run(csv, options, listener);
+    }
+
+    private Vehicle parse(long empresaId, CsvRow row, Set<Long> customerIds, Map<String, Long> customerIdsByEmail) {
+        String matricula = row.get("matricula", MATRICULA_MAX);
+        if (matricula == null) {
+            throw new ValidationException("La matrícula es obligatoria.");
+        }
+
+        Long clienteId = resolveCustomer(row, customerIds, customerIdsByEmail);
+
+        Integer year = row.getInteger("year");
+        if (year != null && (year < 1950 || year > 2100)) {
+            throw new ValidationException("El año del vehículo no es válido.");
+        }
+
+        Vehicle vehicle = new Vehicle();
+        vehicle.setEmpresaId(empresaId);
+        vehicle.setClienteId(clienteId);
+        vehicle.setMatricula(matricula.toUpperCase());
+        vehicle.setMarca(row.get("marca", MARCA_MAX));
+        vehicle.setModelo(row.get("modelo", MODELO_MAX));
+        vehicle.setYear(year);
+        vehicle.setVin(row.get("vin", VIN_MAX));
+        return vehicle;
+    }
+
+    private Long resolveCustomer(CsvRow row, Set<Long> customerIds, Map<String, Long> customerIdsByEmail) {
+        String email = row.get("cliente_email");
+        if (email != null) {
+            Long id = customerIdsByEmail.get(email.toLowerCase(Locale.ROOT));
+            if (id == null) {
+                throw new ValidationException("No hay ningún cliente con el email " + email + " en la empresa.");
+            }
+            return id;
+        }
+
+        String rawId = row.get("cliente_id");
+        if (rawId == null) {
+            throw new ValidationException("Debe indicarse cliente_id o cliente_email.");
+        }
+        long id;
+        try {
+            id = Long.parseLong(rawId);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("La columna 'cliente_id' debe ser un número entero: " + rawId);
+        }
+        if (!customerIds.contains(id)) {
+            throw new ValidationException("El cliente " + id + " no pertenece a la empresa indicada.");
+        }
+        return id;
+    }
+}
@@ -5,6 +5,7 @@ import com.gearmind.domain.vehicle.Vehicle;
 import com.gearmind.domain.vehicle.VehicleRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public class ListVehiclesUseCase {
 
@@ -21,4 +22,12 @@ public class ListVehiclesUseCase {
         long empresaId = AuthContext.getEmpresaId();
         return vehicleRepository.findByEmpresaId(empresaId);
     }
+
+    /**
+     * El vehículo si existe y entra en este listado para el usuario actual; vacío si no
+     * (para actualizar una sola fila de la pantalla tras un cambio).
+     */
+    public Optional<Vehicle> findVisible(long vehicleId) {
+        return vehicleRepository.findById(vehicleId).filter(v -> AuthContext.canSeeEmpresa(v.getEmpresaId()));
+    }
 }
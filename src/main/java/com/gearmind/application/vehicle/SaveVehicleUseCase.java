@@ -1,9 +1,11 @@
 package com.gearmind.application.vehicle;
 
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.common.exception.DuplicateException;
 import com.gearmind.common.exception.ValidationException;
 import com.gearmind.domain.customer.CustomerRepository;
+import com.gearmind.domain.event.VehicleChanged;
 import com.gearmind.domain.vehicle.Vehicle;
 import com.gearmind.domain.vehicle.VehicleRepository;
 
@@ -31,7 +33,9 @@ public class SaveVehicleUseCase {
         vehicle.setModelo(request.getModelo());
         vehicle.setYear(request.getYear());
         vehicle.setVin(request.getVin());
-        return vehicleRepository.save(vehicle);
+        Vehicle saved = vehicleRepository.save(vehicle);
+        DomainEventBus.getInstance().publish(new VehicleChanged(empresaId, saved.getId()));
+        return saved;
     }
 
     private long resolveEmpresaId(SaveVehicleRequest request) {
@@ -0,0 +1,8 @@
+package com.gearmind.common.lookup;
+
+/**
+ * Proyección mínima (id + etiqueta) para rellenar combos de formularios sin cargar la entidad completa.
+ * {@code parentId} referencia la entidad de la que depende (p. ej. el cliente de un vehículo) y puede ser nulo.
+ */
+public record LookupItem(long id, String label, Long parentId) {
+}
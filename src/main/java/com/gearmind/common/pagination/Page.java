@@ -0,0 +1,55 @@
+package com.gearmind.common.pagination;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página de resultados obtenida con paginación keyset.
+ */
+public record Page<T>(List<T> items, boolean hasPrevious, boolean hasNext) {
+
+    public Page {
+        items = items == null ? List.of() : Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Construye la página a partir de las filas leídas con {@link PageRequest#fetchSize()}.
+     * Si la petición va hacia atrás, las filas llegan en orden inverso y se reordenan aquí.
+     */
+    public static <T> Page<T> of(List<T> fetched, PageRequest<T> request) {
+        List<T> rows = new ArrayList<>(fetched);
+
+        if (request.isUnbounded()) {
+            return new Page<>(rows, false, false);
+        }
+
+        boolean hasMore = rows.size() > request.size();
+        if (hasMore) {
+            rows.remove(rows.size() - 1);
+        }
+
+        return switch (request.direction()) {
+            case FIRST ->
+                new Page<>(rows, false, hasMore);
+            case NEXT ->
+                new Page<>(rows, true, hasMore);
+            case PREVIOUS -> {
+                Collections.reverse(rows);
+                yield new Page<>(rows, hasMore, true);
+            }
+        };
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public T first() {
+        return items.isEmpty() ? null : items.get(0);
+    }
+
+    public T last() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
@@ -0,0 +1,54 @@
+package com.gearmind.common.pagination;
+
+/**
+ * Petición de página con paginación keyset.
+ *
+ * El ancla es la fila frontera de la página actual (la última si se avanza,
+ * la primera si se retrocede). Cada repositorio extrae de ella las columnas
+ * de orden, p.ej. (fecha, id) para facturas o (nombre, id) para clientes.
+ * Un tamaño menor o igual que cero indica "sin límite".
+ */
+public record PageRequest<T>(int size, T anchor, Direction direction) {
+
+    public enum Direction {
+        FIRST,
+        NEXT,
+        PREVIOUS
+    }
+
+    public PageRequest {
+        if (direction == null) {
+            throw new IllegalArgumentException("La dirección de la página es obligatoria.");
+        }
+        if (direction != Direction.FIRST && anchor == null) {
+            throw new IllegalArgumentException("Se necesita una fila de referencia para paginar.");
+        }
+    }
+
+    public static <T> PageRequest<T> first(int size) {
+        return new PageRequest<>(size, null, Direction.FIRST);
+    }
+
+    public static <T> PageRequest<T> after(T anchor, int size) {
+        return new PageRequest<>(size, anchor, Direction.NEXT);
+    }
+
+    public static <T> PageRequest<T> before(T anchor, int size) {
+        return new PageRequest<>(size, anchor, Direction.PREVIOUS);
+    }
+
+    public boolean isUnbounded() {
+        return size <= 0;
+    }
+
+    public boolean isBackward() {
+        return direction == Direction.PREVIOUS;
+    }
+
+    /**
+     * Filas a pedir a la base de datos: una más que el tamaño para saber si hay más páginas.
+     */
+    public int fetchSize() {
+        return size + 1;
+    }
+}
@@ -1,5 +1,6 @@
 package com.gearmind.domain.user;
 
+import com.gearmind.common.lookup.LookupItem;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,9 +12,22 @@ public interface UserRepository {
 
     List<User> findByEmpresaId(long empresaId);
 
+    /**
+     * Usuarios de la empresa como id + nombre. Si {@code rol} es nulo se devuelven todos los roles.
+     */
+    List<LookupItem> findLookupByEmpresaId(long empresaId, UserRole rol);
+
     User create(long empresaId, String nombre, String email, String passwordHash, UserRole rol, boolean activo);
 
     User update(long id, long empresaId, String nombre, String email, String passwordHash, UserRole rol, boolean activo);
 
     void deactivate(long id, long empresaId);
+
+    /**
+     * Sustituye el hash de la contraseña sólo si sigue siendo {@code expectedHash}, para no pisar
+     * un cambio de contraseña hecho entretanto.
+     *
+     * @return true si se actualizó
+     */
+    boolean replacePasswordHash(long id, String expectedHash, String newHash);
 }
@@ -4,12 +4,19 @@ import java.time.LocalDateTime;
 
 public class Appointment {
 
+    public static final int DEFAULT_DURATION_MINUTES = 60;
+    public static final int MAX_DURATION_MINUTES = 12 * 60;
+    /** Longitud de la columna cita.puesto. */
+    public static final int MAX_BAY_LENGTH = 30;
+
     private Long id;
     private Long empresaId;
     private Long employeeId;
     private Long customerId;
     private Long vehicleId;
     private LocalDateTime dateTime;
+    private int durationMinutes = DEFAULT_DURATION_MINUTES;
+    private String bay;
     private AppointmentStatus status;
     private AppointmentOrigin origin;
     private String notes;
@@ -81,6 +88,32 @@ public class Appointment {
         this.dateTime = dateTime;
     }
 
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    /**
+     * Fin de la cita (exclusivo): fecha y hora de inicio más la duración.
+     */
+    public LocalDateTime getEndDateTime() {
+        return dateTime != null ? dateTime.plusMinutes(durationMinutes) : null;
+    }
+
+    /**
+     * Puesto o elevador del taller reservado para la cita; nulo si no ocupa ninguno concreto.
+     */
+    public String getBay() {
+        return bay;
+    }
+
+    public void setBay(String bay) {
+        this.bay = bay;
+    }
+
     public AppointmentStatus getStatus() {
         return status;
     }
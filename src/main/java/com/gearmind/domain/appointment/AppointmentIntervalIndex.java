@@ -0,0 +1,152 @@
+package com.gearmind.domain.appointment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índice en memoria de los intervalos ocupados por las citas de una empresa,
+ * separado por recurso: vehículo, empleado y puesto.
+ *
+ * Cada recurso guarda sus citas en un árbol ordenado por inicio. Como ninguna cita
+ * dura más que la más larga indexada, las que pueden solapar con [inicio, fin)
+ * empiezan en (inicio - duraciónMáxima, fin): un único rango del árbol, O(log n)
+ * más las pocas citas que caen dentro.
+ *
+ * Sólo cubre citas que empiezan a partir de {@link #horizon()}; para intervalos
+ * anteriores hay que construir un índice con ese tramo.
+ */
+public class AppointmentIntervalIndex {
+
+    public enum Resource {
+        VEHICULO,
+        EMPLEADO,
+        PUESTO
+    }
+
+    public record Conflict(Resource resource, long appointmentId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private record Key(Resource resource, String id) {
+    }
+
+    private record Slot(long id, LocalDateTime start, LocalDateTime end, List<Key> keys) {
+    }
+
+    private final LocalDateTime horizon;
+    private final Map<Key, NavigableMap<LocalDateTime, List<Slot>>> byResource = new HashMap<>();
+    private final Map<Long, Slot> byId = new HashMap<>();
+    private long maxDurationMinutes;
+
+    public AppointmentIntervalIndex(LocalDateTime horizon, Collection<Appointment> appointments) {
+        this.horizon = horizon;
+        for (Appointment appointment : appointments) {
+            put(appointment);
+        }
+    }
+
+    public LocalDateTime horizon() {
+        return horizon;
+    }
+
+    public boolean covers(LocalDateTime start) {
+        return !start.isBefore(horizon);
+    }
+
+    /**
+     * Las citas canceladas no ocupan agenda.
+     */
+    public static boolean blocksAgenda(Appointment appointment) {
+        return appointment.getDateTime() != null && appointment.getStatus() != AppointmentStatus.CANCELLED;
+    }
+
+    /**
+     * Inserta o reemplaza la cita (por id). Si ya no ocupa agenda, sólo se retira.
+     */
+    public synchronized void put(Appointment appointment) {
+        if (appointment.getId() == null) {
+            throw new IllegalArgumentException("Sólo se pueden indexar citas guardadas.");
+        }
+        remove(appointment.getId());
+        if (!blocksAgenda(appointment)) {
+            return;
+        }
+
+        Slot slot = new Slot(appointment.getId(), appointment.getDateTime(), appointment.getEndDateTime(), keysOf(appointment));
+        for (Key key : slot.keys()) {
+            byResource.computeIfAbsent(key, k -> new TreeMap<>())
+                    .computeIfAbsent(slot.start(), s -> new ArrayList<>(1))
+                    .add(slot);
+        }
+        byId.put(slot.id(), slot);
+        maxDurationMinutes = Math.max(maxDurationMinutes, appointment.getDurationMinutes());
+    }
+
+    public synchronized void remove(long appointmentId) {
+        Slot slot = byId.remove(appointmentId);
+        if (slot == null) {
+            return;
+        }
+        for (Key key : slot.keys()) {
+            NavigableMap<LocalDateTime, List<Slot>> tree = byResource.get(key);
+            List<Slot> sameStart = tree.get(slot.start());
+            sameStart.remove(slot);
+            if (sameStart.isEmpty()) {
+                tree.remove(slot.start());
+            }
+            if (tree.isEmpty()) {
+                byResource.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Citas indexadas que comparten algún recurso con {@code candidate} y se solapan con su intervalo.
+     * La propia cita (mismo id) no cuenta como conflicto.
+     */
+    public synchronized List<Conflict> findConflicts(Appointment candidate) {
+        if (!blocksAgenda(candidate)) {
+            return List.of();
+        }
+
+        LocalDateTime start = candidate.getDateTime();
+        LocalDateTime end = candidate.getEndDateTime();
+        LocalDateTime earliest = start.minusMinutes(maxDurationMinutes);
+        List<Conflict> conflicts = new ArrayList<>();
+
+        for (Key key : keysOf(candidate)) {
+            NavigableMap<LocalDateTime, List<Slot>> tree = byResource.get(key);
+            if (tree == null) {
+                continue;
+            }
+            for (List<Slot> slots : tree.subMap(earliest, false, end, false).values()) {
+                for (Slot slot : slots) {
+                    if (slot.end().isAfter(start) && !Long.valueOf(slot.id()).equals(candidate.getId())) {
+                        conflicts.add(new Conflict(key.resource(), slot.id(), slot.start(), slot.end()));
+                    }
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private static List<Key> keysOf(Appointment appointment) {
+        List<Key> keys = new ArrayList<>(3);
+        if (appointment.getVehicleId() != null) {
+            keys.add(new Key(Resource.VEHICULO, appointment.getVehicleId().toString()));
+        }
+        if (appointment.getEmployeeId() != null) {
+            keys.add(new Key(Resource.EMPLEADO, appointment.getEmployeeId().toString()));
+        }
+        if (appointment.getBay() != null && !appointment.getBay().isBlank()) {
+            keys.add(new Key(Resource.PUESTO, appointment.getBay().trim().toUpperCase(Locale.ROOT)));
+        }
+        return keys;
+    }
+}
@@ -8,11 +8,38 @@ public interface AppointmentRepository {
 
     List<Appointment> findByEmpresa(Long empresaId);
 
+    /**
+     * Citas de la empresa con inicio en [from, to), ordenadas por fecha y hora.
+     */
+    List<Appointment> findByEmpresaBetween(Long empresaId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Citas de la empresa (en cualquier estado) que empiezan en {@code from} o después, ordenadas por fecha y hora.
+     */
+    List<Appointment> findByEmpresaFrom(Long empresaId, LocalDateTime from);
+
     Optional<Appointment> findById(Long id);
 
     void save(Appointment appointment);
 
     void delete(Long id);
 
-    boolean existsAtDateTime(Long empresaId, Long vehicleId, LocalDateTime dateTime, Long excludeId);
+    /**
+     * Citas no canceladas de la empresa que empiezan en {@code from} o después, ordenadas por inicio.
+     */
+    List<Appointment> findActiveFrom(Long empresaId, LocalDateTime from);
+
+    /**
+     * Ejecuta {@code work} con la agenda de la empresa bloqueada en una transacción: las escrituras
+     * de citas de esa empresa (desde cualquier terminal) esperan su turno, y las de otras empresas no.
+     * Cada ejecución avanza la versión de la agenda; {@code work} recibe la versión anterior, de modo
+     * que quien mantenga una copia en memoria sabe si otro ha escrito desde su última carga.
+     */
+    <T> T withAgendaLock(Long empresaId, AgendaWork<T> work);
+
+    @FunctionalInterface
+    interface AgendaWork<T> {
+
+        T run(long previousVersion);
+    }
 }
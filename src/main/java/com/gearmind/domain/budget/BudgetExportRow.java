@@ -0,0 +1,12 @@
+package com.gearmind.domain.budget;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de exportación: cabecera del presupuesto repetida en cada una de sus líneas.
+ * Un presupuesto sin líneas produce una fila con los campos de línea a {@code null}.
+ */
+public record BudgetExportRow(long presupuestoId, LocalDateTime fecha, String estado, String clienteNombre, String vehiculoMatricula, BigDecimal totalEstimado,
+                              String lineaDescripcion, BigDecimal cantidad, BigDecimal precio, BigDecimal lineaTotal) {
+}
@@ -1,7 +1,9 @@
 package com.gearmind.domain.budget;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BudgetRepository {
 
@@ -13,5 +15,11 @@ public interface BudgetRepository {
 
     List<BudgetLine> findLinesByBudgetId(long budgetId);
 
+    /**
+     * Recorre presupuestos y líneas de la empresa con fecha en [from, to) en una única consulta ordenada
+     * y en streaming: cada fila se entrega a {@code sink} sin acumular el resultado en memoria.
+     */
+    void forEachExportRow(long empresaId, LocalDateTime from, LocalDateTime to, Consumer<BudgetExportRow> sink);
+
     Budget save(Budget budget, List<BudgetLine> lines);
 }
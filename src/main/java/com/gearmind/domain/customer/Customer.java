@@ -57,4 +57,13 @@ public class Customer {
     public void setEmpresaNombre(String empresaNombre) {
         this.empresaNombre = empresaNombre;
     }
+
+    /**
+     * Copia del cliente con otro nombre de empresa; el original no cambia.
+     */
+    public Customer withEmpresaNombre(String empresaNombre) {
+        Customer copy = new Customer(id, empresaId, nombre, email, telefono, notas, activo);
+        copy.setEmpresaNombre(empresaNombre);
+        return copy;
+    }
 }
@@ -1,7 +1,11 @@
 package com.gearmind.domain.customer;
 
 import com.gearmind.application.customer.CustomerListItem;
+import com.gearmind.common.lookup.LookupItem;
+import com.gearmind.common.pagination.Page;
+import com.gearmind.common.pagination.PageRequest;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CustomerRepository {
@@ -10,10 +14,30 @@ public interface CustomerRepository {
 
     List<Customer> findByEmpresaId(long empresaId);
 
+    List<LookupItem> findLookupByEmpresaId(long empresaId);
+
+    Page<Customer> findPageByEmpresaId(long empresaId, PageRequest<Customer> request);
+
+    Page<Customer> findPageAllWithEmpresa(PageRequest<Customer> request);
+
+    long countByEmpresaId(long empresaId);
+
+    long countAll();
+
     Optional<Customer> findById(long id);
 
     Customer create(long empresaId, String nombre, String email, String telefono, String notas);
 
+    /**
+     * Inserta los clientes por lotes JDBC en una única transacción (importación masiva).
+     */
+    void createAll(long empresaId, List<Customer> customers);
+
+    /**
+     * Email en minúsculas → id de los clientes de la empresa que tienen email.
+     */
+    Map<String, Long> findIdsByEmail(long empresaId);
+
     Customer update(long id, long empresaId, String nombre, String email, String telefono, String notas);
 
     void deactivate(long customerId, long empresaId);
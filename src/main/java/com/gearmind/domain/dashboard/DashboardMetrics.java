@@ -0,0 +1,50 @@
+package com.gearmind.domain.dashboard;
+
+import com.gearmind.domain.repair.RepairStatus;
+import com.gearmind.domain.task.TaskStatus;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Cifras del panel de control de una empresa, calculadas en una única consulta de agregados.
+ *
+ * @param facturadoMes     suma de facturas pendientes o pagadas con fecha en el mes en curso
+ * @param importePendiente suma de facturas pendientes de cobro, de cualquier fecha
+ */
+public record DashboardMetrics(long totalClientes,
+                               long totalVehiculos,
+                               Map<RepairStatus, Long> reparacionesPorEstado,
+                               Map<TaskStatus, Long> tareasPorEstado,
+                               long citasHoy,
+                               long facturasPendientes,
+                               BigDecimal importePendiente,
+                               BigDecimal facturadoMes) {
+
+    public DashboardMetrics {
+        reparacionesPorEstado = Map.copyOf(reparacionesPorEstado);
+        tareasPorEstado = Map.copyOf(tareasPorEstado);
+    }
+
+    public long reparaciones(RepairStatus estado) {
+        return reparacionesPorEstado.getOrDefault(estado, 0L);
+    }
+
+    public long tareas(TaskStatus estado) {
+        return tareasPorEstado.getOrDefault(estado, 0L);
+    }
+
+    /**
+     * Reparaciones todavía en el taller (abiertas o en proceso).
+     */
+    public long reparacionesAbiertas() {
+        return reparaciones(RepairStatus.ABIERTA) + reparaciones(RepairStatus.EN_PROCESO);
+    }
+
+    /**
+     * Tareas sin terminar (pendientes o en proceso).
+     */
+    public long tareasPendientes() {
+        return tareas(TaskStatus.PENDIENTE) + tareas(TaskStatus.EN_PROCESO);
+    }
+}
@@ -0,0 +1,12 @@
+package com.gearmind.domain.dashboard;
+
+import java.time.LocalDate;
+
+public interface DashboardMetricsRepository {
+
+    /**
+     * Calcula las métricas de la empresa tomando {@code today} como referencia para
+     * las citas del día y la facturación del mes.
+     */
+    DashboardMetrics load(long empresaId, LocalDate today);
+}
@@ -0,0 +1,7 @@
+package com.gearmind.domain.event;
+
+/**
+ * Cita creada o modificada, incluido el cambio de estado.
+ */
+public record AppointmentChanged(long empresaId, long appointmentId) implements DomainEvent {
+}
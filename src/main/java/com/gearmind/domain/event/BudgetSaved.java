@@ -0,0 +1,7 @@
+package com.gearmind.domain.event;
+
+/**
+ * Presupuesto creado o modificado.
+ */
+public record BudgetSaved(long empresaId, long budgetId) implements DomainEvent {
+}
@@ -0,0 +1,7 @@
+package com.gearmind.domain.event;
+
+/**
+ * Cliente creado, modificado, activado o desactivado.
+ */
+public record CustomerChanged(long empresaId, long customerId) implements DomainEvent {
+}
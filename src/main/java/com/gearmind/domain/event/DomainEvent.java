@@ -0,0 +1,11 @@
+package com.gearmind.domain.event;
+
+/**
+ * Algo que ha cambiado en el dominio y que otras partes de la aplicación (las pantallas
+ * abiertas) pueden querer reflejar. Los eventos llevan ids, no entidades: quien los recibe
+ * lee de nuevo lo que necesite.
+ */
+public interface DomainEvent {
+
+    long empresaId();
+}
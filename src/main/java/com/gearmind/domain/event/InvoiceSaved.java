@@ -0,0 +1,7 @@
+package com.gearmind.domain.event;
+
+/**
+ * Factura creada o modificada.
+ */
+public record InvoiceSaved(long empresaId, long invoiceId) implements DomainEvent {
+}
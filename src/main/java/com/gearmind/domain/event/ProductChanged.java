@@ -0,0 +1,7 @@
+package com.gearmind.domain.event;
+
+/**
+ * Producto creado, modificado, activado o desactivado.
+ */
+public record ProductChanged(long empresaId, long productId) implements DomainEvent {
+}
@@ -0,0 +1,7 @@
+package com.gearmind.domain.event;
+
+/**
+ * Reparación creada o modificada, incluido el cambio de estado.
+ */
+public record RepairChanged(long empresaId, long repairId) implements DomainEvent {
+}
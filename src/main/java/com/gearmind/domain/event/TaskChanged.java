@@ -0,0 +1,7 @@
+package com.gearmind.domain.event;
+
+/**
+ * Tarea creada o modificada (datos, estado, asignación o prioridad).
+ */
+public record TaskChanged(long empresaId, long taskId) implements DomainEvent {
+}
@@ -0,0 +1,7 @@
+package com.gearmind.domain.event;
+
+/**
+ * Vehículo creado o modificado.
+ */
+public record VehicleChanged(long empresaId, long vehicleId) implements DomainEvent {
+}
@@ -0,0 +1,13 @@
+package com.gearmind.domain.invoice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de exportación: cabecera de la factura repetida en cada una de sus líneas.
+ * Una factura sin líneas produce una fila con los campos de línea a {@code null}.
+ */
+public record InvoiceExportRow(long facturaId, String numero, LocalDateTime fecha, String estado, String clienteNombre, String vehiculoMatricula,
+                               BigDecimal subtotal, BigDecimal iva, BigDecimal total,
+                               String lineaDescripcion, BigDecimal cantidad, BigDecimal precio, BigDecimal lineaTotal) {
+}
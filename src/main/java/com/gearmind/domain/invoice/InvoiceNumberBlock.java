@@ -0,0 +1,35 @@
+package com.gearmind.domain.invoice;
+
+/**
+ * Rango consecutivo de números de factura [first, last] reservado de una vez
+ * para una empresa, serie y año.
+ */
+public record InvoiceNumberBlock(String serie, int anio, long first, long last) {
+
+    public InvoiceNumberBlock {
+        if (first <= 0 || last < first) {
+            throw new IllegalArgumentException("Rango de numeración no válido: " + first + "-" + last);
+        }
+    }
+
+    public int size() {
+        return Math.toIntExact(last - first + 1);
+    }
+
+    /**
+     * Número con formato de la posición {@code index} del bloque (0 = el primero).
+     */
+    public String numero(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Posición fuera del bloque: " + index);
+        }
+        return format(serie, anio, first + index);
+    }
+
+    /**
+     * Formato de la numeración, p.ej. {@code F-2026-000042}.
+     */
+    public static String format(String serie, int anio, long valor) {
+        return String.format("%s-%d-%06d", serie, anio, valor);
+    }
+}
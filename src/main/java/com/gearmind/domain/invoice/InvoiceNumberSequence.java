@@ -0,0 +1,21 @@
+package com.gearmind.domain.invoice;
+
+/**
+ * Numeración correlativa de facturas por empresa, serie y año.
+ *
+ * Las implementaciones deben participar en la transacción en curso, de forma que
+ * el número sólo se consuma si la factura llega a guardarse.
+ */
+public interface InvoiceNumberSequence {
+
+    String SERIE_ORDINARIA = "F";
+
+    /**
+     * Reserva {@code count} números consecutivos con un único acceso al contador.
+     */
+    InvoiceNumberBlock reserve(long empresaId, String serie, int anio, int count);
+
+    default String next(long empresaId, String serie, int anio) {
+        return reserve(empresaId, serie, anio, 1).numero(0);
+    }
+}
@@ -1,7 +1,11 @@
 package com.gearmind.domain.invoice;
 
+import com.gearmind.common.pagination.Page;
+import com.gearmind.common.pagination.PageRequest;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface InvoiceRepository {
 
@@ -9,9 +13,34 @@ public interface InvoiceRepository {
 
     List<Invoice> findByEmpresaId(long empresaId);
 
+    Page<Invoice> findPageAllWithEmpresa(PageRequest<Invoice> request);
+
+    Page<Invoice> findPageByEmpresaId(long empresaId, PageRequest<Invoice> request);
+
+    long countAll();
+
+    long countByEmpresaId(long empresaId);
+
     Optional<Invoice> findById(long id);
 
     List<InvoiceLine> findLinesByInvoiceId(long invoiceId);
 
+    /**
+     * Recorre facturas y líneas de la empresa con fecha en [from, to) en una única consulta ordenada
+     * y en streaming: cada fila se entrega a {@code sink} sin acumular el resultado en memoria.
+     */
+    void forEachExportRow(long empresaId, LocalDateTime from, LocalDateTime to, Consumer<InvoiceExportRow> sink);
+
+    /**
+     * Ids de las facturas de la empresa con fecha en [from, to), del cliente indicado
+     * o de todos si clienteId es null, por fecha y número.
+     */
+    List<Long> findIdsByEmpresaBetween(long empresaId, LocalDateTime from, LocalDateTime to, Long clienteId);
+
+    /**
+     * Guarda la factura y sus líneas en una transacción. Si es nueva y no trae número,
+     * se le asigna el siguiente de la serie de su empresa y año dentro de esa misma transacción.
+     * Al actualizar, un número nulo conserva el existente.
+     */
     Invoice save(Invoice invoice, List<InvoiceLine> lines);
 }
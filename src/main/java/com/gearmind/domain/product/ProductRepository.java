@@ -2,6 +2,7 @@ package com.gearmind.domain.product;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ProductRepository {
 
@@ -13,6 +14,16 @@ public interface ProductRepository {
 
     Product create(long empresaId, String nombre, String descripcion, String referencia, String categoria, int stock, int stockMinimo, java.math.BigDecimal precioCompra, java.math.BigDecimal precioVenta);
 
+    /**
+     * Inserta los productos por lotes JDBC en una única transacción (importación masiva).
+     */
+    void createAll(long empresaId, List<Product> products);
+
+    /**
+     * Referencias (en mayúsculas) ya registradas en la empresa.
+     */
+    Set<String> findReferenciasByEmpresaId(long empresaId);
+
     Product update(long id, long empresaId, String nombre, String descripcion, String referencia, String categoria, int stock, int stockMinimo, java.math.BigDecimal precioCompra, java.math.BigDecimal precioVenta);
 
     void deactivate(long productId, long empresaId);
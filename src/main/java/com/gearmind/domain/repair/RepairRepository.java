@@ -1,5 +1,6 @@
 package com.gearmind.domain.repair;
 
+import com.gearmind.common.lookup.LookupItem;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,6 +8,8 @@ public interface RepairRepository {
 
     List<Repair> findByEmpresa(Long empresaId);
 
+    List<LookupItem> findLookupByEmpresa(Long empresaId);
+
     List<Repair> findAllWithEmpresa();
 
     Optional<Repair> findById(Long id);
@@ -4,4 +4,12 @@ public interface PasswordHasher {
     boolean matches(String rawPassword, String passwordHash);
 
     String hash(String rawPassword);
+
+    /**
+     * true si el hash se generó con parámetros más débiles que los actuales y conviene
+     * regenerarlo la próxima vez que se conozca la contraseña. Nunca para rebajarlo.
+     */
+    default boolean needsRehash(String passwordHash) {
+        return false;
+    }
 }
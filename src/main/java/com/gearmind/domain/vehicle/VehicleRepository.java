@@ -1,17 +1,31 @@
 package com.gearmind.domain.vehicle;
 
+import com.gearmind.common.lookup.LookupItem;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface VehicleRepository {
 
     List<Vehicle> findByEmpresaId(Long empresaId);
 
+    List<LookupItem> findLookupByEmpresaId(Long empresaId);
+
     List<Vehicle> findAllWithEmpresa();
 
     Optional<Vehicle> findById(Long id);
 
     Vehicle save(Vehicle vehicle);
 
+    /**
+     * Inserta los vehículos por lotes JDBC en una única transacción (importación masiva).
+     */
+    void createAll(List<Vehicle> vehicles);
+
+    /**
+     * Matrículas (en mayúsculas) ya registradas en la empresa.
+     */
+    Set<String> findMatriculasByEmpresaId(Long empresaId);
+
     boolean existsMatriculaInEmpresa(Long empresaId, String matricula, Long excludeId);
 }
@@ -5,6 +5,8 @@ import com.gearmind.domain.appointment.AppointmentOrigin;
 import com.gearmind.domain.appointment.AppointmentRepository;
 import com.gearmind.domain.appointment.AppointmentStatus;
 import com.gearmind.infrastructure.database.DataSourceFactory;
+import com.gearmind.infrastructure.database.TransactionManager;
+
 import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
@@ -14,27 +16,34 @@ import java.util.Optional;
 
 public class MySqlAppointmentRepository implements AppointmentRepository {
 
+    private static final String SELECT_COLUMNS = """
+            SELECT id,
+                empresa_id,
+                empleado_id,
+                cliente_id,
+                vehiculo_id,
+                fecha_hora,
+                duracion_min,
+                puesto,
+                estado,
+                origen,
+                notas,
+                created_at,
+                updated_at
+            FROM cita
+            """;
+
     private final DataSource dataSource;
+    private final TransactionManager transactionManager;
 
     public MySqlAppointmentRepository() {
         this.dataSource = DataSourceFactory.getDataSource();
+        this.transactionManager = new TransactionManager(dataSource);
     }
 
     @Override
     public List<Appointment> findByEmpresa(Long empresaId) {
-        String sql = """
-                SELECT id,
-                    empresa_id,
-                    empleado_id,
-                    cliente_id,
-                    vehiculo_id,
-                    fecha_hora,
-                    estado,
-                    origen,
-                    notas,
-                    created_at,
-                    updated_at
-                FROM cita
+        String sql = SELECT_COLUMNS + """
                 WHERE empresa_id = ?
                 ORDER BY fecha_hora ASC
                 """;
@@ -57,21 +66,63 @@ public class MySqlAppointmentRepository implements AppointmentRepository {
         return result;
     }
 
+    @Override
+    public List<Appointment> findByEmpresaBetween(Long empresaId, LocalDateTime from, LocalDateTime to) {
+        String sql = SELECT_COLUMNS + """
+                WHERE empresa_id = ?
+                  AND fecha_hora >= ?
+                  AND fecha_hora < ?
+                ORDER BY fecha_hora ASC
+                """;
+
+        List<Appointment> result = new ArrayList<>();
+
+        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+            ps.setLong(1, empresaId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar citas por rango de fechas", e);
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Appointment> findByEmpresaFrom(Long empresaId, LocalDateTime from) {
+        String sql = SELECT_COLUMNS + """
+                WHERE empresa_id = ?
+                  AND fecha_hora >= ?
+                ORDER BY fecha_hora ASC
+                """;
+
+        List<Appointment> result = new ArrayList<>();
+
+        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+            ps.setLong(1, empresaId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar citas", e);
+        }
+
+        return result;
+    }
+
     @Override
     public Optional<Appointment> findById(Long id) {
-        String sql = """
-                SELECT id,
-                       empresa_id,
-                       empleado_id,
-                       cliente_id,
-                       vehiculo_id,
-                       fecha_hora,
-                       estado,
-                       origen,
-                       notas,
-                       created_at,
-                       updated_at
-                FROM cita
+        String sql = SELECT_COLUMNS + """
                 WHERE id = ?
                 """;
 
@@ -102,107 +153,129 @@ public class MySqlAppointmentRepository implements AppointmentRepository {
 
     @Override
     public void delete(Long id) {
-        String sql = "DELETE FROM cita WHERE id = ?";
-
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
-            ps.setLong(1, id);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al borrar cita", e);
+        Long empresaId = findById(id).map(Appointment::getEmpresaId).orElse(null);
+        if (empresaId == null) {
+            return;
         }
+
+        withAgendaLock(empresaId, previousVersion -> {
+            transactionManager.runInTransaction(cn -> {
+                try (PreparedStatement ps = cn.prepareStatement("DELETE FROM cita WHERE id = ?")) {
+                    ps.setLong(1, id);
+                    ps.executeUpdate();
+                }
+            });
+            return null;
+        });
     }
 
     @Override
-    public boolean existsAtDateTime(Long empresaId,
-            Long vehicleId,
-            LocalDateTime dateTime,
-            Long excludeId) {
-        StringBuilder sb = new StringBuilder("""
-                SELECT COUNT(*)
-                FROM cita
+    public List<Appointment> findActiveFrom(Long empresaId, LocalDateTime from) {
+        String sql = SELECT_COLUMNS + """
                 WHERE empresa_id = ?
-                  AND fecha_hora = ?
-                """);
-
-        if (vehicleId != null) {
-            sb.append(" AND vehiculo_id = ? ");
-        } else {
-            sb.append(" AND vehiculo_id IS NULL ");
-        }
+                  AND fecha_hora >= ?
+                  AND estado <> 'CANCELADA'
+                ORDER BY fecha_hora ASC
+                """;
 
-        if (excludeId != null) {
-            sb.append(" AND id <> ? ");
-        }
+        // Dentro de withAgendaLock se lee por la conexión que tiene la agenda bloqueada, sin pedir otra al pool.
+        return transactionManager.inTransaction(cn -> {
+            List<Appointment> result = new ArrayList<>();
 
-        String sql = sb.toString();
+            try (PreparedStatement ps = cn.prepareStatement(sql)) {
+                ps.setLong(1, empresaId);
+                ps.setTimestamp(2, Timestamp.valueOf(from));
 
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        result.add(mapRow(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Error al cargar la agenda de citas", e);
+            }
 
-            int idx = 1;
-            ps.setLong(idx++, empresaId);
-            ps.setTimestamp(idx++, Timestamp.valueOf(dateTime));
+            return result;
+        });
+    }
 
-            if (vehicleId != null) {
-                ps.setLong(idx++, vehicleId);
-            }
+    @Override
+    public <T> T withAgendaLock(Long empresaId, AgendaWork<T> work) {
+        // El upsert deja bloqueada la fila de la empresa hasta el commit; el resto de la tabla queda libre.
+        String lockSql = """
+                INSERT INTO agenda_version (empresa_id, version)
+                VALUES (?, 1)
+                ON DUPLICATE KEY UPDATE version = version + 1
+                """;
 
-            if (excludeId != null) {
-                ps.setLong(idx, excludeId);
+        return transactionManager.inTransaction(cn -> {
+            try (PreparedStatement ps = cn.prepareStatement(lockSql)) {
+                ps.setLong(1, empresaId);
+                ps.executeUpdate();
             }
 
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getLong(1) > 0;
+            long version;
+            try (PreparedStatement ps = cn.prepareStatement("SELECT version FROM agenda_version WHERE empresa_id = ?")) {
+                ps.setLong(1, empresaId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("No existe la agenda de la empresa " + empresaId);
+                    }
+                    version = rs.getLong(1);
                 }
-                return false;
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al comprobar solape de cita", e);
-        }
+
+            return work.run(version - 1);
+        });
     }
 
     private void insert(Appointment appointment) {
         String sql = """
                 INSERT INTO cita
                     (empresa_id, empleado_id, cliente_id, vehiculo_id,
-                     fecha_hora, estado, origen, notas)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                     fecha_hora, duracion_min, puesto, estado, origen, notas)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 """;
 
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        // Se une a la transacción de withAgendaLock si la hay.
+        transactionManager.runInTransaction(cn -> {
+            try (PreparedStatement ps = cn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-            int i = 1;
-            ps.setLong(i++, appointment.getEmpresaId());
+                int i = 1;
+                ps.setLong(i++, appointment.getEmpresaId());
 
-            if (appointment.getEmployeeId() != null) {
-                ps.setLong(i++, appointment.getEmployeeId());
-            } else {
-                ps.setNull(i++, Types.BIGINT);
-            }
+                if (appointment.getEmployeeId() != null) {
+                    ps.setLong(i++, appointment.getEmployeeId());
+                } else {
+                    ps.setNull(i++, Types.BIGINT);
+                }
 
-            ps.setLong(i++, appointment.getCustomerId());
+                ps.setLong(i++, appointment.getCustomerId());
 
-            if (appointment.getVehicleId() != null) {
-                ps.setLong(i++, appointment.getVehicleId());
-            } else {
-                ps.setNull(i++, Types.BIGINT);
-            }
+                if (appointment.getVehicleId() != null) {
+                    ps.setLong(i++, appointment.getVehicleId());
+                } else {
+                    ps.setNull(i++, Types.BIGINT);
+                }
 
-            ps.setTimestamp(i++, Timestamp.valueOf(appointment.getDateTime()));
-            ps.setString(i++, mapStatusToDb(appointment.getStatus()));
-            ps.setString(i++, mapOriginToDb(appointment.getOrigin()));
-            ps.setString(i, appointment.getNotes());
+                ps.setTimestamp(i++, Timestamp.valueOf(appointment.getDateTime()));
+                ps.setInt(i++, appointment.getDurationMinutes());
+                ps.setString(i++, appointment.getBay());
+                ps.setString(i++, mapStatusToDb(appointment.getStatus()));
+                ps.setString(i++, mapOriginToDb(appointment.getOrigin()));
+                ps.setString(i, appointment.getNotes());
 
-            ps.executeUpdate();
+                ps.executeUpdate();
 
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) {
-                    appointment.setId(rs.getLong(1));
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        appointment.setId(rs.getLong(1));
+                    }
                 }
+            } catch (SQLException e) {
+                throw new RuntimeException("Error al insertar cita", e);
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al insertar cita", e);
-        }
+        });
     }
 
     private void update(Appointment appointment) {
@@ -213,40 +286,46 @@ public class MySqlAppointmentRepository implements AppointmentRepository {
                     cliente_id = ?,
                     vehiculo_id = ?,
                     fecha_hora = ?,
+                    duracion_min = ?,
+                    puesto = ?,
                     estado = ?,
                     origen = ?,
                     notas = ?
                 WHERE id = ?
                 """;
 
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+        transactionManager.runInTransaction(cn -> {
+            try (PreparedStatement ps = cn.prepareStatement(sql)) {
 
-            int i = 1;
-            ps.setLong(i++, appointment.getEmpresaId());
+                int i = 1;
+                ps.setLong(i++, appointment.getEmpresaId());
 
-            if (appointment.getEmployeeId() != null) {
-                ps.setLong(i++, appointment.getEmployeeId());
-            } else {
-                ps.setNull(i++, Types.BIGINT);
-            }
+                if (appointment.getEmployeeId() != null) {
+                    ps.setLong(i++, appointment.getEmployeeId());
+                } else {
+                    ps.setNull(i++, Types.BIGINT);
+                }
 
-            ps.setLong(i++, appointment.getCustomerId());
+                ps.setLong(i++, appointment.getCustomerId());
 
-            if (appointment.getVehicleId() != null) {
-                ps.setLong(i++, appointment.getVehicleId());
-            } else {
-                ps.setNull(i++, Types.BIGINT);
-            }
+                if (appointment.getVehicleId() != null) {
+                    ps.setLong(i++, appointment.getVehicleId());
+                } else {
+                    ps.setNull(i++, Types.BIGINT);
+                }
 
-            ps.setTimestamp(i++, Timestamp.valueOf(appointment.getDateTime()));
-            ps.setString(i++, mapStatusToDb(appointment.getStatus()));
-            ps.setString(i++, mapOriginToDb(appointment.getOrigin()));
-            ps.setString(i++, appointment.getNotes());
-            ps.setLong(i, appointment.getId());
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al actualizar cita", e);
-        }
+                ps.setTimestamp(i++, Timestamp.valueOf(appointment.getDateTime()));
+                ps.setInt(i++, appointment.getDurationMinutes());
+                ps.setString(i++, appointment.getBay());
+                ps.setString(i++, mapStatusToDb(appointment.getStatus()));
+                ps.setString(i++, mapOriginToDb(appointment.getOrigin()));
+                ps.setString(i++, appointment.getNotes());
+                ps.setLong(i, appointment.getId());
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                throw new RuntimeException("Error al actualizar cita", e);
+            }
+        });
     }
 
     private Appointment mapRow(ResultSet rs) throws SQLException {
@@ -275,7 +354,10 @@ public class MySqlAppointmentRepository implements AppointmentRepository {
         LocalDateTime createdAt = tsCreated != null ? tsCreated.toLocalDateTime() : null;
         LocalDateTime updatedAt = tsUpdated != null ? tsUpdated.toLocalDateTime() : null;
 
-        return new Appointment(id, empresaId, employeeId, customerId, vehicleId, dateTime, status, origin, notes, createdAt, updatedAt);
+        Appointment appointment = new Appointment(id, empresaId, employeeId, customerId, vehicleId, dateTime, status, origin, notes, createdAt, updatedAt);
+        appointment.setDurationMinutes(rs.getInt("duracion_min"));
+        appointment.setBay(rs.getString("puesto"));
+        return appointment;
     }
 
     private AppointmentStatus mapStatusFromDb(String dbValue) {
@@ -2,10 +2,64 @@ package com.gearmind.infrastructure.auth;
 
 import com.gearmind.domain.security.PasswordHasher;
 import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
 
 public class BCryptPasswordHasher implements PasswordHasher {
 
-    private static final int COST = 12;
+    private static final Logger log = LoggerFactory.getLogger(BCryptPasswordHasher.class);
+
+    /** Coste por defecto, hasta que termina la calibración o si ésta falla. */
+    private static final int DEFAULT_COST = 12;
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 14;
+    /**
+     * Techo común a todos los terminales de la empresa: ninguno genera ni rehace hashes por
+     * encima. Por defecto {@value #DEFAULT_COST}; sólo un administrador lo sube, con la
+     * propiedad {@code gearmind.bcrypt.maxCost} en todos los equipos.
+     */
+    private static final int CEILING = Math.clamp(Integer.getInteger("gearmind.bcrypt.maxCost", DEFAULT_COST), MIN_COST, MAX_COST);
+    /** Coste barato con el que se mide la máquina; cada punto más duplica el tiempo. */
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_ROUNDS = 3;
+
+    private static volatile int cost = Math.min(DEFAULT_COST, CEILING);
+    private static volatile boolean calibrated;
+
+    /**
+     * Elige el mayor coste cuya verificación en esta máquina no supera {@code target},
+     * entre {@value #MIN_COST} y el techo configurado. Tarda unas decenas de milisegundos,
+     * así que conviene llamarlo en segundo plano al arrancar.
+     */
+    public static void calibrate(Duration target) {
+        try {
+            String salt = BCrypt.gensalt(PROBE_COST);
+            BCrypt.hashpw("calibracion", salt); // calentamiento del JIT
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < PROBE_ROUNDS; i++) {
+                long start = System.nanoTime();
+                BCrypt.hashpw("calibracion", salt);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+
+            int chosen = MIN_COST;
+            while (chosen < CEILING && best << (chosen + 1 - PROBE_COST) <= target.toNanos()) {
+                chosen++;
+            }
+            cost = chosen;
+            calibrated = true;
+            log.info("Coste BCrypt calibrado a {} (~{} ms por verificación, objetivo {} ms)",
+                    chosen, (best << (chosen - PROBE_COST)) / 1_000_000, target.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("No se pudo calibrar BCrypt; se mantiene el coste {}", cost, e);
+        }
+    }
+
+    public static int currentCost() {
+        return cost;
+    }
 
     @Override
     public boolean matches(String rawPassword, String passwordHash) {
@@ -30,6 +84,35 @@ public class BCryptPasswordHasher implements PasswordHasher {
         if (rawPassword == null || rawPassword.isBlank()) {
             throw new IllegalArgumentException("La contraseña no puede estar vacía");
         }
-        return BCrypt.hashpw(rawPassword, BCrypt.gensalt(COST));
+        return BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost));
+    }
+
+    /**
+     * Sólo tras calibrar, y sólo para subir el coste hasta el techo común. Los terminales de
+     * una empresa comparten la base de datos y cada uno calibra el suyo: si también se
+     * rebajara, un equipo lento debilitaría los hashes de todos, y sin techo uno rápido los
+     * subiría hasta hacer lento el login en los demás.
+     */
+    @Override
+    public boolean needsRehash(String passwordHash) {
+        if (!calibrated) {
+            return false;
+        }
+        int stored = costOf(passwordHash);
+        return stored > 0 && stored < cost;
+    }
+
+    /**
+     * Coste de un hash con formato {@code $2a$NN$...}, o -1 si no se reconoce.
+     */
+    private static int costOf(String passwordHash) {
+        if (passwordHash == null || passwordHash.length() < 7 || passwordHash.charAt(0) != '$' || passwordHash.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(passwordHash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 }
@@ -1,17 +1,22 @@
 package com.gearmind.infrastructure.auth;
 
+import com.gearmind.common.lookup.LookupItem;
 import com.gearmind.domain.user.User;
 import com.gearmind.domain.user.UserRepository;
 import com.gearmind.domain.user.UserRole;
+import com.gearmind.infrastructure.cache.BoundedCache;
 import com.gearmind.infrastructure.database.DataSourceFactory;
 import javax.sql.DataSource;
 import java.sql.*;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class MySqlUserRepository implements UserRepository {
 
+    private static final BoundedCache<LookupKey, List<LookupItem>> LOOKUP_CACHE = new BoundedCache<>("usuario-lookup", 64, Duration.ofMinutes(2));
+
     private final DataSource dataSource;
 
     public MySqlUserRepository() {
@@ -101,8 +106,48 @@ public class MySqlUserRepository implements UserRepository {
     }
 
     @Override
-    public User create(long empresaId, String nombre, String email, String passwordHash, UserRole rol, boolean activo) {
+    public List<LookupItem> findLookupByEmpresaId(long empresaId, UserRole rol) {
+        return LOOKUP_CACHE.get(new LookupKey(empresaId, rol), key -> Optional.of(loadLookup(key))).orElseGet(List::of);
+    }
+
+    private List<LookupItem> loadLookup(LookupKey key) {
+        List<LookupItem> result = new ArrayList<>();
+
+        String sql = key.rol() == null
+                ? """
+                SELECT id, nombre
+                FROM usuario
+                WHERE empresa_id = ?
+                ORDER BY nombre ASC
+                """
+                : """
+                SELECT id, nombre
+                FROM usuario
+                WHERE empresa_id = ? AND rol = ?
+                ORDER BY nombre ASC
+                """;
 
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setLong(1, key.empresaId());
+            if (key.rol() != null) {
+                ps.setString(2, key.rol().name());
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(new LookupItem(rs.getLong("id"), rs.getString("nombre"), null));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error listando usuarios", e);
+        }
+
+        return List.copyOf(result);
+    }
+
+    @Override
+    public User create(long empresaId, String nombre, String email, String passwordHash, UserRole rol, boolean activo) {
         String sql = """
                 INSERT INTO usuario (empresa_id, nombre, email, password_hash, rol, activo)
                 VALUES (?, ?, ?, ?, ?, ?)
@@ -127,6 +172,10 @@ public class MySqlUserRepository implements UserRepository {
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error creando usuario", e);
+        } finally {
+            // Tras escribir, para que una lectura concurrente no vuelva a cachear la lista vieja.
+            // La clave incluye el rol, así que se descartan todas las variantes de lookup.
+            LOOKUP_CACHE.invalidateAll();
         }
 
         return new User(0L, empresaId, nombre, email, passwordHash, rol, activo);
@@ -134,7 +183,6 @@ public class MySqlUserRepository implements UserRepository {
 
     @Override
     public User update(long id, long empresaId, String nombre, String email, String passwordHash, UserRole rol, boolean activo) {
-
         String sql = """
                 UPDATE usuario
                 SET nombre = ?, email = ?, password_hash = ?, rol = ?, activo = ?
@@ -154,11 +202,32 @@ public class MySqlUserRepository implements UserRepository {
             ps.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException("Error actualizando usuario", e);
+        } finally {
+            LOOKUP_CACHE.invalidateAll();
         }
 
         return new User(id, empresaId, nombre, email, passwordHash, rol, activo);
     }
 
+    @Override
+    public boolean replacePasswordHash(long id, String expectedHash, String newHash) {
+        String sql = """
+                UPDATE usuario
+                SET password_hash = ?
+                WHERE id = ? AND password_hash = ?
+                """;
+
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setString(1, newHash);
+            ps.setLong(2, id);
+            ps.setString(3, expectedHash);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error actualizando la contraseña del usuario", e);
+        }
+    }
+
     @Override
     public void deactivate(long id, long empresaId) {
         String sql = """
@@ -174,6 +243,8 @@ public class MySqlUserRepository implements UserRepository {
             ps.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException("Error desactivando usuario", e);
+        } finally {
+            LOOKUP_CACHE.invalidateAll();
         }
     }
 
@@ -188,4 +259,7 @@ public class MySqlUserRepository implements UserRepository {
 
         return new User(id, empresaId, nombre, email, passwordHash, rol, activo);
     }
+
+    private record LookupKey(long empresaId, UserRole rol) {
+    }
 }
@@ -0,0 +1,82 @@
+package com.gearmind.infrastructure.budget;
+
+import com.gearmind.domain.company.Empresa;
+import com.gearmind.domain.customer.Customer;
+import com.gearmind.domain.budget.Budget;
+import com.gearmind.domain.budget.BudgetLine;
+import com.gearmind.domain.vehicle.Vehicle;
+import com.gearmind.infrastructure.company.MySqlEmpresaRepository;
+import com.gearmind.infrastructure.customer.MySqlCustomerRepository;
+import com.gearmind.infrastructure.document.DocumentRenderer;
+import com.gearmind.infrastructure.document.PdfStorageIndex;
+import com.gearmind.infrastructure.vehicle.MySqlVehicleRepository;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Genera el PDF de un presupuesto a partir de su id: en el almacenamiento local para la cola
+ * de documentos, o directamente a un stream para la vista previa y la impresión. Si el PDF
+ * guardado se generó con el mismo contenido (misma huella) no se vuelve a generar.
+ */
+public class BudgetPdfRenderer implements DocumentRenderer {
+
+    private final MySqlBudgetRepository budgetRepository;
+    private final MySqlEmpresaRepository empresaRepository;
+    private final MySqlCustomerRepository customerRepository;
+    private final MySqlVehicleRepository vehicleRepository;
+    private final BudgetPdfGenerator generator;
+
+    public BudgetPdfRenderer() {
+        this.budgetRepository = new MySqlBudgetRepository();
+        this.empresaRepository = new MySqlEmpresaRepository();
+        this.customerRepository = new MySqlCustomerRepository();
+        this.vehicleRepository = new MySqlVehicleRepository();
+        this.generator = new BudgetPdfGenerator();
+    }
+
+    @Override
+    public Optional<Path> render(long budgetId) {
+        Optional<BudgetDocument> found = load(budgetId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        BudgetDocument doc = found.get();
+
+        Path path = BudgetPdfStorage.resolvePath(budgetId);
+        PdfStorageIndex index = PdfStorageIndex.forDirectory(BudgetPdfStorage.baseDir());
+        String fingerprint = generator.fingerprint(doc.budget(), doc.lines(), doc.empresa(), doc.customer(), doc.vehicle());
+        if (index.isCurrent(path, fingerprint)) {
+            return Optional.of(path);
+        }
+        index.forget(path);
+        Path output = generator.generate(doc.budget(), doc.lines(), doc.empresa(), doc.customer(), doc.vehicle());
+        index.record(output, fingerprint);
+        return Optional.of(output);
+    }
+
+    @Override
+    public boolean write(long budgetId, OutputStream out) {
+        Optional<BudgetDocument> found = load(budgetId);
+        found.ifPresent(doc -> generator.write(doc.budget(), doc.lines(), doc.empresa(), doc.customer(), doc.vehicle(), out));
+        return found.isPresent();
+    }
+
+    private Optional<BudgetDocument> load(long budgetId) {
+        Optional<Budget> found = budgetRepository.findById(budgetId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Budget budget = found.get();
+        List<BudgetLine> lines = budgetRepository.findLinesByBudgetId(budgetId);
+        Empresa empresa = empresaRepository.findById(budget.getEmpresaId()).orElse(null);
+        Customer customer = budget.getClienteId() != null ? customerRepository.findById(budget.getClienteId()).orElse(null) : null;
+        Vehicle vehicle = budget.getVehiculoId() != null ? vehicleRepository.findById(budget.getVehiculoId()).orElse(null) : null;
+        return Optional.of(new BudgetDocument(budget, lines, empresa, customer, vehicle));
+    }
+
+    private record BudgetDocument(Budget budget, List<BudgetLine> lines, Empresa empresa, Customer customer, Vehicle vehicle) {
+    }
+}
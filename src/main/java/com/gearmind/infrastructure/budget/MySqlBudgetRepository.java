@@ -1,10 +1,13 @@
 package com.gearmind.infrastructure.budget;
 
 import com.gearmind.domain.budget.Budget;
+import com.gearmind.domain.budget.BudgetExportRow;
 import com.gearmind.domain.budget.BudgetLine;
 import com.gearmind.domain.budget.BudgetRepository;
 import com.gearmind.domain.budget.BudgetStatus;
 import com.gearmind.infrastructure.database.DataSourceFactory;
+import com.gearmind.infrastructure.database.StreamingStatements;
+import com.gearmind.infrastructure.database.TransactionManager;
 
 import javax.sql.DataSource;
 import java.math.BigDecimal;
@@ -13,13 +16,16 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class MySqlBudgetRepository implements BudgetRepository {
 
     private final DataSource dataSource;
+    private final TransactionManager transactionManager;
 
     public MySqlBudgetRepository() {
         this.dataSource = DataSourceFactory.getDataSource();
+        this.transactionManager = new TransactionManager(dataSource);
     }
 
     @Override
@@ -150,6 +156,51 @@ public class MySqlBudgetRepository implements BudgetRepository {
         return Optional.empty();
     }
 
+    @Override
+    public void forEachExportRow(long empresaId, LocalDateTime from, LocalDateTime to, Consumer<BudgetExportRow> sink) {
+        String sql = """
+                SELECT p.id,
+                    p.fecha,
+                    p.estado,
+                    p.total_estimado,
+                    c.nombre AS cliente_nombre,
+                    v.matricula AS vehiculo_matricula,
+                    l.descripcion AS linea_descripcion,
+                    l.cantidad AS linea_cantidad,
+                    l.precio AS linea_precio,
+                    l.total AS linea_total
+                FROM presupuesto p
+                JOIN cliente c ON c.id = p.cliente_id
+                JOIN vehiculo v ON v.id = p.vehiculo_id
+                LEFT JOIN presupuesto_linea l ON l.presupuesto_id = p.id
+                WHERE p.empresa_id = ? AND p.fecha >= ? AND p.fecha < ?
+                ORDER BY p.fecha ASC, p.id ASC, l.id ASC
+                """;
+
+        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = StreamingStatements.prepare(cn, sql)) {
+            ps.setLong(1, empresaId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(new BudgetExportRow(
+                            rs.getLong("id"),
+                            rs.getTimestamp("fecha").toLocalDateTime(),
+                            rs.getString("estado"),
+                            rs.getString("cliente_nombre"),
+                            rs.getString("vehiculo_matricula"),
+                            rs.getBigDecimal("total_estimado"),
+                            rs.getString("linea_descripcion"),
+                            rs.getBigDecimal("linea_cantidad"),
+                            rs.getBigDecimal("linea_precio"),
+                            rs.getBigDecimal("linea_total")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al exportar presupuestos", e);
+        }
+    }
+
     @Override
     public List<BudgetLine> findLinesByBudgetId(long budgetId) {
         String sql = """
@@ -186,28 +237,38 @@ public class MySqlBudgetRepository implements BudgetRepository {
         return lines;
     }
 
+    /**
+     * En un alta, el id sólo se copia a budget cuando la transacción termina bien: si falla,
+     * el presupuesto queda como llegó y puede volver a guardarse como nuevo.
+     */
     @Override
     public Budget save(Budget budget, List<BudgetLine> lines) {
-        if (budget.getId() == null) {
-            long id = insertBudget(budget);
-            budget.setId(id);
-        } else {
-            updateBudget(budget);
-            deleteLines(budget.getId());
+        if (budget.getId() != null) {
+            return transactionManager.inTransaction(cn -> {
+                updateBudget(cn, budget);
+                deleteLines(cn, budget.getId());
+                insertLines(cn, budget.getId(), lines);
+                return budget;
+            });
         }
 
-        insertLines(budget.getId(), lines);
+        long id = transactionManager.inTransaction(cn -> {
+            long inserted = insertBudget(cn, budget);
+            insertLines(cn, inserted, lines);
+            return inserted;
+        });
+        budget.setId(id);
         return budget;
     }
 
-    private long insertBudget(Budget budget) {
+    private long insertBudget(Connection cn, Budget budget) {
         String sql = """
                 INSERT INTO presupuesto
                     (empresa_id, cliente_id, vehiculo_id, reparacion_id, fecha, estado, observaciones, total_estimado)
                 VALUES (?, ?, ?, ?, ?, ?, ?, ?)
                 """;
 
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement ps = cn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             int i = 1;
             ps.setLong(i++, budget.getEmpresaId());
             ps.setLong(i++, budget.getClienteId());
@@ -236,7 +297,7 @@ public class MySqlBudgetRepository implements BudgetRepository {
         return 0L;
     }
 
-    private void updateBudget(Budget budget) {
+    private void updateBudget(Connection cn, Budget budget) {
         String sql = """
                 UPDATE presupuesto
                 SET cliente_id = ?, vehiculo_id = ?, reparacion_id = ?, estado = ?, observaciones = ?,
@@ -244,7 +305,7 @@ public class MySqlBudgetRepository implements BudgetRepository {
                 WHERE id = ? AND empresa_id = ?
                 """;
 
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+        try (PreparedStatement ps = cn.prepareStatement(sql)) {
             int i = 1;
             ps.setLong(i++, budget.getClienteId());
             ps.setLong(i++, budget.getVehiculoId());
@@ -264,9 +325,9 @@ public class MySqlBudgetRepository implements BudgetRepository {
         }
     }
 
-    private void deleteLines(long budgetId) {
+    private void deleteLines(Connection cn, long budgetId) {
         String sql = "DELETE FROM presupuesto_linea WHERE presupuesto_id = ?";
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+        try (PreparedStatement ps = cn.prepareStatement(sql)) {
             ps.setLong(1, budgetId);
             ps.executeUpdate();
         } catch (SQLException e) {
@@ -274,14 +335,14 @@ public class MySqlBudgetRepository implements BudgetRepository {
         }
     }
 
-    private void insertLines(long budgetId, List<BudgetLine> lines) {
+    private void insertLines(Connection cn, long budgetId, List<BudgetLine> lines) {
         String sql = """
                 INSERT INTO presupuesto_linea
                     (presupuesto_id, producto_id, descripcion, cantidad, precio, total)
                 VALUES (?, ?, ?, ?, ?, ?)
                 """;
 
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+        try (PreparedStatement ps = cn.prepareStatement(sql)) {
             for (BudgetLine line : lines) {
                 int i = 1;
                 ps.setLong(i++, budgetId);
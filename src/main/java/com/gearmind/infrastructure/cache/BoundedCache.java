@@ -0,0 +1,193 @@
+package com.gearmind.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caché read-through de tamaño acotado con expulsión consciente de la frecuencia.
+ *
+ * Las entradas se guardan en orden LRU, pero cuando la caché está llena una clave
+ * nueva sólo desplaza a la víctima LRU si se ha pedido más veces que ella
+ * (admisión estilo TinyLFU). Así un recorrido puntual por muchos ids no expulsa
+ * las entidades calientes (la empresa del usuario, los clientes habituales...).
+ * Las frecuencias se guardan en un sketch count-min de 4 bits que se envejece a la mitad
+ * periódicamente. Las entradas caducan tras {@code ttl} para acotar datos obsoletos
+ * escritos desde otros puestos.
+ */
+public final class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+    private long invalidations;
+
+    public BoundedCache(String name, int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo debe ser > 0");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.sketch = new FrequencySketch(maxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        CacheRegistry.register(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Devuelve el valor cacheado o lo carga con {@code loader}. Los vacíos no se cachean.
+     * La carga se hace fuera del cerrojo para no serializar consultas a la base de datos.
+     */
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long stamp;
+        synchronized (this) {
+            sketch.increment(key);
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits++;
+                    return Optional.of(entry.value);
+                }
+                entries.remove(key);
+            }
+            misses++;
+            stamp = invalidations;
+        }
+
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> {
+            synchronized (this) {
+                // Si hubo una invalidación durante la carga, el valor puede estar ya obsoleto.
+                if (stamp == invalidations) {
+                    put(key, value);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    public synchronized void put(K key, V value) {
+        if (entries.containsKey(key) || entries.size() < maxSize) {
+            entries.put(key, new Entry<>(value, System.nanoTime()));
+            return;
+        }
+
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        K victim = it.next().getKey();
+        if (sketch.frequency(key) > sketch.frequency(victim)) {
+            it.remove();
+            evictions++;
+            entries.put(key, new Entry<>(value, System.nanoTime()));
+        } else {
+            rejections++;
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(name, entries.size(), maxSize, hits, misses, evictions, rejections);
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    /**
+     * Sketch count-min con contadores de 4 bits (16 por long) y envejecimiento:
+     * cuando el número de incrementos alcanza 10 × tamaño, todos los contadores se dividen entre 2.
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxSize) {
+            int size = Integer.highestOneBit(Math.max(maxSize, 16) - 1) << 1;
+            this.table = new long[size];
+            this.tableMask = size - 1;
+            this.sampleSize = 10 * maxSize;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), counterOf(hash, i));
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int shift = counterOf(hash, i) << 2;
+                int count = (int) ((table[indexOf(hash, i)] >>> shift) & 0xFL);
+                min = Math.min(min, count);
+            }
+            return min;
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int shift = counter << 2;
+            long mask = 0xFL << shift;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << shift;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions /= 2;
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & tableMask;
+        }
+
+        private int counterOf(int hash, int i) {
+            return (hash >>> (i << 3)) & 0xF;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
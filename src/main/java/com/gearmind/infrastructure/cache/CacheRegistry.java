@@ -0,0 +1,27 @@
+package com.gearmind.infrastructure.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro de las cachés de la aplicación para consultar sus contadores.
+ */
+public final class CacheRegistry {
+
+    private static final List<BoundedCache<?, ?>> CACHES = new CopyOnWriteArrayList<>();
+
+    private CacheRegistry() {
+    }
+
+    static void register(BoundedCache<?, ?> cache) {
+        CACHES.add(cache);
+    }
+
+    public static List<CacheStats> snapshot() {
+        return CACHES.stream().map(BoundedCache::stats).toList();
+    }
+
+    public static void invalidateAll() {
+        CACHES.forEach(BoundedCache::invalidateAll);
+    }
+}
@@ -0,0 +1,12 @@
+package com.gearmind.infrastructure.cache;
+
+/**
+ * Contadores de una {@link BoundedCache}.
+ */
+public record CacheStats(String name, int size, int maxSize, long hits, long misses, long evictions, long rejections) {
+
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
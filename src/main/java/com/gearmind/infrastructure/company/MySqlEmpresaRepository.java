@@ -2,15 +2,19 @@ package com.gearmind.infrastructure.company;
 
 import com.gearmind.domain.company.Empresa;
 import com.gearmind.domain.company.EmpresaRepository;
+import com.gearmind.infrastructure.cache.BoundedCache;
 import com.gearmind.infrastructure.database.DataSourceFactory;
 import javax.sql.DataSource;
 import java.sql.*;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class MySqlEmpresaRepository implements EmpresaRepository {
 
+    private static final BoundedCache<Long, Empresa> CACHE = new BoundedCache<>("empresa", 64, Duration.ofMinutes(10));
+
     private final DataSource dataSource;
 
     public MySqlEmpresaRepository() {
@@ -42,6 +46,11 @@ public class MySqlEmpresaRepository implements EmpresaRepository {
 
     @Override
     public Optional<Empresa> findById(long id) {
+        // Empresa es inmutable: la entrada cacheada se puede compartir sin copiarla.
+        return CACHE.get(id, this::loadById);
+    }
+
+    private Optional<Empresa> loadById(long id) {
         String sql = """
                 SELECT id, nombre, cif, telefono, email, direccion,
                     ciudad, provincia, cp, activa
@@ -69,8 +78,11 @@ public class MySqlEmpresaRepository implements EmpresaRepository {
     public Empresa save(Empresa empresa) {
         if (empresa.isNew()) {
             return insert(empresa);
-        } else {
+        }
+        try {
             return update(empresa);
+        } finally {
+            CACHE.invalidate(empresa.getId());
         }
     }
 
@@ -85,6 +97,8 @@ public class MySqlEmpresaRepository implements EmpresaRepository {
 
         } catch (SQLException e) {
             throw new RuntimeException("Error al eliminar empresa", e);
+        } finally {
+            CACHE.invalidate(id);
         }
     }
 
@@ -1,20 +1,35 @@
 package com.gearmind.infrastructure.customer;
 
+import com.gearmind.common.lookup.LookupItem;
+import com.gearmind.common.pagination.Page;
+import com.gearmind.common.pagination.PageRequest;
 import com.gearmind.domain.customer.Customer;
 import com.gearmind.domain.customer.CustomerRepository;
+import com.gearmind.infrastructure.cache.BoundedCache;
 import com.gearmind.infrastructure.database.DataSourceFactory;
+import com.gearmind.infrastructure.database.TransactionManager;
+import com.gearmind.infrastructure.repair.MySqlRepairRepository;
 import javax.sql.DataSource;
 import java.sql.*;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 public class MySqlCustomerRepository implements CustomerRepository {
 
+    private static final BoundedCache<Long, Customer> CACHE = new BoundedCache<>("cliente", 1000, Duration.ofMinutes(5));
+    private static final BoundedCache<Long, List<LookupItem>> LOOKUP_CACHE = new BoundedCache<>("cliente-lookup", 32, Duration.ofMinutes(2));
+
     private final DataSource dataSource;
+    private final TransactionManager transactionManager;
 
     public MySqlCustomerRepository() {
         this.dataSource = DataSourceFactory.getDataSource();
+        this.transactionManager = new TransactionManager(dataSource);
     }
     
     @Override
@@ -69,8 +84,142 @@ public class MySqlCustomerRepository implements CustomerRepository {
         return result;
     }
 
+    @Override
+    public List<LookupItem> findLookupByEmpresaId(long empresaId) {
+        return LOOKUP_CACHE.get(empresaId, id -> Optional.of(loadLookup(id))).orElseGet(List::of);
+    }
+
+    private List<LookupItem> loadLookup(long empresaId) {
+        List<LookupItem> result = new ArrayList<>();
+
+        String sql = """
+                SELECT id, nombre
+                FROM cliente
+                WHERE empresa_id = ?
+                ORDER BY nombre ASC
+                """;
+
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setLong(1, empresaId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(new LookupItem(rs.getLong("id"), rs.getString("nombre"), null));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error listando clientes", e);
+        }
+
+        return List.copyOf(result);
+    }
+
+    @Override
+    public Page<Customer> findPageByEmpresaId(long empresaId, PageRequest<Customer> request) {
+        return findPage(empresaId, request);
+    }
+
+    @Override
+    public Page<Customer> findPageAllWithEmpresa(PageRequest<Customer> request) {
+        return findPage(null, request);
+    }
+
+    @Override
+    public long countByEmpresaId(long empresaId) {
+        return count("SELECT COUNT(*) FROM cliente WHERE empresa_id = ?", empresaId);
+    }
+
+    @Override
+    public long countAll() {
+        return count("SELECT COUNT(*) FROM cliente", null);
+    }
+
+    /**
+     * Página ordenada por (nombre, id) usando la fila ancla como cursor.
+     */
+    private Page<Customer> findPage(Long empresaId, PageRequest<Customer> request) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT c.id,
+                    c.empresa_id,
+                    e.nombre AS empresa_nombre,
+                    c.nombre,
+                    c.email,
+                    c.telefono,
+                    c.notas,
+                    c.activo
+                FROM cliente c
+                JOIN empresa e ON e.id = c.empresa_id
+                WHERE 1 = 1
+                """);
+
+        if (empresaId != null) {
+            sql.append(" AND c.empresa_id = ?");
+        }
+
+        Customer anchor = request.anchor();
+        String cmp = request.isBackward() ? "<" : ">";
+        if (anchor != null) {
+            sql.append(" AND (c.nombre ").append(cmp).append(" ? OR (c.nombre = ? AND c.id ").append(cmp).append(" ?))");
+        }
+
+        String order = request.isBackward() ? "DESC" : "ASC";
+        sql.append(" ORDER BY c.nombre ").append(order).append(", c.id ").append(order);
+
+        if (!request.isUnbounded()) {
+            sql.append(" LIMIT ?");
+        }
+
+        List<Customer> rows = new ArrayList<>();
+
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int i = 1;
+            if (empresaId != null) {
+                ps.setLong(i++, empresaId);
+            }
+            if (anchor != null) {
+                ps.setString(i++, anchor.getNombre());
+                ps.setString(i++, anchor.getNombre());
+                ps.setLong(i++, anchor.getId());
+            }
+            if (!request.isUnbounded()) {
+                ps.setInt(i++, request.fetchSize());
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Customer c = mapRow(rs);
+                    c.setEmpresaNombre(rs.getString("empresa_nombre"));
+                    rows.add(c);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error paginando clientes", e);
+        }
+
+        return Page.of(rows, request);
+    }
+
+    private long count(String sql, Long empresaId) {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (empresaId != null) {
+                ps.setLong(1, empresaId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error contando clientes", e);
+        }
+    }
+
     @Override
     public Optional<Customer> findById(long id) {
+        // Customer tiene empresaNombre mutable: se entrega una copia para que nadie altere la entrada cacheada.
+        return CACHE.get(id, this::loadById).map(c -> c.withEmpresaNombre(c.getEmpresaNombre()));
+    }
+
+    private Optional<Customer> loadById(long id) {
         String sql = """
                 SELECT id, empresa_id, nombre, email, telefono, notas, activo
                 FROM cliente
@@ -120,11 +269,69 @@ public class MySqlCustomerRepository implements CustomerRepository {
 
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            LOOKUP_CACHE.invalidate(empresaId);
         }
 
         return new Customer(0L, empresaId, nombre, email, telefono, notas, true);
     }
 
+    @Override
+    public void createAll(long empresaId, List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+                INSERT INTO cliente (empresa_id, nombre, email, telefono, notas, activo)
+                VALUES (?, ?, ?, ?, ?, 1)
+                """;
+
+        try {
+            transactionManager.runInTransaction(cn -> {
+                try (PreparedStatement ps = cn.prepareStatement(sql)) {
+                    for (Customer c : customers) {
+                        ps.setLong(1, empresaId);
+                        ps.setString(2, c.getNombre());
+                        ps.setString(3, c.getEmail());
+                        ps.setString(4, c.getTelefono());
+                        ps.setString(5, c.getNotas());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            });
+        } finally {
+            LOOKUP_CACHE.invalidate(empresaId);
+        }
+    }
+
+    @Override
+    public Map<String, Long> findIdsByEmail(long empresaId) {
+        Map<String, Long> result = new HashMap<>();
+
+        String sql = """
+                SELECT id, email
+                FROM cliente
+                WHERE empresa_id = ? AND email IS NOT NULL AND email <> ''
+                """;
+
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setLong(1, empresaId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.put(rs.getString("email").trim().toLowerCase(Locale.ROOT), rs.getLong("id"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error listando emails de clientes", e);
+        }
+
+        return result;
+    }
+
     @Override
     public Customer update(long id, long empresaId, String nombre, String email, String telefono, String notas) {
         String sql = """
@@ -146,6 +353,10 @@ public class MySqlCustomerRepository implements CustomerRepository {
 
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            CACHE.invalidate(id);
+            LOOKUP_CACHE.invalidate(empresaId);
+            MySqlRepairRepository.invalidateLookup(empresaId);
         }
 
         return new Customer(id, empresaId, nombre, email, telefono, notas, true);
@@ -167,6 +378,8 @@ public class MySqlCustomerRepository implements CustomerRepository {
 
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            CACHE.invalidate(id);
         }
     }
 
@@ -185,6 +398,8 @@ public class MySqlCustomerRepository implements CustomerRepository {
             ps.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException("Error activando cliente " + customerId, e);
+        } finally {
+            CACHE.invalidate(customerId);
         }
     }
 
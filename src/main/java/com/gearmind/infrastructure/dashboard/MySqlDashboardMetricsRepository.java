@@ -0,0 +1,130 @@
+package com.gearmind.infrastructure.dashboard;
+
+import com.gearmind.domain.dashboard.DashboardMetrics;
+import com.gearmind.domain.dashboard.DashboardMetricsRepository;
+import com.gearmind.domain.repair.RepairStatus;
+import com.gearmind.domain.task.TaskStatus;
+import com.gearmind.infrastructure.cache.BoundedCache;
+import com.gearmind.infrastructure.database.DataSourceFactory;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Todas las cifras del panel en un solo viaje a la base de datos: cada tabla se agrega en una
+ * subconsulta (COUNT / SUM condicionales por estado) y se combinan con CROSS JOIN en una única fila.
+ *
+ * El resultado se cachea por empresa y día durante unos segundos, de modo que volver al panel
+ * no repite la consulta.
+ */
+public class MySqlDashboardMetricsRepository implements DashboardMetricsRepository {
+
+    private static final BoundedCache<CacheKey, DashboardMetrics> CACHE = new BoundedCache<>("dashboard", 32, Duration.ofSeconds(30));
+
+    private static final String SQL = """
+            SELECT cl.total AS clientes,
+                ve.total AS vehiculos,
+                %s,
+                %s,
+                ci.total AS citas_hoy,
+                fa.pendientes AS facturas_pendientes,
+                fa.importe_pendiente,
+                fa.facturado_mes
+            FROM (SELECT COUNT(*) AS total FROM cliente WHERE empresa_id = ?) cl
+            CROSS JOIN (SELECT COUNT(*) AS total FROM vehiculo WHERE empresa_id = ?) ve
+            CROSS JOIN (SELECT %s FROM reparacion WHERE empresa_id = ?) re
+            CROSS JOIN (SELECT %s FROM tarea WHERE empresa_id = ?) ta
+            CROSS JOIN (SELECT COUNT(*) AS total FROM cita
+                        WHERE empresa_id = ? AND fecha_hora >= ? AND fecha_hora < ? AND estado <> 'CANCELADA') ci
+            CROSS JOIN (SELECT COALESCE(SUM(estado = 'PENDIENTE'), 0) AS pendientes,
+                            COALESCE(SUM(CASE WHEN estado = 'PENDIENTE' THEN total END), 0) AS importe_pendiente,
+                            COALESCE(SUM(CASE WHEN estado IN ('PENDIENTE', 'PAGADA') AND fecha >= ? AND fecha < ? THEN total END), 0) AS facturado_mes
+                        FROM factura WHERE empresa_id = ?) fa
+            """.formatted(
+            selectColumns("re", "rep_", RepairStatus.values()),
+            selectColumns("ta", "tar_", TaskStatus.values()),
+            countByStatus("rep_", RepairStatus.values()),
+            countByStatus("tar_", TaskStatus.values()));
+
+    private final DataSource dataSource;
+
+    public MySqlDashboardMetricsRepository() {
+        this.dataSource = DataSourceFactory.getDataSource();
+    }
+
+    @Override
+    public DashboardMetrics load(long empresaId, LocalDate today) {
+        return CACHE.get(new CacheKey(empresaId, today), key -> Optional.of(query(key.empresaId(), key.today()))).orElseThrow();
+    }
+
+    private DashboardMetrics query(long empresaId, LocalDate today) {
+        LocalDate monthStart = today.withDayOfMonth(1);
+
+        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(SQL)) {
+            int i = 1;
+            ps.setLong(i++, empresaId);
+            ps.setLong(i++, empresaId);
+            ps.setLong(i++, empresaId);
+            ps.setLong(i++, empresaId);
+            ps.setLong(i++, empresaId);
+            ps.setTimestamp(i++, Timestamp.valueOf(today.atStartOfDay()));
+            ps.setTimestamp(i++, Timestamp.valueOf(today.plusDays(1).atStartOfDay()));
+            ps.setTimestamp(i++, Timestamp.valueOf(monthStart.atStartOfDay()));
+            ps.setTimestamp(i++, Timestamp.valueOf(monthStart.plusMonths(1).atStartOfDay()));
+            ps.setLong(i, empresaId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+
+                Map<RepairStatus, Long> reparaciones = new EnumMap<>(RepairStatus.class);
+                for (RepairStatus status : RepairStatus.values()) {
+                    reparaciones.put(status, rs.getLong("rep_" + status.name()));
+                }
+                Map<TaskStatus, Long> tareas = new EnumMap<>(TaskStatus.class);
+                for (TaskStatus status : TaskStatus.values()) {
+                    tareas.put(status, rs.getLong("tar_" + status.name()));
+                }
+
+                return new DashboardMetrics(
+                        rs.getLong("clientes"),
+                        rs.getLong("vehiculos"),
+                        reparaciones,
+                        tareas,
+                        rs.getLong("citas_hoy"),
+                        rs.getLong("facturas_pendientes"),
+                        orZero(rs.getBigDecimal("importe_pendiente")),
+                        orZero(rs.getBigDecimal("facturado_mes")));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al calcular las métricas del panel", e);
+        }
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    // Los estados se guardan con Enum.name(), así que las columnas se generan a partir del enum.
+    private static String countByStatus(String prefix, Enum<?>[] values) {
+        return Stream.of(values)
+                .map(v -> "COALESCE(SUM(estado = '" + v.name() + "'), 0) AS " + prefix + v.name())
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String selectColumns(String alias, String prefix, Enum<?>[] values) {
+        return Stream.of(values)
+                .map(v -> alias + "." + prefix + v.name())
+                .collect(Collectors.joining(", "));
+    }
+
+    private record CacheKey(long empresaId, LocalDate today) {
+    }
+}
@@ -1,13 +1,18 @@
 package com.gearmind.infrastructure.database;
 
+import com.gearmind.infrastructure.database.metrics.InstrumentedDataSource;
+import com.gearmind.infrastructure.database.metrics.JdbcMetrics;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import io.github.cdimascio.dotenv.Dotenv;
 import javax.sql.DataSource;
+import java.time.Duration;
 
 public final class DataSourceFactory {
 
-    private static HikariDataSource dataSource;
+    private static HikariDataSource pool;
+    private static DataSource dataSource;
 
     private DataSourceFactory() {
     }
@@ -33,12 +38,69 @@ public final class DataSourceFactory {
             config.setUsername(user);
             config.setPassword(pass);
             config.setMaximumPoolSize(maxPool);
+            String minIdle = dotenv.get("DB_POOL_MIN_IDLE");
+            if (minIdle != null && !minIdle.isBlank()) {
+                config.setMinimumIdle(Math.min(Integer.parseInt(minIdle), maxPool));
+            }
             config.setDriverClassName("com.mysql.cj.jdbc.Driver");
             config.setPoolName("gearmind-pool");
+            // Convierte executeBatch en INSERT multi-fila (importaciones masivas).
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+
+            pool = new HikariDataSource(config);
 
-            dataSource = new HikariDataSource(config);
+            boolean migrate = Boolean.parseBoolean(dotenv.get("DB_MIGRATE", "true"));
+            if (migrate) {
+                try {
+                    SchemaMigrator.migrate(pool);
+                } catch (RuntimeException e) {
+                    pool.close();
+                    pool = null;
+                    throw e;
+                }
+            }
+
+            boolean metricsEnabled = Boolean.parseBoolean(dotenv.get("DB_METRICS_ENABLED", "true"));
+            if (metricsEnabled) {
+                JdbcMetrics metrics = JdbcMetrics.getInstance();
+                metrics.setSlowQueryThresholdMillis(Long.parseLong(dotenv.get("DB_SLOW_QUERY_MS", "500")));
+                // Sólo para depurar: los valores incluyen datos personales y hashes de contraseña
+                metrics.setLogParameterValues(Boolean.parseBoolean(dotenv.get("DB_SLOW_QUERY_LOG_VALUES", "false")));
+                dataSource = InstrumentedDataSource.wrap(pool, metrics);
+            } else {
+                dataSource = pool;
+            }
+            // Permite abortar en el servidor las consultas de cargas en segundo plano ya obsoletas.
+            dataSource = QueryCancellation.track(dataSource);
         }
 
         return dataSource;
     }
+
+    /**
+     * Crea el pool si aún no existe y espera a que tenga abiertas sus conexiones mínimas, para
+     * que la primera consulta tras el login no pague la carga del driver ni el handshake con
+     * el servidor. Pensado para el arranque, en segundo plano.
+     *
+     * @return conexiones abiertas al terminar
+     */
+    public static int warmUp(Duration timeout) {
+        getDataSource();
+        HikariDataSource current;
+        synchronized (DataSourceFactory.class) {
+            current = pool;
+        }
+        HikariPoolMXBean stats = current.getHikariPoolMXBean();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        // Hikari rellena el pool por su cuenta tras crearlo; aquí sólo se espera a que acabe
+        while (stats.getTotalConnections() < current.getMinimumIdle() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return stats.getTotalConnections();
+    }
 }
@@ -0,0 +1,127 @@
+package com.gearmind.infrastructure.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+
+/**
+ * Ámbito de cancelación de consultas.
+ *
+ * Mientras un hilo ejecuta trabajo con {@link #call(Supplier)}, cada sentencia que abre a
+ * través del DataSource de {@link #track(DataSource)} queda registrada en él. {@link #cancel()},
+ * llamado desde otro hilo, ejecuta {@link Statement#cancel()} sobre todas ellas, de modo que
+ * el servidor aborta la consulta en curso en lugar de terminarla para nadie.
+ */
+public final class QueryCancellation {
+
+    private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+
+    private final List<Statement> statements = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * Ejecuta {@code work} en el hilo actual con este ámbito enlazado y lo desenlaza al terminar.
+     */
+    public <R> R call(Supplier<R> work) {
+        QueryCancellation previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        List<Statement> toCancel;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toCancel = new ArrayList<>(statements);
+            statements.clear();
+        }
+        for (Statement statement : toCancel) {
+            cancelQuietly(statement);
+        }
+    }
+
+    private void register(Statement statement) {
+        boolean alreadyCancelled;
+        synchronized (this) {
+            alreadyCancelled = cancelled;
+            if (!alreadyCancelled) {
+                statements.add(statement);
+            }
+        }
+        if (alreadyCancelled) {
+            cancelQuietly(statement);
+        }
+    }
+
+    private static void cancelQuietly(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException ignored) {
+            // Sentencia ya cerrada o conexión perdida: no queda nada que cancelar.
+        }
+    }
+
+    /**
+     * Envuelve el DataSource para que las sentencias creadas se registren en el ámbito del hilo, si lo hay.
+     */
+    public static DataSource track(DataSource target) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Connection connection && "getConnection".equals(method.getName())) {
+                return proxy(Connection.class, new ConnectionHandler(connection));
+            }
+            return result;
+        });
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement) {
+                QueryCancellation scope = CURRENT.get();
+                if (scope != null) {
+                    scope.register(statement);
+                }
+            }
+            return result;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryCancellation.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
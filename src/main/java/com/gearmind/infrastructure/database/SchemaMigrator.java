@@ -0,0 +1,157 @@
+package com.gearmind.infrastructure.database;
+
+import com.gearmind.common.exception.InfrastructureException;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Aplica las migraciones versionadas de classpath:db/migration al arrancar.
+ *
+ * Las bases de datos creadas antes de existir las migraciones se adoptan como
+ * baseline en la versión 1 (esquema inicial) y reciben sólo las posteriores.
+ * Qué hacer se decide en {@link #plan(Set)} a partir de las tablas existentes.
+ */
+public final class SchemaMigrator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    static final String HISTORY_TABLE = "flyway_schema_history";
+
+    /** Tablas que crea V1__esquema_inicial.sql. */
+    static final Set<String> INITIAL_TABLES = Set.of(
+            "empresa", "usuario", "cliente", "vehiculo", "producto", "cita", "reparacion",
+            "tarea", "presupuesto", "presupuesto_linea", "factura", "factura_linea");
+
+    /** Migración que añade UNIQUE (empresa_id, numero) a factura. */
+    static final String UNIQUE_NUMERO_VERSION = "4";
+
+    private static final String DUPLICATE_NUMEROS_SQL = """
+            SELECT empresa_id, numero, COUNT(*) AS veces
+            FROM factura
+            GROUP BY empresa_id, numero
+            HAVING COUNT(*) > 1
+            ORDER BY empresa_id, numero
+            LIMIT 20
+            """;
+
+    enum Plan {
+        /** Ya tiene historial: sólo se aplican las migraciones pendientes. */
+        UPGRADE,
+        /** Esquema vacío: se aplican todas desde V1. */
+        CREATE,
+        /** Esquema completo creado antes de las migraciones: baseline en V1 y las posteriores. */
+        ADOPT,
+        /** Esquema de GearMind a medias: baseline en V0 para que V1 cree las tablas que faltan. */
+        COMPLETE
+    }
+
+    private SchemaMigrator() {
+    }
+
+    public static void migrate(DataSource dataSource) {
+        try {
+            Set<String> tables = existingTables(dataSource);
+            Plan plan = plan(tables);
+            Flyway flyway = Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration")
+                    .table(HISTORY_TABLE)
+                    .baselineVersion(plan == Plan.COMPLETE ? "0" : "1")
+                    .load();
+
+            if (plan == Plan.ADOPT || plan == Plan.COMPLETE) {
+                LOG.info("Adoptando esquema existente sin historial de migraciones ({})", plan);
+                flyway.baseline();
+            }
+            if (tables.contains("factura") && isPending(flyway, UNIQUE_NUMERO_VERSION)) {
+                checkNoDuplicateInvoiceNumbers(dataSource);
+            }
+            MigrateResult result = flyway.migrate();
+            LOG.info("Esquema en versión {} ({} migraciones aplicadas)", result.targetSchemaVersion, result.migrationsExecuted);
+        } catch (FlywayException e) {
+            throw new InfrastructureException("Error al migrar el esquema de la base de datos", e);
+        }
+    }
+
+    /**
+     * Decide cómo migrar según las tablas (en minúsculas) del esquema actual.
+     *
+     * @throws InfrastructureException si el esquema no está vacío pero no tiene ninguna tabla
+     *                                 de GearMind ni historial: probablemente es otra base de datos
+     */
+    static Plan plan(Set<String> tables) {
+        if (tables.contains(HISTORY_TABLE)) {
+            return Plan.UPGRADE;
+        }
+        if (tables.isEmpty()) {
+            return Plan.CREATE;
+        }
+        if (tables.containsAll(INITIAL_TABLES)) {
+            return Plan.ADOPT;
+        }
+        if (tables.stream().anyMatch(INITIAL_TABLES::contains)) {
+            return Plan.COMPLETE;
+        }
+        throw new InfrastructureException("La base de datos no está vacía y no contiene tablas de GearMind ni historial de migraciones: " + tables);
+    }
+
+    private static boolean isPending(Flyway flyway, String version) {
+        return Arrays.stream(flyway.info().pending())
+                .anyMatch(m -> m.getVersion() != null && version.equals(m.getVersion().getVersion()));
+    }
+
+    /**
+     * Antes de V4: con números repetidos dentro de una empresa el ALTER TABLE fallaría a mitad
+     * con un error de clave duplicada. Se comprueba antes para decir qué facturas hay que
+     * renumerar, sin tocar el esquema.
+     */
+    private static void checkNoDuplicateInvoiceNumbers(DataSource dataSource) {
+        List<String> duplicates = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(DUPLICATE_NUMEROS_SQL)) {
+            while (rs.next()) {
+                duplicates.add("empresa " + rs.getLong("empresa_id") + " → " + rs.getString("numero")
+                        + " (" + rs.getInt("veces") + " facturas)");
+            }
+        } catch (SQLException e) {
+            throw new InfrastructureException("Error comprobando números de factura repetidos", e);
+        }
+        if (!duplicates.isEmpty()) {
+            throw new InfrastructureException("No se puede aplicar la migración " + UNIQUE_NUMERO_VERSION
+                    + ": hay números de factura repetidos dentro de una misma empresa. Renumere estas facturas y"
+                    + " vuelva a arrancar: " + String.join("; ", duplicates));
+        }
+    }
+
+    private static Set<String> existingTables(DataSource dataSource) {
+        try (Connection conn = dataSource.getConnection()) {
+            DatabaseMetaData meta = conn.getMetaData();
+            Set<String> tables = new HashSet<>();
+            try (ResultSet rs = meta.getTables(conn.getCatalog(), conn.getSchema(), "%", new String[]{"TABLE"})) {
+                while (rs.next()) {
+                    tables.add(rs.getString("TABLE_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+            return tables;
+        } catch (SQLException e) {
+            throw new InfrastructureException("Error consultando las tablas existentes", e);
+        }
+    }
+}
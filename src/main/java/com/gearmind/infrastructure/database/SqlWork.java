@@ -0,0 +1,13 @@
+package com.gearmind.infrastructure.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Bloque JDBC que se ejecuta sobre la conexión de una transacción.
+ */
+@FunctionalInterface
+public interface SqlWork<T> {
+
+    T execute(Connection connection) throws SQLException;
+}
@@ -0,0 +1,26 @@
+package com.gearmind.infrastructure.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Sentencias de sólo avance cuyo resultado se lee fila a fila desde el servidor.
+ *
+ * Connector/J guarda por defecto todo el ResultSet en memoria; con TYPE_FORWARD_ONLY,
+ * CONCUR_READ_ONLY y fetchSize = Integer.MIN_VALUE pasa a modo streaming y la memoria usada
+ * no depende del número de filas. Mientras el ResultSet está abierto la conexión no admite
+ * otras sentencias, así que hay que consumirlo y cerrarlo antes de usarla de nuevo.
+ */
+public final class StreamingStatements {
+
+    private StreamingStatements() {
+    }
+
+    public static PreparedStatement prepare(Connection cn, String sql) throws SQLException {
+        PreparedStatement ps = cn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(Integer.MIN_VALUE);
+        return ps;
+    }
+}
@@ -0,0 +1,91 @@
+package com.gearmind.infrastructure.database;
+
+import com.gearmind.common.exception.InfrastructureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Unidad de trabajo JDBC: ejecuta varias sentencias sobre una única conexión
+ * del pool, dentro de una transacción y con un único commit.
+ *
+ * Si ya hay una transacción abierta en el hilo actual sobre el mismo DataSource,
+ * el bloque se une a ella en lugar de abrir otra, de modo que los repositorios
+ * pueden componerse (p.ej. guardar factura y reservar su número) sin conocerse.
+ */
+public class TransactionManager {
+
+    private static final ThreadLocal<Bound> CURRENT = new ThreadLocal<>();
+
+    private final DataSource dataSource;
+
+    public TransactionManager(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public <T> T inTransaction(SqlWork<T> work) {
+        Bound bound = CURRENT.get();
+        if (bound != null && bound.dataSource == dataSource) {
+            try {
+                return work.execute(bound.connection);
+            } catch (SQLException e) {
+                throw new InfrastructureException("Error en la transacción", e);
+            }
+        }
+
+        try (Connection cn = dataSource.getConnection()) {
+            boolean previousAutoCommit = cn.getAutoCommit();
+            cn.setAutoCommit(false);
+            CURRENT.set(new Bound(dataSource, cn));
+            try {
+                T result = work.execute(cn);
+                cn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(cn, e);
+                if (e instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new InfrastructureException("Error en la transacción", e);
+            } finally {
+                CURRENT.remove();
+                cn.setAutoCommit(previousAutoCommit);
+            }
+        } catch (SQLException e) {
+            throw new InfrastructureException("No se pudo abrir la transacción", e);
+        }
+    }
+
+    public void runInTransaction(SqlRunnable work) {
+        inTransaction(cn -> {
+            work.run(cn);
+            return null;
+        });
+    }
+
+    /**
+     * Indica si el hilo actual está dentro de una transacción de este gestor.
+     */
+    public boolean isActive() {
+        Bound bound = CURRENT.get();
+        return bound != null && bound.dataSource == dataSource;
+    }
+
+    private void rollbackQuietly(Connection cn, Exception cause) {
+        try {
+            cn.rollback();
+        } catch (SQLException rollbackError) {
+            cause.addSuppressed(rollbackError);
+        }
+    }
+
+    @FunctionalInterface
+    public interface SqlRunnable {
+
+        void run(Connection connection) throws SQLException;
+    }
+
+    private record Bound(DataSource dataSource, Connection connection) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.gearmind.infrastructure.database.metrics;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Envuelve un DataSource en proxies JDBC que miden cada sentencia y la etiquetan
+ * con el método de repositorio que la lanza (p.ej. "MySqlTaskRepository.findAllWithEmpresa").
+ *
+ * Se mide:
+ *  - espera al pedir conexión al pool (getConnection)
+ *  - duración de cada execute, executeQuery, executeUpdate y executeBatch
+ *  - filas leídas a través de ResultSet.next()
+ */
+public final class InstrumentedDataSource {
+
+    private static final String OWN_PACKAGE = "com.gearmind.infrastructure.database";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private InstrumentedDataSource() {
+    }
+
+    public static DataSource wrap(DataSource target, JdbcMetrics metrics) {
+        return proxy(DataSource.class, new DataSourceHandler(target, metrics));
+    }
+
+    /**
+     * Primer marco de la pila dentro de com.gearmind que no pertenezca a la capa de base de datos.
+     */
+    static String callerTag() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("com.gearmind.") && !f.getClassName().startsWith(OWN_PACKAGE))
+                .findFirst()
+                .map(f -> simpleName(f.getClassName()) + "." + cleanMethod(f.getMethodName()))
+                .orElse("desconocido"));
+    }
+
+    private static String simpleName(String className) {
+        String simple = className.substring(className.lastIndexOf('.') + 1);
+        int inner = simple.indexOf('$');
+        return inner > 0 ? simple.substring(0, inner) : simple;
+    }
+
+    private static String cleanMethod(String method) {
+        // lambda$save$0 -> save
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', 7);
+            return end > 7 ? method.substring(7, end) : method;
+        }
+        return method;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record DataSourceHandler(DataSource target, JdbcMetrics metrics) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!"getConnection".equals(method.getName())) {
+                return invokeTarget(target, method, args);
+            }
+            String tag = callerTag();
+            long start = System.nanoTime();
+            Connection connection = (Connection) invokeTarget(target, method, args);
+            metrics.recordConnectionWait(tag, System.nanoTime() - start);
+            return proxy(Connection.class, new ConnectionHandler(connection, metrics));
+        }
+    }
+
+    private record ConnectionHandler(Connection target, JdbcMetrics metrics) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement
+                    && ("prepareStatement".equals(name) || "prepareCall".equals(name) || "createStatement".equals(name))) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql, callerTag(), metrics));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final String tag;
+        private final JdbcMetrics metrics;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        private StatementHandler(Statement target, String sql, String tag, JdbcMetrics metrics) {
+            this.target = target;
+            this.sql = sql;
+            this.tag = tag;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, "setNull".equals(name) ? "NULL" : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            }
+
+            if (!EXECUTE_METHODS.contains(name)) {
+                return invokeTarget(target, method, args);
+            }
+
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                Object result = invokeTarget(target, method, args);
+                if (result instanceof ResultSet rs) {
+                    return proxy(ResultSet.class, new ResultSetHandler(rs, tag, metrics));
+                }
+                return result;
+            } catch (Throwable t) {
+                failed = true;
+                throw t;
+            } finally {
+                metrics.recordStatement(tag, executed, parameters, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final String tag;
+        private final JdbcMetrics metrics;
+        private long pendingRows;
+
+        private ResultSetHandler(ResultSet target, String tag, JdbcMetrics metrics) {
+            this.target = target;
+            this.tag = tag;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("next".equals(name)) {
+                boolean hasRow = (Boolean) invokeTarget(target, method, args);
+                if (hasRow) {
+                    pendingRows++;
+                } else {
+                    flushRows();
+                }
+                return hasRow;
+            }
+            if ("close".equals(name)) {
+                flushRows();
+            }
+            return invokeTarget(target, method, args);
+        }
+
+        private void flushRows() {
+            metrics.recordRows(tag, pendingRows);
+            pendingRows = 0;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.gearmind.infrastructure.database.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de métricas JDBC por método de repositorio: latencia de sentencias,
+ * filas leídas, espera de conexión del pool y log de consultas lentas.
+ * Pensado para ser consultado desde una pantalla de administración.
+ */
+public final class JdbcMetrics {
+
+    private static final Logger SLOW_LOG = LoggerFactory.getLogger("gearmind.slowquery");
+    private static final int SLOW_QUERY_CAPACITY = 200;
+    private static final JdbcMetrics INSTANCE = new JdbcMetrics();
+
+    private final Map<String, MethodStats> byMethod = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private volatile long slowQueryThresholdNanos = 500L * 1_000_000L;
+    private volatile boolean logParameterValues;
+
+    private JdbcMetrics() {
+    }
+
+    public static JdbcMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdNanos / 1_000_000L;
+    }
+
+    public void setSlowQueryThresholdMillis(long millis) {
+        this.slowQueryThresholdNanos = Math.max(0, millis) * 1_000_000L;
+    }
+
+    /**
+     * Si es false (por defecto), el log de consultas lentas sólo guarda el tipo de cada
+     * parámetro: los valores pueden ser hashes de contraseña, emails o datos de clientes.
+     */
+    public void setLogParameterValues(boolean logParameterValues) {
+        this.logParameterValues = logParameterValues;
+    }
+
+    void recordConnectionWait(String method, long nanos) {
+        MethodStats stats = stats(method);
+        stats.connectionAcquisitions.increment();
+        stats.connectionWaitNanos.add(nanos);
+    }
+
+    void recordStatement(String method, String sql, Map<Integer, Object> parameters, long nanos, boolean failed) {
+        MethodStats stats = stats(method);
+        stats.executions.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulate(nanos);
+        stats.histogram.record(nanos);
+        if (failed) {
+            stats.errors.increment();
+        }
+
+        if (nanos >= slowQueryThresholdNanos) {
+            Map<Integer, Object> logged = logParameterValues ? new TreeMap<>(parameters) : redact(parameters);
+            SlowQuery slow = new SlowQuery(LocalDateTime.now(), method, sql, logged, nanos / 1_000_000.0, failed);
+            synchronized (slowQueries) {
+                if (slowQueries.size() == SLOW_QUERY_CAPACITY) {
+                    slowQueries.removeFirst();
+                }
+                slowQueries.addLast(slow);
+            }
+            SLOW_LOG.warn("Consulta lenta ({} ms) en {}: {} {}", String.format("%.1f", slow.millis()), method, compact(sql), logged);
+        }
+    }
+
+    void recordRows(String method, long rows) {
+        if (rows > 0) {
+            stats(method).rowsFetched.add(rows);
+        }
+    }
+
+    /**
+     * Métricas por método, ordenadas por tiempo total descendente.
+     */
+    public List<MethodStatsSnapshot> snapshot() {
+        List<MethodStatsSnapshot> result = new ArrayList<>();
+        byMethod.forEach((method, s) -> result.add(new MethodStatsSnapshot(
+                method,
+                s.executions.sum(),
+                s.errors.sum(),
+                s.rowsFetched.sum(),
+                s.totalNanos.sum() / 1_000_000.0,
+                s.maxNanos.get() / 1_000_000.0,
+                s.connectionAcquisitions.sum(),
+                s.connectionWaitNanos.sum() / 1_000_000.0,
+                s.histogram.counts())));
+        result.sort(Comparator.comparingDouble(MethodStatsSnapshot::totalMillis).reversed());
+        return result;
+    }
+
+    /**
+     * Últimas consultas lentas, de la más antigua a la más reciente.
+     */
+    public List<SlowQuery> slowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    public void reset() {
+        byMethod.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    private MethodStats stats(String method) {
+        return byMethod.computeIfAbsent(method, k -> new MethodStats());
+    }
+
+    /**
+     * Sustituye cada valor por su tipo ("String", "Long", "NULL"...).
+     */
+    private static Map<Integer, Object> redact(Map<Integer, Object> parameters) {
+        Map<Integer, Object> redacted = new TreeMap<>();
+        parameters.forEach((index, value) -> redacted.put(index,
+                value == null || "NULL".equals(value) ? "NULL" : value.getClass().getSimpleName()));
+        return redacted;
+    }
+
+    private static String compact(String sql) {
+        return sql == null ? "" : sql.replaceAll("\\s+", " ").trim();
+    }
+
+    private static final class MethodStats {
+
+        final LongAdder executions = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rowsFetched = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        final LongAdder connectionAcquisitions = new LongAdder();
+        final LongAdder connectionWaitNanos = new LongAdder();
+        final LatencyHistogram histogram = new LatencyHistogram();
+    }
+}
@@ -0,0 +1,60 @@
+package com.gearmind.infrastructure.database.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas fijas (en milisegundos), seguro entre hilos.
+ */
+public final class LatencyHistogram {
+
+    /** Límite superior (inclusive) de cada cubeta; la última cubeta recoge el resto. */
+    public static final long[] BUCKET_LIMITS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_LIMITS_MS.length + 1];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long millis = nanos / 1_000_000L;
+        int i = 0;
+        while (i < BUCKET_LIMITS_MS.length && millis > BUCKET_LIMITS_MS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+    }
+
+    public long[] counts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Percentil aproximado (límite superior de la cubeta que lo contiene).
+     * Devuelve -1 si no hay muestras y Long.MAX_VALUE si cae en la cubeta abierta.
+     */
+    public static long percentileMillis(long[] counts, double percentile) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return -1;
+        }
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return i < BUCKET_LIMITS_MS.length ? BUCKET_LIMITS_MS[i] : Long.MAX_VALUE;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+}
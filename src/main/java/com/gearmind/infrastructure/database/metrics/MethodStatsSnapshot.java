@@ -0,0 +1,29 @@
+package com.gearmind.infrastructure.database.metrics;
+
+/**
+ * Foto de las métricas JDBC acumuladas por un método de repositorio
+ * (p.ej. "MySqlTaskRepository.findAllWithEmpresa").
+ */
+public record MethodStatsSnapshot(
+        String method,
+        long executions,
+        long errors,
+        long rowsFetched,
+        double totalMillis,
+        double maxMillis,
+        long connectionAcquisitions,
+        double connectionWaitMillis,
+        long[] histogram) {
+
+    public double avgMillis() {
+        return executions == 0 ? 0 : totalMillis / executions;
+    }
+
+    public long p95Millis() {
+        return LatencyHistogram.percentileMillis(histogram, 95);
+    }
+
+    public long p99Millis() {
+        return LatencyHistogram.percentileMillis(histogram, 99);
+    }
+}
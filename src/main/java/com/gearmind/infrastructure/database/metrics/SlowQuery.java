@@ -0,0 +1,11 @@
+package com.gearmind.infrastructure.database.metrics;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Sentencia que ha superado el umbral de consulta lenta. Salvo que se active el registro de
+ * valores, {@code parameters} sólo lleva el tipo de cada parámetro.
+ */
+public record SlowQuery(LocalDateTime at, String method, String sql, Map<Integer, Object> parameters, double millis, boolean failed) {
+}
@@ -0,0 +1,56 @@
+package com.gearmind.infrastructure.document;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Huella SHA-256 del contenido que se imprime en un PDF. Si dos huellas coinciden,
+ * el PDF saldría igual y no hace falta volver a generarlo.
+ *
+ * Cada valor se añade con su longitud delante, así que ("ab", "c") y ("a", "bc")
+ * dan huellas distintas. Los null se distinguen de la cadena vacía.
+ */
+public final class DocumentFingerprint {
+
+    private final MessageDigest digest;
+
+    public DocumentFingerprint(String layoutVersion) {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+        add(layoutVersion);
+    }
+
+    public DocumentFingerprint add(String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return this;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(intBytes(bytes.length));
+        digest.update(bytes);
+        return this;
+    }
+
+    public DocumentFingerprint add(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            // 2.5 y 2.50 se imprimen igual
+            return add(decimal.stripTrailingZeros().toPlainString());
+        }
+        return add(value == null ? null : value.toString());
+    }
+
+    public String hex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] intBytes(int value) {
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+}
@@ -0,0 +1,14 @@
+package com.gearmind.infrastructure.document;
+
+import java.nio.file.Path;
+
+/**
+ * Resultado de un trabajo de la cola de PDFs: output si se generó, error si falló.
+ * retrying indica que el fallo no es definitivo y el trabajo se volverá a intentar.
+ */
+public record DocumentJobEvent(DocumentType type, long documentId, Path output, Throwable error, boolean retrying) {
+
+    public boolean succeeded() {
+        return error == null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.gearmind.infrastructure.document;
+
+/**
+ * Aviso de fin de un trabajo de la cola de PDFs. Se llama desde el hilo del worker:
+ * quien toque la interfaz debe pasar por Platform.runLater.
+ */
+@FunctionalInterface
+public interface DocumentJobListener {
+
+    void onFinished(DocumentJobEvent event);
+}
@@ -0,0 +1,211 @@
+package com.gearmind.infrastructure.document;
+
+import com.gearmind.infrastructure.budget.BudgetPdfRenderer;
+import com.gearmind.infrastructure.invoice.InvoicePdfRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cola de generación de PDFs de facturas y presupuestos.
+ *
+ * Pedir un PDF (al abrirlo) sólo lo encola; un pool acotado de workers lo renderiza con los datos
+ * que haya en la base de datos en ese momento. Hay como mucho un trabajo por documento: si se
+ * encola uno que ya espera, no se duplica, y si ya se está generando se repite al terminar
+ * para recoger los últimos cambios. Los fallos se reintentan con espera creciente hasta
+ * {@link #MAX_ATTEMPTS}. Los trabajos se guardan en disco ({@link DocumentJobStore}) y
+ * {@link #resumePending()} reanuda los que quedaron a medias al cerrar la aplicación.
+ */
+public final class DocumentJobQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DocumentJobQueue.class);
+
+    public static final int MAX_ATTEMPTS = 5;
+    private static final int WORKERS = 2;
+    private static final long FIRST_RETRY_DELAY_SECONDS = 2;
+
+    private static DocumentJobQueue instance;
+
+    private enum State {
+        QUEUED, RUNNING, RUNNING_STALE
+    }
+
+    private record JobKey(DocumentType type, long documentId) {
+    }
+
+    private final Map<DocumentType, DocumentRenderer> renderers;
+    private final DocumentJobStore store;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retries;
+
+    private final Map<JobKey, State> jobs = new ConcurrentHashMap<>();
+    private final Map<JobKey, CompletableFuture<Path>> waiters = new ConcurrentHashMap<>();
+    private final List<DocumentJobListener> listeners = new CopyOnWriteArrayList<>();
+
+    public static synchronized DocumentJobQueue getInstance() {
+        if (instance == null) {
+            Map<DocumentType, DocumentRenderer> renderers = new EnumMap<>(DocumentType.class);
+            renderers.put(DocumentType.FACTURA, new InvoicePdfRenderer());
+            renderers.put(DocumentType.PRESUPUESTO, new BudgetPdfRenderer());
+            instance = new DocumentJobQueue(renderers, new DocumentJobStore());
+        }
+        return instance;
+    }
+
+    DocumentJobQueue(Map<DocumentType, DocumentRenderer> renderers, DocumentJobStore store) {
+        this.renderers = renderers;
+        this.store = store;
+        this.workers = new ThreadPoolExecutor(WORKERS, WORKERS, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("pdf-worker"));
+        this.retries = new ScheduledThreadPoolExecutor(1, daemonThreads("pdf-retry"));
+    }
+
+    /**
+     * Encola la generación del PDF del documento y vuelve enseguida.
+     */
+    public void submit(DocumentType type, long documentId) {
+        JobKey key = new JobKey(type, documentId);
+        boolean[] schedule = {false};
+        jobs.compute(key, (k, state) -> {
+            if (state == null) {
+                schedule[0] = true;
+                return State.QUEUED;
+            }
+            return state == State.QUEUED ? State.QUEUED : State.RUNNING_STALE;
+        });
+        if (schedule[0]) {
+            store.savePending(type, documentId, 0, null);
+            workers.execute(() -> run(key, 0));
+        }
+    }
+
+    /**
+     * Vuelve a encolar los trabajos que quedaron pendientes en disco.
+     */
+    public void resumePending() {
+        for (DocumentJobStore.StoredJob job : store.loadPending()) {
+            JobKey key = new JobKey(job.type(), job.documentId());
+            if (jobs.putIfAbsent(key, State.QUEUED) == null) {
+                workers.execute(() -> run(key, job.attempts()));
+            }
+        }
+    }
+
+    public boolean isPending(DocumentType type, long documentId) {
+        return jobs.containsKey(new JobKey(type, documentId));
+    }
+
+    /**
+     * Futuro que se completa con la ruta del PDF cuando termina el trabajo en curso del
+     * documento (o que falla si se agotan los reintentos). Si no hay trabajo, ya está completo
+     * con la ruta actual.
+     */
+    public CompletableFuture<Path> whenReady(DocumentType type, long documentId) {
+        JobKey key = new JobKey(type, documentId);
+        CompletableFuture<Path> future = waiters.computeIfAbsent(key, k -> new CompletableFuture<>());
+        if (!jobs.containsKey(key) && waiters.remove(key, future)) {
+            future.complete(type.resolvePath(documentId));
+        }
+        return future;
+    }
+
+    public void addListener(DocumentJobListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(DocumentJobListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void run(JobKey key, int attempt) {
+        jobs.put(key, State.RUNNING);
+        Optional<Path> output;
+        try {
+            output = renderers.get(key.type()).render(key.documentId());
+        } catch (Throwable e) {
+            // También los Error (p. ej. NoClassDefFoundError de OpenPDF o falta de memoria con un
+            // PDF enorme): si no, el documento se quedaría en RUNNING y no volvería a generarse
+            // ni a completar a quien espera con whenReady.
+            handleFailure(key, attempt + 1, e);
+            return;
+        }
+
+        if (jobs.remove(key, State.RUNNING)) {
+            store.delete(key.type(), key.documentId());
+            if (output.isEmpty()) {
+                LOG.info("El documento {} {} ya no existe; se descarta su PDF", key.type(), key.documentId());
+            }
+            finish(new DocumentJobEvent(key.type(), key.documentId(), output.orElse(null), null, false));
+        } else {
+            // Se volvió a guardar mientras se generaba: otra pasada con los datos nuevos
+            jobs.put(key, State.QUEUED);
+            workers.execute(() -> run(key, 0));
+        }
+    }
+
+    private void handleFailure(JobKey key, int attempts, Throwable error) {
+        String message = error.getMessage();
+        if (attempts >= MAX_ATTEMPTS) {
+            LOG.error("No se pudo generar el PDF de {} {} tras {} intentos", key.type(), key.documentId(), attempts, error);
+            jobs.remove(key);
+            store.saveFailed(key.type(), key.documentId(), attempts, message);
+            finish(new DocumentJobEvent(key.type(), key.documentId(), null, error, false));
+            return;
+        }
+
+        long delay = FIRST_RETRY_DELAY_SECONDS << (attempts - 1);
+        LOG.warn("Fallo generando el PDF de {} {} (intento {}), se reintenta en {} s",
+                key.type(), key.documentId(), attempts, delay, error);
+        jobs.put(key, State.QUEUED);
+        store.savePending(key.type(), key.documentId(), attempts, message);
+        notifyListeners(new DocumentJobEvent(key.type(), key.documentId(), null, error, true));
+        retries.schedule(() -> workers.execute(() -> run(key, attempts)), delay, TimeUnit.SECONDS);
+    }
+
+    private void finish(DocumentJobEvent event) {
+        CompletableFuture<Path> waiter = waiters.remove(new JobKey(event.type(), event.documentId()));
+        if (waiter != null) {
+            if (event.succeeded()) {
+                waiter.complete(event.output());
+            } else {
+                waiter.completeExceptionally(event.error());
+            }
+        }
+        notifyListeners(event);
+    }
+
+    private void notifyListeners(DocumentJobEvent event) {
+        for (DocumentJobListener listener : listeners) {
+            try {
+                listener.onFinished(event);
+            } catch (RuntimeException e) {
+                LOG.warn("Listener de la cola de PDFs con error", e);
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
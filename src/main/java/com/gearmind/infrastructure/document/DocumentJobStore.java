@@ -0,0 +1,131 @@
+package com.gearmind.infrastructure.document;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Persistencia local de la cola de PDFs: un fichero por documento pendiente en
+ * user.home/GearMind/cola-pdf, junto a los PDFs que genera. Es local a propósito: cada
+ * equipo guarda sus PDFs en su disco, así que los trabajos pendientes también son suyos.
+ *
+ * El nombre del fichero identifica el documento, de modo que encolar dos veces el mismo
+ * sobrescribe la entrada. Los fallos de E/S se registran y no detienen la cola: en el peor
+ * caso un trabajo interrumpido no se reanuda y el PDF se regenera al volver a guardar.
+ */
+final class DocumentJobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DocumentJobStore.class);
+
+    private static final String SUFFIX = ".job";
+    private static final String ESTADO_PENDIENTE = "PENDIENTE";
+    private static final String ESTADO_ERROR = "ERROR";
+
+    record StoredJob(DocumentType type, long documentId, int attempts) {
+    }
+
+    private final Path directory;
+
+    DocumentJobStore() {
+        this(Paths.get(System.getProperty("user.home"), "GearMind", "cola-pdf"));
+    }
+
+    DocumentJobStore(Path directory) {
+        this.directory = directory;
+    }
+
+    void savePending(DocumentType type, long documentId, int attempts, String lastError) {
+        write(type, documentId, ESTADO_PENDIENTE, attempts, lastError);
+    }
+
+    /**
+     * Deja constancia de un trabajo que agotó los reintentos; no se reanuda al arrancar.
+     */
+    void saveFailed(DocumentType type, long documentId, int attempts, String lastError) {
+        write(type, documentId, ESTADO_ERROR, attempts, lastError);
+    }
+
+    void delete(DocumentType type, long documentId) {
+        try {
+            Files.deleteIfExists(fileFor(type, documentId));
+        } catch (IOException e) {
+            LOG.warn("No se pudo borrar el trabajo de PDF {} {}", type, documentId, e);
+        }
+    }
+
+    List<StoredJob> loadPending() {
+        List<StoredJob> jobs = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return jobs;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                StoredJob job = read(file);
+                if (job != null) {
+                    jobs.add(job);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("No se pudo leer la cola de PDFs en {}", directory, e);
+        }
+        return jobs;
+    }
+
+    private StoredJob read(Path file) {
+        String name = file.getFileName().toString();
+        int separator = name.lastIndexOf('_');
+        if (separator < 0) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            Properties props = new Properties();
+            props.load(in);
+            if (!ESTADO_PENDIENTE.equals(props.getProperty("estado"))) {
+                return null;
+            }
+            DocumentType type = DocumentType.valueOf(name.substring(0, separator).toUpperCase(Locale.ROOT));
+            long documentId = Long.parseLong(name.substring(separator + 1, name.length() - SUFFIX.length()));
+            int attempts = Integer.parseInt(props.getProperty("intentos", "0"));
+            return new StoredJob(type, documentId, attempts);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.warn("Trabajo de PDF ilegible, se ignora: {}", file, e);
+            return null;
+        }
+    }
+
+    private void write(DocumentType type, long documentId, String estado, int attempts, String lastError) {
+        Properties props = new Properties();
+        props.setProperty("estado", estado);
+        props.setProperty("intentos", String.valueOf(attempts));
+        if (lastError != null) {
+            props.setProperty("error", lastError);
+        }
+        Path target = fileFor(type, documentId);
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, null);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("No se pudo guardar el trabajo de PDF {} {}", type, documentId, e);
+        }
+    }
+
+    private Path fileFor(DocumentType type, long documentId) {
+        return directory.resolve(String.format("%s_%06d%s", type.label(), documentId, SUFFIX));
+    }
+}
@@ -0,0 +1,135 @@
+package com.gearmind.infrastructure.document;
+
+import com.gearmind.common.exception.InfrastructureException;
+import com.gearmind.infrastructure.budget.BudgetPdfRenderer;
+import com.gearmind.infrastructure.invoice.InvoicePdfRenderer;
+
+import javax.print.DocFlavor;
+import javax.print.DocPrintJob;
+import javax.print.PrintException;
+import javax.print.PrintService;
+import javax.print.PrintServiceLookup;
+import javax.print.SimpleDoc;
+import javax.print.attribute.HashPrintRequestAttributeSet;
+import javax.print.attribute.PrintRequestAttributeSet;
+import javax.print.attribute.standard.JobName;
+import java.awt.Desktop;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Vista previa e impresión de facturas y presupuestos con el PDF generado al momento mediante
+ * {@link DocumentRenderer#write}, sin pasar por la cola ni por el almacenamiento local.
+ *
+ * La impresión va de memoria a la impresora predeterminada cuando ésta acepta PDF. El visor
+ * del sistema sólo abre rutas, así que la vista previa (y la impresión con impresoras que no
+ * aceptan PDF, que se delega en ese visor) escribe el PDF directamente en un fichero temporal
+ * que se borra al salir.
+ */
+public final class DocumentPrinter {
+
+    private static DocumentPrinter instance;
+
+    private final Map<DocumentType, DocumentRenderer> renderers;
+
+    public static synchronized DocumentPrinter getInstance() {
+        if (instance == null) {
+            Map<DocumentType, DocumentRenderer> renderers = new EnumMap<>(DocumentType.class);
+            renderers.put(DocumentType.FACTURA, new InvoicePdfRenderer());
+            renderers.put(DocumentType.PRESUPUESTO, new BudgetPdfRenderer());
+            instance = new DocumentPrinter(renderers);
+        }
+        return instance;
+    }
+
+    DocumentPrinter(Map<DocumentType, DocumentRenderer> renderers) {
+        this.renderers = renderers;
+    }
+
+    /**
+     * Fichero temporal con el PDF actual del documento, o vacío si el documento ya no existe.
+     */
+    public Optional<Path> preview(DocumentType type, long documentId) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("gearmind-" + type.label() + "-" + documentId + "-", ".pdf");
+            file.toFile().deleteOnExit();
+            boolean found;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                found = renderers.get(type).write(documentId, out);
+            }
+            if (!found) {
+                Files.deleteIfExists(file);
+                return Optional.empty();
+            }
+            return Optional.of(file);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw new InfrastructureException("No se pudo generar la vista previa del PDF", e);
+        }
+    }
+
+    /**
+     * Imprime el PDF actual del documento en la impresora predeterminada. Devuelve false si el
+     * documento ya no existe.
+     */
+    public boolean print(DocumentType type, long documentId) {
+        PrintService printer = PrintServiceLookup.lookupDefaultPrintService();
+        if (printer == null) {
+            throw new InfrastructureException("No hay ninguna impresora predeterminada configurada.");
+        }
+        if (!printer.isDocFlavorSupported(DocFlavor.INPUT_STREAM.PDF)) {
+            return printThroughViewer(type, documentId);
+        }
+
+        try (PdfBuffer buffer = PdfBuffer.acquire()) {
+            if (!renderers.get(type).write(documentId, buffer)) {
+                return false;
+            }
+            PrintRequestAttributeSet attributes = new HashPrintRequestAttributeSet();
+            attributes.add(new JobName("GearMind " + type.label() + " " + documentId, Locale.getDefault()));
+            DocPrintJob job = printer.createPrintJob();
+            job.print(new SimpleDoc(buffer.toInputStream(), DocFlavor.INPUT_STREAM.PDF, null), attributes);
+            return true;
+        } catch (PrintException e) {
+            throw new InfrastructureException("No se pudo enviar el PDF a " + printer.getName(), e);
+        }
+    }
+
+    /**
+     * El driver no acepta PDF: lo imprime la aplicación asociada a los PDF, que necesita un fichero.
+     */
+    private boolean printThroughViewer(DocumentType type, long documentId) {
+        if (!Desktop.isDesktopSupported() || !Desktop.getDesktop().isSupported(Desktop.Action.PRINT)) {
+            throw new InfrastructureException("La impresora predeterminada no acepta PDF y el sistema no permite imprimirlo.");
+        }
+        Optional<Path> file = preview(type, documentId);
+        if (file.isEmpty()) {
+            return false;
+        }
+        try {
+            Desktop.getDesktop().print(file.get().toFile());
+            return true;
+        } catch (IOException e) {
+            throw new InfrastructureException("No se pudo imprimir el PDF", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Se borra igualmente al salir
+        }
+    }
+}
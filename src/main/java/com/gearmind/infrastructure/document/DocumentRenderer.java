@@ -0,0 +1,23 @@
+package com.gearmind.infrastructure.document;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Genera el PDF de un documento a partir de su id, leyendo los datos actuales de la base de datos.
+ */
+public interface DocumentRenderer {
+
+    /**
+     * Ruta del PDF generado en el almacenamiento local, o vacío si el documento ya no existe
+     * (no se reintenta).
+     */
+    Optional<Path> render(long documentId);
+
+    /**
+     * Escribe el PDF en out sin pasar por el almacenamiento ni cerrarlo (vista previa, impresión).
+     * Devuelve false si el documento ya no existe.
+     */
+    boolean write(long documentId, OutputStream out);
+}
@@ -0,0 +1,34 @@
+package com.gearmind.infrastructure.document;
+
+import com.gearmind.infrastructure.budget.BudgetPdfStorage;
+import com.gearmind.infrastructure.invoice.InvoicePdfStorage;
+
+import java.nio.file.Path;
+
+/**
+ * Documentos PDF que se generan a través de {@link DocumentJobQueue}.
+ */
+public enum DocumentType {
+
+    FACTURA("factura"),
+    PRESUPUESTO("presupuesto");
+
+    private final String label;
+
+    DocumentType(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Path resolvePath(long documentId) {
+        return switch (this) {
+            case FACTURA ->
+                InvoicePdfStorage.resolvePath(documentId);
+            case PRESUPUESTO ->
+                BudgetPdfStorage.resolvePath(documentId);
+        };
+    }
+}
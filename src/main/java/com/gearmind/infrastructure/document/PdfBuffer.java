@@ -0,0 +1,56 @@
+package com.gearmind.infrastructure.document;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Buffer en memoria para un PDF generado, tomado de un pequeño pool para no reservar
+ * y descartar arrays de varios cientos de KB en cada impresión o por cada factura de un PDF conjunto.
+ *
+ * Uso: {@code try (PdfBuffer buffer = PdfBuffer.acquire()) { ...write(..., buffer); ... }}.
+ * Al cerrarlo vuelve al pool; no debe usarse después. No es thread-safe.
+ */
+public final class PdfBuffer extends ByteArrayOutputStream implements AutoCloseable {
+
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    /** Los buffers que crecieron más allá de esto no se guardan, para no retener memoria. */
+    private static final int MAX_RETAINED_CAPACITY = 2 * 1024 * 1024;
+    private static final BlockingQueue<PdfBuffer> POOL = new ArrayBlockingQueue<>(4);
+
+    private boolean released;
+
+    private PdfBuffer() {
+        super(INITIAL_CAPACITY);
+    }
+
+    public static PdfBuffer acquire() {
+        PdfBuffer buffer = POOL.poll();
+        if (buffer == null) {
+            return new PdfBuffer();
+        }
+        buffer.released = false;
+        return buffer;
+    }
+
+    /**
+     * Lectura del contenido sin copiarlo; válida mientras el buffer no se cierre ni se reescriba.
+     */
+    public InputStream toInputStream() {
+        return new ByteArrayInputStream(buf, 0, count);
+    }
+
+    @Override
+    public void close() {
+        if (released) {
+            return;
+        }
+        released = true;
+        reset();
+        if (buf.length <= MAX_RETAINED_CAPACITY) {
+            POOL.offer(this);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.gearmind.infrastructure.document;
+
+import com.gearmind.domain.company.Empresa;
+import com.gearmind.domain.customer.Customer;
+import com.gearmind.domain.vehicle.Vehicle;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+
+import java.awt.Color;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Recursos compartidos por los generadores de PDF: fuentes y colores resueltos una sola vez,
+ * formatos y celdas con el estilo de la casa.
+ *
+ * Es inmutable, así que una misma instancia sirve a todos los workers de {@link DocumentJobQueue}.
+ * Los elementos de OpenPDF que devuelve son nuevos en cada llamada: quedan ligados al documento
+ * al que se añaden y no pueden compartirse entre documentos.
+ */
+public final class PdfRenderingContext {
+
+    private static final PdfRenderingContext SHARED = new PdfRenderingContext();
+
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final Color HEADER_BACKGROUND = new Color(60, 64, 67);
+
+    // DecimalFormat no es thread-safe y la cola de documentos genera PDFs en varios hilos
+    private static final ThreadLocal<DecimalFormat> MONEY_FORMAT = ThreadLocal.withInitial(
+            () -> new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(new Locale("es", "ES"))));
+
+    private final Font companyNameFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
+    private final Font documentTitleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
+    private final Font subtitleFont = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.GRAY);
+    private final Font labelFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.DARK_GRAY);
+    private final Font textFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private final Font boldFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11);
+    private final Font tableHeaderFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, Color.WHITE);
+
+    private PdfRenderingContext() {
+    }
+
+    public static PdfRenderingContext shared() {
+        return SHARED;
+    }
+
+    /**
+     * Asocia el documento a la salida con compresión máxima de los streams y tabla de
+     * objetos comprimida (PDF 1.5).
+     */
+    public PdfWriter openWriter(Document document, OutputStream out) throws DocumentException {
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCompressionLevel(9);
+        writer.setFullCompression();
+        return writer;
+    }
+
+    public Font documentTitleFont() {
+        return documentTitleFont;
+    }
+
+    public Font subtitleFont() {
+        return subtitleFont;
+    }
+
+    public Font labelFont() {
+        return labelFont;
+    }
+
+    public Font textFont() {
+        return textFont;
+    }
+
+    public Font boldFont() {
+        return boldFont;
+    }
+
+    /**
+     * Celda izquierda de la cabecera con los datos de la empresa.
+     */
+    public PdfPCell companyCell(Empresa empresa) {
+        PdfPCell cell = new PdfPCell();
+        cell.setBorder(Rectangle.NO_BORDER);
+        if (empresa == null) {
+            cell.addElement(new Paragraph("Empresa", companyNameFont));
+            return cell;
+        }
+        cell.addElement(new Paragraph(nullSafe(empresa.getNombre()), companyNameFont));
+        cell.addElement(new Paragraph("CIF: " + nullSafe(empresa.getCif()), subtitleFont));
+        cell.addElement(new Paragraph(nullSafe(empresa.getDireccion()), subtitleFont));
+        cell.addElement(new Paragraph(formatLocation(empresa), subtitleFont));
+        cell.addElement(new Paragraph("Tel: " + nullSafe(empresa.getTelefono()) + "  |  " + nullSafe(empresa.getEmail()), subtitleFont));
+        return cell;
+    }
+
+    /**
+     * Bloque de cliente y vehículo, común a facturas y presupuestos.
+     */
+    public PdfPTable customerSection(Customer customer, Vehicle vehicle) throws DocumentException {
+        PdfPTable info = new PdfPTable(2);
+        info.setWidthPercentage(100);
+        info.setWidths(new float[]{50, 50});
+        PdfPCell clienteCell = new PdfPCell();
+        clienteCell.setBorder(Rectangle.NO_BORDER);
+        clienteCell.addElement(new Paragraph("Cliente", labelFont));
+        if (customer != null) {
+            clienteCell.addElement(new Paragraph(customer.getNombre(), textFont));
+            if (customer.getEmail() != null) {
+                clienteCell.addElement(new Paragraph(customer.getEmail(), textFont));
+            }
+            if (customer.getTelefono() != null) {
+                clienteCell.addElement(new Paragraph("Tel: " + customer.getTelefono(), textFont));
+            }
+        }
+
+        PdfPCell vehiculoCell = new PdfPCell();
+        vehiculoCell.setBorder(Rectangle.NO_BORDER);
+        vehiculoCell.addElement(new Paragraph("Vehículo", labelFont));
+        if (vehicle != null) {
+            vehiculoCell.addElement(new Paragraph(vehicleLabel(vehicle), textFont));
+            if (vehicle.getVin() != null && !vehicle.getVin().isBlank()) {
+                vehiculoCell.addElement(new Paragraph("VIN: " + vehicle.getVin(), textFont));
+            }
+        }
+
+        info.addCell(clienteCell);
+        info.addCell(vehiculoCell);
+        info.setSpacingAfter(16);
+        return info;
+    }
+
+    public void addObservations(Document document, String observaciones) throws DocumentException {
+        if (observaciones == null || observaciones.isBlank()) {
+            return;
+        }
+        document.add(new Paragraph("Observaciones", boldFont));
+        document.add(new Paragraph(observaciones, textFont));
+    }
+
+    /**
+     * Añade a la huella los datos de empresa, cliente y vehículo que imprimen
+     * {@link #companyCell(Empresa)} y {@link #customerSection(Customer, Vehicle)}.
+     */
+    public DocumentFingerprint addSharedSections(DocumentFingerprint fingerprint, Empresa empresa, Customer customer, Vehicle vehicle) {
+        if (empresa != null) {
+            fingerprint.add(empresa.getNombre()).add(empresa.getCif()).add(empresa.getDireccion()).add(empresa.getCp())
+                    .add(empresa.getCiudad()).add(empresa.getProvincia()).add(empresa.getTelefono()).add(empresa.getEmail());
+        } else {
+            fingerprint.add((String) null);
+        }
+        if (customer != null) {
+            fingerprint.add(customer.getNombre()).add(customer.getEmail()).add(customer.getTelefono());
+        } else {
+            fingerprint.add((String) null);
+        }
+        if (vehicle != null) {
+            fingerprint.add(vehicleLabel(vehicle)).add(vehicle.getVin());
+        } else {
+            fingerprint.add((String) null);
+        }
+        return fingerprint;
+    }
+
+    public PdfPCell tableHeaderCell(String text) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, tableHeaderFont));
+        cell.setBackgroundColor(HEADER_BACKGROUND);
+        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        cell.setPadding(6);
+        return cell;
+    }
+
+    public PdfPCell rightCell(String text, Font font) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, font));
+        cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        return cell;
+    }
+
+    /**
+     * Celda alineada a la derecha y sin borde, para el bloque de totales.
+     */
+    public PdfPCell totalCell(String text) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, boldFont));
+        cell.setBorder(Rectangle.NO_BORDER);
+        cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        return cell;
+    }
+
+    public String formatMoney(BigDecimal value) {
+        if (value == null) {
+            return "0,00";
+        }
+        return MONEY_FORMAT.get().format(value);
+    }
+
+    public String formatDecimal(BigDecimal value) {
+        if (value == null) {
+            return "0";
+        }
+        return value.stripTrailingZeros().toPlainString();
+    }
+
+    public String vehicleLabel(Vehicle vehicle) {
+        if (vehicle == null) {
+            return "";
+        }
+        String label = String.format("%s %s", nullSafe(vehicle.getMarca()), nullSafe(vehicle.getModelo())).trim();
+        if (vehicle.getMatricula() != null && !vehicle.getMatricula().isBlank()) {
+            return label + " - " + vehicle.getMatricula();
+        }
+        return label;
+    }
+
+    private static String formatLocation(Empresa empresa) {
+        StringBuilder sb = new StringBuilder();
+        if (empresa.getCp() != null) {
+            sb.append(empresa.getCp()).append(" ");
+        }
+        if (empresa.getCiudad() != null) {
+            sb.append(empresa.getCiudad());
+        }
+        if (empresa.getProvincia() != null) {
+            if (!sb.isEmpty()) {
+                sb.append(" - ");
+            }
+            sb.append(empresa.getProvincia());
+        }
+        return sb.toString().trim();
+    }
+
+    public static String nullSafe(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,95 @@
+package com.gearmind.infrastructure.document;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de huellas de los PDFs de un directorio, guardado junto a ellos en indice.properties:
+ * nombre del fichero → {@link DocumentFingerprint} del contenido con el que se generó.
+ *
+ * Sólo es una optimización: si el índice se pierde o no se puede escribir, los PDFs se
+ * regeneran la próxima vez que se pidan.
+ */
+public final class PdfStorageIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PdfStorageIndex.class);
+
+    private static final String FILE_NAME = "indice.properties";
+    private static final Map<Path, PdfStorageIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private Properties fingerprints;
+
+    private PdfStorageIndex(Path directory) {
+        this.directory = directory;
+    }
+
+    public static PdfStorageIndex forDirectory(Path directory) {
+        return INDEXES.computeIfAbsent(directory.toAbsolutePath().normalize(), PdfStorageIndex::new);
+    }
+
+    /**
+     * true si el PDF existe y se generó con esa misma huella.
+     */
+    public synchronized boolean isCurrent(Path pdf, String fingerprint) {
+        return fingerprint.equals(entries().getProperty(key(pdf))) && Files.isRegularFile(pdf);
+    }
+
+    public synchronized void record(Path pdf, String fingerprint) {
+        entries().setProperty(key(pdf), fingerprint);
+        save();
+    }
+
+    /**
+     * Olvida la huella del PDF; se llama antes de sobrescribirlo para que un fichero a medio
+     * escribir nunca pase por vigente.
+     */
+    public synchronized void forget(Path pdf) {
+        if (entries().remove(key(pdf)) != null) {
+            save();
+        }
+    }
+
+    private static String key(Path pdf) {
+        return pdf.getFileName().toString();
+    }
+
+    private Properties entries() {
+        if (fingerprints == null) {
+            fingerprints = new Properties();
+            Path file = directory.resolve(FILE_NAME);
+            if (Files.isRegularFile(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    fingerprints.load(in);
+                } catch (IOException | IllegalArgumentException e) {
+                    LOG.warn("Índice de PDFs ilegible en {}, se regenerarán los documentos", file, e);
+                    fingerprints.clear();
+                }
+            }
+        }
+        return fingerprints;
+    }
+
+    private void save() {
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, FILE_NAME, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                fingerprints.store(out, null);
+            }
+            Files.move(tmp, directory.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("No se pudo guardar el índice de PDFs en {}", directory, e);
+        }
+    }
+}
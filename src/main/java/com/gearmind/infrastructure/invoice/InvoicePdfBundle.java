@@ -0,0 +1,87 @@
+package com.gearmind.infrastructure.invoice;
+
+import com.gearmind.infrastructure.document.PdfBuffer;
+import com.gearmind.infrastructure.document.PdfStorageIndex;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.pdf.PdfCopy;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.RandomAccessFileOrArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Une varias facturas en un único PDF (extractos mensuales, impresión por lotes).
+ *
+ * Las páginas se copian una factura cada vez y se vuelcan a la salida según se añaden, así que
+ * la memoria no depende del número de facturas. Si el PDF guardado de una factura está al día
+ * (misma huella en {@link PdfStorageIndex}) se leen sus páginas del disco; si falta o está
+ * desfasado se genera en memoria, sin tocar el almacenamiento ni crear ficheros temporales.
+ */
+public class InvoicePdfBundle {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoicePdfBundle.class);
+
+    private final InvoicePdfRenderer renderer;
+
+    public InvoicePdfBundle() {
+        this.renderer = new InvoicePdfRenderer();
+    }
+
+    /**
+     * Escribe en out las facturas indicadas, en ese orden, y cierra out.
+     * Las facturas que ya no existen se omiten.
+     *
+     * @return número de facturas incluidas
+     */
+    public int write(List<Long> invoiceIds, OutputStream out) {
+        PdfStorageIndex index = PdfStorageIndex.forDirectory(InvoicePdfStorage.baseDir());
+        Document document = new Document();
+        int included = 0;
+        try (PdfBuffer buffer = PdfBuffer.acquire()) {
+            PdfCopy copy = new PdfCopy(document, out);
+            copy.setFullCompression();
+            document.open();
+            for (long invoiceId : invoiceIds) {
+                Optional<InvoicePdfRenderer.InvoiceDocument> found = renderer.load(invoiceId);
+                if (found.isEmpty()) {
+                    log.warn("Factura {} no encontrada; se omite del PDF conjunto", invoiceId);
+                    continue;
+                }
+                InvoicePdfRenderer.InvoiceDocument doc = found.get();
+                Path stored = InvoicePdfStorage.resolvePath(invoiceId);
+                PdfReader reader;
+                if (index.isCurrent(stored, renderer.fingerprint(doc))) {
+                    reader = new PdfReader(new RandomAccessFileOrArray(stored.toString(), false, true), null);
+                } else {
+                    buffer.reset();
+                    renderer.write(doc, buffer);
+                    reader = new PdfReader(buffer.toByteArray());
+                }
+                try {
+                    for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                        copy.addPage(copy.getImportedPage(reader, page));
+                    }
+                    copy.freeReader(reader);
+                } finally {
+                    reader.close();
+                }
+                included++;
+            }
+            if (included == 0) {
+                // Un PDF sin páginas no es válido: se deja constancia en una página en blanco
+                copy.addPage(document.getPageSize(), 0);
+            }
+            document.close();
+            return included;
+        } catch (IOException | DocumentException e) {
+            throw new RuntimeException("Error generando el PDF conjunto de facturas", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.gearmind.infrastructure.invoice;
+
+import com.gearmind.domain.company.Empresa;
+import com.gearmind.domain.customer.Customer;
+import com.gearmind.domain.invoice.Invoice;
+import com.gearmind.domain.invoice.InvoiceLine;
+import com.gearmind.domain.vehicle.Vehicle;
+import com.gearmind.infrastructure.company.MySqlEmpresaRepository;
+import com.gearmind.infrastructure.customer.MySqlCustomerRepository;
+import com.gearmind.infrastructure.document.DocumentRenderer;
+import com.gearmind.infrastructure.document.PdfStorageIndex;
+import com.gearmind.infrastructure.vehicle.MySqlVehicleRepository;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Genera el PDF de una factura a partir de su id: en el almacenamiento local para la cola de
+ * documentos, o directamente a un stream para la vista previa, la impresión y
+ * {@link InvoicePdfBundle}. Si el PDF guardado se generó con el mismo contenido (misma huella)
+ * no se vuelve a generar.
+ */
+public class InvoicePdfRenderer implements DocumentRenderer {
+
+    private final MySqlInvoiceRepository invoiceRepository;
+    private final MySqlEmpresaRepository empresaRepository;
+    private final MySqlCustomerRepository customerRepository;
+    private final MySqlVehicleRepository vehicleRepository;
+    private final InvoicePdfGenerator generator;
+
+    public InvoicePdfRenderer() {
+        this.invoiceRepository = new MySqlInvoiceRepository();
+        this.empresaRepository = new MySqlEmpresaRepository();
+        this.customerRepository = new MySqlCustomerRepository();
+        this.vehicleRepository = new MySqlVehicleRepository();
+        this.generator = new InvoicePdfGenerator();
+    }
+
+    @Override
+    public Optional<Path> render(long invoiceId) {
+        Optional<InvoiceDocument> found = load(invoiceId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        InvoiceDocument doc = found.get();
+
+        Path path = InvoicePdfStorage.resolvePath(invoiceId);
+        PdfStorageIndex index = PdfStorageIndex.forDirectory(InvoicePdfStorage.baseDir());
+        String fingerprint = fingerprint(doc);
+        if (index.isCurrent(path, fingerprint)) {
+            return Optional.of(path);
+        }
+        index.forget(path);
+        Path output = generator.generate(doc.invoice(), doc.lines(), doc.empresa(), doc.customer(), doc.vehicle());
+        index.record(output, fingerprint);
+        return Optional.of(output);
+    }
+
+    @Override
+    public boolean write(long invoiceId, OutputStream out) {
+        Optional<InvoiceDocument> found = load(invoiceId);
+        found.ifPresent(doc -> write(doc, out));
+        return found.isPresent();
+    }
+
+    /**
+     * Carga la factura con todo lo que se imprime en su PDF.
+     */
+    Optional<InvoiceDocument> load(long invoiceId) {
+        Optional<Invoice> found = invoiceRepository.findById(invoiceId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Invoice invoice = found.get();
+        List<InvoiceLine> lines = invoiceRepository.findLinesByInvoiceId(invoiceId);
+        Empresa empresa = empresaRepository.findById(invoice.getEmpresaId()).orElse(null);
+        Customer customer = invoice.getClienteId() != null ? customerRepository.findById(invoice.getClienteId()).orElse(null) : null;
+        Vehicle vehicle = invoice.getVehiculoId() != null ? vehicleRepository.findById(invoice.getVehiculoId()).orElse(null) : null;
+        return Optional.of(new InvoiceDocument(invoice, lines, empresa, customer, vehicle));
+    }
+
+    String fingerprint(InvoiceDocument doc) {
+        return generator.fingerprint(doc.invoice(), doc.lines(), doc.empresa(), doc.customer(), doc.vehicle());
+    }
+
+    void write(InvoiceDocument doc, OutputStream out) {
+        generator.write(doc.invoice(), doc.lines(), doc.empresa(), doc.customer(), doc.vehicle(), out);
+    }
+
+    record InvoiceDocument(Invoice invoice, List<InvoiceLine> lines, Empresa empresa, Customer customer, Vehicle vehicle) {
+    }
+}
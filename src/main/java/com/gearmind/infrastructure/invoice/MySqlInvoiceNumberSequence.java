@@ -0,0 +1,83 @@
+package com.gearmind.infrastructure.invoice;
+
+import com.gearmind.domain.invoice.InvoiceNumberBlock;
+import com.gearmind.domain.invoice.InvoiceNumberSequence;
+import com.gearmind.infrastructure.database.DataSourceFactory;
+import com.gearmind.infrastructure.database.TransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Contador en la tabla secuencia_factura.
+ *
+ * El upsert bloquea sólo la fila (empresa, serie, año) hasta el commit de la
+ * transacción que guarda la factura: terminales de la misma empresa se ordenan
+ * en ese contador y el resto de empresas no se ve afectado. Si la transacción
+ * se deshace, el incremento también, por lo que la serie no deja huecos.
+ */
+public class MySqlInvoiceNumberSequence implements InvoiceNumberSequence {
+
+    private final TransactionManager transactionManager;
+
+    public MySqlInvoiceNumberSequence() {
+        this(DataSourceFactory.getDataSource());
+    }
+
+    public MySqlInvoiceNumberSequence(DataSource dataSource) {
+        this.transactionManager = new TransactionManager(dataSource);
+    }
+
+    @Override
+    public InvoiceNumberBlock reserve(long empresaId, String serie, int anio, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Hay que reservar al menos un número de factura.");
+        }
+        if (serie == null || serie.isBlank()) {
+            throw new IllegalArgumentException("La serie de facturación es obligatoria.");
+        }
+
+        return transactionManager.inTransaction(cn -> {
+            increment(cn, empresaId, serie, anio, count);
+            long last = readLast(cn, empresaId, serie, anio);
+            return new InvoiceNumberBlock(serie, anio, last - count + 1, last);
+        });
+    }
+
+    private void increment(Connection cn, long empresaId, String serie, int anio, int count) throws SQLException {
+        String sql = """
+                INSERT INTO secuencia_factura (empresa_id, serie, anio, ultimo)
+                VALUES (?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE ultimo = ultimo + ?
+                """;
+
+        try (PreparedStatement ps = cn.prepareStatement(sql)) {
+            ps.setLong(1, empresaId);
+            ps.setString(2, serie);
+            ps.setInt(3, anio);
+            ps.setLong(4, count);
+            ps.setLong(5, count);
+            ps.executeUpdate();
+        }
+    }
+
+    private long readLast(Connection cn, long empresaId, String serie, int anio) throws SQLException {
+        // La fila ya está bloqueada por el upsert: esta lectura ve nuestro propio incremento.
+        String sql = "SELECT ultimo FROM secuencia_factura WHERE empresa_id = ? AND serie = ? AND anio = ?";
+
+        try (PreparedStatement ps = cn.prepareStatement(sql)) {
+            ps.setLong(1, empresaId);
+            ps.setString(2, serie);
+            ps.setInt(3, anio);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("No existe el contador de facturas de la empresa " + empresaId);
+                }
+                return rs.getLong(1);
+            }
+        }
+    }
+}
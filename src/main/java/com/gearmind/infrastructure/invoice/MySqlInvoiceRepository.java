@@ -1,10 +1,16 @@
 package com.gearmind.infrastructure.invoice;
 
+import com.gearmind.common.pagination.Page;
+import com.gearmind.common.pagination.PageRequest;
 import com.gearmind.domain.invoice.Invoice;
+import com.gearmind.domain.invoice.InvoiceExportRow;
 import com.gearmind.domain.invoice.InvoiceLine;
+import com.gearmind.domain.invoice.InvoiceNumberSequence;
 import com.gearmind.domain.invoice.InvoiceRepository;
 import com.gearmind.domain.invoice.InvoiceStatus;
 import com.gearmind.infrastructure.database.DataSourceFactory;
+import com.gearmind.infrastructure.database.StreamingStatements;
+import com.gearmind.infrastructure.database.TransactionManager;
 
 import javax.sql.DataSource;
 import java.math.BigDecimal;
@@ -13,13 +19,18 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class MySqlInvoiceRepository implements InvoiceRepository {
 
     private final DataSource dataSource;
+    private final TransactionManager transactionManager;
+    private final InvoiceNumberSequence numberSequence;
 
     public MySqlInvoiceRepository() {
         this.dataSource = DataSourceFactory.getDataSource();
+        this.transactionManager = new TransactionManager(dataSource);
+        this.numberSequence = new MySqlInvoiceNumberSequence(dataSource);
     }
 
     @Override
@@ -110,6 +121,116 @@ public class MySqlInvoiceRepository implements InvoiceRepository {
         return result;
     }
 
+    @Override
+    public Page<Invoice> findPageAllWithEmpresa(PageRequest<Invoice> request) {
+        return findPage(null, request);
+    }
+
+    @Override
+    public Page<Invoice> findPageByEmpresaId(long empresaId, PageRequest<Invoice> request) {
+        return findPage(empresaId, request);
+    }
+
+    @Override
+    public long countAll() {
+        return count("SELECT COUNT(*) FROM factura", null);
+    }
+
+    @Override
+    public long countByEmpresaId(long empresaId) {
+        return count("SELECT COUNT(*) FROM factura WHERE empresa_id = ?", empresaId);
+    }
+
+    /**
+     * Página ordenada por (fecha DESC, id DESC). El ancla aporta la fecha y el id frontera,
+     * de modo que MySQL recorre el índice (empresa_id, fecha, id) sin OFFSET.
+     */
+    private Page<Invoice> findPage(Long empresaId, PageRequest<Invoice> request) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT f.id,
+                    f.empresa_id,
+                    f.cliente_id,
+                    f.vehiculo_id,
+                    f.presupuesto_id,
+                    f.numero,
+                    f.fecha,
+                    f.estado,
+                    f.subtotal,
+                    f.iva,
+                    f.total,
+                    f.observaciones,
+                    f.created_at,
+                    f.updated_at,
+                    c.nombre AS cliente_nombre,
+                    v.matricula AS vehiculo_matricula,
+                    v.marca AS vehiculo_marca,
+                    v.modelo AS vehiculo_modelo,
+                    e.nombre AS empresa_nombre
+                FROM factura f
+                JOIN cliente c ON c.id = f.cliente_id
+                JOIN vehiculo v ON v.id = f.vehiculo_id
+                JOIN empresa e ON e.id = f.empresa_id
+                WHERE 1 = 1
+                """);
+
+        if (empresaId != null) {
+            sql.append(" AND f.empresa_id = ?");
+        }
+
+        Invoice anchor = request.anchor();
+        String cmp = request.isBackward() ? ">" : "<";
+        if (anchor != null) {
+            sql.append(" AND (f.fecha ").append(cmp).append(" ? OR (f.fecha = ? AND f.id ").append(cmp).append(" ?))");
+        }
+
+        String order = request.isBackward() ? "ASC" : "DESC";
+        sql.append(" ORDER BY f.fecha ").append(order).append(", f.id ").append(order);
+
+        if (!request.isUnbounded()) {
+            sql.append(" LIMIT ?");
+        }
+
+        List<Invoice> rows = new ArrayList<>();
+
+        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql.toString())) {
+            int i = 1;
+            if (empresaId != null) {
+                ps.setLong(i++, empresaId);
+            }
+            if (anchor != null) {
+                Timestamp fecha = Timestamp.valueOf(anchor.getFecha());
+                ps.setTimestamp(i++, fecha);
+                ps.setTimestamp(i++, fecha);
+                ps.setLong(i++, anchor.getId());
+            }
+            if (!request.isUnbounded()) {
+                ps.setInt(i++, request.fetchSize());
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al paginar facturas", e);
+        }
+
+        return Page.of(rows, request);
+    }
+
+    private long count(String sql, Long empresaId) {
+        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+            if (empresaId != null) {
+                ps.setLong(1, empresaId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al contar facturas", e);
+        }
+    }
+
     @Override
     public Optional<Invoice> findById(long id) {
         String sql = """
@@ -153,6 +274,87 @@ public class MySqlInvoiceRepository implements InvoiceRepository {
         return Optional.empty();
     }
 
+    @Override
+    public void forEachExportRow(long empresaId, LocalDateTime from, LocalDateTime to, Consumer<InvoiceExportRow> sink) {
+        String sql = """
+                SELECT f.id,
+                    f.numero,
+                    f.fecha,
+                    f.estado,
+                    f.subtotal,
+                    f.iva,
+                    f.total,
+                    c.nombre AS cliente_nombre,
+                    v.matricula AS vehiculo_matricula,
+                    l.descripcion AS linea_descripcion,
+                    l.cantidad AS linea_cantidad,
+                    l.precio AS linea_precio,
+                    l.total AS linea_total
+                FROM factura f
+                JOIN cliente c ON c.id = f.cliente_id
+                JOIN vehiculo v ON v.id = f.vehiculo_id
+                LEFT JOIN factura_linea l ON l.factura_id = f.id
+                WHERE f.empresa_id = ? AND f.fecha >= ? AND f.fecha < ?
+                ORDER BY f.fecha ASC, f.id ASC, l.id ASC
+                """;
+
+        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = StreamingStatements.prepare(cn, sql)) {
+            ps.setLong(1, empresaId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(new InvoiceExportRow(
+                            rs.getLong("id"),
+                            rs.getString("numero"),
+                            rs.getTimestamp("fecha").toLocalDateTime(),
+                            rs.getString("estado"),
+                            rs.getString("cliente_nombre"),
+                            rs.getString("vehiculo_matricula"),
+                            rs.getBigDecimal("subtotal"),
+                            rs.getBigDecimal("iva"),
+                            rs.getBigDecimal("total"),
+                            rs.getString("linea_descripcion"),
+                            rs.getBigDecimal("linea_cantidad"),
+                            rs.getBigDecimal("linea_precio"),
+                            rs.getBigDecimal("linea_total")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al exportar facturas", e);
+        }
+    }
+
+    @Override
+    public List<Long> findIdsByEmpresaBetween(long empresaId, LocalDateTime from, LocalDateTime to, Long clienteId) {
+        String sql = """
+                SELECT id
+                FROM factura
+                WHERE empresa_id = ? AND fecha >= ? AND fecha < ?
+                  AND (? IS NULL OR cliente_id = ?)
+                ORDER BY fecha ASC, numero ASC, id ASC
+                """;
+
+        List<Long> ids = new ArrayList<>();
+
+        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+            ps.setLong(1, empresaId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            ps.setObject(4, clienteId, Types.BIGINT);
+            ps.setObject(5, clienteId, Types.BIGINT);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong("id"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar facturas", e);
+        }
+
+        return ids;
+    }
+
     @Override
     public List<InvoiceLine> findLinesByInvoiceId(long invoiceId) {
         String sql = """
@@ -189,28 +391,54 @@ public class MySqlInvoiceRepository implements InvoiceRepository {
         return lines;
     }
 
+    /**
+     * En un alta, el id y el número asignados sólo se copian a invoice cuando la transacción
+     * termina bien: si falla, la factura queda como llegó y puede volver a guardarse sin
+     * arrastrar un id o un número que el rollback ha deshecho.
+     */
     @Override
     public Invoice save(Invoice invoice, List<InvoiceLine> lines) {
-        if (invoice.getId() == null) {
-            long id = insertInvoice(invoice);
-            invoice.setId(id);
-        } else {
-            updateInvoice(invoice);
-            deleteLines(invoice.getId());
+        if (invoice.getId() != null) {
+            return transactionManager.inTransaction(cn -> {
+                updateInvoice(cn, invoice);
+                deleteLines(cn, invoice.getId());
+                insertLines(cn, invoice.getId(), lines);
+                return invoice;
+            });
         }
 
-        insertLines(invoice.getId(), lines);
+        Inserted inserted = transactionManager.inTransaction(cn -> {
+            String numero = isBlank(invoice.getNumero())
+                    ? numberSequence.next(invoice.getEmpresaId(), InvoiceNumberSequence.SERIE_ORDINARIA, invoiceYear(invoice))
+                    : invoice.getNumero();
+            long id = insertInvoice(cn, invoice, numero);
+            insertLines(cn, id, lines);
+            return new Inserted(id, numero);
+        });
+        invoice.setId(inserted.id());
+        invoice.setNumero(inserted.numero());
         return invoice;
     }
 
-    private long insertInvoice(Invoice invoice) {
+    private record Inserted(long id, String numero) {
+    }
+
+    private static int invoiceYear(Invoice invoice) {
+        return (invoice.getFecha() != null ? invoice.getFecha() : LocalDateTime.now()).getYear();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private long insertInvoice(Connection cn, Invoice invoice, String numero) {
         String sql = """
                 INSERT INTO factura
                     (empresa_id, cliente_id, vehiculo_id, presupuesto_id, numero, fecha, estado, subtotal, iva, total, observaciones)
                 VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 """;
 
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement ps = cn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             int i = 1;
             ps.setLong(i++, invoice.getEmpresaId());
             ps.setLong(i++, invoice.getClienteId());
@@ -220,7 +448,7 @@ public class MySqlInvoiceRepository implements InvoiceRepository {
             } else {
                 ps.setNull(i++, Types.BIGINT);
             }
-            ps.setString(i++, invoice.getNumero());
+            ps.setString(i++, numero);
             ps.setTimestamp(i++, Timestamp.valueOf(invoice.getFecha() != null ? invoice.getFecha() : LocalDateTime.now()));
             ps.setString(i++, mapStatusToDb(invoice.getEstado()));
             ps.setBigDecimal(i++, invoice.getSubtotal() != null ? invoice.getSubtotal() : BigDecimal.ZERO);
@@ -241,15 +469,15 @@ public class MySqlInvoiceRepository implements InvoiceRepository {
         return 0L;
     }
 
-    private void updateInvoice(Invoice invoice) {
+    private void updateInvoice(Connection cn, Invoice invoice) {
         String sql = """
                 UPDATE factura
-                SET cliente_id = ?, vehiculo_id = ?, presupuesto_id = ?, numero = ?, estado = ?,
+                SET cliente_id = ?, vehiculo_id = ?, presupuesto_id = ?, numero = COALESCE(?, numero), estado = ?,
                     subtotal = ?, iva = ?, total = ?, observaciones = ?, updated_at = NOW()
                 WHERE id = ? AND empresa_id = ?
                 """;
 
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+        try (PreparedStatement ps = cn.prepareStatement(sql)) {
             int i = 1;
             ps.setLong(i++, invoice.getClienteId());
             ps.setLong(i++, invoice.getVehiculoId());
@@ -272,9 +500,9 @@ public class MySqlInvoiceRepository implements InvoiceRepository {
         }
     }
 
-    private void deleteLines(long invoiceId) {
+    private void deleteLines(Connection cn, long invoiceId) {
         String sql = "DELETE FROM factura_linea WHERE factura_id = ?";
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+        try (PreparedStatement ps = cn.prepareStatement(sql)) {
             ps.setLong(1, invoiceId);
             ps.executeUpdate();
         } catch (SQLException e) {
@@ -282,14 +510,14 @@ public class MySqlInvoiceRepository implements InvoiceRepository {
         }
     }
 
-    private void insertLines(long invoiceId, List<InvoiceLine> lines) {
+    private void insertLines(Connection cn, long invoiceId, List<InvoiceLine> lines) {
         String sql = """
                 INSERT INTO factura_linea
                     (factura_id, producto_id, descripcion, cantidad, precio, total)
                 VALUES (?, ?, ?, ?, ?, ?)
                 """;
 
-        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+        try (PreparedStatement ps = cn.prepareStatement(sql)) {
             for (InvoiceLine line : lines) {
                 int i = 1;
                 ps.setLong(i++, invoiceId);
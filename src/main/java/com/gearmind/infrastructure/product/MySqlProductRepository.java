@@ -3,20 +3,26 @@ package com.gearmind.infrastructure.product;
 import com.gearmind.domain.product.Product;
 import com.gearmind.domain.product.ProductRepository;
 import com.gearmind.infrastructure.database.DataSourceFactory;
+import com.gearmind.infrastructure.database.TransactionManager;
 
 import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
 public class MySqlProductRepository implements ProductRepository {
 
     private final DataSource dataSource;
+    private final TransactionManager transactionManager;
 
     public MySqlProductRepository() {
         this.dataSource = DataSourceFactory.getDataSource();
+        this.transactionManager = new TransactionManager(dataSource);
     }
 
     @Override
@@ -133,6 +139,63 @@ public class MySqlProductRepository implements ProductRepository {
         return new Product(0L, empresaId, nombre, descripcion, referencia, categoria, stock, stockMinimo, precioCompra, precioVenta, true);
     }
 
+    @Override
+    public void createAll(long empresaId, List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+                INSERT INTO producto
+                    (empresa_id, nombre, descripcion, referencia, categoria, stock, stock_minimo, precio_compra, precio_venta, activo)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 1)
+                """;
+
+        transactionManager.runInTransaction(cn -> {
+            try (PreparedStatement ps = cn.prepareStatement(sql)) {
+                for (Product p : products) {
+                    ps.setLong(1, empresaId);
+                    ps.setString(2, p.getNombre());
+                    ps.setString(3, p.getDescripcion());
+                    ps.setString(4, p.getReferencia());
+                    ps.setString(5, p.getCategoria());
+                    ps.setInt(6, p.getStock());
+                    ps.setInt(7, p.getStockMinimo());
+                    ps.setBigDecimal(8, p.getPrecioCompra());
+                    ps.setBigDecimal(9, p.getPrecioVenta());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public Set<String> findReferenciasByEmpresaId(long empresaId) {
+        Set<String> result = new HashSet<>();
+
+        String sql = """
+                SELECT referencia
+                FROM producto
+                WHERE empresa_id = ? AND referencia IS NOT NULL AND referencia <> ''
+                """;
+
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setLong(1, empresaId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(rs.getString("referencia").trim().toUpperCase(Locale.ROOT));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error listando referencias de productos", e);
+        }
+
+        return result;
+    }
+
     @Override
     public Product update(long id, long empresaId, String nombre, String descripcion, String referencia, String categoria, int stock, int stockMinimo, BigDecimal precioCompra, BigDecimal precioVenta) {
         String sql = """
@@ -1,12 +1,15 @@
 package com.gearmind.infrastructure.repair;
 
+import com.gearmind.common.lookup.LookupItem;
 import com.gearmind.domain.repair.Repair;
 import com.gearmind.domain.repair.RepairRepository;
 import com.gearmind.domain.repair.RepairStatus;
+import com.gearmind.infrastructure.cache.BoundedCache;
 import com.gearmind.infrastructure.database.DataSourceFactory;
 import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.sql.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +17,9 @@ import java.util.Optional;
 
 public class MySqlRepairRepository implements RepairRepository {
 
+    private static final BoundedCache<Long, List<LookupItem>> LOOKUP_CACHE = new BoundedCache<>("reparacion-lookup", 32, Duration.ofMinutes(2));
+    private static final int LOOKUP_DESCRIPTION_LENGTH = 80;
+
     private final DataSource dataSource;
 
     public MySqlRepairRepository() {
@@ -64,6 +70,48 @@ public class MySqlRepairRepository implements RepairRepository {
         return result;
     }
 
+    @Override
+    public List<LookupItem> findLookupByEmpresa(Long empresaId) {
+        return LOOKUP_CACHE.get(empresaId, id -> Optional.of(loadLookup(id))).orElseGet(List::of);
+    }
+
+    private List<LookupItem> loadLookup(Long empresaId) {
+        String sql = """
+                SELECT r.id,
+                    r.cliente_id,
+                    LEFT(r.descripcion, ?) AS descripcion,
+                    c.nombre AS cliente_nombre,
+                    v.matricula AS vehiculo_matricula,
+                    v.marca AS vehiculo_marca,
+                    v.modelo AS vehiculo_modelo
+                FROM reparacion r
+                JOIN cliente c ON c.id = r.cliente_id
+                JOIN vehiculo v ON v.id = r.vehiculo_id
+                WHERE r.empresa_id = ?
+                ORDER BY r.created_at DESC
+                """;
+
+        List<LookupItem> result = new ArrayList<>();
+
+        try (Connection cn = dataSource.getConnection(); PreparedStatement ps = cn.prepareStatement(sql)) {
+            ps.setInt(1, LOOKUP_DESCRIPTION_LENGTH);
+            ps.setLong(2, empresaId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long id = rs.getLong("id");
+                    String vehiculo = buildVehicleLabel(rs.getString("vehiculo_matricula"), rs.getString("vehiculo_marca"), rs.getString("vehiculo_modelo"));
+                    String label = buildLookupLabel(id, rs.getString("cliente_nombre"), vehiculo, rs.getString("descripcion"));
+                    result.add(new LookupItem(id, label, rs.getLong("cliente_id")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar reparaciones", e);
+        }
+
+        return List.copyOf(result);
+    }
+
     @Override
     public List<Repair> findAllWithEmpresa() {
         String sql = """
@@ -146,13 +194,26 @@ public class MySqlRepairRepository implements RepairRepository {
 
     @Override
     public void save(Repair repair) {
-        if (repair.getId() == null) {
-            insert(repair);
-        } else {
-            update(repair);
+        // Se invalida tras escribir: una lectura concurrente anterior no debe volver a cachear la lista vieja
+        try {
+            if (repair.getId() == null) {
+                insert(repair);
+            } else {
+                update(repair);
+            }
+        } finally {
+            LOOKUP_CACHE.invalidate(repair.getEmpresaId());
         }
     }
 
+    /**
+     * La etiqueta del lookup incluye nombre del cliente y datos del vehículo: sus repositorios
+     * llaman aquí tras modificarlos.
+     */
+    public static void invalidateLookup(long empresaId) {
+        LOOKUP_CACHE.invalidate(empresaId);
+    }
+
     @Override
     public void delete(Long id) {
         String sql = "DELETE FROM reparacion WHERE id = ?";
@@ -162,6 +223,9 @@ public class MySqlRepairRepository implements RepairRepository {
             ps.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException("Error al borrar reparación", e);
+        } finally {
+            // Sólo tenemos el id: se descartan los lookups de todas las empresas.
+            LOOKUP_CACHE.invalidateAll();
         }
     }
 
@@ -288,6 +352,16 @@ public class MySqlRepairRepository implements RepairRepository {
         return repair;
     }
 
+    private String buildLookupLabel(long id, String clienteNombre, String vehiculo, String descripcion) {
+        StringBuilder sb = new StringBuilder("#").append(id);
+        for (String part : new String[]{clienteNombre, vehiculo, descripcion}) {
+            if (part != null && !part.isBlank()) {
+                sb.append(" · ").append(part);
+            }
+        }
+        return sb.toString();
+    }
+
     private String buildVehicleLabel(String matricula, String marca, String modelo) {
         StringBuilder sb = new StringBuilder();
         if (matricula != null && !matricula.isBlank()) {
@@ -1,17 +1,36 @@
 package com.gearmind.infrastructure.vehicle;
 
 import com.gearmind.common.exception.InfrastructureException;
+import com.gearmind.common.lookup.LookupItem;
 import com.gearmind.domain.vehicle.Vehicle;
 import com.gearmind.domain.vehicle.VehicleRepository;
+import com.gearmind.infrastructure.cache.BoundedCache;
 import com.gearmind.infrastructure.database.DataSourceFactory;
+import com.gearmind.infrastructure.database.TransactionManager;
+import com.gearmind.infrastructure.repair.MySqlRepairRepository;
 
+import javax.sql.DataSource;
 import java.sql.*;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class MySqlVehicleRepository implements VehicleRepository {
 
+    private static final BoundedCache<Long, Vehicle> CACHE = new BoundedCache<>("vehiculo", 1000, Duration.ofMinutes(5));
+    private static final BoundedCache<Long, List<LookupItem>> LOOKUP_CACHE = new BoundedCache<>("vehiculo-lookup", 32, Duration.ofMinutes(2));
+
+    private final DataSource dataSource;
+    private final TransactionManager transactionManager;
+
+    public MySqlVehicleRepository() {
+        this.dataSource = DataSourceFactory.getDataSource();
+        this.transactionManager = new TransactionManager(dataSource);
+    }
+
     @Override
     public List<Vehicle> findByEmpresaId(Long empresaId) {
         String sql = """
@@ -27,7 +46,7 @@ public class MySqlVehicleRepository implements VehicleRepository {
             ORDER BY v.matricula
             """;
 
-        try (Connection con = DataSourceFactory.getDataSource().getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
+        try (Connection con = dataSource.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
 
             ps.setLong(1, empresaId);
 
@@ -43,6 +62,56 @@ public class MySqlVehicleRepository implements VehicleRepository {
         }
     }
 
+    @Override
+    public List<LookupItem> findLookupByEmpresaId(Long empresaId) {
+        return LOOKUP_CACHE.get(empresaId, id -> Optional.of(loadLookup(id))).orElseGet(List::of);
+    }
+
+    private List<LookupItem> loadLookup(Long empresaId) {
+        String sql = """
+            SELECT v.id, v.cliente_id, v.matricula, v.marca, v.modelo
+            FROM vehiculo v
+            WHERE v.empresa_id = ?
+            ORDER BY v.matricula
+            """;
+
+        try (Connection con = dataSource.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
+
+            ps.setLong(1, empresaId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                List<LookupItem> result = new ArrayList<>();
+                while (rs.next()) {
+                    String label = buildLabel(rs.getString("matricula"), rs.getString("marca"), rs.getString("modelo"));
+                    result.add(new LookupItem(rs.getLong("id"), label, rs.getLong("cliente_id")));
+                }
+                return List.copyOf(result);
+            }
+        } catch (SQLException e) {
+            throw new InfrastructureException("Error al listar vehículos", e);
+        }
+    }
+
+    private String buildLabel(String matricula, String marca, String modelo) {
+        StringBuilder sb = new StringBuilder();
+        if (matricula != null && !matricula.isBlank()) {
+            sb.append(matricula);
+        }
+        if (marca != null && !marca.isBlank()) {
+            if (sb.length() > 0) {
+                sb.append(" · ");
+            }
+            sb.append(marca);
+        }
+        if (modelo != null && !modelo.isBlank()) {
+            if (sb.length() > 0) {
+                sb.append(" ");
+            }
+            sb.append(modelo);
+        }
+        return sb.toString();
+    }
+
     @Override
     public List<Vehicle> findAllWithEmpresa() {
         String sql = """
@@ -57,7 +126,7 @@ public class MySqlVehicleRepository implements VehicleRepository {
             ORDER BY e.nombre, v.matricula
             """;
 
-        try (Connection con = DataSourceFactory.getDataSource().getConnection(); PreparedStatement ps = con.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+        try (Connection con = dataSource.getConnection(); PreparedStatement ps = con.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
 
             List<Vehicle> result = new ArrayList<>();
             while (rs.next()) {
@@ -72,6 +141,11 @@ public class MySqlVehicleRepository implements VehicleRepository {
 
     @Override
     public Optional<Vehicle> findById(Long id) {
+        // Vehicle es mutable: se entrega una copia para que nadie altere la entrada cacheada.
+        return CACHE.get(id, this::loadById).map(this::copy);
+    }
+
+    private Optional<Vehicle> loadById(Long id) {
         String sql = """
             SELECT v.id, v.empresa_id, v.cliente_id,
                 v.matricula, v.marca, v.modelo, v.year, v.vin,
@@ -84,7 +158,7 @@ public class MySqlVehicleRepository implements VehicleRepository {
             WHERE v.id = ?
             """;
 
-        try (Connection con = DataSourceFactory.getDataSource().getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
+        try (Connection con = dataSource.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
 
             ps.setLong(1, id);
 
@@ -101,10 +175,20 @@ public class MySqlVehicleRepository implements VehicleRepository {
 
     @Override
     public Vehicle save(Vehicle vehicle) {
-        if (vehicle.getId() == null) {
-            return insert(vehicle);
+        // Se invalida tras escribir: una lectura concurrente anterior no debe volver a cachear la fila vieja
+        try {
+            if (vehicle.getId() == null) {
+                return insert(vehicle);
+            }
+            try {
+                return update(vehicle);
+            } finally {
+                CACHE.invalidate(vehicle.getId());
+                MySqlRepairRepository.invalidateLookup(vehicle.getEmpresaId());
+            }
+        } finally {
+            LOOKUP_CACHE.invalidate(vehicle.getEmpresaId());
         }
-        return update(vehicle);
     }
 
     private Vehicle insert(Vehicle vehicle) {
@@ -114,7 +198,7 @@ public class MySqlVehicleRepository implements VehicleRepository {
             VALUES (?, ?, ?, ?, ?, ?, ?)
             """;
 
-        try (Connection con = DataSourceFactory.getDataSource().getConnection(); PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection con = dataSource.getConnection(); PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             ps.setLong(1, vehicle.getEmpresaId());
             ps.setLong(2, vehicle.getClienteId());
@@ -150,7 +234,7 @@ public class MySqlVehicleRepository implements VehicleRepository {
             WHERE id = ?
             """;
 
-        try (Connection con = DataSourceFactory.getDataSource().getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
+        try (Connection con = dataSource.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
 
             ps.setLong(1, vehicle.getEmpresaId());
             ps.setLong(2, vehicle.getClienteId());
@@ -173,6 +257,67 @@ public class MySqlVehicleRepository implements VehicleRepository {
         }
     }
 
+    @Override
+    public void createAll(List<Vehicle> vehicles) {
+        if (vehicles.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+            INSERT INTO vehiculo
+                (empresa_id, cliente_id, matricula, marca, modelo, year, vin)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+        try {
+            transactionManager.runInTransaction(con -> {
+                try (PreparedStatement ps = con.prepareStatement(sql)) {
+                    for (Vehicle v : vehicles) {
+                        ps.setLong(1, v.getEmpresaId());
+                        ps.setLong(2, v.getClienteId());
+                        ps.setString(3, v.getMatricula());
+                        ps.setString(4, v.getMarca());
+                        ps.setString(5, v.getModelo());
+                        if (v.getYear() != null) {
+                            ps.setInt(6, v.getYear());
+                        } else {
+                            ps.setNull(6, Types.INTEGER);
+                        }
+                        ps.setString(7, v.getVin());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            });
+        } finally {
+            vehicles.stream().map(Vehicle::getEmpresaId).distinct().forEach(LOOKUP_CACHE::invalidate);
+        }
+    }
+
+    @Override
+    public Set<String> findMatriculasByEmpresaId(Long empresaId) {
+        String sql = """
+            SELECT matricula
+            FROM vehiculo
+            WHERE empresa_id = ?
+            """;
+
+        try (Connection con = dataSource.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
+
+            ps.setLong(1, empresaId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                Set<String> result = new HashSet<>();
+                while (rs.next()) {
+                    result.add(rs.getString("matricula").trim().toUpperCase());
+                }
+                return result;
+            }
+        } catch (SQLException e) {
+            throw new InfrastructureException("Error al listar matrículas", e);
+        }
+    }
+
     @Override
     public boolean existsMatriculaInEmpresa(Long empresaId, String matricula, Long excludeId) {
         String sql = """
@@ -183,7 +328,7 @@ public class MySqlVehicleRepository implements VehicleRepository {
                 AND (? IS NULL OR id <> ?)
             """;
 
-        try (Connection con = DataSourceFactory.getDataSource().getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
+        try (Connection con = dataSource.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
 
             ps.setLong(1, empresaId);
             ps.setString(2, matricula);
@@ -233,4 +378,11 @@ public class MySqlVehicleRepository implements VehicleRepository {
         v.setEmpresaNombre(rs.getString("empresa_nombre"));
         return v;
     }
+
+    private Vehicle copy(Vehicle source) {
+        Vehicle v = new Vehicle(source.getId(), source.getEmpresaId(), source.getClienteId(), source.getMatricula(), source.getMarca(), source.getModelo(), source.getYear(), source.getVin(), source.getCreatedAt(), source.getUpdatedAt());
+        v.setClienteNombre(source.getClienteNombre());
+        v.setEmpresaNombre(source.getEmpresaNombre());
+        return v;
+    }
 }
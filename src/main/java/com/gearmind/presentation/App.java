@@ -1,14 +1,24 @@
 package com.gearmind.presentation;
 
+import com.gearmind.infrastructure.document.DocumentJobEvent;
+import com.gearmind.infrastructure.document.DocumentJobQueue;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 
 public class App extends Application {
 
     @Override
     public void start(Stage stage) throws Exception {
+        // Pool de conexiones, PDFs pendientes, vistas principales y coste de BCrypt, en paralelo
+        // con la construcción del login y mientras el usuario escribe sus credenciales.
+        // El objetivo de BCrypt se puede cambiar con -Dgearmind.bcrypt.targetMillis.
+        StartupPipeline pipeline = new StartupPipeline(System.nanoTime());
+        pipeline.start(App::notifyPdfFailure);
+
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/LoginView.fxml"));
         Scene scene = new Scene(loader.load(), 960, 600);
 
@@ -18,6 +28,19 @@ public class App extends Application {
         stage.setTitle("GearMind — Acceso");
         stage.setScene(scene);
         stage.show();
+        pipeline.mark("pantalla de acceso visible");
+    }
+
+    /**
+     * Avisa de los PDFs que fallan del todo.
+     */
+    private static void notifyPdfFailure(DocumentJobEvent event) {
+        if (event.succeeded() || event.retrying()) {
+            return;
+        }
+        String message = "No se pudo generar el PDF de " + event.type().label() + " " + event.documentId()
+                + " tras " + DocumentJobQueue.MAX_ATTEMPTS + " intentos: " + event.error().getMessage();
+        Platform.runLater(() -> new Alert(Alert.AlertType.ERROR, message).show());
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,102 @@
+package com.gearmind.presentation;
+
+import com.gearmind.infrastructure.auth.BCryptPasswordHasher;
+import com.gearmind.infrastructure.database.DataSourceFactory;
+import com.gearmind.infrastructure.document.DocumentJobListener;
+import com.gearmind.infrastructure.document.DocumentJobQueue;
+import com.gearmind.presentation.navigation.ViewCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Trabajo de arranque que se hace mientras el formulario de login espera al usuario, en
+ * paralelo y en hilos virtuales, para que el primer login no pague la conexión a la base de
+ * datos ni la carga de la pantalla principal. Cada fase se registra con su duración.
+ *
+ * Un fallo en una fase se registra y no afecta a las demás: lo que no se haya preparado se
+ * hará igualmente, más despacio, cuando haga falta.
+ */
+final class StartupPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupPipeline.class);
+
+    private static final Duration POOL_WARM_UP_TIMEOUT = Duration.ofSeconds(15);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long startedAt;
+
+    /**
+     * @param startedAt System.nanoTime() al entrar en Application.start
+     */
+    StartupPipeline(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    void start(DocumentJobListener onPdfEvent) {
+        CompletableFuture<Void> database = phase("pool de conexiones", () -> {
+            int connections = DataSourceFactory.warmUp(POOL_WARM_UP_TIMEOUT);
+            log.info("Arranque: {} conexiones abiertas", connections);
+        });
+        // Depende del pool; no tiene sentido que compita con él por crearlo
+        CompletableFuture<Void> documents = database.handle((ok, error) -> null)
+                .thenCompose(ignored -> phase("PDFs pendientes", () -> {
+                    DocumentJobQueue queue = DocumentJobQueue.getInstance();
+                    queue.addListener(onPdfEvent);
+                    queue.resumePending();
+                }));
+        CompletableFuture<Void> views = phase("vistas principales", () -> {
+            prefetch("/view/HomeView.fxml");
+            prefetch("/view/DashboardView.fxml");
+        });
+        // Se mide con la CPU libre: junto a Flyway, Hikari o la carga de FXML saldría un coste más bajo
+        CompletableFuture<Void> bcrypt = CompletableFuture.allOf(database, views).handle((ok, error) -> null)
+                .thenCompose(ignored -> phase("calibración BCrypt", () -> {
+                    long targetMillis = Long.getLong("gearmind.bcrypt.targetMillis", 250);
+                    BCryptPasswordHasher.calibrate(Duration.ofMillis(targetMillis));
+                }));
+
+        CompletableFuture.allOf(database, documents, views, bcrypt).whenComplete((ok, error) -> {
+            log.info("Arranque: completo en {} ms", elapsedMillis(startedAt));
+            executor.shutdown();
+        });
+    }
+
+    /**
+     * Registra una fase que ya ha ocurrido en el hilo de JavaFX (p. ej. mostrar el login).
+     */
+    void mark(String name) {
+        log.info("Arranque: {} a los {} ms", name, elapsedMillis(startedAt));
+    }
+
+    private CompletableFuture<Void> phase(String name, Runnable work) {
+        return CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                work.run();
+                log.info("Arranque: {} en {} ms", name, elapsedMillis(start));
+            } catch (RuntimeException e) {
+                log.warn("Arranque: {} falló tras {} ms", name, elapsedMillis(start), e);
+                throw e;
+            }
+        }, executor);
+    }
+
+    private static void prefetch(String fxmlPath) {
+        try {
+            ViewCache.prefetch(fxmlPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long elapsedMillis(long since) {
+        return (System.nanoTime() - since) / 1_000_000;
+    }
+}
@@ -3,9 +3,9 @@ package com.gearmind.presentation.controller;
 import com.gearmind.application.appointment.SaveAppointmentRequest;
 import com.gearmind.application.appointment.SaveAppointmentUseCase;
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.common.lookup.LookupItem;
 import com.gearmind.domain.appointment.Appointment;
 import com.gearmind.domain.appointment.AppointmentOrigin;
-import com.gearmind.domain.customer.Customer;
 import com.gearmind.domain.customer.CustomerRepository;
 import com.gearmind.domain.user.User;
 import com.gearmind.domain.user.UserRepository;
@@ -42,6 +42,10 @@ public class CitaFormController {
     @FXML
     private ComboBox<EmployeeOption> cbEmpleado;
     @FXML
+    private TextField txtDuracion;
+    @FXML
+    private TextField txtPuesto;
+    @FXML
     private TextArea txtNotas;
 
     private Long empresaId;
@@ -73,6 +77,12 @@ public class CitaFormController {
                 txtVehiculoId.setText(String.valueOf(existingAppointment.getVehicleId()));
             }
 
+            txtDuracion.setText(String.valueOf(existingAppointment.getDurationMinutes()));
+
+            if (existingAppointment.getBay() != null) {
+                txtPuesto.setText(existingAppointment.getBay());
+            }
+
             if (existingAppointment.getNotes() != null) {
                 txtNotas.setText(existingAppointment.getNotes());
             }
@@ -92,12 +102,12 @@ public class CitaFormController {
 
     private void configureCombos() {
         CustomerRepository customerRepository = new MySqlCustomerRepository();
-        List<Customer> customers = customerRepository.findByEmpresaId(empresaId);
+        List<LookupItem> customers = customerRepository.findLookupByEmpresaId(empresaId);
 
         allCustomers.clear();
-        for (Customer c : customers) {
-            String label = c.getNombre() + " (ID " + c.getId() + ")";
-            allCustomers.add(new CustomerOption(c.getId(), label));
+        for (LookupItem c : customers) {
+            String label = c.label() + " (ID " + c.id() + ")";
+            allCustomers.add(new CustomerOption(c.id(), label));
         }
 
         FilteredList<CustomerOption> filteredCustomers = new FilteredList<>(allCustomers, opt -> true);
@@ -177,11 +187,11 @@ public class CitaFormController {
         });
 
         UserRepository userRepository = new MySqlUserRepository();
-        List<User> users = userRepository.findByEmpresaId(empresaId);
+        List<LookupItem> users = userRepository.findLookupByEmpresaId(empresaId, null);
         allEmployees.clear();
-        for (User u : users) {
-            String label = u.getNombre() + " (ID " + u.getId() + ")";
-            allEmployees.add(new EmployeeOption(u.getId(), label, u.getRol()));
+        for (LookupItem u : users) {
+            String label = u.label() + " (ID " + u.id() + ")";
+            allEmployees.add(new EmployeeOption(u.id(), label));
         }
 
         FilteredList<EmployeeOption> filteredEmployees = new FilteredList<>(allEmployees, opt -> true);
@@ -263,7 +273,7 @@ public class CitaFormController {
         if (AuthContext.isLoggedIn() && AuthContext.getRole() == UserRole.EMPLEADO) {
             User current = AuthContext.getCurrentUser();
             if (current != null) {
-                EmployeeOption self = allEmployees.stream().filter(e -> e.getId().equals(current.getId())).findFirst().orElse(new EmployeeOption(current.getId(), current.getNombre() + " (ID " + current.getId() + ")", current.getRol()));
+                EmployeeOption self = allEmployees.stream().filter(e -> e.getId().equals(current.getId())).findFirst().orElse(new EmployeeOption(current.getId(), current.getNombre() + " (ID " + current.getId() + ")"));
 
                 if (allEmployees.stream().noneMatch(e -> e.getId().equals(self.getId()))) {
                     allEmployees.add(self);
@@ -358,6 +368,16 @@ public class CitaFormController {
 
         LocalDateTime dateTime = LocalDateTime.of(fecha, hora);
 
+        Integer duracion = null;
+        String duracionStr = txtDuracion.getText();
+        if (duracionStr != null && !duracionStr.isBlank()) {
+            try {
+                duracion = Integer.parseInt(duracionStr.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("La duración debe ser un número de minutos.");
+            }
+        }
+
         SaveAppointmentRequest request = new SaveAppointmentRequest();
 
         if (existingAppointment != null) {
@@ -368,6 +388,8 @@ public class CitaFormController {
         request.setCustomerId(clienteId);
         request.setVehicleId(vehiculoId);
         request.setDateTime(dateTime);
+        request.setDurationMinutes(duracion);
+        request.setBay(txtPuesto.getText());
         request.setNotes(txtNotas.getText());
 
         if (existingAppointment != null) {
@@ -444,12 +466,10 @@ public class CitaFormController {
 
         private final Long id;
         private final String label;
-        private final UserRole role;
 
-        public EmployeeOption(Long id, String label, UserRole role) {
+        public EmployeeOption(Long id, String label) {
             this.id = id;
             this.label = label;
-            this.role = role;
         }
 
         public Long getId() {
@@ -460,10 +480,6 @@ public class CitaFormController {
             return label;
         }
 
-        public UserRole getRole() {
-            return role;
-        }
-
         @Override
         public String toString() {
             return label;
@@ -1,18 +1,25 @@
 package com.gearmind.presentation.controller;
 
+import com.gearmind.application.appointment.AppointmentAgenda;
 import com.gearmind.application.appointment.ChangeAppointmentStatusUseCase;
 import com.gearmind.application.appointment.ListAppointmentsUseCase;
 import com.gearmind.application.appointment.SaveAppointmentUseCase;
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.application.common.SessionManager;
 import com.gearmind.domain.appointment.Appointment;
 import com.gearmind.domain.appointment.AppointmentOrigin;
 import com.gearmind.domain.appointment.AppointmentStatus;
+import com.gearmind.domain.event.AppointmentChanged;
 import com.gearmind.domain.user.User;
 import com.gearmind.domain.user.UserRole;
 import com.gearmind.infrastructure.appointment.MySqlAppointmentRepository;
 import com.gearmind.infrastructure.database.DataSourceFactory;
+import com.gearmind.presentation.navigation.RefreshableView;
+import com.gearmind.presentation.table.BackgroundLoader;
+import com.gearmind.presentation.table.RowPatcher;
 import com.gearmind.presentation.table.SmartTable;
+import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -32,11 +39,13 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
 
-public class CitasController {
+public class CitasController implements RefreshableView {
 
     @FXML
     private TabPane tabPane;
@@ -48,6 +57,8 @@ public class CitasController {
     @FXML
     private ComboBox<String> cbAgendaEstado;
     @FXML
+    private ComboBox<String> cbAgendaVista;
+    @FXML
     private ListView<AgendaSlot> lstAgenda;
 
     @FXML
@@ -105,11 +116,16 @@ public class CitasController {
     private final SaveAppointmentUseCase saveAppointmentUseCase;
     private final ChangeAppointmentStatusUseCase changeAppointmentStatusUseCase;
     private SmartTable<Appointment> smartTable;
+    private RowPatcher<Appointment> rowPatcher;
+    private AppointmentAgenda agenda;
+    private BackgroundLoader agendaLoader;
 
     private final DateTimeFormatter dateTimeFormatter
             = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm", Locale.getDefault());
     private final DateTimeFormatter timeFormatter
             = DateTimeFormatter.ofPattern("HH:mm", Locale.getDefault());
+    private final DateTimeFormatter dayFormatter
+            = DateTimeFormatter.ofPattern("EEE dd/MM", Locale.getDefault());
 
     private final DataSource dataSource = DataSourceFactory.getDataSource();
 
@@ -118,6 +134,11 @@ public class CitasController {
     private final Map<Long, String> empresaNameById = new HashMap<>();
     private boolean settingEmpresaComboProgrammatically = false;
 
+    private static final String VISTA_DIA = "Día";
+    private static final String VISTA_SEMANA = "Semana";
+    private static final String VISTA_MES = "Mes";
+    private static final int LIST_HISTORY_DAYS = 90;
+
     public CitasController() {
         MySqlAppointmentRepository repo = new MySqlAppointmentRepository();
         this.listAppointmentsUseCase = new ListAppointmentsUseCase(repo);
@@ -133,6 +154,8 @@ public class CitasController {
             cmbPageSize.getSelectionModel().select(Integer.valueOf(25));
         }
 
+        agenda = new AppointmentAgenda(listAppointmentsUseCase, SessionManager.getInstance().getCurrentEmpresaId());
+        agendaLoader = new BackgroundLoader(lstAgenda);
         configureAgendaControls();
         configureAgendaList();
         configureTable();
@@ -160,16 +183,16 @@ public class CitasController {
         });
 
         // filtros SmartTable
-        smartTable.addColumnFilter(filterClienteField, (cita, text) -> appointmentValueOrBlank(cita.getCustomerId()).contains(text));
-        smartTable.addColumnFilter(filterVehiculoField, (cita, text) -> appointmentValueOrBlank(cita.getVehicleId()).contains(text));
-        smartTable.addColumnFilter(filterEmpleadoField, (cita, text) -> appointmentValueOrBlank(cita.getEmployeeId()).contains(text));
+        smartTable.addColumnFilter(filterClienteField, cita -> appointmentValueOrBlank(cita.getCustomerId()));
+        smartTable.addColumnFilter(filterVehiculoField, cita -> appointmentValueOrBlank(cita.getVehicleId()));
+        smartTable.addColumnFilter(filterEmpleadoField, cita -> appointmentValueOrBlank(cita.getEmployeeId()));
 
         // ✅ Empresa por NOMBRE (no ID)
-        smartTable.addColumnFilter(filterEmpresaField, (cita, text) -> safe(getEmpresaName(cita.getEmpresaId())).contains(text));
+        smartTable.addColumnFilter(filterEmpresaField, cita -> getEmpresaName(cita.getEmpresaId()));
 
-        smartTable.addColumnFilter(filterNotasField, (cita, text) -> safe(cita.getNotes()).contains(text));
-        smartTable.addColumnFilter(filterEstadoField, (cita, text) -> safe(mapStatusToLabel(cita.getStatus())).contains(text));
-        smartTable.addColumnFilter(filterOrigenField, (cita, text) -> safe(mapOriginToLabel(cita.getOrigin())).contains(text));
+        smartTable.addColumnFilter(filterNotasField, cita -> cita.getNotes());
+        smartTable.addColumnFilter(filterEstadoField, cita -> mapStatusToLabel(cita.getStatus()));
+        smartTable.addColumnFilter(filterOrigenField, cita -> mapOriginToLabel(cita.getOrigin()));
 
         configureEstadoYOrigenCombos();
 
@@ -178,6 +201,11 @@ public class CitasController {
         applyRoleVisibility();
         configureEmpresaComboIfSuperAdmin(); // ✅ aquí se carga el mapa y el combo (solo SUPER_ADMIN)
 
+        long empresaId = SessionManager.getInstance().getCurrentEmpresaId();
+        rowPatcher = new RowPatcher<>(smartTable, masterData, Appointment::getId,
+                id -> listAppointmentsUseCase.findVisible(empresaId, id).filter(this::isVisibleToCurrentUser));
+        DomainEventBus.getInstance().subscribe(this, AppointmentChanged.class, CitasController::onAppointmentChanged);
+
         reloadFromDb();
         if (tabPane != null) {
             tabPane.getSelectionModel().select(0);
@@ -185,6 +213,9 @@ public class CitasController {
     }
 
     private void configureAgendaControls() {
+        cbAgendaVista.getItems().setAll(VISTA_DIA, VISTA_SEMANA, VISTA_MES);
+        cbAgendaVista.getSelectionModel().selectFirst();
+        cbAgendaVista.getSelectionModel().selectedItemProperty().addListener((obs, oldV, newV) -> loadAgenda());
         dpAgendaFecha.valueProperty().addListener((obs, oldV, newV) -> loadAgenda());
         cbAgendaEstado.getSelectionModel().selectedItemProperty().addListener((obs, oldV, newV) -> loadAgenda());
     }
@@ -200,7 +231,7 @@ public class CitasController {
                     return;
                 }
 
-                Label lblHora = new Label(item.time().format(timeFormatter));
+                Label lblHora = new Label(item.label());
                 lblHora.getStyleClass().add("tfx-agenda-hour");
                 HBox citasBox = new HBox(6);
 
@@ -412,6 +443,11 @@ public class CitasController {
         openCitaForm(null);
     }
 
+    @Override
+    public void refreshView() {
+        onRefrescar();
+    }
+
     @FXML
     private void onRefrescar() {
         reloadFromDb();
@@ -465,76 +501,113 @@ public class CitasController {
         loadAgenda();
     }
 
+    /**
+     * La pestaña de listado carga las citas desde hace {@link #LIST_HISTORY_DAYS} días en adelante;
+     * las anteriores se consultan en la agenda, que va a la base de datos por rangos.
+     */
     private void reloadFromDb() {
         long empresaId = SessionManager.getInstance().getCurrentEmpresaId();
-        List<Appointment> citas = listAppointmentsUseCase.execute(empresaId);
-
-        if (AuthContext.isLoggedIn()) {
-            UserRole role = AuthContext.getRole();
-            User user = AuthContext.getCurrentUser();
-
-            if (role == UserRole.EMPLEADO && user != null) {
-                Long userId = user.getId();
-                List<Appointment> propias = new ArrayList<>();
-                for (Appointment a : citas) {
-                    if (a.getEmployeeId() != null && a.getEmployeeId().equals(userId)) {
-                        propias.add(a);
-                    }
-                }
-                masterData.setAll(propias);
-            } else {
-                masterData.setAll(citas);
-            }
-        } else {
-            masterData.setAll(citas);
-        }
+        LocalDate from = LocalDate.now().minusDays(LIST_HISTORY_DAYS);
+        smartTable.getBackgroundLoader().load(
+                () -> listAppointmentsUseCase.executeFrom(empresaId, from).stream().filter(this::isVisibleToCurrentUser).toList(),
+                citas -> {
+                    masterData.setAll(citas);
+                    smartTable.refresh();
+                });
 
-        smartTable.refresh();
+        agendaLoader.cancel();
+        agenda.invalidate();
         loadAgenda();
     }
 
+    /**
+     * Actualiza la fila de la cita y vuelve a pedir sólo el rango visible de la agenda.
+     */
+    private void onAppointmentChanged(AppointmentChanged event) {
+        rowPatcher.patch(event.appointmentId());
+        Platform.runLater(() -> {
+            agendaLoader.cancel();
+            agenda.invalidate();
+            loadAgenda();
+        });
+    }
+
+    /**
+     * Un empleado sólo ve las citas que tiene asignadas.
+     */
+    private boolean isVisibleToCurrentUser(Appointment appointment) {
+        if (!AuthContext.isLoggedIn() || AuthContext.getRole() != UserRole.EMPLEADO) {
+            return true;
+        }
+        User user = AuthContext.getCurrentUser();
+        return user == null || Long.valueOf(user.getId()).equals(appointment.getEmployeeId());
+    }
+
     private void loadAgenda() {
         LocalDate selectedDate = dpAgendaFecha.getValue();
         if (selectedDate == null) {
+            agendaLoader.cancel();
             lstAgenda.getItems().clear();
             return;
         }
 
-        String estadoSeleccionado = cbAgendaEstado.getSelectionModel().getSelectedItem();
-        List<Appointment> citasDia = new ArrayList<>();
+        String vista = cbAgendaVista.getSelectionModel().getSelectedItem();
+        String estado = cbAgendaEstado.getSelectionModel().getSelectedItem();
 
-        for (Appointment c : masterData) {
-            if (c.getDateTime() == null) {
-                continue;
-            }
-            if (!c.getDateTime().toLocalDate().isEqual(selectedDate)) {
-                continue;
-            }
-
-            if (estadoSeleccionado == null || "Todos".equals(estadoSeleccionado)) {
-                citasDia.add(c);
-            } else if (mapStatusToLabel(c.getStatus()).equals(estadoSeleccionado)) {
-                citasDia.add(c);
-            }
-        }
+        agendaLoader.load(() -> buildAgendaSlots(selectedDate, vista, estado), items -> {
+            lstAgenda.getItems().setAll(items);
+            double cellSize = lstAgenda.getFixedCellSize() > 0 ? lstAgenda.getFixedCellSize() : 40;
+            lstAgenda.setPrefHeight(items.size() * cellSize + 2);
+        });
+    }
 
+    /**
+     * Se ejecuta en segundo plano: la agenda puede tener que ir a la base de datos.
+     */
+    private List<AgendaSlot> buildAgendaSlots(LocalDate selectedDate, String vista, String estado) {
         List<AgendaSlot> items = new ArrayList<>();
-        for (int hour = 0; hour < 24; hour++) {
-            java.time.LocalTime slotTime = java.time.LocalTime.of(hour, 0);
-            List<Appointment> citasHora = new ArrayList<>();
-
-            for (Appointment c : citasDia) {
-                java.time.LocalTime t = c.getDateTime().toLocalTime();
-                if (t.getHour() == hour) {
-                    citasHora.add(c);
+
+        if (VISTA_SEMANA.equals(vista) || VISTA_MES.equals(vista)) {
+            // Una fila por día del rango, directamente de los cubos por día de la agenda.
+            NavigableMap<LocalDate, List<Appointment>> dias = VISTA_SEMANA.equals(vista)
+                    ? agenda.week(selectedDate)
+                    : agenda.month(selectedDate);
+            LocalDate from = VISTA_SEMANA.equals(vista)
+                    ? selectedDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : selectedDate.withDayOfMonth(1);
+            LocalDate to = VISTA_SEMANA.equals(vista) ? from.plusWeeks(1) : from.plusMonths(1);
+
+            for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+                items.add(new AgendaSlot(day.format(dayFormatter), filterAgenda(dias.getOrDefault(day, List.of()), estado)));
+            }
+        } else {
+            List<Appointment> citasDia = filterAgenda(agenda.day(selectedDate), estado);
+            for (int hour = 0; hour < 24; hour++) {
+                List<Appointment> citasHora = new ArrayList<>();
+                for (Appointment c : citasDia) {
+                    if (c.getDateTime().getHour() == hour) {
+                        citasHora.add(c);
+                    }
                 }
+                items.add(new AgendaSlot(java.time.LocalTime.of(hour, 0).format(timeFormatter), citasHora));
             }
-            items.add(new AgendaSlot(slotTime, citasHora));
         }
+        return items;
+    }
 
-        lstAgenda.getItems().setAll(items);
-        double cellSize = lstAgenda.getFixedCellSize() > 0 ? lstAgenda.getFixedCellSize() : 40;
-        lstAgenda.setPrefHeight(items.size() * cellSize + 2);
+    private List<Appointment> filterAgenda(List<Appointment> citas, String estadoSeleccionado) {
+        boolean todos = estadoSeleccionado == null || "Todos".equals(estadoSeleccionado);
+
+        List<Appointment> result = new ArrayList<>();
+        for (Appointment c : citas) {
+            if (!isVisibleToCurrentUser(c)) {
+                continue;
+            }
+            if (todos || mapStatusToLabel(c.getStatus()).equals(estadoSeleccionado)) {
+                result.add(c);
+            }
+        }
+        return result;
     }
 
     private void openCitaForm(Appointment appointment) {
@@ -553,10 +626,6 @@ public class CitasController {
             scene.getStylesheets().add(getClass().getResource("/styles/components.css").toExternalForm());
             stage.setScene(scene);
             stage.showAndWait();
-
-            if (controller.isSaved()) {
-                reloadFromDb();
-            }
         } catch (IOException e) {
             showError("No se ha podido abrir el formulario de cita: " + e.getMessage());
         }
@@ -566,7 +635,6 @@ public class CitasController {
         try {
             long empresaId = SessionManager.getInstance().getCurrentEmpresaId();
             changeAppointmentStatusUseCase.execute(appointment.getId(), empresaId, AppointmentStatus.COMPLETED);
-            reloadFromDb();
         } catch (Exception e) {
             showError("Error al marcar cita como completada: " + e.getMessage());
         }
@@ -643,7 +711,7 @@ public class CitasController {
         alert.showAndWait();
     }
 
-    private record AgendaSlot(java.time.LocalTime time, List<Appointment> appointments) {
+    private record AgendaSlot(String label, List<Appointment> appointments) {
 
     }
 
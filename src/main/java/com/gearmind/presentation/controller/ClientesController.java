@@ -1,12 +1,21 @@
 package com.gearmind.presentation.controller;
 
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.application.common.SessionManager;
+import com.gearmind.application.company.ListEmpresasUseCase;
 import com.gearmind.application.customer.ActivateCustomerUseCase;
 import com.gearmind.application.customer.DeactivateCustomerUseCase;
+import com.gearmind.application.customer.ImportCustomersUseCase;
 import com.gearmind.application.customer.ListCustomersUseCase;
+import com.gearmind.domain.company.Empresa;
 import com.gearmind.domain.customer.Customer;
+import com.gearmind.domain.event.CustomerChanged;
+import com.gearmind.infrastructure.company.MySqlEmpresaRepository;
 import com.gearmind.infrastructure.customer.MySqlCustomerRepository;
+import com.gearmind.presentation.dialog.CsvImportDialog;
+import com.gearmind.presentation.navigation.RefreshableView;
+import com.gearmind.presentation.table.RowPatcher;
 import com.gearmind.presentation.table.SmartTable;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
@@ -23,11 +32,9 @@ import javafx.scene.layout.Region;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
 
-public class ClientesController {
+public class ClientesController implements RefreshableView {
 
     @FXML
     private TableView<Customer> tblClientes;
@@ -71,19 +78,28 @@ public class ClientesController {
 
     @FXML
     private Label lblResumen;
+    @FXML
+    private Button btnPaginaAnterior;
+    @FXML
+    private Button btnPaginaSiguiente;
 
     private final ListCustomersUseCase listCustomersUseCase;
     private final DeactivateCustomerUseCase deactivateCustomerUseCase;
     private final ActivateCustomerUseCase activateCustomerUseCase;
+    private final ListEmpresasUseCase listEmpresasUseCase;
+    private final ImportCustomersUseCase importCustomersUseCase;
 
     private final ObservableList<Customer> masterData = FXCollections.observableArrayList();
     private SmartTable<Customer> smartTable;
+    private RowPatcher<Customer> rowPatcher;
 
     public ClientesController() {
         MySqlCustomerRepository repo = new MySqlCustomerRepository();
         this.listCustomersUseCase = new ListCustomersUseCase(repo);
         this.deactivateCustomerUseCase = new DeactivateCustomerUseCase(repo);
         this.activateCustomerUseCase = new ActivateCustomerUseCase(repo);
+        this.listEmpresasUseCase = new ListEmpresasUseCase(new MySqlEmpresaRepository());
+        this.importCustomersUseCase = new ImportCustomersUseCase(repo);
     }
 
     @FXML
@@ -249,6 +265,13 @@ public class ClientesController {
 
         // ===== SmartTable =====
         smartTable = new SmartTable<>(tblClientes, masterData, null, cmbPageSize, lblResumen, "clientes", null);
+        smartTable.enableServerPaging(request -> isSuperAdmin
+                ? listCustomersUseCase.pageAllWithEmpresa(request)
+                : listCustomersUseCase.pageByEmpresa(SessionManager.getInstance().getCurrentEmpresaId(), request),
+                () -> isSuperAdmin
+                ? listCustomersUseCase.listAllWithEmpresa()
+                : listCustomersUseCase.listByEmpresa(SessionManager.getInstance().getCurrentEmpresaId()),
+                btnPaginaAnterior, btnPaginaSiguiente);
 
         tblClientes.setFixedCellSize(28);
         smartTable.setAfterRefreshCallback(() -> {
@@ -260,9 +283,11 @@ public class ClientesController {
         });
 
         // ===== Filtros =====
-        smartTable.addColumnFilter(filterNombreField, (c, text) -> safe(c.getNombre()).contains(text));
-        smartTable.addColumnFilter(filterTelefonoField, (c, text) -> safe(c.getTelefono()).contains(text));
-        smartTable.addColumnFilter(filterEmailField, (c, text) -> safe(c.getEmail()).contains(text));
+        smartTable.addColumnFilter(filterNombreField, c -> c.getNombre());
+        smartTable.addColumnFilter(filterTelefonoField, c -> c.getTelefono());
+        smartTable.addColumnFilter(filterEmailField, c -> c.getEmail());
+        smartTable.enableSearchIndex(filterNombreField);
+        smartTable.enableSearchIndex(filterEmailField);
 
         if (filterEstadoCombo != null) {
             filterEstadoCombo.setItems(FXCollections.observableArrayList("Todos", "Activo", "Inactivo"));
@@ -286,43 +311,56 @@ public class ClientesController {
             });
         }
 
+        // La lectura por id no trae el nombre de la empresa; un cliente nuevo obliga a recargar
+        // porque con paginación en servidor no se sabe en qué página cae
+        rowPatcher = new RowPatcher<>(smartTable, masterData, Customer::getId, listCustomersUseCase::findVisible)
+                .withMerge((previous, current) -> current.getEmpresaNombre() == null
+                        ? current.withEmpresaNombre(previous.getEmpresaNombre())
+                        : current)
+                .onInsert(customer -> loadClientesFromDb());
+        DomainEventBus.getInstance().subscribe(this, CustomerChanged.class, ClientesController::onCustomerChanged);
+
         setupRowDoubleClick();
         loadClientesFromDb();
     }
 
+    private void onCustomerChanged(CustomerChanged event) {
+        rowPatcher.patch(event.customerId());
+    }
+
     private void loadClientesFromDb() {
         boolean isSuperAdmin = AuthContext.isSuperAdmin();
+        long empresaId = isSuperAdmin ? 0L : SessionManager.getInstance().getCurrentEmpresaId();
+
+        smartTable.getBackgroundLoader().load(() -> {
+            long total = isSuperAdmin ? listCustomersUseCase.countAll() : listCustomersUseCase.countByEmpresa(empresaId);
+            // Opciones de empresa SOLO para SuperAdmin (sin re-addColumnFilter)
+            List<String> empresas = isSuperAdmin && filterEmpresaCombo != null
+                    ? listEmpresasUseCase.execute().stream()
+                            .map(Empresa::getNombre)
+                            .filter(s -> s != null && !s.isBlank())
+                            .distinct()
+                            .sorted(String.CASE_INSENSITIVE_ORDER)
+                            .toList()
+                    : List.of();
+            return new HeaderData(total, empresas);
+        }, header -> {
+            if (isSuperAdmin && filterEmpresaCombo != null) {
+                filterEmpresaCombo.setItems(FXCollections.observableArrayList(header.empresas()));
+                filterEmpresaCombo.getItems().add(0, "Todas");
+                filterEmpresaCombo.getSelectionModel().select("Todas");
+            }
 
-        List<Customer> clientes;
-        if (isSuperAdmin) {
-            clientes = listCustomersUseCase.listAllWithEmpresa();
-        } else {
-            long empresaId = SessionManager.getInstance().getCurrentEmpresaId();
-            clientes = listCustomersUseCase.listByEmpresa(empresaId);
-        }
-
-        clientes.sort(Comparator.comparing(Customer::getNombre, String.CASE_INSENSITIVE_ORDER));
-        masterData.setAll(clientes);
+            smartTable.setServerTotalCount(header.total());
+            smartTable.loadFirstPage();
 
-        // Cargar opciones de empresa SOLO para SuperAdmin (sin re-addColumnFilter)
-        if (isSuperAdmin && filterEmpresaCombo != null) {
-            var empresas = clientes.stream()
-                    .map(Customer::getEmpresaNombre)
-                    .filter(s -> s != null && !s.isBlank())
-                    .distinct()
-                    .sorted(String.CASE_INSENSITIVE_ORDER)
-                    .toList();
-
-            filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
-            filterEmpresaCombo.getItems().add(0, "Todas");
-            filterEmpresaCombo.getSelectionModel().select("Todas");
-        }
-
-        smartTable.refresh();
+            if (lblHeaderInfo != null) {
+                lblHeaderInfo.setText(header.total() + " clientes registrados");
+            }
+        });
+    }
 
-        if (lblHeaderInfo != null) {
-            lblHeaderInfo.setText(masterData.size() + " clientes registrados");
-        }
+    private record HeaderData(long total, List<String> empresas) {
     }
 
     private void setupRowDoubleClick() {
@@ -354,7 +392,6 @@ public class ClientesController {
         alert.showAndWait().ifPresent(btn -> {
             if (btn == ButtonType.OK) {
                 deactivateCustomerUseCase.deactivate(customer.getId(), customer.getEmpresaId());
-                loadClientesFromDb();
             }
         });
     }
@@ -368,7 +405,6 @@ public class ClientesController {
         alert.showAndWait().ifPresent(btn -> {
             if (btn == ButtonType.OK) {
                 activateCustomerUseCase.activate(customer.getId(), customer.getEmpresaId());
-                loadClientesFromDb();
             }
         });
     }
@@ -378,11 +414,21 @@ public class ClientesController {
         openClienteForm(null);
     }
 
+    @Override
+    public void refreshView() {
+        onRefrescar();
+    }
+
     @FXML
     private void onRefrescar() {
         loadClientesFromDb();
     }
 
+    @FXML
+    private void onImportarCsv() {
+        CsvImportDialog.show(tblClientes.getScene().getWindow(), "Importar clientes", importCustomersUseCase::execute, this::loadClientesFromDb);
+    }
+
     private void openClienteForm(Customer customer) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/ClienteFormView.fxml"));
@@ -405,11 +451,6 @@ public class ClientesController {
             stage.setResizable(false);
             stage.setScene(scene);
             stage.showAndWait();
-
-            if (controller.isSaved()) {
-                loadClientesFromDb();
-            }
-
         } catch (Exception e) {
             e.printStackTrace();
             new Alert(Alert.AlertType.ERROR, "No se pudo abrir el formulario.\n\n" + e.getMessage()).showAndWait();
@@ -439,10 +480,6 @@ public class ClientesController {
         smartTable.refresh();
     }
 
-    private String safe(String s) {
-        return s == null ? "" : s.toLowerCase(Locale.ROOT);
-    }
-
     private String safeRaw(String s) {
         return s == null ? "" : s;
     }
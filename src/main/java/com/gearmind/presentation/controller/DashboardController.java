@@ -3,10 +3,17 @@ package com.gearmind.presentation.controller;
 import com.gearmind.application.common.AuthContext;
 import com.gearmind.application.common.SessionManager;
 import com.gearmind.application.customer.ListCustomersUseCase;
+import com.gearmind.application.dashboard.GetDashboardMetricsUseCase;
+import com.gearmind.common.pagination.Page;
+import com.gearmind.common.pagination.PageRequest;
 import com.gearmind.domain.customer.Customer;
+import com.gearmind.domain.dashboard.DashboardMetrics;
 import com.gearmind.domain.user.User;
 import com.gearmind.domain.user.UserRole;
 import com.gearmind.infrastructure.customer.MySqlCustomerRepository;
+import com.gearmind.infrastructure.dashboard.MySqlDashboardMetricsRepository;
+import com.gearmind.presentation.navigation.RefreshableView;
+import com.gearmind.presentation.table.BackgroundLoader;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
@@ -14,12 +21,11 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 
-import java.util.Comparator;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
 
-public class DashboardController {
+public class DashboardController implements RefreshableView {
 
     // Labels métricas principales
     @FXML private Label lblEmpresaTitulo;
@@ -27,6 +33,10 @@ public class DashboardController {
     @FXML private Label lblTotalVehiculos;
     @FXML private Label lblReparacionesAbiertas;
     @FXML private Label lblTareasPendientes;
+    @FXML private Label lblCitasHoy;
+    @FXML private Label lblFacturadoMes;
+    @FXML private Label lblImportePendiente;
+    @FXML private Label lblFacturasPendientesInfo;
 
     // Tabla últimos clientes
     @FXML private TableView<Customer> tblUltimosClientes;
@@ -40,20 +50,32 @@ public class DashboardController {
     @FXML private Label lblRolInfo;
     @FXML private Label lblEmpresaInfo;
 
+    private static final int ULTIMOS_CLIENTES = 5;
+
     private final ListCustomersUseCase listCustomersUseCase;
+    private final GetDashboardMetricsUseCase getDashboardMetricsUseCase;
+    private BackgroundLoader loader;
 
     public DashboardController() {
         this.listCustomersUseCase = new ListCustomersUseCase(
                 new MySqlCustomerRepository()
         );
+        this.getDashboardMetricsUseCase = new GetDashboardMetricsUseCase(
+                new MySqlDashboardMetricsRepository()
+        );
     }
 
     @FXML
     public void initialize() {
         setupSessionSummary();
         setupClientesTable();
-        loadClientesData();
-        setupPlaceholders();
+        loader = tblUltimosClientes != null ? new BackgroundLoader(tblUltimosClientes) : new BackgroundLoader();
+        loadDashboardData();
+    }
+
+    @Override
+    public void refreshView() {
+        loadDashboardData();
     }
 
     private void setupSessionSummary() {
@@ -113,60 +135,95 @@ public class DashboardController {
         tblUltimosClientes.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
     }
 
-    private void loadClientesData() {
-        try {
-            long empresaId = SessionManager.getInstance().getCurrentEmpresaId();
-            List<Customer> all = listCustomersUseCase.listByEmpresa(empresaId);
-
-            // Conteo real de clientes
-            if (lblTotalClientes != null) {
-                lblTotalClientes.setText(String.valueOf(all.size()));
+    /**
+     * Métricas y primera página de clientes se piden juntas en segundo plano;
+     * un fallo en una no impide mostrar la otra.
+     */
+    private void loadDashboardData() {
+        long empresaId = SessionManager.getInstance().getCurrentEmpresaId();
+        loader.load(() -> {
+            DashboardMetrics metrics = null;
+            try {
+                metrics = getDashboardMetricsUseCase.execute(empresaId);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
             }
 
-            // Elegimos hasta 5 clientes "más recientes"
-            // De momento los ordenamos alfabéticamente como placeholder,
-            // cuando tengas fecha de creación, sustituyes el criterio.
-            List<Customer> ultimos = all.stream()
-                    .sorted(Comparator.comparing(Customer::getNombre,
-                            String.CASE_INSENSITIVE_ORDER))
-                    .limit(5)
-                    .collect(Collectors.toList());
-
-            if (tblUltimosClientes != null) {
-                tblUltimosClientes.setItems(FXCollections.observableArrayList(ultimos));
-            }
-
-            if (lblUltimosClientesInfo != null) {
-                if (all.isEmpty()) {
-                    lblUltimosClientesInfo.setText("Todavía no hay clientes registrados.");
-                } else if (all.size() <= 5) {
-                    lblUltimosClientesInfo.setText("Mostrando todos los clientes (" + all.size() + ").");
-                } else {
-                    lblUltimosClientesInfo.setText("Mostrando los últimos " + ultimos.size()
-                            + " de " + all.size() + " clientes.");
-                }
+            Page<Customer> clientes = null;
+            try {
+                // Sólo se trae la primera página; el total ya viene de las métricas.
+                clientes = listCustomersUseCase.pageByEmpresa(empresaId, PageRequest.first(ULTIMOS_CLIENTES));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
             }
+            return new DashboardData(metrics, clientes);
+        }, data -> {
+            showMetrics(data.metrics());
+            showClientes(data.clientes(), data.metrics() != null ? data.metrics().totalClientes() : -1);
+        });
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            if (lblTotalClientes != null) {
-                lblTotalClientes.setText("—");
-            }
-            if (lblUltimosClientesInfo != null) {
-                lblUltimosClientesInfo.setText("No se pudieron cargar los clientes.");
-            }
+    /**
+     * Rellena las tarjetas; con {@code metrics} nulo muestra que no se pudieron calcular.
+     */
+    private void showMetrics(DashboardMetrics metrics) {
+        if (metrics == null) {
+            setText(lblTotalClientes, "—");
+            setText(lblTotalVehiculos, "—");
+            setText(lblReparacionesAbiertas, "—");
+            setText(lblTareasPendientes, "—");
+            setText(lblCitasHoy, "—");
+            setText(lblFacturadoMes, "—");
+            setText(lblImportePendiente, "—");
+            setText(lblFacturasPendientesInfo, "No se pudieron calcular las métricas.");
+            return;
         }
+
+        setText(lblTotalClientes, String.valueOf(metrics.totalClientes()));
+        setText(lblTotalVehiculos, String.valueOf(metrics.totalVehiculos()));
+        setText(lblReparacionesAbiertas, String.valueOf(metrics.reparacionesAbiertas()));
+        setText(lblTareasPendientes, String.valueOf(metrics.tareasPendientes()));
+        setText(lblCitasHoy, String.valueOf(metrics.citasHoy()));
+        setText(lblFacturadoMes, formatImporte(metrics.facturadoMes()));
+        setText(lblImportePendiente, formatImporte(metrics.importePendiente()));
+        setText(lblFacturasPendientesInfo, metrics.facturasPendientes() == 1
+                ? "1 factura pendiente de cobro"
+                : metrics.facturasPendientes() + " facturas pendientes de cobro");
     }
 
-    private void setupPlaceholders() {
-        if (lblTotalVehiculos != null) {
-            lblTotalVehiculos.setText("—");
+    private void showClientes(Page<Customer> page, long totalClientes) {
+        if (page == null) {
+            setText(lblUltimosClientesInfo, "No se pudieron cargar los clientes.");
+            return;
         }
-        if (lblReparacionesAbiertas != null) {
-            lblReparacionesAbiertas.setText("—");
+
+        List<Customer> ultimos = page.items();
+        if (tblUltimosClientes != null) {
+            tblUltimosClientes.setItems(FXCollections.observableArrayList(ultimos));
         }
-        if (lblTareasPendientes != null) {
-            lblTareasPendientes.setText("—");
+
+        if (ultimos.isEmpty()) {
+            setText(lblUltimosClientesInfo, "Todavía no hay clientes registrados.");
+        } else if (!page.hasNext()) {
+            setText(lblUltimosClientesInfo, "Mostrando todos los clientes (" + ultimos.size() + ").");
+        } else if (totalClientes >= 0) {
+            setText(lblUltimosClientesInfo, "Mostrando " + ultimos.size() + " de " + totalClientes + " clientes.");
+        } else {
+            setText(lblUltimosClientesInfo, "Mostrando " + ultimos.size() + " clientes.");
         }
     }
+
+    private static String formatImporte(BigDecimal importe) {
+        BigDecimal value = importe == null ? BigDecimal.ZERO : importe;
+        return value.setScale(2, RoundingMode.HALF_UP).toPlainString().replace('.', ',') + " €";
+    }
+
+    private static void setText(Label label, String text) {
+        if (label != null) {
+            label.setText(text);
+        }
+    }
+
+    private record DashboardData(DashboardMetrics metrics, Page<Customer> clientes) {
+    }
 }
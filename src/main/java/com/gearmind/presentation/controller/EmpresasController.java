@@ -6,6 +6,7 @@ import com.gearmind.application.company.SaveEmpresaRequest;
 import com.gearmind.application.company.SaveEmpresaUseCase;
 import com.gearmind.domain.company.Empresa;
 import com.gearmind.infrastructure.company.MySqlEmpresaRepository;
+import com.gearmind.presentation.navigation.RefreshableView;
 import com.gearmind.presentation.table.SmartTable;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
@@ -25,7 +26,7 @@ import javafx.stage.Stage;
 import java.util.List;
 import java.util.Locale;
 
-public class EmpresasController {
+public class EmpresasController implements RefreshableView {
 
     @FXML
     private TableView<Empresa> tblEmpresas;
@@ -188,7 +189,9 @@ public class EmpresasController {
             });
         }
 
-        smartTable = new SmartTable<>(tblEmpresas, masterData, txtBuscar, cmbPageSize, lblResumen, "empresas", this::matchesGlobalFilter);
+        smartTable = new SmartTable<>(tblEmpresas, masterData, txtBuscar, cmbPageSize, lblResumen, "empresas", null);
+        smartTable.setGlobalSearchKey(this::globalSearchKey);
+        smartTable.enableGlobalSearchIndex();
         tblEmpresas.setFixedCellSize(28);
         smartTable.setAfterRefreshCallback(() -> {
             int rows = Math.max(smartTable.getLastVisibleCount(), 1);
@@ -199,13 +202,13 @@ public class EmpresasController {
             tblEmpresas.setMinHeight(Region.USE_PREF_SIZE);
         });
 
-        smartTable.addColumnFilter(filterNombreField, (e, text) -> safe(e.getNombre()).contains(text));
-        smartTable.addColumnFilter(filterCifField, (e, text) -> safe(e.getCif()).contains(text));
-        smartTable.addColumnFilter(filterTelefonoField, (e, text) -> safe(e.getTelefono()).contains(text));
-        smartTable.addColumnFilter(filterEmailField, (e, text) -> safe(e.getEmail()).contains(text));
-        smartTable.addColumnFilter(filterCiudadField, (e, text) -> safe(e.getCiudad()).contains(text));
-        smartTable.addColumnFilter(filterProvinciaField, (e, text) -> safe(e.getProvincia()).contains(text));
-        smartTable.addColumnFilter(filterCpField, (e, text) -> safe(e.getCp()).contains(text));
+        smartTable.addColumnFilter(filterNombreField, e -> e.getNombre());
+        smartTable.addColumnFilter(filterCifField, e -> e.getCif());
+        smartTable.addColumnFilter(filterTelefonoField, e -> e.getTelefono());
+        smartTable.addColumnFilter(filterEmailField, e -> e.getEmail());
+        smartTable.addColumnFilter(filterCiudadField, e -> e.getCiudad());
+        smartTable.addColumnFilter(filterProvinciaField, e -> e.getProvincia());
+        smartTable.addColumnFilter(filterCpField, e -> e.getCp());
         if (filterEstadoCombo != null) {
             filterEstadoCombo.setItems(FXCollections.observableArrayList("Todos", "Activa", "Inactiva"));
             filterEstadoCombo.getSelectionModel().select("Todos");
@@ -291,39 +294,37 @@ public class EmpresasController {
     }
 
     private void cargarEmpresas() {
-        List<Empresa> empresas = listEmpresasUseCase.execute();
-        masterData.setAll(empresas);
-        smartTable.refresh();
+        smartTable.getBackgroundLoader().load(listEmpresasUseCase::execute, empresas -> {
+            masterData.setAll(empresas);
+            smartTable.refresh();
 
-        if (lblTotalEmpresas != null) {
-            int total = masterData.size();
-            lblTotalEmpresas.setText(total + (total == 1 ? " empresa registrada" : " empresas registradas"));
-        }
+            if (lblTotalEmpresas != null) {
+                int total = masterData.size();
+                lblTotalEmpresas.setText(total + (total == 1 ? " empresa registrada" : " empresas registradas"));
+            }
+        });
     }
 
-    private boolean matchesGlobalFilter(Empresa e, String filtro) {
-        if (filtro == null || filtro.isBlank()) {
-            return true;
-        }
-
-        String f = filtro.toLowerCase(Locale.ROOT);
-        String nombre = safe(e.getNombre());
-        String cif = safe(e.getCif());
-        String telefono = safe(e.getTelefono());
-        String email = safe(e.getEmail());
-        String ciudad = safe(e.getCiudad());
-        String provincia = safe(e.getProvincia());
-        String cp = safe(e.getCp());
-        String estado = e.isActiva() ? "activa" : "inactiva";
-
-        return nombre.contains(f) || cif.contains(f) || telefono.contains(f) || email.contains(f)
-                || ciudad.contains(f) || provincia.contains(f) || cp.contains(f) || estado.contains(f);
+    /**
+     * Texto buscable de la empresa para la búsqueda global; el separador no se puede
+     * teclear, así que ninguna búsqueda coincide "a caballo" entre dos campos.
+     */
+    private String globalSearchKey(Empresa e) {
+        return String.join("\u0000",
+                safe(e.getNombre()), safe(e.getCif()), safe(e.getTelefono()), safe(e.getEmail()),
+                safe(e.getCiudad()), safe(e.getProvincia()), safe(e.getCp()),
+                e.isActiva() ? "activa" : "inactiva");
     }
 
     private String safe(String value) {
         return value == null ? "" : value.toLowerCase(Locale.ROOT);
     }
 
+    @Override
+    public void refreshView() {
+        onRefrescar();
+    }
+
     @FXML
     private void onRefrescar() {
         if (!AuthContext.isSuperAdmin()) {
@@ -7,19 +7,16 @@ import com.gearmind.application.common.SessionManager;
 import com.gearmind.application.invoice.GetInvoiceUseCase;
 import com.gearmind.application.invoice.SaveInvoiceRequest;
 import com.gearmind.application.invoice.SaveInvoiceUseCase;
+import com.gearmind.common.lookup.LookupItem;
 import com.gearmind.domain.budget.Budget;
 import com.gearmind.domain.budget.BudgetLine;
 import com.gearmind.domain.company.Empresa;
-import com.gearmind.domain.customer.Customer;
 import com.gearmind.domain.invoice.Invoice;
 import com.gearmind.domain.invoice.InvoiceLine;
 import com.gearmind.domain.invoice.InvoiceStatus;
-import com.gearmind.domain.vehicle.Vehicle;
 import com.gearmind.infrastructure.budget.MySqlBudgetRepository;
 import com.gearmind.infrastructure.company.MySqlEmpresaRepository;
 import com.gearmind.infrastructure.customer.MySqlCustomerRepository;
-import com.gearmind.infrastructure.invoice.InvoicePdfGenerator;
-import com.gearmind.infrastructure.invoice.InvoicePdfStorage;
 import com.gearmind.infrastructure.invoice.MySqlInvoiceRepository;
 import com.gearmind.infrastructure.vehicle.MySqlVehicleRepository;
 import javafx.beans.property.ReadOnlyObjectWrapper;
@@ -102,7 +99,6 @@ public class FacturaFormController {
     private final MySqlEmpresaRepository empresaRepository;
     private final MySqlCustomerRepository customerRepository;
     private final MySqlVehicleRepository vehicleRepository;
-    private final InvoicePdfGenerator pdfGenerator;
 
     private final java.text.DecimalFormat moneyFormat = new java.text.DecimalFormat("#,##0.00", new java.text.DecimalFormatSymbols(Locale.getDefault()));
 
@@ -116,7 +112,6 @@ public class FacturaFormController {
         this.empresaRepository = new MySqlEmpresaRepository();
         this.customerRepository = new MySqlCustomerRepository();
         this.vehicleRepository = new MySqlVehicleRepository();
-        this.pdfGenerator = new InvoicePdfGenerator();
     }
 
     public boolean isSaved() {
@@ -297,10 +292,9 @@ public class FacturaFormController {
             request.setIvaPercent(parseIvaPercent());
 
             Invoice savedInvoice = saveInvoiceUseCase.execute(request);
-            generatePdf(savedInvoice, lines);
 
             saved = true;
-            new Alert(Alert.AlertType.INFORMATION, "Factura guardada y PDF generado en:\n" + InvoicePdfStorage.resolvePath(savedInvoice.getId())).showAndWait();
+            new Alert(Alert.AlertType.INFORMATION, "Factura guardada.").showAndWait();
 
             Stage stage = (Stage) btnGuardar.getScene().getWindow();
             stage.close();
@@ -367,12 +361,12 @@ public class FacturaFormController {
                 .map(b -> new PresupuestoOption(b.getId(), budgetLabel(b), b.getClienteId(), b.getVehiculoId()))
                 .toList());
 
-        List<Customer> customers = customerRepository.findByEmpresaId(empresaId);
-        clientes.setAll(customers.stream().sorted(Comparator.comparing(Customer::getNombre, String.CASE_INSENSITIVE_ORDER)).map(c -> new ClienteOption(c.getId(), c.getNombre())).toList());
+        List<LookupItem> customers = customerRepository.findLookupByEmpresaId(empresaId);
+        clientes.setAll(customers.stream().sorted(Comparator.comparing(LookupItem::label, String.CASE_INSENSITIVE_ORDER)).map(c -> new ClienteOption(c.id(), c.label())).toList());
 
-        List<Vehicle> vehicles = vehicleRepository.findByEmpresaId(empresaId);
+        List<LookupItem> vehicles = vehicleRepository.findLookupByEmpresaId(empresaId);
         vehiculosEmpresa.clear();
-        vehiculosEmpresa.addAll(vehicles.stream().sorted(Comparator.comparing(Vehicle::getMatricula, String.CASE_INSENSITIVE_ORDER)).map(v -> new VehiculoOption(v.getId(), vehicleLabel(v), v.getClienteId())).toList());
+        vehiculosEmpresa.addAll(vehicles.stream().sorted(Comparator.comparing(LookupItem::label, String.CASE_INSENSITIVE_ORDER)).map(v -> new VehiculoOption(v.id(), v.label(), v.parentId())).toList());
 
         if (cmbPresupuesto != null && !presupuestos.isEmpty() && cmbPresupuesto.getValue() == null) {
             cmbPresupuesto.getSelectionModel().selectFirst();
@@ -582,13 +576,6 @@ public class FacturaFormController {
         return mapped;
     }
 
-    private void generatePdf(Invoice invoice, List<InvoiceLine> lines) {
-        Empresa empresa = empresaRepository.findById(invoice.getEmpresaId()).orElse(null);
-        Customer customer = customerRepository.findById(invoice.getClienteId()).orElse(null);
-        Vehicle vehicle = vehicleRepository.findById(invoice.getVehiculoId()).orElse(null);
-        pdfGenerator.generate(invoice, lines, empresa, customer, vehicle);
-    }
-
     private String mapStatusToLabel(InvoiceStatus status) {
         if (status == null) {
             return "Pendiente";
@@ -621,17 +608,6 @@ public class FacturaFormController {
         };
     }
 
-    private String vehicleLabel(Vehicle vehicle) {
-        if (vehicle == null) {
-            return "";
-        }
-        String label = String.format("%s %s", safe(vehicle.getMarca()), safe(vehicle.getModelo())).trim();
-        if (vehicle.getMatricula() != null && !vehicle.getMatricula().isBlank()) {
-            return label + " - " + vehicle.getMatricula();
-        }
-        return label;
-    }
-
     private String budgetLabel(Budget budget) {
         if (budget == null) {
             return "";
@@ -641,10 +617,6 @@ public class FacturaFormController {
         return String.format("#%d | %s | %s", budget.getId(), vehiculo, cliente);
     }
 
-    private String safe(String value) {
-        return value == null ? "" : value;
-    }
-
     private static class EmpresaOption {
 
         private final long id;
@@ -1,12 +1,24 @@
 package com.gearmind.presentation.controller;
 
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.application.common.SessionManager;
+import com.gearmind.application.company.ListEmpresasUseCase;
+import com.gearmind.application.invoice.ExportInvoicesUseCase;
 import com.gearmind.application.invoice.ListInvoicesUseCase;
+import com.gearmind.domain.company.Empresa;
+import com.gearmind.domain.event.InvoiceSaved;
 import com.gearmind.domain.invoice.Invoice;
 import com.gearmind.domain.invoice.InvoiceStatus;
-import com.gearmind.infrastructure.invoice.InvoicePdfStorage;
+import com.gearmind.infrastructure.company.MySqlEmpresaRepository;
+import com.gearmind.infrastructure.document.DocumentPrinter;
+import com.gearmind.infrastructure.document.DocumentType;
 import com.gearmind.infrastructure.invoice.MySqlInvoiceRepository;
+import com.gearmind.presentation.dialog.CsvExportDialog;
+import com.gearmind.presentation.dialog.InvoiceBundleDialog;
+import com.gearmind.presentation.navigation.RefreshableView;
+import com.gearmind.presentation.table.BackgroundLoader;
+import com.gearmind.presentation.table.RowPatcher;
 import com.gearmind.presentation.table.SmartTable;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
@@ -24,15 +36,13 @@ import javafx.stage.Stage;
 
 import java.awt.Desktop;
 import java.math.BigDecimal;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 
-public class FacturasController {
+public class FacturasController implements RefreshableView {
 
     @FXML
     private TableView<Invoice> tblFacturas;
@@ -70,15 +80,26 @@ public class FacturasController {
     private ComboBox<String> filterEmpresaCombo;
     @FXML
     private HBox boxFilterEmpresa;
+    @FXML
+    private Button btnPaginaAnterior;
+    @FXML
+    private Button btnPaginaSiguiente;
 
     private final ObservableList<Invoice> masterData = FXCollections.observableArrayList();
     private SmartTable<Invoice> smartTable;
+    private final BackgroundLoader pdfLoader = new BackgroundLoader();
+    private RowPatcher<Invoice> rowPatcher;
 
     private final ListInvoicesUseCase listInvoicesUseCase;
+    private final ListEmpresasUseCase listEmpresasUseCase;
+    private final ExportInvoicesUseCase exportInvoicesUseCase;
     private final DecimalFormat priceFormat = new DecimalFormat("#,##0.00", new DecimalFormatSymbols(Locale.getDefault()));
 
     public FacturasController() {
-        this.listInvoicesUseCase = new ListInvoicesUseCase(new MySqlInvoiceRepository());
+        MySqlInvoiceRepository repo = new MySqlInvoiceRepository();
+        this.listInvoicesUseCase = new ListInvoicesUseCase(repo);
+        this.listEmpresasUseCase = new ListEmpresasUseCase(new MySqlEmpresaRepository());
+        this.exportInvoicesUseCase = new ExportInvoicesUseCase(repo);
     }
 
     @FXML
@@ -136,11 +157,13 @@ public class FacturasController {
         colAcciones.setCellFactory(col -> new TableCell<>() {
             private final Button btnEditar = new Button("Editar");
             private final Button btnPdf = new Button("PDF");
-            private final HBox box = new HBox(8, btnEditar, btnPdf);
+            private final Button btnImprimir = new Button("Imprimir");
+            private final HBox box = new HBox(8, btnEditar, btnPdf, btnImprimir);
 
             {
                 btnEditar.getStyleClass().add("tfx-icon-btn");
                 btnPdf.getStyleClass().add("tfx-icon-btn-secondary");
+                btnImprimir.getStyleClass().add("tfx-icon-btn-secondary");
 
                 btnEditar.setOnAction(e -> {
                     Invoice invoice = getItem();
@@ -155,6 +178,13 @@ public class FacturasController {
                         openPdf(invoice.getId());
                     }
                 });
+
+                btnImprimir.setOnAction(e -> {
+                    Invoice invoice = getItem();
+                    if (invoice != null) {
+                        printPdf(invoice.getId());
+                    }
+                });
             }
 
             @Override
@@ -171,6 +201,13 @@ public class FacturasController {
         }
 
         smartTable = new SmartTable<>(tblFacturas, masterData, null, cmbPageSize, lblResumen, "facturas", null);
+        smartTable.enableServerPaging(request -> isSuperAdmin
+                ? listInvoicesUseCase.pageAllWithEmpresa(request)
+                : listInvoicesUseCase.pageByEmpresa(SessionManager.getInstance().getCurrentEmpresaId(), request),
+                () -> isSuperAdmin
+                ? listInvoicesUseCase.listAllWithEmpresa()
+                : listInvoicesUseCase.listByEmpresa(SessionManager.getInstance().getCurrentEmpresaId()),
+                btnPaginaAnterior, btnPaginaSiguiente);
 
         tblFacturas.setFixedCellSize(28);
         smartTable.setAfterRefreshCallback(() -> {
@@ -181,8 +218,10 @@ public class FacturasController {
             tblFacturas.setMinHeight(Region.USE_PREF_SIZE);
         });
 
-        smartTable.addColumnFilter(filterClienteField, (b, text) -> safe(b.getClienteNombre()).contains(text));
-        smartTable.addColumnFilter(filterNumeroField, (b, text) -> safe(b.getNumero()).contains(text));
+        smartTable.addColumnFilter(filterClienteField, b -> b.getClienteNombre());
+        smartTable.addColumnFilter(filterNumeroField, b -> b.getNumero());
+        smartTable.enableSearchIndex(filterClienteField);
+        smartTable.enableSearchIndex(filterNumeroField);
 
         if (filterEstadoCombo != null) {
             filterEstadoCombo.setItems(FXCollections.observableArrayList("Todos", "Pendiente", "Pagada", "Anulada", "Borrador"));
@@ -205,15 +244,39 @@ public class FacturasController {
             });
         }
 
+        // Con paginación en servidor una factura nueva no se sabe en qué página cae: se recarga
+        rowPatcher = new RowPatcher<>(smartTable, masterData, Invoice::getId, listInvoicesUseCase::findVisible)
+                .onInsert(invoice -> loadInvoicesFromDb());
+        DomainEventBus.getInstance().subscribe(this, InvoiceSaved.class, FacturasController::onInvoiceSaved);
+
         setupRowDoubleClick();
         loadInvoicesFromDb();
     }
 
+    private void onInvoiceSaved(InvoiceSaved event) {
+        rowPatcher.patch(event.invoiceId());
+    }
+
+    @Override
+    public void refreshView() {
+        onRefrescar();
+    }
+
     @FXML
     private void onRefrescar() {
         loadInvoicesFromDb();
     }
 
+    @FXML
+    private void onExportarCsv() {
+        CsvExportDialog.show(tblFacturas.getScene().getWindow(), "Exportar facturas", "facturas", exportInvoicesUseCase::execute);
+    }
+
+    @FXML
+    private void onExportarPdf() {
+        InvoiceBundleDialog.show(tblFacturas.getScene().getWindow());
+    }
+
     @FXML
     private void onNuevaFactura() {
         openFacturaForm(null);
@@ -237,30 +300,31 @@ public class FacturasController {
 
     private void loadInvoicesFromDb() {
         boolean isSuperAdmin = AuthContext.isSuperAdmin();
-        List<Invoice> invoices;
-
-        if (isSuperAdmin) {
-            invoices = listInvoicesUseCase.listAllWithEmpresa();
-        } else {
-            long empresaId = SessionManager.getInstance().getCurrentEmpresaId();
-            invoices = listInvoicesUseCase.listByEmpresa(empresaId);
-        }
-
-        invoices.sort(Comparator.comparing(Invoice::getFecha, Comparator.nullsLast(Comparator.reverseOrder())));
-        masterData.setAll(invoices);
+        long empresaId = isSuperAdmin ? 0L : SessionManager.getInstance().getCurrentEmpresaId();
+
+        smartTable.getBackgroundLoader().load(() -> {
+            long total = isSuperAdmin ? listInvoicesUseCase.countAll() : listInvoicesUseCase.countByEmpresa(empresaId);
+            List<String> empresas = isSuperAdmin && filterEmpresaCombo != null
+                    ? listEmpresasUseCase.execute().stream().map(Empresa::getNombre).filter(s -> s != null && !s.isBlank()).distinct().sorted(String.CASE_INSENSITIVE_ORDER).toList()
+                    : List.of();
+            return new HeaderData(total, empresas);
+        }, header -> {
+            if (isSuperAdmin && filterEmpresaCombo != null) {
+                filterEmpresaCombo.setItems(FXCollections.observableArrayList(header.empresas()));
+                filterEmpresaCombo.getItems().add(0, "Todas");
+                filterEmpresaCombo.getSelectionModel().select("Todas");
+            }
 
-        if (isSuperAdmin && filterEmpresaCombo != null) {
-            var empresas = invoices.stream().map(Invoice::getEmpresaNombre).filter(s -> s != null && !s.isBlank()).distinct().sorted(String.CASE_INSENSITIVE_ORDER).toList();
-            filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
-            filterEmpresaCombo.getItems().add(0, "Todas");
-            filterEmpresaCombo.getSelectionModel().select("Todas");
-        }
+            smartTable.setServerTotalCount(header.total());
+            smartTable.loadFirstPage();
 
-        smartTable.refresh();
+            if (lblHeaderInfo != null) {
+                lblHeaderInfo.setText(header.total() + " facturas registradas");
+            }
+        });
+    }
 
-        if (lblHeaderInfo != null) {
-            lblHeaderInfo.setText(masterData.size() + " facturas registradas");
-        }
+    private record HeaderData(long total, List<String> empresas) {
     }
 
     private void setupRowDoubleClick() {
@@ -296,22 +360,38 @@ public class FacturasController {
             scene.getStylesheets().add(getClass().getResource("/styles/components.css").toExternalForm());
             stage.setScene(scene);
             stage.showAndWait();
-
-            if (controller.isSaved()) {
-                loadInvoicesFromDb();
-            }
         } catch (Exception ex) {
             ex.printStackTrace();
             new Alert(Alert.AlertType.ERROR, "No se pudo abrir el formulario de facturas: " + ex.getMessage()).showAndWait();
         }
     }
 
+    /**
+     * Genera el PDF con los datos actuales directamente en el fichero temporal que abre el
+     * visor del sistema, sin pasar por la cola ni por el almacenamiento de PDFs.
+     */
     private void openPdf(long invoiceId) {
-        Path path = InvoicePdfStorage.resolvePath(invoiceId);
-        if (!Files.exists(path)) {
-            new Alert(Alert.AlertType.WARNING, "No se encontró el PDF. Genera la factura para crear el archivo.").showAndWait();
-            return;
-        }
+        pdfLoader.load(() -> DocumentPrinter.getInstance().preview(DocumentType.FACTURA, invoiceId), file -> {
+            if (file.isEmpty()) {
+                new Alert(Alert.AlertType.WARNING, "No se encontró el PDF: la factura ya no existe.").showAndWait();
+            } else {
+                openPdfFile(file.get());
+            }
+        });
+    }
+
+    /**
+     * Genera el PDF en memoria y lo manda a la impresora predeterminada.
+     */
+    private void printPdf(long invoiceId) {
+        pdfLoader.load(() -> DocumentPrinter.getInstance().print(DocumentType.FACTURA, invoiceId), printed -> {
+            if (!printed) {
+                new Alert(Alert.AlertType.WARNING, "No se pudo imprimir: la factura ya no existe.").showAndWait();
+            }
+        });
+    }
+
+    private void openPdfFile(Path path) {
         try {
             if (Desktop.isDesktopSupported()) {
                 Desktop.getDesktop().open(path.toFile());
@@ -353,10 +433,6 @@ public class FacturasController {
         };
     }
 
-    private String safe(String value) {
-        return value == null ? "" : value.toLowerCase(Locale.getDefault());
-    }
-
     private String safeRaw(String value) {
         return value == null ? "" : value;
     }
@@ -4,6 +4,7 @@ import com.gearmind.application.common.AuthContext;
 import com.gearmind.application.common.SessionManager;
 import com.gearmind.domain.user.User;
 import com.gearmind.domain.user.UserRole;
+import com.gearmind.presentation.navigation.ViewCache;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Side;
@@ -21,6 +22,8 @@ import java.util.List;
 
 public class HomeController {
 
+    private static final int MAX_CACHED_VIEWS = 6;
+
     @FXML
     private BorderPane root;
     @FXML
@@ -60,6 +63,7 @@ public class HomeController {
 
     private javafx.scene.Node savedSidebar;
     private ContextMenu userMenu;
+    private final ViewCache viewCache = new ViewCache(MAX_CACHED_VIEWS);
 
     @FXML
     public void initialize() {
@@ -76,6 +80,22 @@ public class HomeController {
 
         loadView("/view/DashboardView.fxml");
         setActiveNavButton(btnNavDashboard);
+        viewCache.preload(likelyNextViews(AuthContext.isLoggedIn() ? AuthContext.getRole() : null));
+    }
+
+    /**
+     * Pantallas que cada rol suele abrir justo después de entrar, por orden.
+     */
+    private static List<String> likelyNextViews(UserRole role) {
+        if (role == null) {
+            return List.of();
+        }
+        return switch (role) {
+            case EMPLEADO ->
+                List.of("/view/TareasView.fxml", "/view/CitasView.fxml", "/view/ReparacionesView.fxml");
+            case ADMIN, SUPER_ADMIN ->
+                List.of("/view/CitasView.fxml", "/view/ReparacionesView.fxml", "/view/FacturasView.fxml");
+        };
     }
 
     private void setupFromAuthContext() {
@@ -207,6 +227,7 @@ public class HomeController {
 
     private void onLogout() {
         try {
+            viewCache.clear();
             SessionManager.getInstance().clearSession();
 
             URL fxml = getClass().getResource("/view/LoginView.fxml");
@@ -238,12 +259,7 @@ public class HomeController {
 
     private void loadView(String fxmlPath) {
         try {
-            var url = getClass().getResource(fxmlPath);
-            if (url == null) {
-                throw new IllegalStateException("No se ha encontrado la vista: " + fxmlPath);
-            }
-
-            Parent view = FXMLLoader.load(url);
+            Parent view = viewCache.show(fxmlPath).root();
             contentPane.getChildren().setAll(view);
 
         } catch (IOException e) {
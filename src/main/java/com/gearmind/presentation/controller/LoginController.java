@@ -10,8 +10,10 @@ import com.gearmind.domain.user.User;
 import com.gearmind.infrastructure.auth.BCryptPasswordHasher;
 import com.gearmind.infrastructure.auth.MySqlUserRepository;
 import com.gearmind.infrastructure.company.MySqlEmpresaRepository;
+import com.gearmind.presentation.navigation.ViewCache;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.scene.Cursor;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -33,11 +35,7 @@ public class LoginController {
     @FXML
     private Hyperlink forgotPasswordLink;
 
-    private final LoginUseCase loginUseCase;
-
-    public LoginController() {
-        this.loginUseCase = new LoginUseCase(new MySqlUserRepository(), new BCryptPasswordHasher(), new MySqlEmpresaRepository());
-    }
+    private LoginUseCase loginUseCase;
 
     @FXML
     private void initialize() {
@@ -59,27 +57,66 @@ public class LoginController {
             return;
         }
 
-        try {
-            loginButton.setDisable(true);
-            LoginRequest request = new LoginRequest(emailOrUser, password);
-            LoginResponse response = loginUseCase.login(request);
-            User loggedUser = response.user();
-            String empresaNombre = response.empresaNombre();
-            SessionManager.getInstance().startSession(loggedUser, empresaNombre);
-            goToHome();
-
-        } catch (InvalidCredentialsException e) {
-            showError("Usuario o contraseña incorrectos.");
-        } catch (InactiveUserException e) {
-            showError("El usuario está inactivo.");
-        } catch (IOException e) {
-            e.printStackTrace();
-            showError("No se ha podido cargar la pantalla principal.");
-        } catch (Exception e) {
-            e.printStackTrace();
-            showError("Se ha producido un error inesperado al iniciar sesión.");
-        } finally {
-            loginButton.setDisable(false);
+        // BCrypt tarda lo suyo a propósito: la verificación va en segundo plano para no congelar la ventana
+        LoginRequest request = new LoginRequest(emailOrUser, password);
+        Task<LoginResponse> task = new Task<>() {
+            @Override
+            protected LoginResponse call() {
+                return loginUseCase().login(request);
+            }
+        };
+
+        Scene scene = loginButton.getScene();
+        setBusy(scene, true);
+        task.setOnSucceeded(e -> {
+            try {
+                LoginResponse response = task.getValue();
+                User loggedUser = response.user();
+                String empresaNombre = response.empresaNombre();
+                SessionManager.getInstance().startSession(loggedUser, empresaNombre);
+                goToHome();
+            } catch (IOException ex) {
+                ex.printStackTrace();
+                showError("No se ha podido cargar la pantalla principal.");
+            } finally {
+                setBusy(scene, false);
+            }
+        });
+        task.setOnFailed(e -> {
+            setBusy(scene, false);
+            Throwable ex = task.getException();
+            if (ex instanceof InvalidCredentialsException) {
+                showError("Usuario o contraseña incorrectos.");
+            } else if (ex instanceof InactiveUserException) {
+                showError("El usuario está inactivo.");
+            } else {
+                ex.printStackTrace();
+                showError("Se ha producido un error inesperado al iniciar sesión.");
+            }
+        });
+
+        Thread worker = new Thread(task, "login");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Los repositorios piden el DataSource, que espera a que el arranque cree el pool y migre
+     * el esquema: se construyen en el hilo del login, no al cargar la vista en el de JavaFX.
+     */
+    private synchronized LoginUseCase loginUseCase() {
+        if (loginUseCase == null) {
+            loginUseCase = new LoginUseCase(new MySqlUserRepository(), new BCryptPasswordHasher(), new MySqlEmpresaRepository());
+        }
+        return loginUseCase;
+    }
+
+    private void setBusy(Scene scene, boolean busy) {
+        loginButton.setDisable(busy);
+        usernameField.setDisable(busy);
+        passwordField.setDisable(busy);
+        scene.setCursor(busy ? Cursor.WAIT : Cursor.DEFAULT);
+        if (!busy) {
             passwordField.clear();
         }
     }
@@ -90,8 +127,8 @@ public class LoginController {
             throw new IOException("No se encuentra el recurso /view/HomeView.fxml en el classpath");
         }
 
-        FXMLLoader loader = new FXMLLoader(fxml);
-        Parent root = loader.load();
+        // El pipeline de arranque ya ha leído este FXML mientras se mostraba el login
+        Parent root = ViewCache.load("/view/HomeView.fxml").root();
         Stage stage = (Stage) loginButton.getScene().getWindow();
         double width = stage.getScene() != null ? stage.getScene().getWidth() : 1024;
         double height = stage.getScene() != null ? stage.getScene().getHeight() : 720;
@@ -12,8 +12,6 @@ import com.gearmind.domain.company.Empresa;
 import com.gearmind.domain.customer.Customer;
 import com.gearmind.domain.repair.Repair;
 import com.gearmind.domain.vehicle.Vehicle;
-import com.gearmind.infrastructure.budget.BudgetPdfGenerator;
-import com.gearmind.infrastructure.budget.BudgetPdfStorage;
 import com.gearmind.infrastructure.budget.MySqlBudgetRepository;
 import com.gearmind.infrastructure.company.MySqlEmpresaRepository;
 import com.gearmind.infrastructure.customer.MySqlCustomerRepository;
@@ -31,7 +29,6 @@ import javafx.stage.Stage;
 import javafx.util.StringConverter;
 
 import java.math.BigDecimal;
-import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
@@ -93,7 +90,6 @@ public class PresupuestoFormController {
     private final MySqlCustomerRepository customerRepository;
     private final MySqlVehicleRepository vehicleRepository;
     private final MySqlRepairRepository repairRepository;
-    private final BudgetPdfGenerator pdfGenerator;
 
     private final DecimalFormat moneyFormat = new DecimalFormat("#,##0.00", new DecimalFormatSymbols(Locale.getDefault()));
 
@@ -105,7 +101,6 @@ public class PresupuestoFormController {
         this.customerRepository = new MySqlCustomerRepository();
         this.vehicleRepository = new MySqlVehicleRepository();
         this.repairRepository = new MySqlRepairRepository();
-        this.pdfGenerator = new BudgetPdfGenerator();
     }
 
     public boolean isSaved() {
@@ -283,10 +278,9 @@ public class PresupuestoFormController {
             request.setLineas(lines);
 
             Budget savedBudget = saveBudgetUseCase.execute(request);
-            generatePdf(savedBudget, lines);
 
             saved = true;
-            new Alert(Alert.AlertType.INFORMATION, "Presupuesto guardado y PDF generado en:\n" + BudgetPdfStorage.resolvePath(savedBudget.getId())).showAndWait();
+            new Alert(Alert.AlertType.INFORMATION, "Presupuesto guardado.").showAndWait();
 
             Stage stage = (Stage) btnGuardar.getScene().getWindow();
             stage.close();
@@ -533,16 +527,6 @@ public class PresupuestoFormController {
         }
     }
 
-    private void generatePdf(Budget budget, List<BudgetLine> lines) {
-        Empresa empresa = empresaRepository.findById(budget.getEmpresaId()).orElse(null);
-        Customer customer = customerRepository.findById(budget.getClienteId()).orElse(null);
-        Vehicle vehicle = vehicleRepository.findById(budget.getVehiculoId()).orElse(null);
-        Path output = pdfGenerator.generate(budget, lines, empresa, customer, vehicle);
-        if (output == null) {
-            throw new RuntimeException("No se pudo generar el PDF.");
-        }
-    }
-
     private String mapStatusToLabel(BudgetStatus status) {
         if (status == null) {
             return "Borrador";
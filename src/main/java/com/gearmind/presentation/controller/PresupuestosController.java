@@ -1,12 +1,20 @@
 package com.gearmind.presentation.controller;
 
+import com.gearmind.application.budget.ExportBudgetsUseCase;
 import com.gearmind.application.budget.ListBudgetsUseCase;
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.application.common.SessionManager;
 import com.gearmind.domain.budget.Budget;
 import com.gearmind.domain.budget.BudgetStatus;
-import com.gearmind.infrastructure.budget.BudgetPdfStorage;
+import com.gearmind.domain.event.BudgetSaved;
 import com.gearmind.infrastructure.budget.MySqlBudgetRepository;
+import com.gearmind.infrastructure.document.DocumentPrinter;
+import com.gearmind.infrastructure.document.DocumentType;
+import com.gearmind.presentation.dialog.CsvExportDialog;
+import com.gearmind.presentation.navigation.RefreshableView;
+import com.gearmind.presentation.table.BackgroundLoader;
+import com.gearmind.presentation.table.RowPatcher;
 import com.gearmind.presentation.table.SmartTable;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
@@ -24,7 +32,6 @@ import javafx.stage.Stage;
 
 import java.awt.Desktop;
 import java.math.BigDecimal;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
@@ -32,7 +39,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 
-public class PresupuestosController {
+public class PresupuestosController implements RefreshableView {
 
     @FXML
     private TableView<Budget> tblPresupuestos;
@@ -73,12 +80,17 @@ public class PresupuestosController {
 
     private final ObservableList<Budget> masterData = FXCollections.observableArrayList();
     private SmartTable<Budget> smartTable;
+    private final BackgroundLoader pdfLoader = new BackgroundLoader();
+    private RowPatcher<Budget> rowPatcher;
 
     private final ListBudgetsUseCase listBudgetsUseCase;
+    private final ExportBudgetsUseCase exportBudgetsUseCase;
     private final DecimalFormat priceFormat = new DecimalFormat("#,##0.00", new DecimalFormatSymbols(Locale.getDefault()));
 
     public PresupuestosController() {
-        this.listBudgetsUseCase = new ListBudgetsUseCase(new MySqlBudgetRepository());
+        MySqlBudgetRepository repo = new MySqlBudgetRepository();
+        this.listBudgetsUseCase = new ListBudgetsUseCase(repo);
+        this.exportBudgetsUseCase = new ExportBudgetsUseCase(repo);
     }
 
     @FXML
@@ -135,11 +147,13 @@ public class PresupuestosController {
         colAcciones.setCellFactory(col -> new TableCell<>() {
             private final Button btnEditar = new Button("Editar");
             private final Button btnPdf = new Button("PDF");
-            private final HBox box = new HBox(8, btnEditar, btnPdf);
+            private final Button btnImprimir = new Button("Imprimir");
+            private final HBox box = new HBox(8, btnEditar, btnPdf, btnImprimir);
 
             {
                 btnEditar.getStyleClass().add("tfx-icon-btn");
                 btnPdf.getStyleClass().add("tfx-icon-btn-secondary");
+                btnImprimir.getStyleClass().add("tfx-icon-btn-secondary");
 
                 btnEditar.setOnAction(e -> {
                     Budget budget = getItem();
@@ -154,6 +168,13 @@ public class PresupuestosController {
                         openPdf(budget.getId());
                     }
                 });
+
+                btnImprimir.setOnAction(e -> {
+                    Budget budget = getItem();
+                    if (budget != null) {
+                        printPdf(budget.getId());
+                    }
+                });
             }
 
             @Override
@@ -180,8 +201,8 @@ public class PresupuestosController {
             tblPresupuestos.setMinHeight(Region.USE_PREF_SIZE);
         });
 
-        smartTable.addColumnFilter(filterClienteField, (b, text) -> safe(b.getClienteNombre()).contains(text));
-        smartTable.addColumnFilter(filterVehiculoField, (b, text) -> safe(b.getVehiculoEtiqueta()).contains(text));
+        smartTable.addColumnFilter(filterClienteField, b -> b.getClienteNombre());
+        smartTable.addColumnFilter(filterVehiculoField, b -> b.getVehiculoEtiqueta());
 
         if (filterEstadoCombo != null) {
             filterEstadoCombo.setItems(FXCollections.observableArrayList("Todos", "Borrador", "Enviado", "Aceptado", "Rechazado"));
@@ -204,15 +225,33 @@ public class PresupuestosController {
             });
         }
 
+        rowPatcher = new RowPatcher<>(smartTable, masterData, Budget::getId, listBudgetsUseCase::findVisible)
+                .afterPatch(this::updateHeaderInfo);
+        DomainEventBus.getInstance().subscribe(this, BudgetSaved.class, PresupuestosController::onBudgetSaved);
+
         setupRowDoubleClick();
         loadBudgetsFromDb();
     }
 
+    private void onBudgetSaved(BudgetSaved event) {
+        rowPatcher.patch(event.budgetId());
+    }
+
+    @Override
+    public void refreshView() {
+        onRefrescar();
+    }
+
     @FXML
     private void onRefrescar() {
         loadBudgetsFromDb();
     }
 
+    @FXML
+    private void onExportarCsv() {
+        CsvExportDialog.show(tblPresupuestos.getScene().getWindow(), "Exportar presupuestos", "presupuestos", exportBudgetsUseCase::execute);
+    }
+
     @FXML
     private void onNuevoPresupuesto() {
         openPresupuestoForm(null);
@@ -236,33 +275,36 @@ public class PresupuestosController {
 
     private void loadBudgetsFromDb() {
         boolean isSuperAdmin = AuthContext.isSuperAdmin();
-        List<Budget> budgets;
-
-        if (isSuperAdmin) {
-            budgets = listBudgetsUseCase.listAllWithEmpresa();
-        } else {
-            long empresaId = SessionManager.getInstance().getCurrentEmpresaId();
-            budgets = listBudgetsUseCase.listByEmpresa(empresaId);
-        }
-
-        budgets.sort(Comparator.comparing(Budget::getFecha, Comparator.nullsLast(Comparator.reverseOrder())));
-        masterData.setAll(budgets);
-
-        if (isSuperAdmin && filterEmpresaCombo != null) {
-            var empresas = budgets.stream()
-                    .map(Budget::getEmpresaNombre)
-                    .filter(s -> s != null && !s.isBlank())
-                    .distinct()
-                    .sorted(String.CASE_INSENSITIVE_ORDER)
-                    .toList();
-
-            filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
-            filterEmpresaCombo.getItems().add(0, "Todas");
-            filterEmpresaCombo.getSelectionModel().select("Todas");
-        }
+        long empresaId = isSuperAdmin ? 0L : SessionManager.getInstance().getCurrentEmpresaId();
+
+        smartTable.getBackgroundLoader().load(() -> {
+            List<Budget> budgets = isSuperAdmin
+                    ? listBudgetsUseCase.listAllWithEmpresa()
+                    : listBudgetsUseCase.listByEmpresa(empresaId);
+            budgets.sort(Comparator.comparing(Budget::getFecha, Comparator.nullsLast(Comparator.reverseOrder())));
+            return budgets;
+        }, budgets -> {
+            masterData.setAll(budgets);
+
+            if (isSuperAdmin && filterEmpresaCombo != null) {
+                var empresas = budgets.stream()
+                        .map(Budget::getEmpresaNombre)
+                        .filter(s -> s != null && !s.isBlank())
+                        .distinct()
+                        .sorted(String.CASE_INSENSITIVE_ORDER)
+                        .toList();
+
+                filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
+                filterEmpresaCombo.getItems().add(0, "Todas");
+                filterEmpresaCombo.getSelectionModel().select("Todas");
+            }
 
-        smartTable.refresh();
+            smartTable.refresh();
+            updateHeaderInfo();
+        });
+    }
 
+    private void updateHeaderInfo() {
         if (lblHeaderInfo != null) {
             lblHeaderInfo.setText(masterData.size() + " presupuestos registrados");
         }
@@ -301,22 +343,38 @@ public class PresupuestosController {
             scene.getStylesheets().add(getClass().getResource("/styles/components.css").toExternalForm());
             stage.setScene(scene);
             stage.showAndWait();
-
-            if (controller.isSaved()) {
-                loadBudgetsFromDb();
-            }
         } catch (Exception ex) {
             ex.printStackTrace();
             new Alert(Alert.AlertType.ERROR, "No se pudo abrir el formulario de presupuesto: " + ex.getMessage()).showAndWait();
         }
     }
 
+    /**
+     * Genera el PDF con los datos actuales directamente en el fichero temporal que abre el
+     * visor del sistema, sin pasar por la cola ni por el almacenamiento de PDFs.
+     */
     private void openPdf(long budgetId) {
-        Path path = BudgetPdfStorage.resolvePath(budgetId);
-        if (!Files.exists(path)) {
-            new Alert(Alert.AlertType.WARNING, "No se encontró el PDF. Genera el presupuesto para crear el archivo.").showAndWait();
-            return;
-        }
+        pdfLoader.load(() -> DocumentPrinter.getInstance().preview(DocumentType.PRESUPUESTO, budgetId), file -> {
+            if (file.isEmpty()) {
+                new Alert(Alert.AlertType.WARNING, "No se encontró el PDF: el presupuesto ya no existe.").showAndWait();
+            } else {
+                openPdfFile(file.get());
+            }
+        });
+    }
+
+    /**
+     * Genera el PDF en memoria y lo manda a la impresora predeterminada.
+     */
+    private void printPdf(long budgetId) {
+        pdfLoader.load(() -> DocumentPrinter.getInstance().print(DocumentType.PRESUPUESTO, budgetId), printed -> {
+            if (!printed) {
+                new Alert(Alert.AlertType.WARNING, "No se pudo imprimir: el presupuesto ya no existe.").showAndWait();
+            }
+        });
+    }
+
+    private void openPdfFile(Path path) {
         try {
             if (Desktop.isDesktopSupported()) {
                 Desktop.getDesktop().open(path.toFile());
@@ -358,10 +416,6 @@ public class PresupuestosController {
         };
     }
 
-    private String safe(String value) {
-        return value == null ? "" : value.toLowerCase(Locale.getDefault());
-    }
-
     private String safeRaw(String value) {
         return value == null ? "" : value;
     }
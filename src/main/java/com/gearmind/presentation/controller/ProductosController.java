@@ -1,12 +1,18 @@
 package com.gearmind.presentation.controller;
 
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.application.common.SessionManager;
 import com.gearmind.application.product.ActivateProductUseCase;
 import com.gearmind.application.product.DeactivateProductUseCase;
+import com.gearmind.application.product.ImportProductsUseCase;
 import com.gearmind.application.product.ListProductsUseCase;
+import com.gearmind.domain.event.ProductChanged;
 import com.gearmind.domain.product.Product;
 import com.gearmind.infrastructure.product.MySqlProductRepository;
+import com.gearmind.presentation.dialog.CsvImportDialog;
+import com.gearmind.presentation.navigation.RefreshableView;
+import com.gearmind.presentation.table.RowPatcher;
 import com.gearmind.presentation.table.SmartTable;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
@@ -29,7 +35,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 
-public class ProductosController {
+public class ProductosController implements RefreshableView {
 
     @FXML
     private TableView<Product> tblProductos;
@@ -85,9 +91,11 @@ public class ProductosController {
     private final ListProductsUseCase listProductsUseCase;
     private final DeactivateProductUseCase deactivateProductUseCase;
     private final ActivateProductUseCase activateProductUseCase;
+    private final ImportProductsUseCase importProductsUseCase;
 
     private final ObservableList<Product> masterData = FXCollections.observableArrayList();
     private SmartTable<Product> smartTable;
+    private RowPatcher<Product> rowPatcher;
 
     private final DecimalFormat priceFormat = new DecimalFormat("#,##0.00", new DecimalFormatSymbols(Locale.getDefault()));
 
@@ -96,6 +104,7 @@ public class ProductosController {
         this.listProductsUseCase = new ListProductsUseCase(repo);
         this.deactivateProductUseCase = new DeactivateProductUseCase(repo);
         this.activateProductUseCase = new ActivateProductUseCase(repo);
+        this.importProductsUseCase = new ImportProductsUseCase(repo);
     }
 
     @FXML
@@ -267,9 +276,9 @@ public class ProductosController {
             tblProductos.setMinHeight(Region.USE_PREF_SIZE);
         });
 
-        smartTable.addColumnFilter(filterNombreField, (p, text) -> safe(p.getNombre()).contains(text));
-        smartTable.addColumnFilter(filterReferenciaField, (p, text) -> safe(p.getReferencia()).contains(text));
-        smartTable.addColumnFilter(filterCategoriaField, (p, text) -> safe(p.getCategoria()).contains(text));
+        smartTable.addColumnFilter(filterNombreField, p -> p.getNombre());
+        smartTable.addColumnFilter(filterReferenciaField, p -> p.getReferencia());
+        smartTable.addColumnFilter(filterCategoriaField, p -> p.getCategoria());
 
         if (filterEstadoCombo != null) {
             filterEstadoCombo.setItems(FXCollections.observableArrayList("Todos", "Activo", "Inactivo"));
@@ -292,39 +301,75 @@ public class ProductosController {
             });
         }
 
+        rowPatcher = new RowPatcher<>(smartTable, masterData, Product::getId, listProductsUseCase::findVisible)
+                .withMerge((previous, current) -> {
+                    if (current.getEmpresaNombre() == null) {
+                        current.setEmpresaNombre(previous.getEmpresaNombre());
+                    }
+                    return current;
+                })
+                .onInsert(this::insertProducto)
+                .afterPatch(this::updateHeaderInfo);
+        DomainEventBus.getInstance().subscribe(this, ProductChanged.class, ProductosController::onProductChanged);
+
         setupRowDoubleClick();
         loadProductosFromDb();
     }
 
-    private void loadProductosFromDb() {
-        boolean isSuperAdmin = AuthContext.isSuperAdmin();
+    private void onProductChanged(ProductChanged event) {
+        rowPatcher.patch(event.productId());
+    }
 
-        List<Product> productos;
-        if (isSuperAdmin) {
-            productos = listProductsUseCase.listAllWithEmpresa();
-        } else {
-            long empresaId = SessionManager.getInstance().getCurrentEmpresaId();
-            productos = listProductsUseCase.listByEmpresa(empresaId);
+    /**
+     * Un producto nuevo se coloca en su sitio por nombre. Para el SuperAdmin se recarga,
+     * porque la lectura por id no trae el nombre de la empresa que usa su filtro.
+     */
+    private void insertProducto(Product product) {
+        if (AuthContext.isSuperAdmin()) {
+            loadProductosFromDb();
+            return;
         }
-
-        productos.sort(Comparator.comparing(Product::getNombre, String.CASE_INSENSITIVE_ORDER));
-        masterData.setAll(productos);
-
-        if (isSuperAdmin && filterEmpresaCombo != null) {
-            var empresas = productos.stream()
-                    .map(Product::getEmpresaNombre)
-                    .filter(s -> s != null && !s.isBlank())
-                    .distinct()
-                    .sorted(String.CASE_INSENSITIVE_ORDER)
-                    .toList();
-
-            filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
-            filterEmpresaCombo.getItems().add(0, "Todas");
-            filterEmpresaCombo.getSelectionModel().select("Todas");
+        int index = 0;
+        while (index < masterData.size() && String.CASE_INSENSITIVE_ORDER.compare(masterData.get(index).getNombre(), product.getNombre()) <= 0) {
+            index++;
         }
-
+        masterData.add(index, product);
         smartTable.refresh();
+        updateHeaderInfo();
+    }
 
+    private void loadProductosFromDb() {
+        boolean isSuperAdmin = AuthContext.isSuperAdmin();
+        long empresaId = isSuperAdmin ? 0L : SessionManager.getInstance().getCurrentEmpresaId();
+
+        smartTable.getBackgroundLoader().load(() -> {
+            List<Product> productos = isSuperAdmin
+                    ? listProductsUseCase.listAllWithEmpresa()
+                    : listProductsUseCase.listByEmpresa(empresaId);
+            productos.sort(Comparator.comparing(Product::getNombre, String.CASE_INSENSITIVE_ORDER));
+            return productos;
+        }, productos -> {
+            masterData.setAll(productos);
+
+            if (isSuperAdmin && filterEmpresaCombo != null) {
+                var empresas = productos.stream()
+                        .map(Product::getEmpresaNombre)
+                        .filter(s -> s != null && !s.isBlank())
+                        .distinct()
+                        .sorted(String.CASE_INSENSITIVE_ORDER)
+                        .toList();
+
+                filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
+                filterEmpresaCombo.getItems().add(0, "Todas");
+                filterEmpresaCombo.getSelectionModel().select("Todas");
+            }
+
+            smartTable.refresh();
+            updateHeaderInfo();
+        });
+    }
+
+    private void updateHeaderInfo() {
         if (lblHeaderInfo != null) {
             lblHeaderInfo.setText(masterData.size() + " productos registrados");
         }
@@ -359,7 +404,6 @@ public class ProductosController {
         alert.showAndWait().ifPresent(btn -> {
             if (btn == ButtonType.OK) {
                 deactivateProductUseCase.deactivate(product.getId(), product.getEmpresaId());
-                loadProductosFromDb();
             }
         });
     }
@@ -373,7 +417,6 @@ public class ProductosController {
         alert.showAndWait().ifPresent(btn -> {
             if (btn == ButtonType.OK) {
                 activateProductUseCase.activate(product.getId(), product.getEmpresaId());
-                loadProductosFromDb();
             }
         });
     }
@@ -383,11 +426,21 @@ public class ProductosController {
         openProductoForm(null);
     }
 
+    @Override
+    public void refreshView() {
+        onRefrescar();
+    }
+
     @FXML
     private void onRefrescar() {
         loadProductosFromDb();
     }
 
+    @FXML
+    private void onImportarCsv() {
+        CsvImportDialog.show(tblProductos.getScene().getWindow(), "Importar productos", importProductsUseCase::execute, this::loadProductosFromDb);
+    }
+
     private void openProductoForm(Product product) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/ProductoFormView.fxml"));
@@ -410,11 +463,6 @@ public class ProductosController {
             stage.setResizable(false);
             stage.setScene(scene);
             stage.showAndWait();
-
-            if (controller.isSaved()) {
-                loadProductosFromDb();
-            }
-
         } catch (Exception e) {
             e.printStackTrace();
             new Alert(Alert.AlertType.ERROR, "No se pudo abrir el formulario.\n\n" + e.getMessage()).showAndWait();
@@ -444,10 +492,6 @@ public class ProductosController {
         smartTable.refresh();
     }
 
-    private String safe(String s) {
-        return s == null ? "" : s.toLowerCase(Locale.ROOT);
-    }
-
     private String safeRaw(String s) {
         return s == null ? "" : s;
     }
@@ -2,11 +2,10 @@ package com.gearmind.presentation.controller;
 
 import com.gearmind.application.repair.SaveRepairRequest;
 import com.gearmind.application.repair.SaveRepairUseCase;
-import com.gearmind.domain.customer.Customer;
+import com.gearmind.common.lookup.LookupItem;
 import com.gearmind.domain.customer.CustomerRepository;
 import com.gearmind.domain.repair.Repair;
 import com.gearmind.domain.repair.RepairStatus;
-import com.gearmind.domain.vehicle.Vehicle;
 import com.gearmind.domain.vehicle.VehicleRepository;
 import com.gearmind.infrastructure.customer.MySqlCustomerRepository;
 import com.gearmind.infrastructure.vehicle.MySqlVehicleRepository;
@@ -98,12 +97,12 @@ public class ReparacionFormController {
         }
 
         CustomerRepository customerRepository = new MySqlCustomerRepository();
-        List<Customer> customers = customerRepository.findByEmpresaId(empresaId);
+        List<LookupItem> customers = customerRepository.findLookupByEmpresaId(empresaId);
 
         allCustomers.clear();
-        for (Customer c : customers) {
-            String label = c.getNombre() + " (ID " + c.getId() + ")";
-            allCustomers.add(new CustomerOption(c.getId(), label));
+        for (LookupItem c : customers) {
+            String label = c.label() + " (ID " + c.id() + ")";
+            allCustomers.add(new CustomerOption(c.id(), label));
         }
 
         FilteredList<CustomerOption> filteredCustomers = new FilteredList<>(allCustomers, opt -> true);
@@ -184,11 +183,11 @@ public class ReparacionFormController {
         });
 
         VehicleRepository vehicleRepository = new MySqlVehicleRepository();
-        List<Vehicle> vehicles = vehicleRepository.findByEmpresaId(empresaId);
+        List<LookupItem> vehicles = vehicleRepository.findLookupByEmpresaId(empresaId);
         allVehicles.clear();
-        for (Vehicle v : vehicles) {
-            String label = buildVehicleLabel(v) + " (ID " + v.getId() + ")";
-            allVehicles.add(new VehicleOption(v.getId(), v.getClienteId(), label));
+        for (LookupItem v : vehicles) {
+            String label = v.label() + " (ID " + v.id() + ")";
+            allVehicles.add(new VehicleOption(v.id(), v.parentId(), label));
         }
 
         filteredVehicles = new FilteredList<>(allVehicles, opt -> true);
@@ -433,26 +432,6 @@ public class ReparacionFormController {
         };
     }
 
-    private String buildVehicleLabel(Vehicle vehicle) {
-        StringBuilder sb = new StringBuilder();
-        if (vehicle.getMatricula() != null && !vehicle.getMatricula().isBlank()) {
-            sb.append(vehicle.getMatricula());
-        }
-        if (vehicle.getMarca() != null && !vehicle.getMarca().isBlank()) {
-            if (sb.length() > 0) {
-                sb.append(" · ");
-            }
-            sb.append(vehicle.getMarca());
-        }
-        if (vehicle.getModelo() != null && !vehicle.getModelo().isBlank()) {
-            if (sb.length() > 0) {
-                sb.append(" ");
-            }
-            sb.append(vehicle.getModelo());
-        }
-        return sb.toString();
-    }
-
     private void close() {
         Stage stage = (Stage) lblTitulo.getScene().getWindow();
         stage.close();
@@ -1,13 +1,17 @@
 package com.gearmind.presentation.controller;
 
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.application.common.SessionManager;
 import com.gearmind.application.repair.ChangeRepairStatusUseCase;
 import com.gearmind.application.repair.ListRepairsUseCase;
 import com.gearmind.application.repair.SaveRepairUseCase;
+import com.gearmind.domain.event.RepairChanged;
 import com.gearmind.domain.repair.Repair;
 import com.gearmind.domain.repair.RepairStatus;
 import com.gearmind.infrastructure.repair.MySqlRepairRepository;
+import com.gearmind.presentation.navigation.RefreshableView;
+import com.gearmind.presentation.table.RowPatcher;
 import com.gearmind.presentation.table.SmartTable;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
@@ -31,7 +35,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
-public class ReparacionesController {
+public class ReparacionesController implements RefreshableView {
 
     @FXML
     private TableView<Repair> tblReparaciones;
@@ -78,6 +82,7 @@ public class ReparacionesController {
 
     private final ObservableList<Repair> masterData = FXCollections.observableArrayList();
     private SmartTable<Repair> smartTable;
+    private RowPatcher<Repair> rowPatcher;
 
     private final ListRepairsUseCase listRepairsUseCase;
     private final SaveRepairUseCase saveRepairUseCase;
@@ -220,10 +225,10 @@ public class ReparacionesController {
             tblReparaciones.setMaxHeight(Region.USE_PREF_SIZE);
         });
 
-        smartTable.addColumnFilter(filterClienteField, (r, text) -> safe(r.getClienteNombre()).contains(text));
-        smartTable.addColumnFilter(filterVehiculoField, (r, text) -> safe(vehicleLabel(r)).contains(text));
-        smartTable.addColumnFilter(filterCitaField, (r, text) -> safe(r.getCitaId() == null ? "" : String.valueOf(r.getCitaId())).contains(text));
-        smartTable.addColumnFilter(filterDescripcionField, (r, text) -> safe(r.getDescripcion()).contains(text));
+        smartTable.addColumnFilter(filterClienteField, r -> r.getClienteNombre());
+        smartTable.addColumnFilter(filterVehiculoField, r -> vehicleLabel(r));
+        smartTable.addColumnFilter(filterCitaField, r -> r.getCitaId() == null ? "" : String.valueOf(r.getCitaId()));
+        smartTable.addColumnFilter(filterDescripcionField, r -> r.getDescripcion());
 
         if (filterEstadoCombo != null) {
             filterEstadoCombo.getItems().clear();
@@ -250,15 +255,28 @@ public class ReparacionesController {
             });
         }
 
+        rowPatcher = new RowPatcher<>(smartTable, masterData, Repair::getId, listRepairsUseCase::findVisible)
+                .afterPatch(this::updateHeaderInfo);
+        DomainEventBus.getInstance().subscribe(this, RepairChanged.class, ReparacionesController::onRepairChanged);
+
         setupRowDoubleClick();
         loadRepairsFromDb();
     }
 
+    private void onRepairChanged(RepairChanged event) {
+        rowPatcher.patch(event.repairId());
+    }
+
     @FXML
     private void onNuevaReparacion() {
         openReparacionForm(null);
     }
 
+    @Override
+    public void refreshView() {
+        onRefrescar();
+    }
+
     @FXML
     private void onRefrescar() {
         loadRepairsFromDb();
@@ -290,19 +308,27 @@ public class ReparacionesController {
     }
 
     private void loadRepairsFromDb() {
-        List<Repair> repairs = listRepairsUseCase.execute();
-        repairs.sort(Comparator.comparing(r -> Optional.ofNullable(r.getCreatedAt()).orElse(java.time.LocalDateTime.MIN), Comparator.reverseOrder()));
-        masterData.setAll(repairs);
-
-        if (AuthContext.isSuperAdmin() && filterEmpresaCombo != null) {
-            var empresas = repairs.stream().map(Repair::getEmpresaNombre).filter(s -> s != null && !s.isBlank()).distinct().sorted(String.CASE_INSENSITIVE_ORDER).toList();
-            filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
-            filterEmpresaCombo.getItems().add(0, "Todas");
-            filterEmpresaCombo.getSelectionModel().select("Todas");
-        }
+        boolean isSuperAdmin = AuthContext.isSuperAdmin();
+        smartTable.getBackgroundLoader().load(() -> {
+            List<Repair> repairs = listRepairsUseCase.execute();
+            repairs.sort(Comparator.comparing(r -> Optional.ofNullable(r.getCreatedAt()).orElse(java.time.LocalDateTime.MIN), Comparator.reverseOrder()));
+            return repairs;
+        }, repairs -> {
+            masterData.setAll(repairs);
+
+            if (isSuperAdmin && filterEmpresaCombo != null) {
+                var empresas = repairs.stream().map(Repair::getEmpresaNombre).filter(s -> s != null && !s.isBlank()).distinct().sorted(String.CASE_INSENSITIVE_ORDER).toList();
+                filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
+                filterEmpresaCombo.getItems().add(0, "Todas");
+                filterEmpresaCombo.getSelectionModel().select("Todas");
+            }
 
-        smartTable.refresh();
+            smartTable.refresh();
+            updateHeaderInfo();
+        });
+    }
 
+    private void updateHeaderInfo() {
         if (lblHeaderInfo != null) {
             lblHeaderInfo.setText(masterData.size() + " reparaciones registradas");
         }
@@ -340,11 +366,6 @@ public class ReparacionesController {
             scene.getStylesheets().add(getClass().getResource("/styles/components.css").toExternalForm());
             stage.setScene(scene);
             stage.showAndWait();
-
-            if (controller.isSaved()) {
-                loadRepairsFromDb();
-            }
-
         } catch (Exception ex) {
             ex.printStackTrace();
             new Alert(Alert.AlertType.ERROR, "No se pudo abrir el formulario: " + ex.getMessage()).showAndWait();
@@ -375,7 +396,6 @@ public class ReparacionesController {
             try {
                 long empresaId = repair.getEmpresaId();
                 changeRepairStatusUseCase.execute(repair.getId(), empresaId, newStatus);
-                loadRepairsFromDb();
             } catch (Exception ex) {
                 new Alert(Alert.AlertType.ERROR, "No se pudo actualizar el estado: " + ex.getMessage()).showAndWait();
             }
@@ -440,10 +460,6 @@ public class ReparacionesController {
         return "";
     }
 
-    private String safe(String value) {
-        return value == null ? "" : value.toLowerCase(Locale.ROOT);
-    }
-
     private String safeRaw(String value) {
         return value == null ? "" : value;
     }
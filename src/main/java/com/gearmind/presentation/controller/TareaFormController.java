@@ -3,7 +3,7 @@ package com.gearmind.presentation.controller;
 import com.gearmind.application.common.AuthContext;
 import com.gearmind.application.task.SaveTaskRequest;
 import com.gearmind.application.task.SaveTaskUseCase;
-import com.gearmind.domain.repair.Repair;
+import com.gearmind.common.lookup.LookupItem;
 import com.gearmind.domain.task.Task;
 import com.gearmind.domain.task.TaskStatus;
 import com.gearmind.domain.user.User;
@@ -406,20 +406,14 @@ public class TareaFormController {
         }
 
         MySqlRepairRepository repairRepository = new MySqlRepairRepository();
-        List<Repair> repairs = repairRepository.findByEmpresa(empresaId);
-        for (Repair repair : repairs) {
-            String label = buildRepairLabel(repair);
-            allRepairs.add(new RepairOption(repair.getId(), label));
+        for (LookupItem repair : repairRepository.findLookupByEmpresa(empresaId)) {
+            allRepairs.add(new RepairOption(repair.id(), repair.label()));
         }
 
         MySqlUserRepository userRepository = new MySqlUserRepository();
-        List<User> users = userRepository.findByEmpresaId(empresaId);
         allEmployees.add(new EmployeeOption(null, "Sin asignar"));
-        for (User user : users) {
-            if (user.getRol() != UserRole.EMPLEADO) {
-                continue;
-            }
-            allEmployees.add(new EmployeeOption(user.getId(), user.getNombre() + " (ID " + user.getId() + ")"));
+        for (LookupItem user : userRepository.findLookupByEmpresaId(empresaId, UserRole.EMPLEADO)) {
+            allEmployees.add(new EmployeeOption(user.id(), user.label() + " (ID " + user.id() + ")"));
         }
 
         if (AuthContext.isEmpleado()) {
@@ -501,32 +495,6 @@ public class TareaFormController {
         }
     }
 
-    private String buildRepairLabel(Repair repair) {
-        StringBuilder sb = new StringBuilder();
-        if (repair.getId() != null) {
-            sb.append("#").append(repair.getId());
-        }
-        if (repair.getClienteNombre() != null && !repair.getClienteNombre().isBlank()) {
-            if (sb.length() > 0) {
-                sb.append(" · ");
-            }
-            sb.append(repair.getClienteNombre());
-        }
-        if (repair.getVehiculoEtiqueta() != null && !repair.getVehiculoEtiqueta().isBlank()) {
-            if (sb.length() > 0) {
-                sb.append(" · ");
-            }
-            sb.append(repair.getVehiculoEtiqueta());
-        }
-        if (repair.getDescripcion() != null && !repair.getDescripcion().isBlank()) {
-            if (sb.length() > 0) {
-                sb.append(" · ");
-            }
-            sb.append(repair.getDescripcion());
-        }
-        return sb.toString();
-    }
-
     private List<EmpresaOption> fetchEmpresas() {
         var repo = new com.gearmind.infrastructure.company.MySqlEmpresaRepository();
         return repo.findAll().stream().map(c -> new EmpresaOption(c.getId(), c.getNombre())).toList();
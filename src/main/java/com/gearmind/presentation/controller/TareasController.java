@@ -1,11 +1,13 @@
 package com.gearmind.presentation.controller;
 
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.application.common.DomainEventBus;
 import com.gearmind.application.task.AssignTaskUseCase;
 import com.gearmind.application.task.ChangeTaskStatusUseCase;
 import com.gearmind.application.task.ListTasksUseCase;
 import com.gearmind.application.task.SaveTaskUseCase;
 import com.gearmind.application.task.SetTaskPriorityUseCase;
+import com.gearmind.domain.event.TaskChanged;
 import com.gearmind.domain.task.Task;
 import com.gearmind.domain.task.TaskPriority;
 import com.gearmind.domain.task.TaskStatus;
@@ -13,6 +15,8 @@ import com.gearmind.domain.user.User;
 import com.gearmind.domain.user.UserRole;
 import com.gearmind.infrastructure.auth.MySqlUserRepository;
 import com.gearmind.infrastructure.task.MySqlTaskRepository;
+import com.gearmind.presentation.navigation.RefreshableView;
+import com.gearmind.presentation.table.RowPatcher;
 import com.gearmind.presentation.table.SmartTable;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
@@ -30,10 +34,9 @@ import javafx.stage.Stage;
 
 import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 
-public class TareasController {
+public class TareasController implements RefreshableView {
 
     @FXML
     private TableView<Task> tblTareas;
@@ -82,6 +85,7 @@ public class TareasController {
 
     private final ObservableList<Task> masterData = FXCollections.observableArrayList();
     private SmartTable<Task> smartTable;
+    private RowPatcher<Task> rowPatcher;
 
     private final ListTasksUseCase listTasksUseCase;
     private final SaveTaskUseCase saveTaskUseCase;
@@ -294,10 +298,10 @@ public class TareasController {
             tblTareas.setMaxHeight(Region.USE_PREF_SIZE);
         });
 
-        smartTable.addColumnFilter(filterClienteField, (t, text) -> safe(t.getClienteNombre()).contains(text));
-        smartTable.addColumnFilter(filterVehiculoField, (t, text) -> safe(t.getVehiculoMatricula()).contains(text));
-        smartTable.addColumnFilter(filterProductosField, (t, text) -> safe(t.getRepairDescripcion()).contains(text));
-        smartTable.addColumnFilter(filterEmpleadoField, (t, text) -> safe(employeeLabel(t)).contains(text));
+        smartTable.addColumnFilter(filterClienteField, t -> t.getClienteNombre());
+        smartTable.addColumnFilter(filterVehiculoField, t -> t.getVehiculoMatricula());
+        smartTable.addColumnFilter(filterProductosField, t -> t.getRepairDescripcion());
+        smartTable.addColumnFilter(filterEmpleadoField, t -> employeeLabel(t));
 
         if (filterEstadoCombo != null) {
             filterEstadoCombo.getItems().clear();
@@ -340,15 +344,28 @@ public class TareasController {
             });
         }
 
+        rowPatcher = new RowPatcher<>(smartTable, masterData, Task::getId, listTasksUseCase::findVisible)
+                .afterPatch(this::updateHeaderInfo);
+        DomainEventBus.getInstance().subscribe(this, TaskChanged.class, TareasController::onTaskChanged);
+
         setupRowDoubleClick();
         loadTasksFromDb();
     }
 
+    private void onTaskChanged(TaskChanged event) {
+        rowPatcher.patch(event.taskId());
+    }
+
     @FXML
     private void onNuevaTarea() {
         openTaskForm(null);
     }
 
+    @Override
+    public void refreshView() {
+        onRefrescar();
+    }
+
     @FXML
     private void onRefrescar() {
         loadTasksFromDb();
@@ -383,19 +400,27 @@ public class TareasController {
     }
 
     private void loadTasksFromDb() {
-        List<Task> tasks = listTasksUseCase.execute();
-        tasks.sort(Comparator.comparing(t -> Optional.ofNullable(t.getCreatedAt()).orElse(java.time.LocalDateTime.MIN), Comparator.reverseOrder()));
-        masterData.setAll(tasks);
-
-        if (AuthContext.isSuperAdmin() && filterEmpresaCombo != null) {
-            var empresas = tasks.stream().map(Task::getEmpresaNombre).filter(s -> s != null && !s.isBlank()).distinct().sorted(String.CASE_INSENSITIVE_ORDER).toList();
-            filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
-            filterEmpresaCombo.getItems().add(0, "Todas");
-            filterEmpresaCombo.getSelectionModel().select("Todas");
-        }
+        boolean isSuperAdmin = AuthContext.isSuperAdmin();
+        smartTable.getBackgroundLoader().load(() -> {
+            List<Task> tasks = listTasksUseCase.execute();
+            tasks.sort(Comparator.comparing(t -> Optional.ofNullable(t.getCreatedAt()).orElse(java.time.LocalDateTime.MIN), Comparator.reverseOrder()));
+            return tasks;
+        }, tasks -> {
+            masterData.setAll(tasks);
+
+            if (isSuperAdmin && filterEmpresaCombo != null) {
+                var empresas = tasks.stream().map(Task::getEmpresaNombre).filter(s -> s != null && !s.isBlank()).distinct().sorted(String.CASE_INSENSITIVE_ORDER).toList();
+                filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
+                filterEmpresaCombo.getItems().add(0, "Todas");
+                filterEmpresaCombo.getSelectionModel().select("Todas");
+            }
 
-        smartTable.refresh();
+            smartTable.refresh();
+            updateHeaderInfo();
+        });
+    }
 
+    private void updateHeaderInfo() {
         if (lblHeaderInfo != null) {
             lblHeaderInfo.setText(masterData.size() + " tareas registradas");
         }
@@ -430,11 +455,6 @@ public class TareasController {
             scene.getStylesheets().add(getClass().getResource("/styles/components.css").toExternalForm());
             stage.setScene(scene);
             stage.showAndWait();
-
-            if (controller.isSaved()) {
-                loadTasksFromDb();
-            }
-
         } catch (Exception ex) {
             ex.printStackTrace();
             new Alert(Alert.AlertType.ERROR, "No se pudo abrir el formulario: " + ex.getMessage()).showAndWait();
@@ -470,7 +490,6 @@ public class TareasController {
             try {
                 long empresaId = task.getEmpresaId();
                 changeTaskStatusUseCase.execute(task.getId(), empresaId, newStatus);
-                loadTasksFromDb();
             } catch (Exception ex) {
                 new Alert(Alert.AlertType.ERROR, "No se pudo actualizar el estado: " + ex.getMessage()).showAndWait();
             }
@@ -518,7 +537,6 @@ public class TareasController {
             }
             try {
                 assignTaskUseCase.execute(task.getId(), empresaId, chosen.id);
-                loadTasksFromDb();
             } catch (Exception ex) {
                 new Alert(Alert.AlertType.ERROR, "No se pudo asignar la tarea: " + ex.getMessage()).showAndWait();
             }
@@ -549,7 +567,6 @@ public class TareasController {
             try {
                 long empresaId = task.getEmpresaId();
                 setTaskPriorityUseCase.execute(task.getId(), empresaId, newPriority);
-                loadTasksFromDb();
             } catch (Exception ex) {
                 new Alert(Alert.AlertType.ERROR, "No se pudo actualizar la prioridad: " + ex.getMessage()).showAndWait();
             }
@@ -649,13 +666,6 @@ public class TareasController {
         };
     }
 
-    private String safe(String value) {
-        if (value == null) {
-            return "";
-        }
-        return value.toLowerCase(Locale.ROOT);
-    }
-
     private String safeRaw(String value) {
         return value == null ? "" : value.trim();
     }
@@ -8,6 +8,7 @@ import com.gearmind.domain.user.User;
 import com.gearmind.domain.user.UserRole;
 import com.gearmind.infrastructure.database.DataSourceFactory;
 import com.gearmind.infrastructure.auth.MySqlUserRepository;
+import com.gearmind.presentation.navigation.RefreshableView;
 import com.gearmind.presentation.table.SmartTable;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
@@ -30,7 +31,7 @@ import java.sql.ResultSet;
 import java.util.*;
 import java.util.stream.Collectors;
 
-public class UsuariosController {
+public class UsuariosController implements RefreshableView {
 
     @FXML
     private TableView<User> tblUsuarios;
@@ -186,8 +187,8 @@ public class UsuariosController {
             tblUsuarios.setMinHeight(Region.USE_PREF_SIZE);
         });
 
-        smartTable.addColumnFilter(filterNombreField, (u, text) -> safe(u.getNombre()).contains(text));
-        smartTable.addColumnFilter(filterEmailField, (u, text) -> safe(u.getEmail()).contains(text));
+        smartTable.addColumnFilter(filterNombreField, u -> u.getNombre());
+        smartTable.addColumnFilter(filterEmailField, u -> u.getEmail());
 
         if (filterRolCombo != null) {
             filterRolCombo.setItems(FXCollections.observableArrayList("Todos", UserRole.SUPER_ADMIN.name(), UserRole.ADMIN.name(), UserRole.EMPLEADO.name()));
@@ -310,6 +311,11 @@ public class UsuariosController {
         openUsuarioForm(null);
     }
 
+    @Override
+    public void refreshView() {
+        onRefrescar();
+    }
+
     @FXML
     private void onRefrescar() {
         if (AuthContext.isEmpleado()) {
@@ -389,30 +395,32 @@ public class UsuariosController {
     }
 
     private void cargarUsuarios() {
-        masterData.clear();
         boolean isSuperAdmin = AuthContext.isSuperAdmin();
+        List<Long> empresaIds;
 
         if (!isSuperAdmin) {
-            long empresaId = SessionManager.getInstance().getCurrentEmpresaId();
-            masterData.setAll(listUsersUseCase.listByEmpresa(empresaId));
-            smartTable.refresh();
-            return;
-        }
-        String selectedEmpresa = (filterEmpresaCombo != null) ? filterEmpresaCombo.getValue() : "Todas";
-
-        if (selectedEmpresa == null || "Todas".equalsIgnoreCase(selectedEmpresa)) {
-            for (Long empId : empresaIdsOrdenadas) {
-                masterData.addAll(listUsersUseCase.listByEmpresa(empId));
-            }
+            empresaIds = List.of(SessionManager.getInstance().getCurrentEmpresaId());
         } else {
-            Long empId = empresaNombreById.entrySet().stream().filter(e -> e.getValue().equalsIgnoreCase(selectedEmpresa)).map(Map.Entry::getKey).findFirst().orElse(null);
+            String selectedEmpresa = (filterEmpresaCombo != null) ? filterEmpresaCombo.getValue() : "Todas";
 
-            if (empId != null) {
-                masterData.addAll(listUsersUseCase.listByEmpresa(empId));
+            if (selectedEmpresa == null || "Todas".equalsIgnoreCase(selectedEmpresa)) {
+                empresaIds = List.copyOf(empresaIdsOrdenadas);
+            } else {
+                Long empId = empresaNombreById.entrySet().stream().filter(e -> e.getValue().equalsIgnoreCase(selectedEmpresa)).map(Map.Entry::getKey).findFirst().orElse(null);
+                empresaIds = empId != null ? List.of(empId) : List.of();
             }
         }
 
-        smartTable.refresh();
+        smartTable.getBackgroundLoader().load(() -> {
+            List<User> users = new ArrayList<>();
+            for (Long empId : empresaIds) {
+                users.addAll(listUsersUseCase.listByEmpresa(empId));
+            }
+            return users;
+        }, users -> {
+            masterData.setAll(users);
+            smartTable.refresh();
+        });
     }
 
     private void cargarEmpresasCache() {
@@ -432,8 +440,4 @@ public class UsuariosController {
             throw new RuntimeException("No se pudieron cargar las empresas", ex);
         }
     }
-
-    private String safe(String value) {
-        return value == null ? "" : value.toLowerCase(Locale.ROOT);
-    }
 }
@@ -6,7 +6,7 @@ import com.gearmind.application.vehicle.SaveVehicleRequest;
 import com.gearmind.application.vehicle.SaveVehicleUseCase;
 import com.gearmind.common.exception.DuplicateException;
 import com.gearmind.common.exception.ValidationException;
-import com.gearmind.domain.customer.Customer;
+import com.gearmind.common.lookup.LookupItem;
 import com.gearmind.domain.customer.CustomerRepository;
 import com.gearmind.domain.vehicle.Vehicle;
 import com.gearmind.domain.vehicle.VehicleRepository;
@@ -38,7 +38,7 @@ public class VehiculoFormController {
     @FXML
     private ComboBox<EmpresaOption> cmbEmpresa;
     @FXML
-    private ComboBox<Customer> cmbCliente;
+    private ComboBox<LookupItem> cmbCliente;
     @FXML
     private TextField txtMatricula;
     @FXML
@@ -77,25 +77,23 @@ public class VehiculoFormController {
 
         cmbCliente.setCellFactory(cb -> new ListCell<>() {
             @Override
-            protected void updateItem(Customer item, boolean empty) {
+            protected void updateItem(LookupItem item, boolean empty) {
                 super.updateItem(item, empty);
                 if (empty || item == null) {
                     setText(null);
                 } else {
-                    String tel = item.getTelefono() != null ? item.getTelefono() : "";
-                    setText(item.getNombre() + (tel.isBlank() ? "" : " (" + tel + ")"));
+                    setText(item.label() + " (ID " + item.id() + ")");
                 }
             }
         });
         cmbCliente.setButtonCell(new ListCell<>() {
             @Override
-            protected void updateItem(Customer item, boolean empty) {
+            protected void updateItem(LookupItem item, boolean empty) {
                 super.updateItem(item, empty);
                 if (empty || item == null) {
                     setText(null);
                 } else {
-                    String tel = item.getTelefono() != null ? item.getTelefono() : "";
-                    setText(item.getNombre() + (tel.isBlank() ? "" : " (" + tel + ")"));
+                    setText(item.label() + " (ID " + item.id() + ")");
                 }
             }
         });
@@ -205,8 +203,7 @@ public class VehiculoFormController {
     }
 
     private void loadClientesByEmpresa(long empresaId) {
-        List<Customer> customers = customerRepository.findByEmpresaId(empresaId);
-        cmbCliente.getItems().setAll(customers);
+        cmbCliente.getItems().setAll(customerRepository.findLookupByEmpresaId(empresaId));
     }
 
     private void selectClienteFromVehicle(Vehicle v) {
@@ -214,8 +211,8 @@ public class VehiculoFormController {
             return;
         }
 
-        for (Customer c : cmbCliente.getItems()) {
-            if (c != null && c.getId() == v.getClienteId()) {
+        for (LookupItem c : cmbCliente.getItems()) {
+            if (c != null && c.id() == v.getClienteId()) {
                 cmbCliente.getSelectionModel().select(c);
                 break;
             }
@@ -243,7 +240,7 @@ public class VehiculoFormController {
                 empresaId = SessionManager.getInstance().getCurrentEmpresaId();
             }
 
-            Customer cliente = cmbCliente.getValue();
+            LookupItem cliente = cmbCliente.getValue();
             if (cliente == null) {
                 showWarning("Debe seleccionar un cliente.");
                 return;
@@ -254,7 +251,7 @@ public class VehiculoFormController {
                 req.setId(currentVehicle.getId());
             }
             req.setEmpresaId(empresaId);
-            req.setClienteId(cliente.getId());
+            req.setClienteId(cliente.id());
             req.setMatricula(txtMatricula.getText());
             req.setMarca(txtMarca.getText());
             req.setModelo(txtModelo.getText());
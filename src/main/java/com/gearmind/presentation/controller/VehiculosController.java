@@ -1,9 +1,16 @@
 package com.gearmind.presentation.controller;
 
 import com.gearmind.application.common.AuthContext;
+import com.gearmind.application.common.DomainEventBus;
+import com.gearmind.application.vehicle.ImportVehiclesUseCase;
 import com.gearmind.application.vehicle.ListVehiclesUseCase;
+import com.gearmind.domain.event.VehicleChanged;
 import com.gearmind.domain.vehicle.Vehicle;
+import com.gearmind.infrastructure.customer.MySqlCustomerRepository;
 import com.gearmind.infrastructure.vehicle.MySqlVehicleRepository;
+import com.gearmind.presentation.dialog.CsvImportDialog;
+import com.gearmind.presentation.navigation.RefreshableView;
+import com.gearmind.presentation.table.RowPatcher;
 import com.gearmind.presentation.table.SmartTable;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
@@ -22,10 +29,9 @@ import javafx.stage.Stage;
 
 import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Objects;
 
-public class VehiculosController {
+public class VehiculosController implements RefreshableView {
 
     @FXML
     private TableView<Vehicle> tblVehiculos;
@@ -70,11 +76,15 @@ public class VehiculosController {
 
     private final ObservableList<Vehicle> masterData = FXCollections.observableArrayList();
     private SmartTable<Vehicle> smartTable;
+    private RowPatcher<Vehicle> rowPatcher;
 
     private final ListVehiclesUseCase listVehiclesUseCase;
+    private final ImportVehiclesUseCase importVehiclesUseCase;
 
     public VehiculosController() {
-        this.listVehiclesUseCase = new ListVehiclesUseCase(new MySqlVehicleRepository());
+        MySqlVehicleRepository repo = new MySqlVehicleRepository();
+        this.listVehiclesUseCase = new ListVehiclesUseCase(repo);
+        this.importVehiclesUseCase = new ImportVehiclesUseCase(repo, new MySqlCustomerRepository());
     }
 
     @FXML
@@ -187,11 +197,14 @@ public class VehiculosController {
             tblVehiculos.setMinHeight(Region.USE_PREF_SIZE);
         });
 
-        smartTable.addColumnFilter(filterClienteField, (v, text) -> safe(v.getClienteNombre()).contains(text));
-        smartTable.addColumnFilter(filterMatriculaField, (v, text) -> safe(v.getMatricula()).contains(text));
-        smartTable.addColumnFilter(filterMarcaField, (v, text) -> safe(v.getMarca()).contains(text));
-        smartTable.addColumnFilter(filterModeloField, (v, text) -> safe(v.getModelo()).contains(text));
-        smartTable.addColumnFilter(filterVinField, (v, text) -> safe(v.getVin()).contains(text));
+        smartTable.addColumnFilter(filterClienteField, v -> v.getClienteNombre());
+        smartTable.addColumnFilter(filterMatriculaField, v -> v.getMatricula());
+        smartTable.addColumnFilter(filterMarcaField, v -> v.getMarca());
+        smartTable.addColumnFilter(filterModeloField, v -> v.getModelo());
+        smartTable.addColumnFilter(filterVinField, v -> v.getVin());
+        smartTable.enableSearchIndex(filterClienteField);
+        smartTable.enableSearchIndex(filterMatriculaField);
+        smartTable.enableSearchIndex(filterVinField);
 
         smartTable.addColumnFilter(filterYearField, (v, text) -> {
             String q = (text == null ? "" : text.trim());
@@ -241,25 +254,54 @@ public class VehiculosController {
             });
         }
 
+        rowPatcher = new RowPatcher<>(smartTable, masterData, Vehicle::getId, listVehiclesUseCase::findVisible)
+                .onInsert(this::insertVehiculo)
+                .afterPatch(this::updateTotalVehiculos);
+        DomainEventBus.getInstance().subscribe(this, VehicleChanged.class, VehiculosController::onVehicleChanged);
+
         setupRowDoubleClick();
         loadVehiculosFromDb();
     }
 
-    private void loadVehiculosFromDb() {
-        boolean isSuperAdmin = AuthContext.isSuperAdmin();
-        List<Vehicle> vehiculos = listVehiclesUseCase.execute();
-        vehiculos.sort(Comparator.comparing(Vehicle::getMatricula, String.CASE_INSENSITIVE_ORDER));
-        masterData.setAll(vehiculos);
+    private void onVehicleChanged(VehicleChanged event) {
+        rowPatcher.patch(event.vehicleId());
+    }
 
-        if (isSuperAdmin && filterEmpresaCombo != null) {
-            var empresas = vehiculos.stream().map(Vehicle::getEmpresaNombre).filter(s -> s != null && !s.isBlank()).distinct().sorted(String.CASE_INSENSITIVE_ORDER).toList();
-            filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
-            filterEmpresaCombo.getItems().add(0, "Todas");
-            filterEmpresaCombo.getSelectionModel().select("Todas");
+    /**
+     * Un vehículo nuevo se coloca en su sitio por matrícula, como en la carga completa.
+     */
+    private void insertVehiculo(Vehicle vehiculo) {
+        int index = 0;
+        while (index < masterData.size() && String.CASE_INSENSITIVE_ORDER.compare(masterData.get(index).getMatricula(), vehiculo.getMatricula()) <= 0) {
+            index++;
         }
-
+        masterData.add(index, vehiculo);
         smartTable.refresh();
+        updateTotalVehiculos();
+    }
+
+    private void loadVehiculosFromDb() {
+        boolean isSuperAdmin = AuthContext.isSuperAdmin();
+        smartTable.getBackgroundLoader().load(() -> {
+            List<Vehicle> vehiculos = listVehiclesUseCase.execute();
+            vehiculos.sort(Comparator.comparing(Vehicle::getMatricula, String.CASE_INSENSITIVE_ORDER));
+            return vehiculos;
+        }, vehiculos -> {
+            masterData.setAll(vehiculos);
+
+            if (isSuperAdmin && filterEmpresaCombo != null) {
+                var empresas = vehiculos.stream().map(Vehicle::getEmpresaNombre).filter(s -> s != null && !s.isBlank()).distinct().sorted(String.CASE_INSENSITIVE_ORDER).toList();
+                filterEmpresaCombo.setItems(FXCollections.observableArrayList(empresas));
+                filterEmpresaCombo.getItems().add(0, "Todas");
+                filterEmpresaCombo.getSelectionModel().select("Todas");
+            }
+
+            smartTable.refresh();
+            updateTotalVehiculos();
+        });
+    }
 
+    private void updateTotalVehiculos() {
         if (lblTotalVehiculos != null) {
             int total = masterData.size();
             lblTotalVehiculos.setText(total + (total == 1 ? " vehículo registrado" : " vehículos registrados"));
@@ -271,11 +313,21 @@ public class VehiculosController {
         openVehiculoForm(null);
     }
 
+    @Override
+    public void refreshView() {
+        onRefrescar();
+    }
+
     @FXML
     private void onRefrescar() {
         loadVehiculosFromDb();
     }
 
+    @FXML
+    private void onImportarCsv() {
+        CsvImportDialog.show(tblVehiculos.getScene().getWindow(), "Importar vehículos", importVehiclesUseCase::execute, this::loadVehiculosFromDb);
+    }
+
     @FXML
     private void onLimpiarFiltros() {
         if (filterClienteField != null) {
@@ -310,7 +362,6 @@ public class VehiculosController {
             Parent root = loader.load();
             VehiculoFormController controller = loader.getController();
             controller.setVehicle(vehiculo);
-            controller.setOnSaved(this::loadVehiculosFromDb);
             Stage stage = new Stage();
             stage.initOwner(tblVehiculos.getScene().getWindow());
             stage.initModality(Modality.WINDOW_MODAL);
@@ -340,10 +391,6 @@ public class VehiculosController {
         });
     }
 
-    private String safe(String s) {
-        return s == null ? "" : s.toLowerCase(Locale.ROOT);
-    }
-
     private String safeRaw(String s) {
         return s == null ? "" : s;
     }
@@ -0,0 +1,96 @@
+package com.gearmind.presentation.dialog;
+
+import javafx.concurrent.Task;
+import javafx.scene.Cursor;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ChoiceDialog;
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Flujo común de "Exportar CSV" por año: elegir empresa (sólo SuperAdmin), año y fichero destino,
+ * y exportar en segundo plano escribiendo directamente en el fichero.
+ */
+public final class CsvExportDialog {
+
+    private static final int YEARS_BACK = 10;
+
+    @FunctionalInterface
+    public interface ExportJob {
+
+        long run(long empresaId, LocalDate from, LocalDate to, OutputStream out) throws IOException;
+    }
+
+    private CsvExportDialog() {
+    }
+
+    public static void show(Window owner, String title, String filePrefix, ExportJob job) {
+        Optional<Long> empresaId = EmpresaPicker.pick(title, "¿De qué empresa quieres exportar?");
+        if (empresaId.isEmpty()) {
+            return;
+        }
+
+        int currentYear = Year.now().getValue();
+        List<Integer> years = IntStream.rangeClosed(0, YEARS_BACK).mapToObj(i -> currentYear - i).toList();
+        ChoiceDialog<Integer> yearDialog = new ChoiceDialog<>(currentYear, years);
+        yearDialog.initOwner(owner);
+        yearDialog.setTitle(title);
+        yearDialog.setHeaderText("Año a exportar");
+        Optional<Integer> year = yearDialog.showAndWait();
+        if (year.isEmpty()) {
+            return;
+        }
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.setInitialFileName(filePrefix + "_" + year.get() + ".csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File file = chooser.showSaveDialog(owner);
+        if (file == null) {
+            return;
+        }
+
+        LocalDate from = LocalDate.of(year.get(), 1, 1);
+        LocalDate to = from.plusYears(1);
+
+        Task<Long> task = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                try (OutputStream out = Files.newOutputStream(file.toPath())) {
+                    return job.run(empresaId.get(), from, to, out);
+                }
+            }
+        };
+
+        Cursor previousCursor = owner.getScene().getCursor();
+        owner.getScene().setCursor(Cursor.WAIT);
+        task.setOnSucceeded(e -> {
+            owner.getScene().setCursor(previousCursor);
+            Alert alert = new Alert(Alert.AlertType.INFORMATION, String.format("Se han exportado %d filas a %s.", task.getValue(), file.getName()));
+            alert.initOwner(owner);
+            alert.setTitle(title);
+            alert.setHeaderText(null);
+            alert.show();
+        });
+        task.setOnFailed(e -> {
+            owner.getScene().setCursor(previousCursor);
+            Alert alert = new Alert(Alert.AlertType.ERROR, "No se pudo exportar: " + task.getException().getMessage());
+            alert.initOwner(owner);
+            alert.show();
+        });
+
+        Thread worker = new Thread(task, "csv-export");
+        worker.setDaemon(true);
+        worker.start();
+    }
+}
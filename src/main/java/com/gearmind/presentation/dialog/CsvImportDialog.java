@@ -0,0 +1,138 @@
+package com.gearmind.presentation.dialog;
+
+import com.gearmind.application.importing.CsvFiles;
+import com.gearmind.application.importing.ImportOptions;
+import com.gearmind.application.importing.ImportProgress;
+import com.gearmind.application.importing.ImportReport;
+import com.gearmind.application.importing.ImportRowError;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import javafx.stage.Window;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Flujo común de "Importar CSV": elegir empresa (sólo SuperAdmin) y fichero, importar en segundo
+ * plano mostrando el progreso y resumir el resultado. Si la importación se corta basta con volver
+ * a lanzarla sobre el mismo fichero y la misma empresa: continúa tras el último lote confirmado.
+ */
+public final class CsvImportDialog {
+
+    private static final int SHOWN_ERRORS = 50;
+
+    @FunctionalInterface
+    public interface ImportJob {
+
+        ImportReport run(long empresaId, Reader csv, ImportOptions options, Consumer<ImportProgress> listener) throws IOException;
+    }
+
+    private CsvImportDialog() {
+    }
+
+    /**
+     * @param onFinished se ejecuta en el hilo de JavaFX cuando se ha importado al menos una fila
+     */
+    public static void show(Window owner, String title, ImportJob job, Runnable onFinished) {
+        Optional<Long> empresaId = EmpresaPicker.pick(title, "¿En qué empresa quieres importar?");
+        if (empresaId.isEmpty()) {
+            return;
+        }
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv", "*.txt"));
+        File file = chooser.showOpenDialog(owner);
+        if (file == null) {
+            return;
+        }
+
+        ProgressBar bar = new ProgressBar();
+        bar.setPrefWidth(320);
+        Label status = new Label("Leyendo " + file.getName() + "...");
+        VBox box = new VBox(10, status, bar);
+        box.setPadding(new Insets(16));
+
+        Stage progressStage = new Stage(StageStyle.UTILITY);
+        progressStage.initOwner(owner);
+        progressStage.initModality(Modality.WINDOW_MODAL);
+        progressStage.setTitle(title);
+        progressStage.setScene(new Scene(box));
+        progressStage.setOnCloseRequest(e -> e.consume());
+
+        Task<ImportReport> task = new Task<>() {
+            @Override
+            protected ImportReport call() throws Exception {
+                try (Reader reader = CsvFiles.open(file.toPath())) {
+                    return job.run(empresaId.get(), reader, ImportOptions.resumable(empresaId.get(), file.toPath()),
+                            p -> updateMessage(String.format("%d filas leídas · %d importadas · %d con errores", p.rowsRead(), p.imported(), p.errors())));
+                }
+            }
+        };
+        status.textProperty().bind(task.messageProperty());
+
+        task.setOnSucceeded(e -> {
+            progressStage.close();
+            ImportReport report = task.getValue();
+            showReport(owner, title, report);
+            if (report.imported() > 0 && onFinished != null) {
+                onFinished.run();
+            }
+        });
+        task.setOnFailed(e -> {
+            progressStage.close();
+            Throwable error = task.getException();
+            Alert alert = new Alert(Alert.AlertType.ERROR, "La importación se ha detenido: " + error.getMessage()
+                    + "\n\nLas filas de los lotes ya confirmados se han guardado; vuelve a importar el mismo fichero para continuar.");
+            alert.initOwner(owner);
+            alert.showAndWait();
+            if (onFinished != null) {
+                onFinished.run();
+            }
+        });
+
+        Thread worker = new Thread(task, "csv-import");
+        worker.setDaemon(true);
+        progressStage.show();
+        worker.start();
+    }
+
+    private static void showReport(Window owner, String title, ImportReport report) {
+        String summary = String.format("Filas leídas: %d%nImportadas: %d%nYa importadas antes: %d%nCon errores: %d",
+                report.rowsRead(), report.imported(), report.skipped(), report.errorCount());
+
+        Alert alert = new Alert(report.hasErrors() ? Alert.AlertType.WARNING : Alert.AlertType.INFORMATION);
+        alert.initOwner(owner);
+        alert.setTitle(title);
+        alert.setHeaderText(report.hasErrors() ? "Importación terminada con errores" : "Importación terminada");
+        alert.setContentText(summary);
+
+        if (report.hasErrors()) {
+            String errors = report.errors().stream().limit(SHOWN_ERRORS).map(ImportRowError::toString).collect(Collectors.joining("\n"));
+            if (report.errorCount() > SHOWN_ERRORS) {
+                errors += "\n... y " + (report.errorCount() - SHOWN_ERRORS) + " más";
+            }
+            TextArea area = new TextArea(errors);
+            area.setEditable(false);
+            area.setWrapText(true);
+            alert.getDialogPane().setExpandableContent(area);
+            alert.getDialogPane().setExpanded(true);
+        }
+
+        alert.show();
+    }
+}
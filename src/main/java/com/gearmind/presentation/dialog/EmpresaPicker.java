@@ -0,0 +1,42 @@
+package com.gearmind.presentation.dialog;
+
+import com.gearmind.application.common.AuthContext;
+import com.gearmind.application.common.SessionManager;
+import com.gearmind.application.company.ListEmpresasUseCase;
+import com.gearmind.domain.company.Empresa;
+import com.gearmind.infrastructure.company.MySqlEmpresaRepository;
+import javafx.scene.control.ChoiceDialog;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Empresa sobre la que actúa una operación masiva (importar/exportar): la de la sesión,
+ * o la que elija el SuperAdmin en un diálogo. Vacío si el usuario cancela.
+ */
+final class EmpresaPicker {
+
+    private EmpresaPicker() {
+    }
+
+    static Optional<Long> pick(String title, String question) {
+        if (!AuthContext.isSuperAdmin()) {
+            return Optional.of(SessionManager.getInstance().getCurrentEmpresaId());
+        }
+
+        List<Empresa> empresas = new ListEmpresasUseCase(new MySqlEmpresaRepository()).execute().stream()
+                .sorted(Comparator.comparing(Empresa::getNombre, String.CASE_INSENSITIVE_ORDER))
+                .toList();
+        if (empresas.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(empresas.get(0).getNombre(), empresas.stream().map(Empresa::getNombre).toList());
+        dialog.setTitle(title);
+        dialog.setHeaderText(question);
+        return dialog.showAndWait()
+                .flatMap(nombre -> empresas.stream().filter(e -> e.getNombre().equals(nombre)).findFirst())
+                .map(Empresa::getId);
+    }
+}
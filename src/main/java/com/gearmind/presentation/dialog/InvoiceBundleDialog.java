@@ -0,0 +1,126 @@
+package com.gearmind.presentation.dialog;
+
+import com.gearmind.common.lookup.LookupItem;
+import com.gearmind.infrastructure.customer.MySqlCustomerRepository;
+import com.gearmind.infrastructure.invoice.InvoicePdfBundle;
+import com.gearmind.infrastructure.invoice.MySqlInvoiceRepository;
+import javafx.concurrent.Task;
+import javafx.scene.Cursor;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ChoiceDialog;
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * "PDF del mes": todas las facturas de un mes (de un cliente o de todos) en un único PDF,
+ * para extractos mensuales o para imprimirlas de una vez. Se escribe directamente en el
+ * fichero elegido, en segundo plano.
+ */
+public final class InvoiceBundleDialog {
+
+    private static final int MONTHS_BACK = 24;
+    private static final String ALL_CUSTOMERS = "Todos los clientes";
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMMM yyyy", new Locale("es", "ES"));
+
+    private InvoiceBundleDialog() {
+    }
+
+    public static void show(Window owner) {
+        String title = "PDF de facturas del mes";
+        Optional<Long> empresaId = EmpresaPicker.pick(title, "¿De qué empresa quieres las facturas?");
+        if (empresaId.isEmpty()) {
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        List<YearMonth> months = IntStream.rangeClosed(0, MONTHS_BACK).mapToObj(current::minusMonths).toList();
+        ChoiceDialog<String> monthDialog = new ChoiceDialog<>(MONTH_LABEL.format(current), months.stream().map(MONTH_LABEL::format).toList());
+        monthDialog.initOwner(owner);
+        monthDialog.setTitle(title);
+        monthDialog.setHeaderText("Mes");
+        Optional<YearMonth> month = monthDialog.showAndWait()
+                .flatMap(label -> months.stream().filter(m -> MONTH_LABEL.format(m).equals(label)).findFirst());
+        if (month.isEmpty()) {
+            return;
+        }
+
+        List<LookupItem> customers = new MySqlCustomerRepository().findLookupByEmpresaId(empresaId.get()).stream()
+                .sorted(Comparator.comparing(LookupItem::label, String.CASE_INSENSITIVE_ORDER))
+                .toList();
+        List<String> customerLabels = new ArrayList<>(customers.size() + 1);
+        customerLabels.add(ALL_CUSTOMERS);
+        customers.forEach(c -> customerLabels.add(c.label()));
+        ChoiceDialog<String> customerDialog = new ChoiceDialog<>(ALL_CUSTOMERS, customerLabels);
+        customerDialog.initOwner(owner);
+        customerDialog.setTitle(title);
+        customerDialog.setHeaderText("Cliente");
+        Optional<String> customerLabel = customerDialog.showAndWait();
+        if (customerLabel.isEmpty()) {
+            return;
+        }
+        Long clienteId = customers.stream()
+                .filter(c -> c.label().equals(customerLabel.get()))
+                .map(LookupItem::id)
+                .findFirst()
+                .orElse(null);
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.setInitialFileName("facturas_" + month.get() + ".pdf");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PDF", "*.pdf"));
+        File file = chooser.showSaveDialog(owner);
+        if (file == null) {
+            return;
+        }
+
+        Task<Integer> task = new Task<>() {
+            @Override
+            protected Integer call() throws Exception {
+                List<Long> ids = new MySqlInvoiceRepository().findIdsByEmpresaBetween(empresaId.get(),
+                        month.get().atDay(1).atStartOfDay(), month.get().plusMonths(1).atDay(1).atStartOfDay(), clienteId);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()), 64 * 1024);
+                return new InvoicePdfBundle().write(ids, out);
+            }
+        };
+
+        Cursor previousCursor = owner.getScene().getCursor();
+        owner.getScene().setCursor(Cursor.WAIT);
+        task.setOnSucceeded(e -> {
+            owner.getScene().setCursor(previousCursor);
+            String message = task.getValue() == 0
+                    ? "No hay facturas en " + MONTH_LABEL.format(month.get()) + "."
+                    : String.format("Se han incluido %d facturas en %s.", task.getValue(), file.getName());
+            Alert alert = new Alert(Alert.AlertType.INFORMATION, message);
+            alert.initOwner(owner);
+            alert.setTitle(title);
+            alert.setHeaderText(null);
+            alert.show();
+        });
+        task.setOnFailed(e -> {
+            owner.getScene().setCursor(previousCursor);
+            Alert alert = new Alert(Alert.AlertType.ERROR, "No se pudo generar el PDF: " + task.getException().getMessage());
+            alert.initOwner(owner);
+            alert.show();
+        });
+
+        Thread worker = new Thread(task, "invoice-bundle");
+        worker.setDaemon(true);
+        worker.start();
+    }
+}
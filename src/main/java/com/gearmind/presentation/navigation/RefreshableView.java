@@ -0,0 +1,13 @@
+package com.gearmind.presentation.navigation;
+
+/**
+ * Controlador de una pantalla que {@link ViewCache} reutiliza: al volver a mostrarla se le
+ * pide que recargue sus datos en lugar de construirla de nuevo.
+ */
+public interface RefreshableView {
+
+    /**
+     * Se llama en el hilo de JavaFX; la carga en sí debe ir en segundo plano.
+     */
+    void refreshView();
+}
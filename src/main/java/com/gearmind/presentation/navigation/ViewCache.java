@@ -0,0 +1,201 @@
+package com.gearmind.presentation.navigation;
+
+import com.gearmind.application.common.DomainEventBus;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pantallas de módulo ya construidas (vista + controlador), para que cambiar de módulo en la
+ * barra lateral no vuelva a parsear el FXML, crear el controlador y sus repositorios y
+ * recargarlo todo. Al volver a una pantalla guardada sólo se refrescan sus datos
+ * ({@link RefreshableView}); mientras tanto sus tablas se mantienen al día con los eventos
+ * de dominio.
+ *
+ * Como mucho guarda {@code maxViews} pantallas en orden LRU, y cada una mediante una
+ * referencia blanda: si falta memoria el GC puede soltarlas y se reconstruyen al pedirlas.
+ *
+ * Salvo {@link #preload(List)}, todos los métodos deben llamarse desde el hilo de JavaFX.
+ */
+public final class ViewCache {
+
+    private static final Pattern CONTROLLER_ATTRIBUTE = Pattern.compile("fx:controller\\s*=\\s*\"([^\"]+)\"");
+
+    public record LoadedView(Parent root, Object controller) {
+    }
+
+    private final int maxViews;
+    private final LinkedHashMap<String, SoftReference<LoadedView>> views = new LinkedHashMap<>(16, 0.75f, true);
+    /** FXML leído por adelantado; se conserva para reconstruir sin E/S si la vista se expulsa. */
+    private static final Map<String, byte[]> SOURCES = new ConcurrentHashMap<>();
+
+    private boolean closed;
+
+    public ViewCache(int maxViews) {
+        if (maxViews < 2) {
+            throw new IllegalArgumentException("La caché de vistas debe admitir al menos 2 pantallas");
+        }
+        this.maxViews = maxViews;
+    }
+
+    /**
+     * Devuelve la pantalla guardada, refrescando sus datos, o la construye si no lo está.
+     */
+    public LoadedView show(String fxmlPath) throws IOException {
+        LoadedView cached = cached(fxmlPath);
+        if (cached != null) {
+            if (cached.controller() instanceof RefreshableView refreshable) {
+                refreshable.refreshView();
+            }
+            return cached;
+        }
+        return buildAndStore(fxmlPath);
+    }
+
+    /**
+     * Prepara en segundo plano lo que no toca la interfaz ({@link #prefetch(String)}) y después
+     * construye las pantallas en el hilo de JavaFX, una por pulso, para no retener la interfaz.
+     * Las que ya están guardadas se saltan.
+     *
+     * No se construyen fuera del hilo de JavaFX porque los controladores lanzan sus cargas
+     * desde initialize() con BackgroundLoader, que exige ese hilo.
+     */
+    public void preload(List<String> fxmlPaths) {
+        List<String> paths = List.copyOf(fxmlPaths);
+        Thread.ofVirtual().name("view-preload").start(() -> {
+            for (String path : paths) {
+                try {
+                    prefetch(path);
+                } catch (IOException | RuntimeException | LinkageError e) {
+                    // Sin precarga la pantalla se construirá igualmente al pedirla
+                    e.printStackTrace();
+                }
+            }
+            Platform.runLater(() -> buildNext(new ArrayDeque<>(paths)));
+        });
+    }
+
+    /**
+     * Suelta todas las pantallas (al cerrar sesión) y cancela la precarga pendiente.
+     */
+    public void clear() {
+        closed = true;
+        for (SoftReference<LoadedView> ref : views.values()) {
+            release(ref.get());
+        }
+        views.clear();
+    }
+
+    private void buildNext(Deque<String> pending) {
+        if (closed || pending.isEmpty()) {
+            return;
+        }
+        String path = pending.poll();
+        if (cached(path) == null) {
+            try {
+                buildAndStore(path);
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        Platform.runLater(() -> buildNext(pending));
+    }
+
+    private LoadedView cached(String fxmlPath) {
+        SoftReference<LoadedView> ref = views.get(fxmlPath);
+        if (ref == null) {
+            return null;
+        }
+        LoadedView view = ref.get();
+        if (view == null) {
+            views.remove(fxmlPath);
+        }
+        return view;
+    }
+
+    /**
+     * Construye la vista sin guardarla, con el FXML ya leído por {@link #prefetch(String)} si lo hay.
+     * Hilo de JavaFX.
+     */
+    public static LoadedView load(String fxmlPath) throws IOException {
+        FXMLLoader loader = new FXMLLoader(resolve(fxmlPath));
+        byte[] source = SOURCES.get(fxmlPath);
+        Parent root = source != null ? loader.load(new ByteArrayInputStream(source)) : loader.load();
+        return new LoadedView(root, loader.getController());
+    }
+
+    /**
+     * Lee el FXML y carga e inicializa la clase de su controlador, sin tocar la interfaz, para
+     * que construir la vista después no pague esa E/S. Puede llamarse desde cualquier hilo.
+     */
+    public static void prefetch(String fxmlPath) throws IOException {
+        byte[] source = SOURCES.get(fxmlPath);
+        if (source == null) {
+            try (InputStream in = resolve(fxmlPath).openStream()) {
+                source = in.readAllBytes();
+            }
+            SOURCES.put(fxmlPath, source);
+        }
+        Matcher controller = CONTROLLER_ATTRIBUTE.matcher(new String(source, StandardCharsets.UTF_8));
+        if (controller.find()) {
+            try {
+                Class.forName(controller.group(1), true, ViewCache.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IOException("No se encuentra el controlador " + controller.group(1), e);
+            }
+        }
+    }
+
+    private LoadedView buildAndStore(String fxmlPath) throws IOException {
+        LoadedView view = load(fxmlPath);
+
+        views.put(fxmlPath, new SoftReference<>(view));
+        evictOverflow();
+        return view;
+    }
+
+    private void evictOverflow() {
+        Iterator<SoftReference<LoadedView>> eldest = views.values().iterator();
+        while (views.size() > maxViews && eldest.hasNext()) {
+            LoadedView view = eldest.next().get();
+            if (view != null && view.root().getScene() != null) {
+                continue; // la que está en pantalla no se expulsa aunque la precarga la adelante
+            }
+            release(view);
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Una pantalla expulsada deja de escuchar eventos ya, sin esperar a que el GC la recoja.
+     */
+    private static void release(LoadedView view) {
+        if (view != null && view.controller() != null) {
+            DomainEventBus.getInstance().unsubscribe(view.controller());
+        }
+    }
+
+    private static URL resolve(String fxmlPath) {
+        URL url = ViewCache.class.getResource(fxmlPath);
+        if (url == null) {
+            throw new IllegalStateException("No se ha encontrado la vista: " + fxmlPath);
+        }
+        return url;
+    }
+}
@@ -0,0 +1,143 @@
+package com.gearmind.presentation.table;
+
+import com.gearmind.infrastructure.database.QueryCancellation;
+import javafx.application.Platform;
+import javafx.beans.property.ObjectProperty;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta las consultas de una pantalla fuera del hilo de JavaFX, en un hilo virtual
+ * por carga, y entrega el resultado de vuelta en el hilo de JavaFX.
+ *
+ * Cada loader tiene como mucho una carga viva: lanzar otra (recargar, cambiar de página)
+ * cancela la anterior, incluida la consulta en el servidor mediante Statement.cancel(),
+ * y su resultado se descarta aunque llegue después.
+ *
+ * Todos los métodos públicos deben llamarse desde el hilo de JavaFX.
+ */
+public final class BackgroundLoader {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ObjectProperty<Node> placeholder;
+    private Node idlePlaceholder;
+    private boolean showingLoading;
+
+    private long generation;
+    private QueryCancellation inFlight;
+    private Future<?> inFlightTask;
+
+    public BackgroundLoader() {
+        this.placeholder = null;
+    }
+
+    public BackgroundLoader(TableView<?> table) {
+        this.placeholder = table.placeholderProperty();
+    }
+
+    public BackgroundLoader(ListView<?> list) {
+        this.placeholder = list.placeholderProperty();
+    }
+
+    /**
+     * Carga con el tratamiento de error por defecto (alerta con el mensaje).
+     */
+    public <R> void load(Supplier<R> query, Consumer<R> onSuccess) {
+        load(query, onSuccess, BackgroundLoader::showError);
+    }
+
+    public <R> void load(Supplier<R> query, Consumer<R> onSuccess, Consumer<Throwable> onError) {
+        cancel();
+
+        long current = ++generation;
+        QueryCancellation cancellation = new QueryCancellation();
+        inFlight = cancellation;
+        showLoading();
+
+        inFlightTask = EXECUTOR.submit(() -> {
+            R result = null;
+            Throwable error = null;
+            try {
+                result = cancellation.call(query);
+            } catch (Throwable t) {
+                error = t;
+            }
+
+            R loaded = result;
+            Throwable failure = error;
+            Platform.runLater(() -> {
+                if (current != generation || cancellation.isCancelled()) {
+                    return; // Una carga posterior la ha dejado obsoleta.
+                }
+                inFlight = null;
+                inFlightTask = null;
+                restorePlaceholder();
+                if (failure != null) {
+                    onError.accept(failure);
+                } else {
+                    onSuccess.accept(loaded);
+                }
+            });
+        });
+    }
+
+    /**
+     * Cancela la carga en curso, si la hay. Su resultado ya no se entregará.
+     */
+    public void cancel() {
+        if (inFlight != null) {
+            inFlight.cancel();
+            // Sin interrumpir: Connector/J cerraría el socket de un hilo bloqueado en lectura y
+            // la conexión volvería rota al pool. Statement.cancel() ya aborta la consulta.
+            inFlightTask.cancel(false);
+            inFlight = null;
+            inFlightTask = null;
+            restorePlaceholder();
+        }
+    }
+
+    public boolean isLoading() {
+        return inFlight != null;
+    }
+
+    private void showLoading() {
+        if (placeholder == null) {
+            return;
+        }
+        if (!showingLoading) {
+            idlePlaceholder = placeholder.get();
+            showingLoading = true;
+        }
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setPrefSize(22, 22);
+        HBox box = new HBox(8, progress, new Label("Cargando…"));
+        box.setAlignment(Pos.CENTER);
+        placeholder.set(box);
+    }
+
+    private void restorePlaceholder() {
+        if (placeholder != null && showingLoading) {
+            placeholder.set(idlePlaceholder);
+        }
+        showingLoading = false;
+        idlePlaceholder = null;
+    }
+
+    static void showError(Throwable error) {
+        error.printStackTrace();
+        new Alert(Alert.AlertType.ERROR, "No se pudieron cargar los datos: " + error.getMessage()).showAndWait();
+    }
+}
@@ -0,0 +1,13 @@
+package com.gearmind.presentation.table;
+
+import com.gearmind.common.pagination.Page;
+import com.gearmind.common.pagination.PageRequest;
+
+/**
+ * Origen de páginas para {@link SmartTable} en modo paginación en servidor.
+ */
+@FunctionalInterface
+public interface PageLoader<T> {
+
+    Page<T> load(PageRequest<T> request);
+}
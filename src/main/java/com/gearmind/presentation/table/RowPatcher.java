@@ -0,0 +1,133 @@
+package com.gearmind.presentation.table;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Mantiene al día una fila de masterData tras un evento de dominio: vuelve a leer sólo esa
+ * fila fuera del hilo de JavaFX y la sustituye, la añade o la quita, en lugar de recargar
+ * la tabla entera. Las demás filas conservan sus claves de búsqueda ya calculadas.
+ *
+ * {@link #patch(long)} puede llamarse desde cualquier hilo; si llegan varios cambios de la
+ * misma fila sólo se aplica la lectura más reciente.
+ */
+public final class RowPatcher<T> {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final SmartTable<T> smartTable;
+    private final ObservableList<T> masterData;
+    private final Function<T, Long> idOf;
+    private final LongFunction<Optional<T>> loader;
+
+    private BinaryOperator<T> merge = (previous, current) -> current;
+    private Consumer<T> onInsert;
+    private Runnable afterPatch;
+
+    /** Última lectura lanzada por id; sólo se usa desde el hilo de JavaFX. */
+    private final Map<Long, Long> pending = new HashMap<>();
+    private long sequence;
+
+    /**
+     * @param loader fila por id tal como la mostraría el listado, o vacío si ya no debe verse
+     */
+    public RowPatcher(SmartTable<T> smartTable, ObservableList<T> masterData, Function<T, Long> idOf, LongFunction<Optional<T>> loader) {
+        this.smartTable = smartTable;
+        this.masterData = masterData;
+        this.idOf = idOf;
+        this.loader = loader;
+    }
+
+    /**
+     * Combina la fila anterior con la recién leída, para conservar datos que la lectura
+     * individual no trae (p. ej. el nombre de la empresa).
+     */
+    public RowPatcher<T> withMerge(BinaryOperator<T> merge) {
+        this.merge = merge;
+        return this;
+    }
+
+    /**
+     * Qué hacer con una fila que no estaba en masterData. Por defecto se añade al principio;
+     * las pantallas con paginación en servidor recargan, porque no saben en qué página cae.
+     */
+    public RowPatcher<T> onInsert(Consumer<T> onInsert) {
+        this.onInsert = onInsert;
+        return this;
+    }
+
+    /**
+     * Se ejecuta tras aplicar cada cambio (contadores de cabecera, etc.).
+     */
+    public RowPatcher<T> afterPatch(Runnable afterPatch) {
+        this.afterPatch = afterPatch;
+        return this;
+    }
+
+    public void patch(long id) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> patch(id));
+            return;
+        }
+        long ticket = ++sequence;
+        pending.put(id, ticket);
+        EXECUTOR.submit(() -> {
+            Optional<T> row;
+            try {
+                row = loader.apply(id);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                Platform.runLater(() -> pending.remove(id, ticket));
+                return;
+            }
+            Platform.runLater(() -> {
+                if (pending.remove(id, ticket)) {
+                    apply(id, row);
+                }
+            });
+        });
+    }
+
+    private void apply(long id, Optional<T> row) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            if (row.isPresent()) {
+                masterData.set(index, merge.apply(masterData.get(index), row.get()));
+            } else {
+                masterData.remove(index);
+            }
+        } else if (row.isPresent()) {
+            if (onInsert != null) {
+                onInsert.accept(row.get());
+                return;
+            }
+            masterData.add(0, row.get());
+        } else {
+            return;
+        }
+        smartTable.refresh();
+        if (afterPatch != null) {
+            afterPatch.run();
+        }
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < masterData.size(); i++) {
+            if (Objects.equals(idOf.apply(masterData.get(i)), id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,31 @@
+package com.gearmind.presentation.table;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto para búsquedas: minúsculas y sin tildes ni diéresis,
+ * de modo que "garcia" encuentre "García" y "nunez" encuentre "Núñez".
+ */
+public final class SearchText {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchText() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        // Caso habitual (matrículas, teléfonos, emails): ASCII puro, basta con bajar a minúsculas
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+                return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+            }
+        }
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,17 +1,34 @@
 package com.gearmind.presentation.table;
 
+import com.gearmind.common.pagination.Page;
+import com.gearmind.common.pagination.PageRequest;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
+import javafx.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.BiPredicate;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Helper genérico para tablas con:
@@ -19,9 +36,39 @@ import java.util.stream.Collectors;
  *  - filtros por columna (fila de filtros)
  *  - límite de filas (page size)
  *  - resumen "Mostrando X de Y ..."
+ *  - paginación en servidor opcional (keyset) mediante {@link PageLoader}; mientras haya
+ *    algún filtro activo se carga el listado completo para no filtrar sólo una página
+ *
+ * Los filtros de texto registrados con una clave ({@link #addColumnFilter(TextField, Function)},
+ * {@link #setGlobalSearchKey(Function)}) comparan contra el texto normalizado de cada fila,
+ * calculado una sola vez por fila. Mientras el usuario sólo restringe los filtros (sigue
+ * escribiendo sobre lo ya escrito) se filtra el resultado anterior en lugar de masterData.
  */
 public class SmartTable<T> {
 
+    private static final Logger log = LoggerFactory.getLogger(SmartTable.class);
+
+    private static final Duration FILTER_DEBOUNCE = Duration.millis(150);
+
+    /**
+     * Filas a partir de las cuales el filtrado se reparte en trozos por el pool paralelo.
+     * Configurable con -Dgearmind.smarttable.parallelThreshold o por tabla con
+     * {@link #setParallelThreshold(int)}.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = Integer.getInteger("gearmind.smarttable.parallelThreshold", 50_000);
+    private static final int PARALLEL_CHUNK_SIZE = 8_192;
+
+    /** Pool propio para no competir con el common pool (streams paralelos, CompletableFuture). */
+    private static final ForkJoinPool FILTER_POOL = new ForkJoinPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() - 1),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("smarttable-filter-" + thread.getPoolIndex());
+                return thread;
+            },
+            null,
+            false);
+
     private final TableView<T> table;
     private final ObservableList<T> masterData;
 
@@ -33,12 +80,45 @@ public class SmartTable<T> {
     private final BiPredicate<T, String> globalMatcher; // puede ser null
 
     private final List<ColumnFilter<T>> columnFilters = new ArrayList<>();
+    private ColumnFilter<T> globalFilter;
+    /** Índices de trigramas de los filtros con clave que los han pedido (global o por columna). */
+    private final List<IndexedFilter<T>> searchIndexes = new ArrayList<>();
+
+    /** Claves de búsqueda por fila: una posición por filtro con clave, ya normalizadas. */
+    private final List<Function<T, String>> searchKeys = new ArrayList<>();
+    private final Map<T, String[]> keyCache = new IdentityHashMap<>();
+
+    /** Resultado completo del último filtrado (sin recortar por page size) y buffer de trabajo. */
+    private ArrayList<T> matches = new ArrayList<>();
+    private ArrayList<T> scratch = new ArrayList<>();
+    private String[] lastFilterValues;
+    private long masterVersion;
+    /** Sube con cada filtrado y con cada descarte de claves: un filtrado paralelo sólo se publica si sigue vigente. */
+    private long filterGeneration;
+    private long keysVersion;
+    private long lastMasterVersion = -1;
+
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    private final ObservableList<T> visibleRows = FXCollections.observableArrayList();
+    private final PauseTransition filterDebounce = new PauseTransition(FILTER_DEBOUNCE);
 
     private int lastVisibleCount;
     private int lastTotalCount;
 
     private Runnable afterRefreshCallback;
 
+    private PageLoader<T> pageLoader;
+    private Supplier<List<T>> fullLoader;
+    private PagingMode pagingMode = PagingMode.PAGED;
+    private Page<T> currentPage;
+    private int pageNumber;
+    private long serverTotalCount = -1;
+    private Button previousPageButton;
+    private Button nextPageButton;
+
+    private BackgroundLoader backgroundLoader;
+
     public SmartTable(TableView<T> table, ObservableList<T> masterData, TextField globalSearchField, ComboBox<Integer> pageSizeCombo, Label summaryLabel, String entityLabelPlural, BiPredicate<T, String> globalMatcher) {
 
         this.table = table;
@@ -49,12 +129,267 @@ public class SmartTable<T> {
         this.entityLabelPlural = (entityLabelPlural == null || entityLabelPlural.isBlank()) ? "elementos" : entityLabelPlural;
         this.globalMatcher = globalMatcher;
 
+        // La tabla siempre muestra la misma lista; el orden por columnas lo aplica el SortedList
+        SortedList<T> sortedRows = new SortedList<>(visibleRows);
+        sortedRows.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sortedRows);
+
+        filterDebounce.setOnFinished(e -> applyFilters(false));
+
+        if (this.masterData != null) {
+            this.masterData.addListener((ListChangeListener<T>) change -> {
+                masterVersion++;
+                while (change.next()) {
+                    if (change.wasRemoved()) {
+                        for (T removed : change.getRemoved()) {
+                            keyCache.remove(removed);
+                        }
+                    }
+                }
+                if (this.masterData.isEmpty()) {
+                    keyCache.clear();
+                }
+                for (IndexedFilter<T> indexed : searchIndexes) {
+                    change.reset();
+                    indexed.index().onChanged(change);
+                }
+            });
+        }
+
         if (this.globalSearchField != null) {
-            this.globalSearchField.textProperty().addListener((obs, o, n) -> refresh());
+            if (globalMatcher != null) {
+                globalFilter = new ColumnFilter<>(globalSearchField, globalMatcher);
+            }
+            this.globalSearchField.textProperty().addListener((obs, o, n) -> filterDebounce.playFromStart());
         }
 
         if (this.pageSizeCombo != null) {
-            this.pageSizeCombo.valueProperty().addListener((obs, o, n) -> refresh());
+            this.pageSizeCombo.valueProperty().addListener((obs, o, n) -> {
+                if (pageLoader != null && pagingMode == PagingMode.PAGED) {
+                    loadFirstPage();
+                } else {
+                    showMatches();
+                }
+            });
+        }
+    }
+
+    /**
+     * Búsqueda global por clave: key devuelve el texto buscable de la fila (varios campos
+     * concatenados si hace falta), que se normaliza y se guarda una sola vez por fila.
+     * Sustituye al globalMatcher del constructor.
+     */
+    public void setGlobalSearchKey(Function<T, String> key) {
+        if (globalSearchField == null || key == null) {
+            return;
+        }
+        ColumnFilter<T> previous = globalFilter;
+        boolean indexed = searchIndexes.removeIf(i -> i.filter() == previous);
+        globalFilter = new ColumnFilter<>(globalSearchField, registerSearchKey(key));
+        if (indexed) {
+            enableGlobalSearchIndex();
+        }
+    }
+
+    /**
+     * Indexa por trigramas la clave de búsqueda global, para que buscar 3 o más caracteres
+     * sólo compruebe las filas candidatas en vez de recorrer masterData entero. Pensado para
+     * tablas grandes; el índice se construye en la primera búsqueda y se mantiene con los
+     * cambios de masterData. Requiere {@link #setGlobalSearchKey(Function)}.
+     */
+    public void enableGlobalSearchIndex() {
+        if (globalFilter == null || globalFilter.keySlot < 0) {
+            throw new IllegalStateException("La búsqueda indexada requiere una clave de búsqueda global.");
+        }
+        addSearchIndex(globalFilter);
+    }
+
+    /**
+     * Como {@link #enableGlobalSearchIndex()}, para un filtro por columna registrado con
+     * {@link #addColumnFilter(TextField, Function)}. Con varios filtros indexados activos se
+     * parte de las candidatas del más selectivo.
+     */
+    public void enableSearchIndex(TextField field) {
+        if (field == null) {
+            return;
+        }
+        for (ColumnFilter<T> cf : columnFilters) {
+            if (cf.field == field && cf.keySlot >= 0) {
+                addSearchIndex(cf);
+                return;
+            }
+        }
+        throw new IllegalStateException("La búsqueda indexada requiere un filtro por columna con clave.");
+    }
+
+    private void addSearchIndex(ColumnFilter<T> filter) {
+        int slot = filter.keySlot;
+        searchIndexes.add(new IndexedFilter<>(filter, new TrigramIndex<>(item -> keysFor(item)[slot])));
+    }
+
+    /**
+     * Número de filas a partir del cual se filtra en paralelo (0 o negativo lo desactiva).
+     * En paralelo los matchers de los filtros se llaman desde otros hilos, así que deben
+     * limitarse a leer la fila y el estado del controlador, y el resultado se muestra cuando
+     * termina, no al volver de {@link #refresh()}.
+     */
+    public void setParallelThreshold(int rows) {
+        this.parallelThreshold = rows;
+    }
+
+    /**
+     * Activa la paginación en servidor: masterData contiene sólo la página actual
+     * y los botones anterior/siguiente piden a la base de datos la página contigua.
+     *
+     * Los filtros no se traducen a la consulta por páginas: en cuanto se activa alguno se
+     * carga el listado completo con {@code fullLoader} y se filtra en local, como sin
+     * paginación; al quitarlos todos se vuelve a la primera página.
+     */
+    public void enableServerPaging(PageLoader<T> loader, Supplier<List<T>> fullLoader, Button previousButton, Button nextButton) {
+        this.pageLoader = loader;
+        this.fullLoader = fullLoader;
+        this.previousPageButton = previousButton;
+        this.nextPageButton = nextButton;
+
+        if (previousButton != null) {
+            previousButton.setOnAction(e -> previousPage());
+        }
+        if (nextButton != null) {
+            nextButton.setOnAction(e -> nextPage());
+        }
+        updatePagingButtons();
+    }
+
+    public boolean isServerPaging() {
+        return pageLoader != null;
+    }
+
+    /**
+     * Loader en segundo plano asociado a esta tabla. Las páginas en servidor se piden con él,
+     * y los controladores lo usan para sus recargas: así una recarga deja obsoleta la página
+     * que estuviera en camino y viceversa.
+     */
+    public BackgroundLoader getBackgroundLoader() {
+        if (backgroundLoader == null) {
+            backgroundLoader = new BackgroundLoader(table);
+        }
+        return backgroundLoader;
+    }
+
+    /**
+     * Total de filas en servidor para el resumen (opcional, -1 si se desconoce).
+     */
+    public void setServerTotalCount(long total) {
+        this.serverTotalCount = total;
+        updateSummaryLabel();
+    }
+
+    /**
+     * Primera página, o el listado completo si hay filtros activos.
+     */
+    public void loadFirstPage() {
+        if (pageLoader == null) {
+            refresh();
+            return;
+        }
+        if (pagingMode != PagingMode.PAGED) {
+            loadAll();
+            return;
+        }
+        PageRequest<T> request = PageRequest.first(currentPageSize());
+        getBackgroundLoader().load(() -> pageLoader.load(request), page -> applyPage(page, 1));
+    }
+
+    public void nextPage() {
+        if (pageLoader == null || pagingMode != PagingMode.PAGED || currentPage == null || !currentPage.hasNext() || currentPage.isEmpty()) {
+            return;
+        }
+        PageRequest<T> request = PageRequest.after(currentPage.last(), currentPageSize());
+        int number = pageNumber + 1;
+        getBackgroundLoader().load(() -> pageLoader.load(request), page -> applyPage(page, number));
+    }
+
+    public void previousPage() {
+        if (pageLoader == null || pagingMode != PagingMode.PAGED || currentPage == null || !currentPage.hasPrevious() || currentPage.isEmpty()) {
+            return;
+        }
+        PageRequest<T> request = PageRequest.before(currentPage.first(), currentPageSize());
+        int number = Math.max(pageNumber - 1, 1);
+        getBackgroundLoader().load(() -> pageLoader.load(request),
+                page -> applyPage(page, page.hasPrevious() ? number : 1));
+    }
+
+    private void applyPage(Page<T> page, int number) {
+        currentPage = page;
+        pageNumber = number;
+        masterData.setAll(page.items());
+        updatePagingButtons();
+        refresh();
+    }
+
+    private void loadAll() {
+        pagingMode = PagingMode.LOADING_ALL;
+        currentPage = null;
+        updatePagingButtons();
+        getBackgroundLoader().load(fullLoader, rows -> {
+            pagingMode = PagingMode.ALL;
+            masterData.setAll(rows);
+            refresh();
+        }, error -> {
+            pagingMode = PagingMode.PAGED;
+            BackgroundLoader.showError(error);
+        });
+    }
+
+    /**
+     * Cambia entre página y listado completo según haya filtros activos. true si ha lanzado
+     * una carga (o hay una en curso): el filtrado se repetirá al recibirla.
+     */
+    private boolean switchPagingMode(String[] values) {
+        boolean filtering = false;
+        for (String value : values) {
+            filtering |= value != null;
+        }
+        switch (pagingMode) {
+            case PAGED -> {
+                if (filtering) {
+                    loadAll();
+                    return true;
+                }
+                return false;
+            }
+            case LOADING_ALL -> {
+                return true;
+            }
+            default -> {
+                if (!filtering) {
+                    pagingMode = PagingMode.PAGED;
+                    loadFirstPage();
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    private int currentPageSize() {
+        if (pageSizeCombo != null) {
+            Integer value = pageSizeCombo.getValue();
+            if (value != null) {
+                return value;
+            }
+        }
+        return 0;
+    }
+
+    private void updatePagingButtons() {
+        boolean hasPrevious = currentPage != null && currentPage.hasPrevious();
+        boolean hasNext = currentPage != null && currentPage.hasNext();
+        if (previousPageButton != null) {
+            previousPageButton.setDisable(!hasPrevious);
+        }
+        if (nextPageButton != null) {
+            nextPageButton.setDisable(!hasNext);
         }
     }
 
@@ -78,7 +413,41 @@ public class SmartTable<T> {
         ColumnFilter<T> cf = new ColumnFilter<>(field, matcher);
         columnFilters.add(cf);
 
-        field.textProperty().addListener((obs, o, n) -> refresh());
+        field.textProperty().addListener((obs, o, n) -> filterDebounce.playFromStart());
+    }
+
+    /**
+     * Registra un filtro de texto por columna basado en clave.
+     * key: devuelve el texto de la columna para la fila; la fila coincide si, normalizado
+     * (minúsculas y sin tildes), contiene el texto del filtro normalizado igual.
+     */
+    public void addColumnFilter(TextField field, Function<T, String> key) {
+        if (field == null || key == null) {
+            return;
+        }
+
+        columnFilters.add(new ColumnFilter<>(field, registerSearchKey(key)));
+
+        field.textProperty().addListener((obs, o, n) -> filterDebounce.playFromStart());
+    }
+
+    private int registerSearchKey(Function<T, String> key) {
+        searchKeys.add(key);
+        invalidateSearchKeys();
+        return searchKeys.size() - 1;
+    }
+
+    /**
+     * Descarta las claves de búsqueda calculadas. Sólo hace falta si se modifican filas
+     * de masterData en sitio sin reemplazarlas en la lista.
+     */
+    public void invalidateSearchKeys() {
+        keysVersion++;
+        keyCache.clear();
+        lastFilterValues = null;
+        for (IndexedFilter<T> indexed : searchIndexes) {
+            indexed.index().invalidate();
+        }
     }
     
     /**
@@ -94,84 +463,251 @@ public class SmartTable<T> {
        ColumnFilter<T> cf = new ColumnFilter<>(combo, matcher);
        columnFilters.add(cf);
 
-       combo.valueProperty().addListener((obs, o, n) -> refresh());
+       combo.valueProperty().addListener((obs, o, n) -> applyFilters(false));
    }
 
     /**
-     * Reaplica todos los filtros y repone los datos en la tabla.
+     * Reaplica todos los filtros sobre masterData completo y repone los datos en la tabla.
      */
     public void refresh() {
+        applyFilters(true);
+    }
+
+    private void applyFilters(boolean full) {
+        filterDebounce.stop();
+        filterGeneration++;
+
         if (masterData == null) {
-            table.setItems(FXCollections.observableArrayList());
-            lastVisibleCount = 0;
-            lastTotalCount = 0;
-            updateSummaryLabel();
+            matches.clear();
+            lastFilterValues = null;
+            showMatches();
             return;
         }
 
-        List<T> filtered = new ArrayList<>(masterData);
-
-        if (globalSearchField != null && globalMatcher != null) {
-            String text = globalSearchField.getText();
-            if (text != null && !text.isBlank()) {
-                String lower = text.toLowerCase(Locale.ROOT);
-                filtered = filtered.stream().filter(item -> globalMatcher.test(item, lower)).collect(Collectors.toList());
+        String[] values = currentFilterValues();
+        if (pageLoader != null && switchPagingMode(values)) {
+            return;
+        }
+        List<T> source = !full && narrows(values) ? matches : masterData;
+        if (source == masterData) {
+            for (IndexedFilter<T> indexed : searchIndexes) {
+                List<T> candidates = indexed.index().candidates(masterData, indexed.filter().activeValue());
+                if (candidates != null && candidates.size() < source.size()) {
+                    source = candidates;
+                }
             }
         }
 
-        filtered = filtered.stream().filter(this::matchesAllColumnFilters).collect(Collectors.toList());
-        lastTotalCount = filtered.size();
+        if (parallelThreshold > 0 && source.size() >= parallelThreshold) {
+            filterInParallel(source, values);
+            return;
+        }
+        filterSequentially(source, values);
+    }
 
-        int limit = filtered.size();
-        if (pageSizeCombo != null) {
-            Integer value = pageSizeCombo.getValue();
-            if (value != null && value > 0) {
-                limit = Math.min(value, filtered.size());
+    private void filterSequentially(List<T> source, String[] values) {
+        scratch.clear();
+        for (T item : source) {
+            if (matchesAll(item, values, keyCache, null)) {
+                scratch.add(item);
             }
         }
+        ArrayList<T> previous = matches;
+        matches = scratch;
+        scratch = previous;
+        scratch.clear();
+
+        lastFilterValues = values;
+        lastMasterVersion = masterVersion;
+        showMatches();
+    }
 
-        List<T> visible = filtered.subList(0, limit);
-        lastVisibleCount = visible.size();
-        table.setItems(FXCollections.observableArrayList(visible));
-        updateSummaryLabel();
+    /**
+     * Valor activo de cada filtro (global primero, luego columnas), o null si no filtra.
+     * Los filtros con clave llevan el texto normalizado; el resto, en minúsculas como siempre.
+     */
+    private String[] currentFilterValues() {
+        String[] values = new String[columnFilters.size() + 1];
+        values[0] = globalFilter != null ? globalFilter.activeValue() : null;
+        for (int i = 0; i < columnFilters.size(); i++) {
+            values[i + 1] = columnFilters.get(i).activeValue();
+        }
+        return values;
+    }
 
-        if (afterRefreshCallback != null) {
-            afterRefreshCallback.run();
+    /**
+     * true si los nuevos valores sólo restringen los anteriores, de forma que todo lo que
+     * coincide ahora ya estaba en el resultado previo: filtros nuevos, o textos con clave
+     * que contienen al anterior. Los matchers libres sólo cuentan si no cambian.
+     */
+    private boolean narrows(String[] values) {
+        if (lastFilterValues == null || lastMasterVersion != masterVersion || lastFilterValues.length != values.length) {
+            return false;
         }
+        for (int i = 0; i < values.length; i++) {
+            String before = lastFilterValues[i];
+            String now = values[i];
+            if (before == null) {
+                continue;
+            }
+            if (now == null) {
+                return false;
+            }
+            ColumnFilter<T> cf = i == 0 ? globalFilter : columnFilters.get(i - 1);
+            boolean narrower = cf.keySlot >= 0 ? now.contains(before) : now.equals(before);
+            if (!narrower) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private boolean matchesAllColumnFilters(T item) {
-        for (ColumnFilter<T> cf : columnFilters) {
+    /**
+     * Filtra source en trozos contiguos sobre {@link #FILTER_POOL} sin bloquear el hilo de JavaFX.
+     * El resultado, en el mismo orden que el recorrido secuencial, se publica con
+     * Platform.runLater; mientras tanto la tabla sigue mostrando el anterior.
+     *
+     * Los trozos trabajan sobre copias de las filas y de la caché de claves, porque masterData
+     * y la caché sólo se tocan desde el hilo de JavaFX. Las claves que falten se añaden a la
+     * caché al publicar.
+     */
+    private void filterInParallel(List<T> source, String[] values) {
+        long generation = filterGeneration;
+        long version = masterVersion;
+        long keys = keysVersion;
+        List<T> rows = new ArrayList<>(source);
+        Map<T, String[]> cachedKeys = new IdentityHashMap<>(keyCache);
+
+        CompletableFuture.supplyAsync(() -> filterInChunks(rows, PARALLEL_CHUNK_SIZE,
+                (item, computedKeys) -> matchesAll(item, values, cachedKeys, computedKeys)), FILTER_POOL)
+                .whenComplete((result, error) -> Platform.runLater(() -> {
+                    if (generation != filterGeneration) {
+                        return; // Otro filtrado posterior ya lo ha sustituido.
+                    }
+                    if (error != null) {
+                        // La tabla no se queda con el resultado anterior: se repite en este hilo sobre masterData
+                        log.warn("Falló el filtrado paralelo de {}; se repite de forma secuencial", entityLabelPlural, error);
+                        lastFilterValues = null;
+                        filterSequentially(masterData, currentFilterValues());
+                        return;
+                    }
+                    if (version != masterVersion || keys != keysVersion) {
+                        applyFilters(true);
+                        return;
+                    }
+                    keyCache.putAll(result.computedKeys);
+                    matches = result.matches;
+                    lastFilterValues = values;
+                    lastMasterVersion = masterVersion;
+                    showMatches();
+                }));
+    }
 
-            if (cf.field != null) {
-                String text = cf.field.getText();
-                if (text != null && !text.isBlank()) {
-                    String lower = text.toLowerCase(Locale.ROOT);
-                    if (!cf.matcher.test(item, lower)) {
-                        return false;
+    /**
+     * Reparte rows en trozos contiguos de chunkSize, los filtra en paralelo sobre el pool
+     * desde el que se llame y concatena los resultados en el orden de rows. matcher recibe
+     * la fila y el mapa del trozo donde dejar las claves que calcule.
+     */
+    static <T> ChunkResult<T> filterInChunks(List<T> rows, int chunkSize, BiPredicate<T, Map<T, String[]>> matcher) {
+        List<ForkJoinTask<ChunkResult<T>>> tasks = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<T> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            tasks.add(ForkJoinTask.adapt(() -> {
+                ChunkResult<T> result = new ChunkResult<>();
+                for (T item : chunk) {
+                    if (matcher.test(item, result.computedKeys)) {
+                        result.matches.add(item);
                     }
                 }
+                return result;
+            }).fork());
+        }
+        ChunkResult<T> merged = new ChunkResult<>();
+        for (ForkJoinTask<ChunkResult<T>> task : tasks) {
+            ChunkResult<T> result = task.join();
+            merged.matches.addAll(result.matches);
+            merged.computedKeys.putAll(result.computedKeys);
+        }
+        return merged;
+    }
+
+    private boolean matchesAll(T item, String[] values, Map<T, String[]> cachedKeys, Map<T, String[]> computedKeys) {
+        String[] keys = null;
+        for (int i = 0; i < values.length; i++) {
+            String value = values[i];
+            if (value == null) {
                 continue;
             }
-
-            if (cf.combo != null) {
-                String value = cf.combo.getValue();
-                if (value != null && !value.isBlank()) {
-                    String lower = value.toLowerCase(Locale.ROOT);
-                    if (!"todos".equals(lower)) {
-                        if (!cf.matcher.test(item, lower)) {
-                            return false;
-                        }
-                    }
+            ColumnFilter<T> cf = i == 0 ? globalFilter : columnFilters.get(i - 1);
+            if (cf.keySlot >= 0) {
+                if (keys == null) {
+                    keys = keysFor(item, cachedKeys, computedKeys);
                 }
+                if (!keys[cf.keySlot].contains(value)) {
+                    return false;
+                }
+            } else if (!cf.matcher.test(item, value)) {
+                return false;
             }
         }
         return true;
     }
 
+    private String[] keysFor(T item) {
+        return keysFor(item, keyCache, null);
+    }
+
+    /**
+     * Claves normalizadas de la fila, buscadas en cachedKeys. Si computedKeys no es null, las
+     * que falten se dejan ahí en lugar de en la caché (filtrado paralelo).
+     */
+    private String[] keysFor(T item, Map<T, String[]> cachedKeys, Map<T, String[]> computedKeys) {
+        String[] keys = cachedKeys.get(item);
+        if (keys == null) {
+            keys = new String[searchKeys.size()];
+            for (int slot = 0; slot < keys.length; slot++) {
+                keys[slot] = SearchText.normalize(searchKeys.get(slot).apply(item));
+            }
+            if (computedKeys != null) {
+                computedKeys.put(item, keys);
+            } else {
+                keyCache.put(item, keys);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Recorta el último resultado al page size y lo vuelca en la lista de la tabla.
+     */
+    private void showMatches() {
+        lastTotalCount = matches.size();
+
+        int limit = matches.size();
+        if (pageSizeCombo != null) {
+            Integer value = pageSizeCombo.getValue();
+            if (value != null && value > 0) {
+                limit = Math.min(value, matches.size());
+            }
+        }
+
+        visibleRows.setAll(matches.subList(0, limit));
+        lastVisibleCount = limit;
+        updateSummaryLabel();
+
+        if (afterRefreshCallback != null) {
+            afterRefreshCallback.run();
+        }
+    }
+
     private void updateSummaryLabel() {
         if (summaryLabel == null) return;
 
+        if (pageLoader != null && pagingMode == PagingMode.PAGED) {
+            updateServerSummaryLabel();
+            return;
+        }
+
         if (lastTotalCount == 0) {
             summaryLabel.setText("No hay " + entityLabelPlural + " que mostrar.");
             return;
@@ -184,6 +720,20 @@ public class SmartTable<T> {
         }
     }
 
+    private void updateServerSummaryLabel() {
+        if (lastTotalCount == 0) {
+            summaryLabel.setText("No hay " + entityLabelPlural + " que mostrar.");
+            return;
+        }
+
+        String prefix = "Página " + Math.max(pageNumber, 1) + " · ";
+        if (serverTotalCount >= 0) {
+            summaryLabel.setText(prefix + "Mostrando " + lastVisibleCount + " de " + serverTotalCount + " " + entityLabelPlural + ".");
+        } else {
+            summaryLabel.setText(prefix + "Mostrando " + lastVisibleCount + " " + entityLabelPlural + ".");
+        }
+    }
+
     public int getLastVisibleCount() {
         return lastVisibleCount;
     }
@@ -192,21 +742,59 @@ public class SmartTable<T> {
         return lastTotalCount;
     }
 
+    private enum PagingMode {
+        PAGED, LOADING_ALL, ALL
+    }
+
+    static final class ChunkResult<T> {
+        final ArrayList<T> matches = new ArrayList<>();
+        final Map<T, String[]> computedKeys = new IdentityHashMap<>();
+    }
+
+    private record IndexedFilter<T>(ColumnFilter<T> filter, TrigramIndex<T> index) {
+    }
+
     private static class ColumnFilter<T> {
         final TextField field;
         final ComboBox<String> combo;
         final BiPredicate<T, String> matcher;
+        final int keySlot;
 
         ColumnFilter(TextField field, BiPredicate<T, String> matcher) {
             this.field = field;
             this.combo = null;
             this.matcher = matcher;
+            this.keySlot = -1;
+        }
+
+        ColumnFilter(TextField field, int keySlot) {
+            this.field = field;
+            this.combo = null;
+            this.matcher = null;
+            this.keySlot = keySlot;
         }
 
         ColumnFilter(ComboBox<String> combo, BiPredicate<T, String> matcher) {
             this.field = null;
             this.combo = combo;
             this.matcher = matcher;
+            this.keySlot = -1;
+        }
+
+        String activeValue() {
+            if (field != null) {
+                String text = field.getText();
+                if (text == null || text.isBlank()) {
+                    return null;
+                }
+                return keySlot >= 0 ? SearchText.normalize(text) : text.toLowerCase(Locale.ROOT);
+            }
+            String value = combo.getValue();
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            String lower = value.toLowerCase(Locale.ROOT);
+            return "todos".equals(lower) ? null : lower;
         }
     }
 }
@@ -0,0 +1,203 @@
+package com.gearmind.presentation.table;
+
+import javafx.collections.ListChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Índice invertido de trigramas sobre las filas de una lista, para búsquedas por subcadena.
+ *
+ * Cada fila recibe un id creciente en el orden de la lista y cada trigrama de su clave apunta
+ * a la lista ordenada de ids que lo contienen. Una búsqueda de 3 o más caracteres interseca
+ * las listas de sus trigramas y devuelve candidatas en el orden original; son un superconjunto
+ * de las coincidencias (los trigramas pueden estar en la fila sin ser contiguos), así que el
+ * llamante debe comprobar cada candidata.
+ *
+ * La clave debe venir ya normalizada (ver {@link SearchText}). No es thread-safe: se usa
+ * desde el hilo de JavaFX, igual que la lista que indexa.
+ */
+public final class TrigramIndex<T> {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private final Function<T, String> normalizedKey;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<T, Integer> ids = new IdentityHashMap<>();
+    /** Fila por id; null si la fila ya no está en la lista. */
+    private final List<T> rows = new ArrayList<>();
+    private int liveCount;
+
+    private boolean built;
+
+    public TrigramIndex(Function<T, String> normalizedKey) {
+        this.normalizedKey = normalizedKey;
+    }
+
+    /**
+     * Filas cuya clave contiene todos los trigramas de la consulta, en el orden de source,
+     * o null si la consulta es demasiado corta para usar el índice.
+     * La primera llamada construye el índice a partir de source.
+     */
+    public List<T> candidates(List<T> source, String normalizedQuery) {
+        if (normalizedQuery == null || normalizedQuery.length() < MIN_QUERY_LENGTH) {
+            return null;
+        }
+        if (!built || rows.size() > 2 * liveCount + 1024) {
+            rebuild(source);
+        }
+
+        int count = normalizedQuery.length() - MIN_QUERY_LENGTH + 1;
+        Postings[] lists = new Postings[count];
+        for (int i = 0; i < count; i++) {
+            Postings list = postings.get(trigram(normalizedQuery, i));
+            if (list == null) {
+                return List.of();
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        List<T> result = new ArrayList<>();
+        Postings smallest = lists[0];
+        int[] cursors = new int[lists.length];
+        candidates:
+        for (int n = 0; n < smallest.size; n++) {
+            int id = smallest.ids[n];
+            for (int l = 1; l < lists.length; l++) {
+                int position = lists[l].seek(id, cursors[l]);
+                cursors[l] = position;
+                if (position >= lists[l].size) {
+                    break candidates;
+                }
+                if (lists[l].ids[position] != id) {
+                    continue candidates;
+                }
+            }
+            T row = rows.get(id);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Aplica un cambio de la lista indexada. Las altas al final y las bajas se aplican
+     * en sitio; cualquier otro cambio (inserciones intermedias, reordenaciones) obliga a
+     * reconstruir en la siguiente búsqueda para conservar el orden de la lista.
+     */
+    public void onChanged(ListChangeListener.Change<? extends T> change) {
+        if (!built) {
+            return;
+        }
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                invalidate();
+                return;
+            }
+            if (change.wasRemoved()) {
+                for (T removed : change.getRemoved()) {
+                    remove(removed);
+                }
+            }
+            if (change.wasAdded()) {
+                if (change.getTo() != change.getList().size()) {
+                    invalidate();
+                    return;
+                }
+                for (T added : change.getAddedSubList()) {
+                    add(added);
+                }
+            }
+        }
+    }
+
+    /**
+     * Descarta el índice; se reconstruye en la siguiente búsqueda.
+     */
+    public void invalidate() {
+        built = false;
+        postings.clear();
+        ids.clear();
+        rows.clear();
+        liveCount = 0;
+    }
+
+    private void rebuild(List<T> source) {
+        invalidate();
+        for (T row : source) {
+            add(row);
+        }
+        built = true;
+    }
+
+    private void add(T row) {
+        if (liveCount == 0 && !rows.isEmpty()) {
+            // La lista se vació (setAll): se empieza de cero en vez de acumular huecos
+            postings.clear();
+            rows.clear();
+        }
+        int id = rows.size();
+        rows.add(row);
+        ids.put(row, id);
+        liveCount++;
+
+        String key = normalizedKey.apply(row);
+        if (key == null) {
+            return;
+        }
+        for (int i = 0; i + MIN_QUERY_LENGTH <= key.length(); i++) {
+            postings.computeIfAbsent(trigram(key, i), k -> new Postings()).add(id);
+        }
+    }
+
+    private void remove(T row) {
+        Integer id = ids.remove(row);
+        if (id != null) {
+            rows.set(id, null);
+            liveCount--;
+        }
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            // Los ids llegan en orden creciente; un trigrama repetido en la misma fila se guarda una vez
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        /**
+         * Primera posición desde from cuyo id es >= id (búsqueda galopante).
+         */
+        int seek(int id, int from) {
+            int bound = 1;
+            int low = from;
+            while (low + bound < size && ids[low + bound] < id) {
+                low += bound;
+                bound <<= 1;
+            }
+            int high = Math.min(low + bound, size);
+            int index = Arrays.binarySearch(ids, low, high, id);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+-- Esquema base de GearMind.
+-- CREATE TABLE IF NOT EXISTS permite adoptar bases de datos creadas a mano antes
+-- de introducir las migraciones (Flyway las marca como baseline en la versión 1).
+
+CREATE TABLE IF NOT EXISTS empresa (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    nombre      VARCHAR(150) NOT NULL,
+    cif         VARCHAR(20)  NULL,
+    telefono    VARCHAR(20)  NULL,
+    email       VARCHAR(150) NULL,
+    direccion   VARCHAR(255) NULL,
+    ciudad      VARCHAR(100) NULL,
+    provincia   VARCHAR(100) NULL,
+    cp          VARCHAR(10)  NULL,
+    activa      TINYINT(1)   NOT NULL DEFAULT 1,
+    created_at  DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at  DATETIME     NULL ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS usuario (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    empresa_id     BIGINT       NOT NULL,
+    nombre         VARCHAR(150) NOT NULL,
+    email          VARCHAR(150) NOT NULL,
+    password_hash  VARCHAR(100) NOT NULL,
+    rol            VARCHAR(20)  NOT NULL,
+    activo         TINYINT(1)   NOT NULL DEFAULT 1,
+    created_at     DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at     DATETIME     NULL ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuario_email UNIQUE (email),
+    CONSTRAINT fk_usuario_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS cliente (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    empresa_id  BIGINT       NOT NULL,
+    nombre      VARCHAR(150) NOT NULL,
+    email       VARCHAR(150) NULL,
+    telefono    VARCHAR(20)  NULL,
+    notas       TEXT         NULL,
+    activo      TINYINT(1)   NOT NULL DEFAULT 1,
+    created_at  DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at  DATETIME     NULL ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cliente_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS vehiculo (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    empresa_id  BIGINT       NOT NULL,
+    cliente_id  BIGINT       NOT NULL,
+    matricula   VARCHAR(20)  NOT NULL,
+    marca       VARCHAR(60)  NULL,
+    modelo      VARCHAR(60)  NULL,
+    year        INT          NULL,
+    vin         VARCHAR(17)  NULL,
+    created_at  DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at  DATETIME     NULL ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_vehiculo_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id),
+    CONSTRAINT fk_vehiculo_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS producto (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    empresa_id     BIGINT         NOT NULL,
+    nombre         VARCHAR(150)   NOT NULL,
+    descripcion    TEXT           NULL,
+    referencia     VARCHAR(60)    NULL,
+    categoria      VARCHAR(60)    NULL,
+    stock          INT            NOT NULL DEFAULT 0,
+    stock_minimo   INT            NOT NULL DEFAULT 0,
+    precio_compra  DECIMAL(12, 2) NULL,
+    precio_venta   DECIMAL(12, 2) NULL,
+    activo         TINYINT(1)     NOT NULL DEFAULT 1,
+    created_at     DATETIME       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at     DATETIME       NULL ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_producto_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS cita (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    empresa_id   BIGINT      NOT NULL,
+    empleado_id  BIGINT      NULL,
+    cliente_id   BIGINT      NOT NULL,
+    vehiculo_id  BIGINT      NULL,
+    fecha_hora   DATETIME    NOT NULL,
+    estado       VARCHAR(20) NOT NULL,
+    origen       VARCHAR(20) NOT NULL DEFAULT 'INTERNO',
+    notas        TEXT        NULL,
+    created_at   DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at   DATETIME    NULL ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cita_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id),
+    CONSTRAINT fk_cita_empleado FOREIGN KEY (empleado_id) REFERENCES usuario (id) ON DELETE SET NULL,
+    CONSTRAINT fk_cita_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id),
+    CONSTRAINT fk_cita_vehiculo FOREIGN KEY (vehiculo_id) REFERENCES vehiculo (id) ON DELETE SET NULL
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS reparacion (
+    id                BIGINT         NOT NULL AUTO_INCREMENT,
+    empresa_id        BIGINT         NOT NULL,
+    cita_id           BIGINT         NULL,
+    cliente_id        BIGINT         NOT NULL,
+    vehiculo_id       BIGINT         NOT NULL,
+    descripcion       TEXT           NULL,
+    estado            VARCHAR(20)    NOT NULL,
+    importe_estimado  DECIMAL(12, 2) NULL,
+    importe_final     DECIMAL(12, 2) NULL,
+    created_at        DATETIME       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at        DATETIME       NULL ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reparacion_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id),
+    CONSTRAINT fk_reparacion_cita FOREIGN KEY (cita_id) REFERENCES cita (id) ON DELETE SET NULL,
+    CONSTRAINT fk_reparacion_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id),
+    CONSTRAINT fk_reparacion_vehiculo FOREIGN KEY (vehiculo_id) REFERENCES vehiculo (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS tarea (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    empresa_id        BIGINT       NOT NULL,
+    orden_trabajo_id  BIGINT       NULL,
+    asignado_a        BIGINT       NULL,
+    titulo            VARCHAR(150) NOT NULL,
+    descripcion       TEXT         NULL,
+    estado            VARCHAR(20)  NOT NULL,
+    prioridad         VARCHAR(10)  NOT NULL,
+    fecha_limite      DATETIME     NULL,
+    created_at        DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at        DATETIME     NULL ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_tarea_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id),
+    CONSTRAINT fk_tarea_reparacion FOREIGN KEY (orden_trabajo_id) REFERENCES reparacion (id) ON DELETE SET NULL,
+    CONSTRAINT fk_tarea_usuario FOREIGN KEY (asignado_a) REFERENCES usuario (id) ON DELETE SET NULL
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS presupuesto (
+    id              BIGINT         NOT NULL AUTO_INCREMENT,
+    empresa_id      BIGINT         NOT NULL,
+    cliente_id      BIGINT         NOT NULL,
+    vehiculo_id     BIGINT         NOT NULL,
+    reparacion_id   BIGINT         NULL,
+    fecha           DATETIME       NOT NULL,
+    estado          VARCHAR(20)    NOT NULL,
+    observaciones   TEXT           NULL,
+    total_estimado  DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    created_at      DATETIME       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at      DATETIME       NULL ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_presupuesto_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id),
+    CONSTRAINT fk_presupuesto_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id),
+    CONSTRAINT fk_presupuesto_vehiculo FOREIGN KEY (vehiculo_id) REFERENCES vehiculo (id),
+    CONSTRAINT fk_presupuesto_reparacion FOREIGN KEY (reparacion_id) REFERENCES reparacion (id) ON DELETE SET NULL
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS presupuesto_linea (
+    id              BIGINT         NOT NULL AUTO_INCREMENT,
+    presupuesto_id  BIGINT         NOT NULL,
+    producto_id     BIGINT         NULL,
+    descripcion     VARCHAR(255)   NOT NULL,
+    cantidad        DECIMAL(12, 2) NOT NULL,
+    precio          DECIMAL(12, 2) NOT NULL,
+    total           DECIMAL(12, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_presupuesto_linea_presupuesto FOREIGN KEY (presupuesto_id) REFERENCES presupuesto (id) ON DELETE CASCADE,
+    CONSTRAINT fk_presupuesto_linea_producto FOREIGN KEY (producto_id) REFERENCES producto (id) ON DELETE SET NULL
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS factura (
+    id              BIGINT         NOT NULL AUTO_INCREMENT,
+    empresa_id      BIGINT         NOT NULL,
+    cliente_id      BIGINT         NOT NULL,
+    vehiculo_id     BIGINT         NOT NULL,
+    presupuesto_id  BIGINT         NULL,
+    numero          VARCHAR(30)    NOT NULL,
+    fecha           DATETIME       NOT NULL,
+    estado          VARCHAR(20)    NOT NULL,
+    subtotal        DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    iva             DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    total           DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    observaciones   TEXT           NULL,
+    created_at      DATETIME       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at      DATETIME       NULL ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_factura_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id),
+    CONSTRAINT fk_factura_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id),
+    CONSTRAINT fk_factura_vehiculo FOREIGN KEY (vehiculo_id) REFERENCES vehiculo (id),
+    CONSTRAINT fk_factura_presupuesto FOREIGN KEY (presupuesto_id) REFERENCES presupuesto (id) ON DELETE SET NULL
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS factura_linea (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    factura_id   BIGINT         NOT NULL,
+    producto_id  BIGINT         NULL,
+    descripcion  VARCHAR(255)   NOT NULL,
+    cantidad     DECIMAL(12, 2) NOT NULL,
+    precio       DECIMAL(12, 2) NOT NULL,
+    total        DECIMAL(12, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_factura_linea_factura FOREIGN KEY (factura_id) REFERENCES factura (id) ON DELETE CASCADE,
+    CONSTRAINT fk_factura_linea_producto FOREIGN KEY (producto_id) REFERENCES producto (id) ON DELETE SET NULL
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
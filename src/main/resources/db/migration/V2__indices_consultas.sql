@@ -0,0 +1,45 @@
+-- Índices compuestos alineados con las consultas de infrastructure/*.
+-- Cada índice empieza por empresa_id (filtro de tenant) y sigue con la columna
+-- de ORDER BY, más id como desempate para la paginación keyset.
+
+-- MySqlCustomerRepository: WHERE empresa_id = ? ORDER BY nombre (+ keyset nombre, id)
+CREATE INDEX idx_cliente_empresa_nombre ON cliente (empresa_id, nombre, id);
+-- MySqlCustomerRepository.findAll / findPageAllWithEmpresa: ORDER BY nombre, id
+CREATE INDEX idx_cliente_nombre ON cliente (nombre, id);
+
+-- MySqlVehicleRepository.findByEmpresaId: WHERE v.empresa_id = ? ORDER BY v.matricula
+CREATE INDEX idx_vehiculo_empresa_matricula ON vehiculo (empresa_id, matricula);
+-- MySqlVehicleRepository.existsMatriculaInEmpresa: UPPER(matricula) = UPPER(?)
+CREATE INDEX idx_vehiculo_empresa_matricula_upper ON vehiculo (empresa_id, (UPPER(matricula)));
+
+-- MySqlUserRepository.findByEmpresaId: WHERE empresa_id = ? ORDER BY nombre
+CREATE INDEX idx_usuario_empresa_nombre ON usuario (empresa_id, nombre);
+
+-- MySqlProductRepository: WHERE empresa_id = ? ORDER BY nombre / ORDER BY nombre
+CREATE INDEX idx_producto_empresa_nombre ON producto (empresa_id, nombre);
+CREATE INDEX idx_producto_nombre ON producto (nombre);
+
+-- MySqlAppointmentRepository.findByEmpresa: WHERE empresa_id = ? ORDER BY fecha_hora
+-- MySqlAppointmentRepository.findByEmpresaBetween / findActiveFrom: WHERE empresa_id = ? AND fecha_hora >= ?
+CREATE INDEX idx_cita_empresa_fecha_vehiculo ON cita (empresa_id, fecha_hora, vehiculo_id);
+
+-- MySqlRepairRepository.findByEmpresa: WHERE r.empresa_id = ? ORDER BY r.created_at DESC
+CREATE INDEX idx_reparacion_empresa_created ON reparacion (empresa_id, created_at);
+
+-- MySqlTaskRepository.findByEmpresa: WHERE t.empresa_id = ? ORDER BY t.created_at DESC
+CREATE INDEX idx_tarea_empresa_created ON tarea (empresa_id, created_at);
+-- MySqlTaskRepository.findByEmpleado: WHERE t.empresa_id = ? AND t.asignado_a = ? ORDER BY t.created_at DESC
+CREATE INDEX idx_tarea_empresa_asignado_created ON tarea (empresa_id, asignado_a, created_at);
+
+-- MySqlBudgetRepository: WHERE p.empresa_id = ? ORDER BY p.fecha DESC / ORDER BY p.fecha DESC
+CREATE INDEX idx_presupuesto_empresa_fecha ON presupuesto (empresa_id, fecha);
+CREATE INDEX idx_presupuesto_fecha ON presupuesto (fecha);
+-- MySqlBudgetRepository.findLinesByBudgetId: WHERE presupuesto_id = ? ORDER BY id
+CREATE INDEX idx_presupuesto_linea_presupuesto ON presupuesto_linea (presupuesto_id, id);
+
+-- MySqlInvoiceRepository: WHERE f.empresa_id = ? ORDER BY f.fecha DESC (+ keyset fecha, id)
+CREATE INDEX idx_factura_empresa_fecha ON factura (empresa_id, fecha, id);
+-- MySqlInvoiceRepository.findAllWithEmpresa / findPageAllWithEmpresa: ORDER BY f.fecha DESC, f.id DESC
+CREATE INDEX idx_factura_fecha ON factura (fecha, id);
+-- MySqlInvoiceRepository.findLinesByInvoiceId: WHERE factura_id = ? ORDER BY id
+CREATE INDEX idx_factura_linea_factura ON factura_linea (factura_id, id);
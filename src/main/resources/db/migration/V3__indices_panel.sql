@@ -0,0 +1,10 @@
+-- Índices para la consulta de agregados del panel de control.
+-- Con ellos los recuentos por estado y los importes de factura se resuelven
+-- leyendo sólo el índice, sin acceder a las filas.
+
+-- MySqlDashboardMetricsRepository: COUNT/SUM por estado WHERE empresa_id = ?
+CREATE INDEX idx_reparacion_empresa_estado ON reparacion (empresa_id, estado);
+CREATE INDEX idx_tarea_empresa_estado ON tarea (empresa_id, estado);
+
+-- MySqlDashboardMetricsRepository: facturas pendientes y facturado del mes (estado, fecha, total)
+CREATE INDEX idx_factura_empresa_estado_fecha ON factura (empresa_id, estado, fecha, total);
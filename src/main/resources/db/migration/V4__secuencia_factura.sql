@@ -0,0 +1,15 @@
+-- Contadores de numeración de facturas: uno por empresa, serie y año.
+-- MySqlInvoiceNumberSequence incrementa la fila dentro de la transacción que
+-- guarda la factura, así que sólo se bloquea el contador de esa empresa/serie/año
+-- y un rollback devuelve el número sin dejar huecos.
+CREATE TABLE IF NOT EXISTS secuencia_factura (
+    empresa_id  BIGINT      NOT NULL,
+    serie       VARCHAR(10) NOT NULL,
+    anio        SMALLINT    NOT NULL,
+    ultimo      BIGINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (empresa_id, serie, anio),
+    CONSTRAINT fk_secuencia_factura_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+-- Red de seguridad: ningún número puede repetirse dentro de una empresa.
+ALTER TABLE factura ADD CONSTRAINT uk_factura_empresa_numero UNIQUE (empresa_id, numero);
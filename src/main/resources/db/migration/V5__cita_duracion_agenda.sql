@@ -0,0 +1,17 @@
+-- Duración y puesto de las citas, para detectar solapes y no sólo coincidencias exactas.
+ALTER TABLE cita
+    ADD COLUMN duracion_min INT         NOT NULL DEFAULT 60 AFTER fecha_hora,
+    ADD COLUMN puesto       VARCHAR(30) NULL AFTER duracion_min;
+
+-- Versión de la agenda de cada empresa. MySqlAppointmentRepository.withAgendaLock bloquea
+-- e incrementa la fila de la empresa: serializa las escrituras de citas de ese taller
+-- sin bloquear la tabla y avisa a las copias en memoria de que deben recargarse.
+CREATE TABLE IF NOT EXISTS agenda_version (
+    empresa_id  BIGINT NOT NULL,
+    version     BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (empresa_id),
+    CONSTRAINT fk_agenda_version_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+-- MySqlAppointmentRepository.findActiveFrom: WHERE empresa_id = ? AND fecha_hora >= ? ORDER BY fecha_hora
+-- lo cubre idx_cita_empresa_fecha_vehiculo (V2).
@@ -0,0 +1,121 @@
+package com.gearmind.domain.appointment;
+
+import com.gearmind.domain.appointment.AppointmentIntervalIndex.Conflict;
+import com.gearmind.domain.appointment.AppointmentIntervalIndex.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AppointmentIntervalIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+    @Test
+    void touchingIntervalsDoNotConflict() {
+        AppointmentIntervalIndex index = index(appointment(1L, 10, 0, 60, 7L));
+
+        assertTrue(index.findConflicts(appointment(2L, 11, 0, 60, 7L)).isEmpty(), "empieza cuando acaba la otra");
+        assertTrue(index.findConflicts(appointment(2L, 9, 0, 60, 7L)).isEmpty(), "acaba cuando empieza la otra");
+        assertEquals(1, index.findConflicts(appointment(2L, 10, 59, 60, 7L)).size());
+        assertEquals(1, index.findConflicts(appointment(2L, 9, 0, 61, 7L)).size());
+    }
+
+    @Test
+    void longAppointmentStartingBeforeTheCandidateIsFound() {
+        // La de 3 h empieza antes de la ventana de la de 30 min pero sigue ocupando el vehículo
+        AppointmentIntervalIndex index = index(appointment(1L, 8, 0, 180, 7L), appointment(2L, 10, 0, 30, 8L));
+
+        List<Conflict> conflicts = index.findConflicts(appointment(3L, 10, 30, 30, 7L));
+        assertEquals(1, conflicts.size());
+        assertEquals(1L, conflicts.get(0).appointmentId());
+        assertEquals(Resource.VEHICULO, conflicts.get(0).resource());
+    }
+
+    @Test
+    void appointmentStartingExactlyAtTheEarliestBoundIsExcluded() {
+        // earliest = 10:00 - 120 min = 08:00; la de las 08:00 acaba justo a las 10:00
+        AppointmentIntervalIndex index = index(appointment(1L, 8, 0, 120, 7L));
+
+        assertTrue(index.findConflicts(appointment(2L, 10, 0, 60, 7L)).isEmpty());
+        assertEquals(1, index.findConflicts(appointment(2L, 9, 59, 60, 7L)).size());
+    }
+
+    @Test
+    void updatingAnAppointmentDoesNotConflictWithItself() {
+        AppointmentIntervalIndex index = index(appointment(1L, 10, 0, 60, 7L));
+
+        assertTrue(index.findConflicts(appointment(1L, 10, 30, 60, 7L)).isEmpty());
+        assertEquals(1, index.findConflicts(appointment(2L, 10, 30, 60, 7L)).size());
+    }
+
+    @Test
+    void putReplacesThePreviousSlotOfTheSameId() {
+        AppointmentIntervalIndex index = index(appointment(1L, 10, 0, 60, 7L));
+        index.put(appointment(1L, 15, 0, 60, 7L));
+
+        assertTrue(index.findConflicts(appointment(2L, 10, 0, 60, 7L)).isEmpty());
+        assertEquals(1, index.findConflicts(appointment(2L, 15, 0, 60, 7L)).size());
+    }
+
+    @Test
+    void cancelledAppointmentsAreRemovedAndNeverBlock() {
+        Appointment appointment = appointment(1L, 10, 0, 60, 7L);
+        AppointmentIntervalIndex index = index(appointment);
+
+        appointment.setStatus(AppointmentStatus.CANCELLED);
+        index.put(appointment);
+        assertTrue(index.findConflicts(appointment(2L, 10, 0, 60, 7L)).isEmpty());
+
+        Appointment cancelled = appointment(3L, 12, 0, 60, 7L);
+        cancelled.setStatus(AppointmentStatus.CANCELLED);
+        index.put(cancelled);
+        assertTrue(index.findConflicts(appointment(2L, 12, 0, 60, 7L)).isEmpty());
+
+        index.put(appointment(4L, 14, 0, 60, 7L));
+        Appointment candidate = appointment(2L, 14, 0, 60, 7L);
+        candidate.setStatus(AppointmentStatus.CANCELLED);
+        assertTrue(index.findConflicts(candidate).isEmpty(), "una cita cancelada no choca con nada");
+    }
+
+    @Test
+    void removeFreesTheSlot() {
+        AppointmentIntervalIndex index = index(appointment(1L, 10, 0, 60, 7L), appointment(2L, 10, 0, 60, 8L));
+        index.remove(1L);
+        index.remove(99L);
+
+        assertTrue(index.findConflicts(appointment(3L, 10, 0, 60, 7L)).isEmpty());
+        assertEquals(1, index.findConflicts(appointment(3L, 10, 0, 60, 8L)).size());
+    }
+
+    @Test
+    void baysAreComparedIgnoringCaseAndSpaces() {
+        Appointment inBay = appointment(1L, 10, 0, 60, 7L);
+        inBay.setBay("b1");
+        AppointmentIntervalIndex index = index(inBay);
+
+        Appointment candidate = appointment(2L, 10, 30, 60, 8L);
+        candidate.setBay(" B1 ");
+        List<Conflict> conflicts = index.findConflicts(candidate);
+        assertEquals(1, conflicts.size());
+        assertEquals(Resource.PUESTO, conflicts.get(0).resource());
+    }
+
+    private static AppointmentIntervalIndex index(Appointment... appointments) {
+        return new AppointmentIntervalIndex(DAY, List.of(appointments));
+    }
+
+    private static Appointment appointment(Long id, int hour, int minute, int durationMinutes, Long vehicleId) {
+        Appointment appointment = new Appointment();
+        appointment.setId(id);
+        appointment.setEmpresaId(1L);
+        appointment.setVehicleId(vehicleId);
+        appointment.setDateTime(DAY.withHour(hour).withMinute(minute));
+        appointment.setDurationMinutes(durationMinutes);
+        appointment.setStatus(AppointmentStatus.CONFIRMED);
+        return appointment;
+    }
+}
@@ -0,0 +1,268 @@
+package com.gearmind.infrastructure.database;
+
+import com.gearmind.common.exception.InfrastructureException;
+import com.mysql.cj.jdbc.MysqlDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Ejecuta los scripts reales contra MySQL en un contenedor. Se salta si no hay Docker.
+ */
+class SchemaMigratorMySqlTest {
+
+    private static MySQLContainer<?> mysql;
+
+    @BeforeAll
+    static void startMySql() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker no disponible");
+        mysql = new MySQLContainer<>("mysql:8.0");
+        mysql.start();
+    }
+
+    @AfterAll
+    static void stopMySql() {
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    @BeforeEach
+    void dropEverything() throws SQLException {
+        try (Connection conn = rootDataSource().getConnection(); Statement st = conn.createStatement()) {
+            st.execute("DROP DATABASE IF EXISTS " + mysql.getDatabaseName());
+            st.execute("CREATE DATABASE " + mysql.getDatabaseName());
+        }
+    }
+
+    @Test
+    void emptyDatabaseGetsEveryMigration() throws SQLException {
+        SchemaMigrator.migrate(dataSource());
+
+        assertEquals("5", currentVersion());
+        assertTrue(columnExists("cita", "puesto"));
+    }
+
+    @Test
+    void legacyDatabaseIsAdoptedAndUpgraded() throws SQLException, IOException {
+        runScript("V1__esquema_inicial.sql");
+
+        SchemaMigrator.migrate(dataSource());
+
+        assertEquals("5", currentVersion());
+        assertTrue(columnExists("cita", "duracion_min"));
+    }
+
+    @Test
+    void duplicateInvoiceNumbersStopTheMigrationBeforeTheUniqueKey() throws SQLException, IOException {
+        runScript("V1__esquema_inicial.sql");
+        try (Connection conn = dataSource().getConnection(); Statement st = conn.createStatement()) {
+            st.execute("SET FOREIGN_KEY_CHECKS = 0");
+            for (int i = 0; i < 2; i++) {
+                st.execute("INSERT INTO factura (empresa_id, cliente_id, vehiculo_id, numero, fecha, estado)"
+                        + " VALUES (1, 1, 1, 'F-1', NOW(), 'PENDIENTE')");
+            }
+        }
+
+        InfrastructureException e = assertThrows(InfrastructureException.class, () -> SchemaMigrator.migrate(dataSource()));
+
+        assertTrue(e.getMessage().contains("empresa 1 → F-1 (2 facturas)"), e.getMessage());
+        assertFalse(columnExists("secuencia_factura", "ultimo"));
+    }
+
+    @Test
+    void migratingTwiceIsANoOp() throws SQLException {
+        SchemaMigrator.migrate(dataSource());
+        SchemaMigrator.migrate(dataSource());
+
+        assertEquals("5", currentVersion());
+    }
+
+    @Test
+    void queryIndexesExistWithTheirColumnOrder() throws SQLException {
+        SchemaMigrator.migrate(dataSource());
+
+        Map<String, List<String>> expected = Map.of(
+                "cliente", List.of("idx_cliente_empresa_nombre", "idx_cliente_nombre"),
+                "vehiculo", List.of("idx_vehiculo_empresa_matricula", "idx_vehiculo_empresa_matricula_upper"),
+                "cita", List.of("idx_cita_empresa_fecha_vehiculo"),
+                "factura", List.of("idx_factura_empresa_fecha", "idx_factura_fecha", "uk_factura_empresa_numero"),
+                "presupuesto", List.of("idx_presupuesto_empresa_fecha"));
+        for (Map.Entry<String, List<String>> table : expected.entrySet()) {
+            for (String index : table.getValue()) {
+                assertFalse(indexColumns(table.getKey(), index).isEmpty(), table.getKey() + "." + index);
+            }
+        }
+
+        // El orden de las columnas es lo que permite recorrer el keyset sin filesort
+        assertEquals(List.of("empresa_id", "nombre", "id"), indexColumns("cliente", "idx_cliente_empresa_nombre"));
+        assertEquals(List.of("empresa_id", "fecha", "id"), indexColumns("factura", "idx_factura_empresa_fecha"));
+        assertEquals(List.of("empresa_id", "numero"), indexColumns("factura", "uk_factura_empresa_numero"));
+        assertTrue(isUnique("factura", "uk_factura_empresa_numero"));
+    }
+
+    @Test
+    void keysetPagesUseTheTenantIndexes() throws SQLException {
+        SchemaMigrator.migrate(dataSource());
+        seedPagingData();
+
+        String customers = """
+                SELECT c.id, c.empresa_id, e.nombre AS empresa_nombre, c.nombre, c.email, c.telefono, c.notas, c.activo
+                FROM cliente c
+                JOIN empresa e ON e.id = c.empresa_id
+                WHERE 1 = 1 AND c.empresa_id = 1""";
+        assertUsesIndex(customers + " ORDER BY c.nombre ASC, c.id ASC LIMIT 51",
+                "c", "idx_cliente_empresa_nombre");
+        assertUsesIndex(customers + " AND (c.nombre > 'Cliente 0300' OR (c.nombre = 'Cliente 0300' AND c.id > 300))"
+                + " ORDER BY c.nombre ASC, c.id ASC LIMIT 51", "c", "idx_cliente_empresa_nombre");
+        assertUsesIndex(customers + " AND (c.nombre < 'Cliente 0300' OR (c.nombre = 'Cliente 0300' AND c.id < 300))"
+                + " ORDER BY c.nombre DESC, c.id DESC LIMIT 51", "c", "idx_cliente_empresa_nombre");
+
+        String invoices = """
+                SELECT f.id, f.numero, f.fecha, f.estado, f.total,
+                    c.nombre AS cliente_nombre, v.matricula AS vehiculo_matricula, e.nombre AS empresa_nombre
+                FROM factura f
+                JOIN cliente c ON c.id = f.cliente_id
+                JOIN vehiculo v ON v.id = f.vehiculo_id
+                JOIN empresa e ON e.id = f.empresa_id
+                WHERE 1 = 1 AND f.empresa_id = 1""";
+        assertUsesIndex(invoices + " ORDER BY f.fecha DESC, f.id DESC LIMIT 51",
+                "f", "idx_factura_empresa_fecha");
+        assertUsesIndex(invoices + " AND (f.fecha < '2026-01-10 00:00:00' OR (f.fecha = '2026-01-10 00:00:00' AND f.id < 216))"
+                + " ORDER BY f.fecha DESC, f.id DESC LIMIT 51", "f", "idx_factura_empresa_fecha");
+    }
+
+    /**
+     * Dos empresas con 600 clientes cada una, un vehículo y una factura por cliente: basta para que
+     * el optimizador no prefiera recorrer la tabla entera.
+     */
+    private void seedPagingData() throws SQLException {
+        try (Connection conn = dataSource().getConnection(); Statement st = conn.createStatement()) {
+            st.execute("INSERT INTO empresa (id, nombre) VALUES (1, 'Taller Uno'), (2, 'Taller Dos')");
+            st.execute("""
+                    INSERT INTO cliente (empresa_id, nombre)
+                    WITH RECURSIVE n (i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 1200)
+                    SELECT 1 + i % 2, CONCAT('Cliente ', LPAD(i, 4, '0')) FROM n""");
+            st.execute("INSERT INTO vehiculo (empresa_id, cliente_id, matricula) SELECT empresa_id, id, CONCAT('M-', id) FROM cliente");
+            st.execute("""
+                    INSERT INTO factura (empresa_id, cliente_id, vehiculo_id, numero, fecha, estado)
+                    SELECT empresa_id, cliente_id, id, CONCAT('F-', id), TIMESTAMP '2026-01-01 00:00:00' + INTERVAL id HOUR, 'PENDIENTE'
+                    FROM vehiculo""");
+            st.execute("ANALYZE TABLE empresa, cliente, vehiculo, factura");
+        }
+    }
+
+    private void assertUsesIndex(String sql, String alias, String index) throws SQLException {
+        try (Connection conn = dataSource().getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("EXPLAIN " + sql)) {
+            while (rs.next()) {
+                if (alias.equals(rs.getString("table"))) {
+                    String extra = rs.getString("Extra");
+                    assertEquals(index, rs.getString("key"), sql);
+                    assertFalse(extra != null && extra.contains("Using filesort"), "filesort en: " + sql);
+                    return;
+                }
+            }
+        }
+        throw new AssertionError("EXPLAIN sin la tabla " + alias + ": " + sql);
+    }
+
+    private List<String> indexColumns(String table, String index) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (Connection conn = dataSource().getConnection(); PreparedStatement ps = conn.prepareStatement("""
+                SELECT column_name FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?
+                ORDER BY seq_in_index""")) {
+            ps.setString(1, table);
+            ps.setString(2, index);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    // Las columnas de expresión (UPPER(matricula)) no tienen nombre
+                    columns.add(rs.getString(1) != null ? rs.getString(1).toLowerCase(Locale.ROOT) : "(expresión)");
+                }
+            }
+        }
+        return columns;
+    }
+
+    private boolean isUnique(String table, String index) throws SQLException {
+        try (Connection conn = dataSource().getConnection(); PreparedStatement ps = conn.prepareStatement("""
+                SELECT MAX(non_unique) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?""")) {
+            ps.setString(1, table);
+            ps.setString(2, index);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 0;
+            }
+        }
+    }
+
+    private String currentVersion() throws SQLException {
+        try (Connection conn = dataSource().getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version FROM " + SchemaMigrator.HISTORY_TABLE
+                     + " WHERE success = 1 ORDER BY installed_rank DESC LIMIT 1")) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+
+    private boolean columnExists(String table, String column) throws SQLException {
+        try (Connection conn = dataSource().getConnection();
+             ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, column)) {
+            return rs.next();
+        }
+    }
+
+    private void runScript(String name) throws SQLException, IOException {
+        String script;
+        try (InputStream in = getClass().getResourceAsStream("/db/migration/" + name)) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection conn = dataSource().getConnection(); Statement st = conn.createStatement()) {
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!sql.isBlank()) {
+                    st.execute(sql);
+                }
+            }
+        }
+    }
+
+    private static DataSource dataSource() {
+        MysqlDataSource ds = new MysqlDataSource();
+        ds.setUrl(mysql.getJdbcUrl());
+        ds.setUser(mysql.getUsername());
+        ds.setPassword(mysql.getPassword());
+        return ds;
+    }
+
+    private static DataSource rootDataSource() {
+        MysqlDataSource ds = new MysqlDataSource();
+        ds.setUrl(mysql.getJdbcUrl());
+        ds.setUser("root");
+        ds.setPassword(mysql.getPassword());
+        return ds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gearmind.infrastructure.database;
+
+import com.gearmind.common.exception.InfrastructureException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SchemaMigratorTest {
+
+    @Test
+    void emptySchemaRunsEveryMigration() {
+        assertEquals(SchemaMigrator.Plan.CREATE, SchemaMigrator.plan(Set.of()));
+    }
+
+    @Test
+    void schemaWithHistoryOnlyUpgrades() {
+        Set<String> tables = new HashSet<>(SchemaMigrator.INITIAL_TABLES);
+        tables.add(SchemaMigrator.HISTORY_TABLE);
+        assertEquals(SchemaMigrator.Plan.UPGRADE, SchemaMigrator.plan(tables));
+        assertEquals(SchemaMigrator.Plan.UPGRADE, SchemaMigrator.plan(Set.of(SchemaMigrator.HISTORY_TABLE)));
+    }
+
+    @Test
+    void fullLegacySchemaIsAdoptedAtVersionOne() {
+        Set<String> tables = new HashSet<>(SchemaMigrator.INITIAL_TABLES);
+        tables.add("copia_seguridad_clientes");
+        assertEquals(SchemaMigrator.Plan.ADOPT, SchemaMigrator.plan(tables));
+    }
+
+    @Test
+    void partialLegacySchemaIsCompletedByVersionOne() {
+        assertEquals(SchemaMigrator.Plan.COMPLETE, SchemaMigrator.plan(Set.of("empresa", "usuario", "cliente")));
+    }
+
+    @Test
+    void foreignSchemaIsRejected() {
+        assertThrows(InfrastructureException.class, () -> SchemaMigrator.plan(Set.of("wp_posts", "wp_users")));
+    }
+}
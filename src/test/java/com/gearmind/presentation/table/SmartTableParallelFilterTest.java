@@ -0,0 +1,86 @@
+package com.gearmind.presentation.table;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SmartTableParallelFilterTest {
+
+    private static final String[] NAMES = {"García", "Núñez", "Pérez", "Martín", "López", "Gómez", "Sánchez", "Ruiz"};
+
+    private static ForkJoinPool pool;
+    private static List<String> rows;
+
+    @BeforeAll
+    static void setUp() {
+        pool = new ForkJoinPool(4);
+        Random random = new Random(42);
+        rows = new ArrayList<>();
+        for (int i = 0; i < 60_000; i++) {
+            rows.add(NAMES[random.nextInt(NAMES.length)] + " " + NAMES[random.nextInt(NAMES.length)] + " " + i);
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void parallelMatchesSequentialInTheSameOrder() {
+        for (String value : List.of("garcia", "nunez perez", "7", "martin lopez 1", "xyz")) {
+            assertEquals(sequential(value), parallel(rows, 8_192, value).matches, value);
+        }
+    }
+
+    @Test
+    void chunkBoundariesDoNotDropOrDuplicateRows() {
+        List<String> sample = rows.subList(0, 1_000);
+        List<String> expected = new ArrayList<>();
+        for (String row : sample) {
+            if (SearchText.normalize(row).contains("gomez")) {
+                expected.add(row);
+            }
+        }
+        for (int chunkSize : new int[] {1, 7, 999, 1_000, 1_001}) {
+            assertEquals(expected, parallel(sample, chunkSize, "gomez").matches, "trozos de " + chunkSize);
+        }
+        assertTrue(parallel(List.of(), 8, "gomez").matches.isEmpty());
+    }
+
+    @Test
+    void everyComputedKeyIsReturned() {
+        SmartTable.ChunkResult<String> result = parallel(rows, 8_192, "sanchez");
+        assertEquals(rows.size(), result.computedKeys.size());
+        for (String row : rows.subList(0, 100)) {
+            assertEquals(SearchText.normalize(row), result.computedKeys.get(row)[0]);
+        }
+    }
+
+    private static List<String> sequential(String value) {
+        List<String> matches = new ArrayList<>();
+        for (String row : rows) {
+            if (SearchText.normalize(row).contains(value)) {
+                matches.add(row);
+            }
+        }
+        return matches;
+    }
+
+    private static SmartTable.ChunkResult<String> parallel(List<String> source, int chunkSize, String value) {
+        // Igual que matchesAll: calcula la clave normalizada y la deja en el mapa del trozo
+        BiPredicate<String, Map<String, String[]>> matcher = (row, computedKeys) ->
+                computedKeys.computeIfAbsent(row, r -> new String[] {SearchText.normalize(r)})[0].contains(value);
+        return pool.submit(() -> SmartTable.filterInChunks(source, chunkSize, matcher)).join();
+    }
+}
@@ -0,0 +1,124 @@
+package com.gearmind.presentation.table;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    @Test
+    void intersectionMatchesBruteForceInListOrder() {
+        // Alfabeto corto: listas de postings muy desiguales, así el galope salta tramos largos
+        Random random = new Random(7);
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int c = 0; c < 6 + random.nextInt(6); c++) {
+                key.append((char) ('a' + random.nextInt(random.nextInt(10) < 8 ? 3 : 8)));
+            }
+            rows.add(key.toString());
+        }
+        TrigramIndex<String> index = new TrigramIndex<>(Function.identity());
+
+        for (String query : List.of("abc", "aab", "cab", "abca", "abcab", "fgh", "ahah", "hhhhh")) {
+            assertEquals(withAllTrigrams(rows, query), index.candidates(rows, query), query);
+        }
+    }
+
+    @Test
+    void candidatesAreASupersetOfSubstringMatches() {
+        List<String> rows = List.of(new String("abcxbcd"), new String("xxabcdxx"), new String("bcdabc"));
+        TrigramIndex<String> index = new TrigramIndex<>(Function.identity());
+
+        // Las tres tienen "abc" y "bcd", pero sólo la segunda contiene "abcd"
+        assertEquals(rows, index.candidates(rows, "abcd"));
+        assertNull(index.candidates(rows, "ab"), "consulta demasiado corta para el índice");
+        assertTrue(index.candidates(rows, "zzz").isEmpty());
+    }
+
+    @Test
+    void appendsAndRemovalsAreAppliedInPlace() {
+        ObservableList<String> rows = FXCollections.observableArrayList(new String("garcia lopez"), new String("perez ruiz"));
+        TrigramIndex<String> index = new TrigramIndex<>(Function.identity());
+        rows.addListener(index::onChanged);
+        index.candidates(rows, "lop");
+
+        String appended = new String("lopez gomez");
+        rows.add(appended);
+        // Con otra lista como origen se ve que no se ha reconstruido: las filas salen del índice
+        assertEquals(List.of(rows.get(0), appended), index.candidates(List.of(), "lopez"));
+
+        rows.remove(0);
+        assertEquals(List.of(appended), index.candidates(List.of(), "lopez"));
+    }
+
+    @Test
+    void insertionsInTheMiddleAndSortsKeepListOrder() {
+        ObservableList<String> rows = FXCollections.observableArrayList(new String("bbb uno"), new String("ccc uno"));
+        TrigramIndex<String> index = new TrigramIndex<>(Function.identity());
+        rows.addListener(index::onChanged);
+        index.candidates(rows, "uno");
+
+        rows.add(0, new String("aaa uno"));
+        assertEquals(List.copyOf(rows), index.candidates(rows, "uno"));
+
+        rows.sort(Comparator.reverseOrder());
+        assertEquals(List.copyOf(rows), index.candidates(rows, "uno"));
+    }
+
+    @Test
+    void setAllStartsFromScratch() {
+        ObservableList<String> rows = FXCollections.observableArrayList(new String("viejo uno"), new String("viejo dos"));
+        TrigramIndex<String> index = new TrigramIndex<>(Function.identity());
+        rows.addListener(index::onChanged);
+        index.candidates(rows, "viejo");
+
+        rows.setAll(new String("nuevo uno"));
+        assertTrue(index.candidates(rows, "viejo").isEmpty());
+        assertEquals(List.copyOf(rows), index.candidates(rows, "nuevo"));
+    }
+
+    @Test
+    void rebuildsOnlyWhenRemovedRowsOutnumberLiveOnes() {
+        ObservableList<String> rows = FXCollections.observableArrayList();
+        for (int i = 0; i < 3_000; i++) {
+            rows.add("fila " + i);
+        }
+        TrigramIndex<String> index = new TrigramIndex<>(Function.identity());
+        rows.addListener(index::onChanged);
+        index.candidates(rows, "fila");
+
+        // 3000 ids con 1500 vivas: 3000 <= 2 * 1500 + 1024, se sigue usando el índice
+        rows.remove(0, 1_500);
+        List<String> other = List.of(new String("fila otra"));
+        assertEquals(1_500, index.candidates(other, "fila").size());
+
+        // 3000 ids con 900 vivas: 3000 > 2 * 900 + 1024, se reconstruye a partir de source
+        rows.remove(0, 600);
+        assertEquals(other, index.candidates(other, "fila"));
+    }
+
+    private static List<String> withAllTrigrams(List<String> rows, String query) {
+        List<String> expected = new ArrayList<>();
+        rows:
+        for (String row : rows) {
+            for (int i = 0; i + TrigramIndex.MIN_QUERY_LENGTH <= query.length(); i++) {
+                if (!row.contains(query.substring(i, i + TrigramIndex.MIN_QUERY_LENGTH))) {
+                    continue rows;
+                }
+            }
+            expected.add(row);
+        }
+        return expected;
+    }
+}